@@ -37,6 +37,9 @@ public class DeviceManager {
     
     // 设备映射：设备ID -> 设备对象
     private final Map<Long, Device> devices = new ConcurrentHashMap<>();
+
+    // 排队进程请求的使用时间：进程ID -> 任务持续时间，轮到该进程时按请求的时间分配
+    private final Map<Long, Integer> requestedDurations = new ConcurrentHashMap<>();
     
     @Autowired
     private ApplicationEventPublisher eventPublisher;
@@ -149,7 +152,7 @@ public class DeviceManager {
                         if (!device.getWaitQueue().isEmpty()) {
                             Long nextProcessId = device.getWaitQueue().remove(0);
                             log.info("从等待队列中取出进程 {} 分配设备 {}", nextProcessId, device.getId());
-                            allocateDevice(device.getId(), nextProcessId, DEFAULT_TASK_DURATION);
+                            allocateDevice(device.getId(), nextProcessId, takeRequestedDuration(nextProcessId));
                         }
                         
                         // 触发设备释放中断
@@ -202,12 +205,18 @@ public class DeviceManager {
         } else {
             if (!device.getWaitQueue().contains(processId)) {
                 device.getWaitQueue().add(processId);
+                requestedDurations.put(processId, taskDuration);
                 log.info("进程 {} 加入设备 {} 的等待队列", processId, deviceId);
             }
             return false;
         }
     }
 
+    private int takeRequestedDuration(Long processId) {
+        Integer duration = requestedDurations.remove(processId);
+        return duration != null ? duration : DEFAULT_TASK_DURATION;
+    }
+
     /**
      * 释放设备
      * 功能：释放指定设备，将其状态设置为空闲，并检查等待队列
@@ -230,7 +239,7 @@ public class DeviceManager {
             if (!device.getWaitQueue().isEmpty()) {
                 Long nextProcessId = device.getWaitQueue().remove(0);
                 log.info("从等待队列中取出进程 {} 分配设备 {}", nextProcessId, deviceId);
-                allocateDevice(deviceId, nextProcessId, DEFAULT_TASK_DURATION);
+                allocateDevice(deviceId, nextProcessId, takeRequestedDuration(nextProcessId));
             }
             return device;
         }
@@ -262,6 +271,7 @@ public class DeviceManager {
      */
     public void reset() {
         devices.clear();
+        requestedDurations.clear();
         // 打印机1
         Device printer1 = new Device(1L, "打印机1", DeviceType.PRINTER);
         printer1.setStatus(DeviceStatus.IDLE);
@@ -13,17 +13,19 @@ import com.group.myos.interrupt.event.InterruptLogUpdatedEvent;
 import com.group.myos.device.manager.DeviceManager;
 import com.group.myos.device.event.DeviceTimeoutEvent;
 import com.group.myos.process.model.Process;
+import com.group.myos.process.repository.ProcessJournal;
 import com.group.myos.process.repository.ProcessRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -36,18 +38,18 @@ import com.group.myos.interrupt.event.ClockInterruptEvent;
 @Slf4j
 @Component
 public class InterruptManager {
-    // 使用优先级队列，根据中断类型优先级排序
-    private final PriorityQueue<Interrupt> interruptQueue = new PriorityQueue<>(
-        Comparator.comparingInt(interrupt -> interrupt.getType().getPriority())
+    // 使用阻塞优先级队列，根据中断类型优先级排序，同优先级按触发顺序处理
+    private final PriorityBlockingQueue<Interrupt> interruptQueue = new PriorityBlockingQueue<>(16,
+        Comparator.<Interrupt>comparingInt(interrupt -> interrupt.getType().getPriority())
+            .thenComparing(Interrupt::getId)
     );
     private final List<InterruptLog> interruptLogs = new CopyOnWriteArrayList<>();
     private final AtomicLong interruptIdGenerator = new AtomicLong(0);
     private final AtomicLong logIdGenerator = new AtomicLong(0);
-    private static final long PROCESSING_DELAY = 50; // 中断处理延迟改为50ms
     private static final int TIME_SLICE = 1; // 时间片长度（秒）
-    private static final int CLOCK_INTERRUPT_HANDLING_TIME = 50; // 时钟中断处理时间（毫秒）
     private static final int CLOCK_LOG_INTERVAL = 10; // 时钟日志输出间隔（秒）
     private long clockInterruptCount = 0; // 时钟中断计数器
+    private Thread dispatcherThread; // 中断分发线程
 
     @Autowired
     private ApplicationEventPublisher eventPublisher;
@@ -58,6 +60,9 @@ public class InterruptManager {
     @Autowired
     private ProcessRepository processRepository;
 
+    @Autowired
+    private ProcessJournal processJournal;
+
     /**
      * 触发中断
      * @param vector 中断向量号
@@ -91,32 +96,81 @@ public class InterruptManager {
     }
 
     /**
-     * 处理中断
-     * 定时任务，每50ms执行一次
+     * 启动中断分发线程
+     * 线程阻塞在中断队列上，中断一入队立即被唤醒处理，空闲时不占用CPU
+     */
+    @PostConstruct
+    public void startDispatcher() {
+        if (dispatcherThread != null) {
+            return;
+        }
+        dispatcherThread = new Thread(this::dispatchInterrupts, "interrupt-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    @PreDestroy
+    public void stopDispatcher() {
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+            try {
+                // 等待正在处理的中断完成，之后中断只由调用方通过processNext处理
+                dispatcherThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dispatcherThread = null;
+        }
+    }
+
+    public boolean isDispatcherRunning() {
+        return dispatcherThread != null;
+    }
+
+    /**
+     * 在调用线程上处理队列中优先级最高的一个中断，供停止分发线程后的仿真使用
+     * @return 是否处理了中断
      */
-    @Scheduled(fixedRate = 50)
-    public void handleInterrupts() {
-        Interrupt interrupt = interruptQueue.peek(); // 只查看不移除
-        if (interrupt != null) {
-            long currentTime = System.currentTimeMillis();
-            // 如果中断在队列中超过延迟时间，则处理它
-            if (currentTime - interrupt.getTimestamp() >= PROCESSING_DELAY) {
-                interrupt = interruptQueue.poll(); // 现在移除它
-                if (interrupt != null) {
-                    // 1. 处理中断
-                    String result = processInterrupt(interrupt);
-                    
-                    // 2. 记录处理结果
-                    updateLog(interrupt.getId(), result);
-                    
-                    // 3. 发布处理完成事件
-                    long processingTime = System.currentTimeMillis() - interrupt.getTimestamp();
-                    eventPublisher.publishEvent(new InterruptHandledEvent(interrupt, result, processingTime));
-                }
+    public boolean processNext() {
+        Interrupt interrupt = interruptQueue.poll();
+        if (interrupt == null) {
+            return false;
+        }
+        try {
+            handleInterrupt(interrupt);
+        } catch (RuntimeException e) {
+            log.error("中断处理失败", e);
+        }
+        return true;
+    }
+
+    private void dispatchInterrupts() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                handleInterrupt(interruptQueue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("中断处理失败", e);
             }
         }
     }
 
+    /**
+     * 处理中断
+     */
+    private void handleInterrupt(Interrupt interrupt) {
+        // 1. 处理中断
+        String result = processInterrupt(interrupt);
+        
+        // 2. 记录处理结果
+        updateLog(interrupt.getId(), result);
+        
+        // 3. 发布处理完成事件
+        long processingTime = System.currentTimeMillis() - interrupt.getTimestamp();
+        eventPublisher.publishEvent(new InterruptHandledEvent(interrupt, result, processingTime));
+    }
+
     /**
      * 处理中断的具体逻辑
      * @param interrupt 中断对象
@@ -124,43 +178,33 @@ public class InterruptManager {
      */
     private String processInterrupt(Interrupt interrupt) {
         String result;
-        try {
-            // 非时钟中断时增加处理延迟
-            if (interrupt.getType() != InterruptType.CLOCK) {
-                Thread.sleep(50); // 其他中断处理延迟改为50ms
-            }
-            
-            switch (interrupt.getType()) {
-                case ERROR:
-                    result = String.format("错误中断处理完成，优先级: %d", interrupt.getType().getPriority());
-                    handleProcessTermination(interrupt);
-                    break;
-                case DEVICE:
-                    result = String.format("设备中断处理完成，优先级: %d", interrupt.getType().getPriority());
-                    handleDeviceInterrupt(interrupt);
-                    break;
-                case IO:
-                    result = String.format("I/O中断处理完成，优先级: %d", interrupt.getType().getPriority());
-                    handleIOInterrupt(interrupt);
-                    break;
-                case PROCESS:
-                    result = String.format("进程中断处理完成，优先级: %d", interrupt.getType().getPriority());
-                    handleProcessInterrupt(interrupt);
-                    break;
-                case CLOCK:
-                    result = String.format("时钟中断处理完成，优先级: %d", interrupt.getType().getPriority());
-                    handleClockInterrupt(interrupt);
-                    break;
-                case OTHER:
-                    result = String.format("其他中断处理完成，优先级: %d", interrupt.getType().getPriority());
-                    handleOtherInterrupt(interrupt);
-                    break;
-                default:
-                    result = "未知中断类型";
-            }
-        } catch (InterruptedException e) {
-            log.error("中断处理被中断", e);
-            result = "中断处理被中断";
+        switch (interrupt.getType()) {
+            case ERROR:
+                result = String.format("错误中断处理完成，优先级: %d", interrupt.getType().getPriority());
+                handleProcessTermination(interrupt);
+                break;
+            case DEVICE:
+                result = String.format("设备中断处理完成，优先级: %d", interrupt.getType().getPriority());
+                handleDeviceInterrupt(interrupt);
+                break;
+            case IO:
+                result = String.format("I/O中断处理完成，优先级: %d", interrupt.getType().getPriority());
+                handleIOInterrupt(interrupt);
+                break;
+            case PROCESS:
+                result = String.format("进程中断处理完成，优先级: %d", interrupt.getType().getPriority());
+                handleProcessInterrupt(interrupt);
+                break;
+            case CLOCK:
+                result = String.format("时钟中断处理完成，优先级: %d", interrupt.getType().getPriority());
+                handleClockInterrupt(interrupt);
+                break;
+            case OTHER:
+                result = String.format("其他中断处理完成，优先级: %d", interrupt.getType().getPriority());
+                handleOtherInterrupt(interrupt);
+                break;
+            default:
+                result = "未知中断类型";
         }
         return result;
     }
@@ -216,16 +260,19 @@ public class InterruptManager {
     private void handleIOInterrupt(Interrupt interrupt) {
         Long processId = (Long) interrupt.getData().get("processId");
         if (processId != null) {
-            // 获取进程
-            Process process = processRepository.findById(processId).orElse(null);
-            if (process == null) {
+            // 获取进程状态：先查持久化日志中尚未写入的记录，没有时读数据库
+            Process.ProcessState state = processJournal.pendingState(processId);
+            if (state == null) {
+                state = processRepository.findById(processId).map(Process::getState).orElse(null);
+            }
+            if (state == null) {
                 log.warn("I/O中断处理失败 - 进程不存在: {}", processId);
                 return;
             }
             
             // 检查进程是否在运行状态
-            if (process.getState() != Process.ProcessState.RUNNING) {
-                log.warn("I/O中断处理失败 - 进程不在运行状态: {}, 当前状态: {}", processId, process.getState());
+            if (state != Process.ProcessState.RUNNING) {
+                log.warn("I/O中断处理失败 - 进程不在运行状态: {}, 当前状态: {}", processId, state);
                 return;
             }
             
@@ -284,15 +331,8 @@ public class InterruptManager {
             eventPublisher.publishEvent(new InterruptLogUpdatedEvent(this, log));
         }
         
-        try {
-            // 模拟时钟中断处理时间
-            Thread.sleep(CLOCK_INTERRUPT_HANDLING_TIME);
-            
-            // 发布进程调度事件
-            eventPublisher.publishEvent(new ProcessSchedulingEvent(this));
-        } catch (InterruptedException e) {
-            log.error("时钟中断处理被中断", e);
-        }
+        // 发布进程调度事件
+        eventPublisher.publishEvent(new ProcessSchedulingEvent(this));
     }
 
     /**
@@ -2,6 +2,8 @@ package com.group.myos.memory;
 
 import com.group.myos.memory.model.MemoryBlock;
 import com.group.myos.memory.model.PageEntry;
+import com.group.myos.memory.model.ReplacementStats;
+import com.group.myos.memory.replacement.ReplacementAlgorithm;
 import com.group.myos.process.model.Process;
 
 import java.util.List;
@@ -9,16 +11,23 @@ import java.util.List;
 public interface MemoryManager {
     // 内存分配与释放
     boolean allocateMemoryForProcess(Process process, int size);
+    boolean[] allocateMemoryForProcesses(List<Process> processes);
     void freeMemoryForProcess(Process process);
 
     // 获取内存空闲空间大小
-    int getFreeMemorySize();
+    long getFreeMemorySize();
     // 获取内存空闲块列表
     List<MemoryBlock> getFreeBlocks();
     // 获取内存使用率
     double getMemoryUsage();
     // 获取每个内存块状态
     long[] getMemoryStatus();
+    // 获取从 fromPage 开始的 count 个物理页的状态
+    long[] getMemoryStatus(int fromPage, int count);
+    // 页大小
+    int getPageSize();
+    // 总内存大小
+    long getTotalMemorySize();
     
     // 分页管理
     boolean allocatePage(Process process, int virtualPageNumber);
@@ -26,12 +35,24 @@ public interface MemoryManager {
     PageEntry getPageEntry(Process process, int virtualPageNumber);
     boolean isPageValid(Process process, int virtualPageNumber);
     
-    // 内存访问
-    boolean writeMemory(Process process, int virtualAddress, Object content);
-    Object readMemory(Process process, int virtualAddress);
+    // 内存访问，按字节寻址，多字节数据为小端序，缺页或越界时写返回false、读返回null
+    boolean writeMemory(Process process, int virtualAddress, byte[] data);
+    byte[] readMemory(Process process, int virtualAddress, int length);
+    boolean writeInt(Process process, int virtualAddress, int value);
+    Integer readInt(Process process, int virtualAddress);
+    boolean writeLong(Process process, int virtualAddress, long value);
+    Long readLong(Process process, int virtualAddress);
     
     // 页面置换
     void handlePageFault(Process process, int virtualAddress);
     void swapOutPage(Process process, int virtualPageNumber);
     void swapInPage(Process process, int virtualPageNumber);
+    // 换出到交换区的页数
+    int getSwappedPageCount();
+
+    // 页面置换算法，运行中可以切换，名称无效时抛出 IllegalArgumentException
+    void setReplacementAlgorithm(String name);
+    ReplacementAlgorithm getReplacementAlgorithm();
+    // 每种置换算法的命中、缺页和换出次数
+    List<ReplacementStats> getReplacementStats();
 }
\ No newline at end of file
@@ -2,12 +2,19 @@ package com.group.myos.memory.controller;
 
 import com.group.myos.memory.MemoryManager;
 import com.group.myos.memory.model.MemoryBlock;
+import com.group.myos.memory.replacement.ReplacementAlgorithm;
 import jakarta.annotation.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/memory")
@@ -17,7 +24,7 @@ public class MemoryController {
 
     // 获取空闲内存大小
     @GetMapping("free-size")
-    public int getFreeMemorySize() {
+    public long getFreeMemorySize() {
         return memoryManager.getFreeMemorySize();
     }
 
@@ -27,10 +34,14 @@ public class MemoryController {
         return memoryManager.getFreeBlocks();
     }
 
-    // 获取每一个内存块的状态
+    // 获取每一个内存块的状态，物理页很多时用 from 和 count 分段获取
     @GetMapping("status")
-    public long[] getMemoryStatus() {
-        return memoryManager.getMemoryStatus();
+    public long[] getMemoryStatus(@RequestParam(required = false) Integer from,
+                                  @RequestParam(required = false) Integer count) {
+        if (from == null && count == null) {
+            return memoryManager.getMemoryStatus();
+        }
+        return memoryManager.getMemoryStatus(from != null ? from : 0, count != null ? count : Integer.MAX_VALUE);
     }
 
     // 获取内存使用率
@@ -38,4 +49,37 @@ public class MemoryController {
     public double getMemoryUsage() {
         return memoryManager.getMemoryUsage();
     }
+
+    // 获取当前页面置换算法、所有可用算法和每种算法的命中、缺页、换出统计
+    @GetMapping("replacement-algorithm")
+    public Map<String, Object> getReplacementAlgorithm() {
+        List<Map<String, Object>> algorithms = new ArrayList<>();
+        for (ReplacementAlgorithm algorithm : ReplacementAlgorithm.values()) {
+            algorithms.add(Map.of(
+                "algorithm", algorithm.name(),
+                "description", algorithm.getDescription()
+            ));
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("algorithm", memoryManager.getReplacementAlgorithm().name());
+        result.put("algorithms", algorithms);
+        result.put("stats", memoryManager.getReplacementStats());
+        return result;
+    }
+
+    // 切换页面置换算法
+    @PutMapping("replacement-algorithm")
+    public ResponseEntity<Map<String, Object>> setReplacementAlgorithm(@RequestParam String algorithm) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            memoryManager.setReplacementAlgorithm(algorithm);
+            response.put("success", true);
+            response.put("message", "页面置换算法已更新为: " + memoryManager.getReplacementAlgorithm().name());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 }
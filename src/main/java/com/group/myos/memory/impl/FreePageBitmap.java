@@ -0,0 +1,165 @@
+package com.group.myos.memory.impl;
+
+import java.util.Arrays;
+
+/**
+ * 层次化空闲页位图
+ * 1. 第0层每一位对应一个物理页，1表示空闲
+ * 2. 第k层（k>0）每一位对应第k-1层的一个64位字，1表示该字中有空闲页
+ * 3. 查找空闲页时从最高层逐层用 Long.numberOfTrailingZeros 定位，O(log64 N)
+ * 4. 空闲页数随分配和释放维护，O(1)
+ * 本类不是线程安全的，由内存管理器加锁访问
+ */
+public class FreePageBitmap {
+    private final int capacity;
+    private final long[][] levels;
+    private int freeCount;
+
+    public FreePageBitmap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("物理页数必须大于0: " + capacity);
+        }
+        this.capacity = capacity;
+        int height = 1;
+        for (long words = wordsFor(capacity); words > 1; words = wordsFor(words)) {
+            height++;
+        }
+        this.levels = new long[height][];
+        long bits = capacity;
+        for (int k = 0; k < height; k++) {
+            levels[k] = new long[(int) wordsFor(bits)];
+            fillBits(levels[k], bits);
+            bits = levels[k].length;
+        }
+        this.freeCount = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int freeCount() {
+        return freeCount;
+    }
+
+    public boolean isFree(int page) {
+        return (levels[0][page >>> 6] & (1L << page)) != 0;
+    }
+
+    /**
+     * 把页标记为已使用
+     * @return 该页原来是否空闲
+     */
+    public boolean take(int page) {
+        if (!isFree(page)) {
+            return false;
+        }
+        int index = page;
+        for (long[] level : levels) {
+            int word = index >>> 6;
+            level[word] &= ~(1L << index);
+            if (level[word] != 0) {
+                break;
+            }
+            index = word;
+        }
+        freeCount--;
+        return true;
+    }
+
+    /**
+     * 把页标记为空闲
+     * @return 该页原来是否已使用
+     */
+    public boolean release(int page) {
+        if (isFree(page)) {
+            return false;
+        }
+        int index = page;
+        for (long[] level : levels) {
+            int word = index >>> 6;
+            boolean wasEmpty = level[word] == 0;
+            level[word] |= 1L << index;
+            if (!wasEmpty) {
+                break;
+            }
+            index = word;
+        }
+        freeCount++;
+        return true;
+    }
+
+    /**
+     * 分配编号最小的空闲页
+     * @return 页号，没有空闲页时为-1
+     */
+    public int allocate() {
+        int page = nextFree(0);
+        if (page >= 0) {
+            take(page);
+        }
+        return page;
+    }
+
+    /**
+     * 不小于 from 的第一个空闲页，没有时为-1
+     * 在当前层的字中找不到时上升一层，找到后逐层下降到第0层
+     */
+    public int nextFree(int from) {
+        if (from >= capacity) {
+            return -1;
+        }
+        int index = Math.max(from, 0);
+        for (int k = 0; k < levels.length; k++) {
+            int word = index >>> 6;
+            if (word >= levels[k].length) {
+                return -1;
+            }
+            long bits = levels[k][word] & (-1L << index);
+            if (bits != 0) {
+                index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                for (int j = k - 1; j >= 0; j--) {
+                    index = (index << 6) + Long.numberOfTrailingZeros(levels[j][index]);
+                }
+                return index;
+            }
+            index = word + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * 不小于 from 的第一个已使用页，没有时为容量
+     * 按字跳过全空闲的区域
+     */
+    public int nextUsed(int from) {
+        if (from >= capacity) {
+            return capacity;
+        }
+        long[] leaf = levels[0];
+        int word = from >>> 6;
+        long bits = ~leaf[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word >= leaf.length) {
+                return capacity;
+            }
+            bits = ~leaf[word];
+        }
+        return Math.min(capacity, (word << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    private static long wordsFor(long bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * 把前 bits 位置1，其余位保持为0
+     */
+    private static void fillBits(long[] words, long bits) {
+        Arrays.fill(words, -1L);
+        int rest = (int) (bits & 63);
+        if (rest != 0) {
+            words[words.length - 1] = (1L << rest) - 1;
+        }
+    }
+}
@@ -3,49 +3,113 @@ package com.group.myos.memory.impl;
 import com.group.myos.memory.MemoryManager;
 import com.group.myos.memory.model.MemoryBlock;
 import com.group.myos.memory.model.PageEntry;
+import com.group.myos.memory.model.ReplacementStats;
+import com.group.myos.memory.replacement.PageReplacementPolicy;
+import com.group.myos.memory.replacement.ReplacementAlgorithm;
 import com.group.myos.process.model.Process;
-import lombok.Getter;
+import jakarta.annotation.PreDestroy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.*;
 
+/**
+ * 分页内存管理
+ * 内存大小、页大小和每个进程的最大页数可配置；内存大小、页大小和进程的 memorySize 的单位都是字节
+ * 1. 物理内存按字节寻址，内容保存在堆外的 {@link PhysicalMemory} 中，按段在第一次写入时分配；
+ *    总内存大小和由它算出的字节偏移都是long，只受物理页数上限约束（4 KiB页时为64 GiB）
+ * 2. 进程页表按访问到的最大虚拟页号增长，不预先创建页表项
+ * 3. 换出的页保存在内存映射的交换文件 {@link SwapDevice} 中，不占用堆内存
+ * 4. 没有空闲物理页时由可切换的页面置换策略 {@link PageReplacementPolicy} 选出换出的页，每种策略分别统计命中、缺页和换出次数
+ * 5. 读写可以跨页，涉及的页都有效时才读写，否则对第一个无效页触发缺页中断并返回失败
+ */
 @Component
 public class MemoryManagerImpl implements MemoryManager {
     private static final Logger logger = LogManager.getLogger(MemoryManagerImpl.class);
-    private static final int TOTAL_MEMORY = 1024; // 总内存大小（MB）
-    private static final int PAGE_SIZE = 4; // 页大小（MB）
-    private static final int MAX_PAGES_PER_PROCESS = 256; // 每个进程最大页数
+    private static final int MAX_FRAMES = 1 << 24; // 最多模拟的物理页数
 
-    private final Object[] memory; // 物理内存
+    private final long totalMemory; // 总内存大小（字节）
+    private final int pageSize; // 页大小
+    private final int maxPagesPerProcess; // 每个进程最大页数
+
+    private final PhysicalMemory memory; // 物理内存内容
     private final Map<Process, MemoryBlock> allocatedMemoryForProcess; // 已分配内存的进程映射
     private final List<MemoryBlock> freeBlocks; // 空闲内存块列表
-    private final Map<Process, PageEntry[]> pageTables; // 进程页表
-    private final long[] pageBitmap; // 物理页使用情况
-    private final int[] pageLastVisit; // 页面最后访问时间
-    private final List<SwappedOutPage> swappedPages; // 被换出的页面
-    private int currentTime; // 当前时间，用于LRU算法
+    private final Map<Long, PageEntry[]> pageTables; // 进程ID -> 进程页表
+    private final long[] pageBitmap; // 物理页使用情况：占用该页的进程ID，0表示空闲
+    private final FreePageBitmap freePages; // 层次化空闲页位图，与 pageBitmap 同步修改
+    private boolean freeBlocksStale = true; // 空闲块列表需要在查询时重新计算
+    private final int[] frameVirtualPages; // 物理页 -> 装入该页的虚拟页号，与 pageBitmap 中的进程ID一起定位页表项
+    private final SwapDevice swapDevice; // 交换设备
+    private ReplacementAlgorithm replacementAlgorithm; // 当前页面置换算法
+    private PageReplacementPolicy replacementPolicy;
+    private final Map<ReplacementAlgorithm, ReplacementStats> replacementStats = new EnumMap<>(ReplacementAlgorithm.class);
 
     public MemoryManagerImpl() {
-        this.memory = new Object[TOTAL_MEMORY];
+        this(1024, 4, 256);
+    }
+
+    public MemoryManagerImpl(long totalMemory, int pageSize, int maxPagesPerProcess) {
+        this(totalMemory, pageSize, maxPagesPerProcess, null, 0);
+    }
+
+    public MemoryManagerImpl(long totalMemory, int pageSize, int maxPagesPerProcess, String swapPath, int swapSlots) {
+        this(totalMemory, pageSize, maxPagesPerProcess, swapPath, swapSlots, ReplacementAlgorithm.LRU.name());
+    }
+
+    /**
+     * @param swapPath 交换文件路径，为空时使用临时文件
+     * @param swapSlots 交换区槽位数，不大于0时与物理页数相同
+     * @param replacementAlgorithm 页面置换算法名称
+     */
+    @Autowired
+    public MemoryManagerImpl(@Value("${myos.memory.total-size:1024}") long totalMemory,
+                             @Value("${myos.memory.page-size:4}") int pageSize,
+                             @Value("${myos.memory.max-pages-per-process:256}") int maxPagesPerProcess,
+                             @Value("${myos.memory.swap.path:}") String swapPath,
+                             @Value("${myos.memory.swap.slots:0}") int swapSlots,
+                             @Value("${myos.memory.replacement-algorithm:LRU}") String replacementAlgorithm) {
+        if (pageSize <= 0 || totalMemory <= 0 || totalMemory % pageSize != 0) {
+            throw new IllegalArgumentException("内存大小必须是页大小的正整数倍: " + totalMemory + " / " + pageSize);
+        }
+        if (totalMemory / pageSize > MAX_FRAMES) {
+            throw new IllegalArgumentException("物理页数不能超过" + MAX_FRAMES + ": " + totalMemory / pageSize);
+        }
+        int frameCount = (int) (totalMemory / pageSize);
+        if (maxPagesPerProcess <= 0) {
+            throw new IllegalArgumentException("每个进程最大页数必须大于0: " + maxPagesPerProcess);
+        }
+        this.totalMemory = totalMemory;
+        this.pageSize = pageSize;
+        this.maxPagesPerProcess = maxPagesPerProcess;
+        this.memory = new PhysicalMemory(frameCount, pageSize);
         this.allocatedMemoryForProcess = new HashMap<>();
         this.freeBlocks = new ArrayList<>();
         this.pageTables = new HashMap<>();
-        this.pageBitmap = new long[TOTAL_MEMORY / PAGE_SIZE];
-        this.pageLastVisit = new int[TOTAL_MEMORY / PAGE_SIZE];
-        this.swappedPages = new ArrayList<>();
-        this.currentTime = 0;
+        this.pageBitmap = new long[frameCount];
+        this.freePages = new FreePageBitmap(pageBitmap.length);
+        this.frameVirtualPages = new int[pageBitmap.length];
+        this.replacementAlgorithm = ReplacementAlgorithm.of(replacementAlgorithm);
+        this.replacementPolicy = this.replacementAlgorithm.create(pageBitmap.length);
+        for (ReplacementAlgorithm algorithm : ReplacementAlgorithm.values()) {
+            replacementStats.put(algorithm, new ReplacementStats(algorithm.name()));
+        }
+        this.swapDevice = new SwapDevice(swapPath, swapSlots > 0 ? swapSlots : frameCount, pageSize);
         
         // 初始化空闲内存块
-        this.freeBlocks.add(new MemoryBlock(0, TOTAL_MEMORY));
+        this.freeBlocks.add(new MemoryBlock(0, totalMemory));
     }
 
     @Override
-    public boolean allocateMemoryForProcess(Process process, int size) {
+    public synchronized boolean allocateMemoryForProcess(Process process, int size) {
         // 计算需要的页数（向上取整）
-        int requiredPages = (size + PAGE_SIZE - 1) / PAGE_SIZE;
-        if (requiredPages > MAX_PAGES_PER_PROCESS) {
+        int requiredPages = (size + pageSize - 1) / pageSize;
+        if (requiredPages > maxPagesPerProcess) {
             logger.error("Process {} requires too many pages: {}", process.getId(), requiredPages);
             return false;
         }
@@ -58,11 +122,7 @@ public class MemoryManagerImpl implements MemoryManager {
         }
 
         // 为进程创建页表
-        PageEntry[] pageTable = new PageEntry[MAX_PAGES_PER_PROCESS];
-        for (int i = 0; i < MAX_PAGES_PER_PROCESS; i++) {
-            pageTable[i] = new PageEntry();
-        }
-        pageTables.put(process, pageTable);
+        pageTables.put(process.getId(), new PageEntry[requiredPages]);
 
         // 分配物理页
         for (int i = 0; i < requiredPages; i++) {
@@ -71,237 +131,366 @@ public class MemoryManagerImpl implements MemoryManager {
                 for (int j = 0; j < i; j++) {
                     freePage(process, j);
                 }
-                pageTables.remove(process);
+                pageTables.remove(process.getId());
                 return false;
             }
         }
 
         // 更新已分配内存映射
-        allocatedMemoryForProcess.put(process, new MemoryBlock(0, requiredPages * PAGE_SIZE));
+        allocatedMemoryForProcess.put(process, new MemoryBlock(0, (long) requiredPages * pageSize));
         return true;
     }
 
+    /**
+     * 批量为进程分配内存，空闲页从空闲页位图中按编号从小到大取
+     * 按列表顺序分配，空闲页不足的进程分配失败，不触发页面置换
+     * @return 与进程列表一一对应的分配结果
+     */
+    @Override
+    public synchronized boolean[] allocateMemoryForProcesses(List<Process> processes) {
+        boolean[] allocated = new boolean[processes.size()];
+        for (int k = 0; k < processes.size() && freePages.freeCount() > 0; k++) {
+            Process process = processes.get(k);
+            int requiredPages = (process.getMemorySize() + pageSize - 1) / pageSize;
+            if (requiredPages > maxPagesPerProcess || requiredPages > freePages.freeCount()) {
+                continue;
+            }
+
+            pageTables.put(process.getId(), new PageEntry[requiredPages]);
+            for (int i = 0; i < requiredPages; i++) {
+                int physicalPage = freePages.nextFree(0);
+                memory.clear(physicalPage);
+                mapPage(process, i, physicalPage);
+            }
+            allocatedMemoryForProcess.put(process, new MemoryBlock(0, (long) requiredPages * pageSize));
+            allocated[k] = true;
+        }
+        return allocated;
+    }
+
     @Override
-    public void freeMemoryForProcess(Process process) {
+    public synchronized void freeMemoryForProcess(Process process) {
         if (process == null) {
             return;
         }
 
         // 获取进程的页表
-        PageEntry[] pageTable = pageTables.get(process);
+        PageEntry[] pageTable = pageTables.get(process.getId());
         if (pageTable != null) {
             // 释放所有页
-            for (int i = 0; i < MAX_PAGES_PER_PROCESS; i++) {
-                if (pageTable[i] != null && pageTable[i].isValid()) {
-                    int physicalPage = pageTable[i].getPhysicalPageNumber();
-                    // 清除页表位图
-                    pageBitmap[physicalPage] = 0;
+            for (int virtualPageNumber = 0; virtualPageNumber < pageTable.length; virtualPageNumber++) {
+                PageEntry pageEntry = pageTable[virtualPageNumber];
+                if (pageEntry != null && !pageEntry.isValid()) {
+                    // 丢弃换出的页
+                    swapDevice.discard(process.getId(), virtualPageNumber);
+                }
+                if (pageEntry != null && pageEntry.isValid()) {
                     // 清除页表项
-                    pageTable[i].setValid(false);
-                    // 清除内存内容
-                    if (memory != null) {
-                        for (int j = 0; j < PAGE_SIZE; j++) {
-                            memory[physicalPage * PAGE_SIZE + j] = null;
-                        }
-                    }
+                    pageEntry.setValid(false);
+                    unmapPage(pageEntry.getPhysicalPageNumber());
                 }
             }
             // 移除页表
-            pageTables.remove(process);
+            pageTables.remove(process.getId());
         }
 
         // 移除已分配内存记录
         allocatedMemoryForProcess.remove(process);
+    }
 
-        // 重新计算空闲内存块
-        recalculateFreeBlocks();
+    /**
+     * 设置物理页的占用进程，0表示释放，同时更新空闲页位图
+     */
+    private void setOwner(int physicalPage, long processId) {
+        pageBitmap[physicalPage] = processId;
+        if (processId != 0) {
+            freePages.take(physicalPage);
+        } else {
+            freePages.release(physicalPage);
+        }
+        freeBlocksStale = true;
+    }
+
+    /**
+     * 把虚拟页装入物理页：更新页表、占用位图和物理页的虚拟页号，并通知页面置换策略
+     */
+    private void mapPage(Process process, int virtualPageNumber, int physicalPage) {
+        PageEntry pageEntry = new PageEntry(physicalPage);
+        setPageEntry(process, virtualPageNumber, pageEntry);
+        setOwner(physicalPage, process.getId());
+        frameVirtualPages[physicalPage] = virtualPageNumber;
+        replacementPolicy.onLoad(physicalPage, pageKey(process.getId(), virtualPageNumber));
+    }
+
+    /**
+     * 物理页不再驻留，页表项由调用方置为无效
+     */
+    private void unmapPage(int physicalPage) {
+        setOwner(physicalPage, 0);
+        replacementPolicy.onRemove(physicalPage);
+    }
+
+    /**
+     * 取一个物理页：优先使用空闲页，没有时由页面置换策略选出一页换出到交换区
+     * @return 物理页号，交换区已满或没有可换出的页时为-1
+     */
+    private int obtainFrame(long incomingPageKey) {
+        int physicalPage = freePages.nextFree(0);
+        if (physicalPage >= 0) {
+            return physicalPage;
+        }
+        if (!swapDevice.hasFreeSlot()) {
+            logger.error("Swap space is full, no page can be replaced");
+            return -1;
+        }
+        int victim = replacementPolicy.selectVictim(incomingPageKey);
+        if (victim < 0) {
+            return -1;
+        }
+        swapDevice.pageOut(pageBitmap[victim], frameVirtualPages[victim], memory, victim);
+        evicted(victim);
+        return victim;
     }
 
+    /**
+     * 置换策略选出的页已写入交换区，使其页表项无效并释放物理页，策略已停止跟踪该页
+     * 页表项由占用进程的页表和物理页的虚拟页号找到
+     */
+    private void evicted(int physicalPage) {
+        pageTables.get(pageBitmap[physicalPage])[frameVirtualPages[physicalPage]].setValid(false);
+        setOwner(physicalPage, 0);
+        replacementStats.get(replacementAlgorithm).recordEviction();
+    }
+
+    /**
+     * 进程ID占高32位，虚拟页号占低32位
+     */
+    private static long pageKey(long processId, int virtualPageNumber) {
+        return processId << 32 | (virtualPageNumber & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 重新计算空闲内存块，按字跳过已使用和空闲的连续区域，只在查询且有变化时计算
+     */
     private void recalculateFreeBlocks() {
-        // 清空当前空闲块列表
-        freeBlocks.clear();
-        
-        // 遍历页表位图，找出所有连续的空闲区域
-        int start = 0;
-        int size = 0;
-        
-        for (int i = 0; i < pageBitmap.length; i++) {
-            if (pageBitmap[i] == 0) {
-                // 空闲页
-                if (size == 0) {
-                    start = i * PAGE_SIZE;
-                }
-                size += PAGE_SIZE;
-            } else {
-                // 已分配页
-                if (size > 0) {
-                    freeBlocks.add(new MemoryBlock(start, size));
-                    size = 0;
-                }
-            }
+        if (!freeBlocksStale) {
+            return;
         }
-        
-        // 处理最后一个空闲块
-        if (size > 0) {
-            freeBlocks.add(new MemoryBlock(start, size));
+        freeBlocks.clear();
+        for (int start = freePages.nextFree(0); start >= 0; start = freePages.nextFree(start)) {
+            int end = freePages.nextUsed(start);
+            freeBlocks.add(new MemoryBlock((long) start * pageSize, (long) (end - start) * pageSize));
+            start = end;
         }
+        freeBlocksStale = false;
         
         // 如果没有空闲块，添加一个全空的内存块
         if (freeBlocks.isEmpty()) {
-            freeBlocks.add(new MemoryBlock(0, TOTAL_MEMORY));
+            freeBlocks.add(new MemoryBlock(0, totalMemory));
         }
     }
 
     @Override
-    public boolean allocatePage(Process process, int virtualPageNumber) {
-        // 查找空闲物理页
-        int physicalPage = findFreePhysicalPage();
+    public synchronized boolean allocatePage(Process process, int virtualPageNumber) {
+        if (virtualPageNumber < 0 || virtualPageNumber >= maxPagesPerProcess) {
+            logger.error("Invalid virtual page number: {} for process {}", virtualPageNumber, process.getId());
+            return false;
+        }
+        // 查找空闲物理页，没有时进行页面置换
+        int physicalPage = obtainFrame(pageKey(process.getId(), virtualPageNumber));
         if (physicalPage == -1) {
-            // 没有空闲页，需要页面置换
-            physicalPage = findPageToSwap();
-            if (physicalPage == -1) {
-                return false;
-            }
-            // 将选中的页换出
-            swapOutPage(process, virtualPageNumber);
+            return false;
         }
+        memory.clear(physicalPage);
 
-        // 更新页表
-        PageEntry pageEntry = new PageEntry(physicalPage);
-        pageTables.get(process)[virtualPageNumber] = pageEntry;
-        
-        // 更新页表位图
-        pageBitmap[physicalPage] = process.getId();
-        pageLastVisit[physicalPage] = currentTime++;
-        
+        // 更新页表和页表位图
+        mapPage(process, virtualPageNumber, physicalPage);
         return true;
     }
 
     @Override
-    public void freePage(Process process, int virtualPageNumber) {
-        PageEntry pageEntry = pageTables.get(process)[virtualPageNumber];
+    public synchronized void freePage(Process process, int virtualPageNumber) {
+        PageEntry pageEntry = getPageEntry(process, virtualPageNumber);
         if (pageEntry != null && pageEntry.isValid()) {
-            int physicalPage = pageEntry.getPhysicalPageNumber();
-            // 清除页表位图
-            pageBitmap[physicalPage] = 0;
             // 清除页表项
             pageEntry.setValid(false);
+            unmapPage(pageEntry.getPhysicalPageNumber());
         }
     }
 
     @Override
-    public PageEntry getPageEntry(Process process, int virtualPageNumber) {
-        PageEntry[] pageTable = pageTables.get(process);
-        return pageTable != null ? pageTable[virtualPageNumber] : null;
+    public synchronized PageEntry getPageEntry(Process process, int virtualPageNumber) {
+        PageEntry[] pageTable = pageTables.get(process.getId());
+        return pageTable != null && virtualPageNumber >= 0 && virtualPageNumber < pageTable.length
+            ? pageTable[virtualPageNumber] : null;
+    }
+
+    /**
+     * 设置页表项，页表长度不够时按倍数增长，不超过每个进程的最大页数
+     */
+    private void setPageEntry(Process process, int virtualPageNumber, PageEntry pageEntry) {
+        PageEntry[] pageTable = pageTables.getOrDefault(process.getId(), new PageEntry[0]);
+        if (virtualPageNumber >= pageTable.length) {
+            int length = Math.min(maxPagesPerProcess, Math.max(virtualPageNumber + 1, pageTable.length * 2));
+            pageTable = Arrays.copyOf(pageTable, length);
+        }
+        pageTable[virtualPageNumber] = pageEntry;
+        pageTables.put(process.getId(), pageTable);
     }
 
     @Override
-    public boolean isPageValid(Process process, int virtualPageNumber) {
+    public synchronized boolean isPageValid(Process process, int virtualPageNumber) {
         PageEntry pageEntry = getPageEntry(process, virtualPageNumber);
         return pageEntry != null && pageEntry.isValid();
     }
 
     @Override
-    public boolean writeMemory(Process process, int virtualAddress, Object content) {
-        if (virtualAddress < 0 || virtualAddress >= TOTAL_MEMORY) {
-            logger.error("Invalid virtual address: {} for process {}", virtualAddress, process.getId());
+    public synchronized boolean writeMemory(Process process, int virtualAddress, byte[] data) {
+        int[] physicalPages = translate(process, virtualAddress, data.length, true);
+        if (physicalPages == null) {
             return false;
         }
+        int offset = virtualAddress % pageSize;
+        for (int i = 0, done = 0; i < physicalPages.length; i++, offset = 0) {
+            int length = Math.min(pageSize - offset, data.length - done);
+            memory.write(physicalPages[i], offset, data, done, length);
+            done += length;
+        }
+        return true;
+    }
 
-        int virtualPageNumber = virtualAddress / PAGE_SIZE;
-        int offset = virtualAddress % PAGE_SIZE;
-        
-        PageEntry pageEntry = getPageEntry(process, virtualPageNumber);
-        if (pageEntry == null || !pageEntry.isValid()) {
-            // 触发缺页中断
-            handlePageFault(process, virtualAddress);
-            return false;
+    @Override
+    public synchronized byte[] readMemory(Process process, int virtualAddress, int length) {
+        if (length < 0) {
+            logger.error("Invalid read length: {} for process {}", length, process.getId());
+            return null;
         }
+        int[] physicalPages = translate(process, virtualAddress, length, false);
+        if (physicalPages == null) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        int offset = virtualAddress % pageSize;
+        for (int i = 0, done = 0; i < physicalPages.length; i++, offset = 0) {
+            int count = Math.min(pageSize - offset, length - done);
+            memory.read(physicalPages[i], offset, data, done, count);
+            done += count;
+        }
+        return data;
+    }
 
-        if (!pageEntry.isWrite()) {
-            logger.error("Write permission denied for process {} at address {}", process.getId(), virtualAddress);
+    @Override
+    public synchronized boolean writeInt(Process process, int virtualAddress, int value) {
+        if (virtualAddress % pageSize > pageSize - Integer.BYTES) {
+            // 跨页时按字节写
+            return writeMemory(process, virtualAddress, littleEndian(Integer.BYTES).putInt(value).array());
+        }
+        int[] physicalPages = translate(process, virtualAddress, Integer.BYTES, true);
+        if (physicalPages == null) {
             return false;
         }
+        memory.putInt(physicalPages[0], virtualAddress % pageSize, value);
+        return true;
+    }
+
+    @Override
+    public synchronized Integer readInt(Process process, int virtualAddress) {
+        if (virtualAddress % pageSize > pageSize - Integer.BYTES) {
+            byte[] data = readMemory(process, virtualAddress, Integer.BYTES);
+            return data != null ? ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).getInt() : null;
+        }
+        int[] physicalPages = translate(process, virtualAddress, Integer.BYTES, false);
+        return physicalPages != null ? memory.getInt(physicalPages[0], virtualAddress % pageSize) : null;
+    }
 
-        // 写入内存
-        int physicalAddress = pageEntry.getPhysicalPageNumber() * PAGE_SIZE + offset;
-        if (physicalAddress >= memory.length) {
-            logger.error("Physical address out of bounds: {} for process {}", physicalAddress, process.getId());
+    @Override
+    public synchronized boolean writeLong(Process process, int virtualAddress, long value) {
+        if (virtualAddress % pageSize > pageSize - Long.BYTES) {
+            return writeMemory(process, virtualAddress, littleEndian(Long.BYTES).putLong(value).array());
+        }
+        int[] physicalPages = translate(process, virtualAddress, Long.BYTES, true);
+        if (physicalPages == null) {
             return false;
         }
-        memory[physicalAddress] = content;
-        pageEntry.setDirty(true);
-        pageLastVisit[pageEntry.getPhysicalPageNumber()] = currentTime++;
-        
+        memory.putLong(physicalPages[0], virtualAddress % pageSize, value);
         return true;
     }
 
     @Override
-    public Object readMemory(Process process, int virtualAddress) {
-        if (virtualAddress < 0 || virtualAddress >= TOTAL_MEMORY) {
-            logger.error("Invalid virtual address: {} for process {}", virtualAddress, process.getId());
-            return null;
+    public synchronized Long readLong(Process process, int virtualAddress) {
+        if (virtualAddress % pageSize > pageSize - Long.BYTES) {
+            byte[] data = readMemory(process, virtualAddress, Long.BYTES);
+            return data != null ? ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).getLong() : null;
         }
+        int[] physicalPages = translate(process, virtualAddress, Long.BYTES, false);
+        return physicalPages != null ? memory.getLong(physicalPages[0], virtualAddress % pageSize) : null;
+    }
 
-        int virtualPageNumber = virtualAddress / PAGE_SIZE;
-        int offset = virtualAddress % PAGE_SIZE;
-        
-        PageEntry pageEntry = getPageEntry(process, virtualPageNumber);
-        if (pageEntry == null || !pageEntry.isValid()) {
-            // 触发缺页中断
-            handlePageFault(process, virtualAddress);
-            return null;
-        }
+    private static ByteBuffer littleEndian(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
 
-        if (!pageEntry.isRead()) {
-            logger.error("Read permission denied for process {} at address {}", process.getId(), virtualAddress);
+    /**
+     * 把 [virtualAddress, virtualAddress + length) 涉及的虚拟页依次转换为物理页号，并更新访问时间和脏位
+     * 地址越界、没有权限或有页无效时返回null，有页无效时对第一个无效页触发缺页中断
+     */
+    private int[] translate(Process process, int virtualAddress, int length, boolean write) {
+        if (virtualAddress < 0 || (long) virtualAddress + length > (long) maxPagesPerProcess * pageSize) {
+            logger.error("Invalid virtual address: {} for process {}", virtualAddress, process.getId());
             return null;
         }
+        int firstPage = virtualAddress / pageSize;
+        int pageCount = length == 0 ? 0 : (virtualAddress + length - 1) / pageSize - firstPage + 1;
+        PageEntry[] entries = new PageEntry[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            PageEntry pageEntry = getPageEntry(process, firstPage + i);
+            if (pageEntry == null || !pageEntry.isValid()) {
+                // 触发缺页中断
+                handlePageFault(process, (firstPage + i) * pageSize);
+                return null;
+            }
+            if (write ? !pageEntry.isWrite() : !pageEntry.isRead()) {
+                logger.error("{} permission denied for process {} at address {}",
+                    write ? "Write" : "Read", process.getId(), virtualAddress);
+                return null;
+            }
+            entries[i] = pageEntry;
+        }
 
-        // 读取内存
-        int physicalAddress = pageEntry.getPhysicalPageNumber() * PAGE_SIZE + offset;
-        if (physicalAddress >= memory.length) {
-            logger.error("Physical address out of bounds: {} for process {}", physicalAddress, process.getId());
-            return null;
+        int[] physicalPages = new int[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            physicalPages[i] = entries[i].getPhysicalPageNumber();
+            if (write) {
+                entries[i].setDirty(true);
+            }
+            replacementPolicy.onAccess(physicalPages[i], write);
         }
-        pageLastVisit[pageEntry.getPhysicalPageNumber()] = currentTime++;
-        return memory[physicalAddress];
+        replacementStats.get(replacementAlgorithm).recordHits(pageCount);
+        return physicalPages;
     }
 
     @Override
-    public int getFreeMemorySize() {
-        int freePages = 0;
-        for (int i = 0; i < pageBitmap.length; i++) {
-            if (pageBitmap[i] == 0) {
-                freePages++;
-            }
-        }
-        return freePages * PAGE_SIZE;
+    public synchronized long getFreeMemorySize() {
+        return (long) freePages.freeCount() * pageSize;
     }
 
     @Override
-    public List<MemoryBlock> getFreeBlocks() {
+    public synchronized List<MemoryBlock> getFreeBlocks() {
         recalculateFreeBlocks();
         return new ArrayList<>(freeBlocks);
     }
 
     @Override
-    public double getMemoryUsage() {
-        int used = 0;
-        for (int i = 0; i < pageBitmap.length; i++) {
-            if (pageBitmap[i] != 0) {
-                used++;
-            }
-        }
-        return (double) used / pageBitmap.length;
+    public synchronized double getMemoryUsage() {
+        return (double) (freePages.capacity() - freePages.freeCount()) / freePages.capacity();
     }
 
     @Override
-    public void handlePageFault(Process process, int virtualAddress) {
-        int virtualPageNumber = virtualAddress / PAGE_SIZE;
+    public synchronized void handlePageFault(Process process, int virtualAddress) {
+        int virtualPageNumber = virtualAddress / pageSize;
+        replacementStats.get(replacementAlgorithm).recordFault();
         // 检查是否在交换区
-        SwappedOutPage swappedPage = findSwappedPage(process, virtualPageNumber);
-        if (swappedPage != null) {
+        if (swapDevice.contains(process.getId(), virtualPageNumber)) {
             // 从交换区换入
             swapInPage(process, virtualPageNumber);
         } else {
@@ -311,106 +500,109 @@ public class MemoryManagerImpl implements MemoryManager {
     }
 
     @Override
-    public void swapOutPage(Process process, int virtualPageNumber) {
+    public synchronized void swapOutPage(Process process, int virtualPageNumber) {
         PageEntry pageEntry = getPageEntry(process, virtualPageNumber);
         if (pageEntry != null && pageEntry.isValid()) {
             int physicalPage = pageEntry.getPhysicalPageNumber();
             // 保存页面内容
-            Object[] pageContent = new Object[PAGE_SIZE];
-            if (memory != null) {
-                System.arraycopy(memory, physicalPage * PAGE_SIZE, pageContent, 0, PAGE_SIZE);
+            if (!swapDevice.pageOut(process.getId(), virtualPageNumber, memory, physicalPage)) {
+                logger.error("Swap space is full, page {} of process {} stays in memory", virtualPageNumber, process.getId());
+                return;
             }
-            swappedPages.add(new SwappedOutPage(process.getId(), virtualPageNumber, pageContent));
             // 清除页表项
             pageEntry.setValid(false);
             // 清除页表位图
-            pageBitmap[physicalPage] = 0;
+            unmapPage(physicalPage);
         }
     }
 
     @Override
-    public void swapInPage(Process process, int virtualPageNumber) {
-        SwappedOutPage swappedPage = findSwappedPage(process, virtualPageNumber);
-        if (swappedPage != null) {
-            // 分配新的物理页
-            int physicalPage = findFreePhysicalPage();
-            if (physicalPage == -1) {
-                physicalPage = findPageToSwap();
+    public synchronized void swapInPage(Process process, int virtualPageNumber) {
+        if (swapDevice.contains(process.getId(), virtualPageNumber)) {
+            int physicalPage = freePages.nextFree(0);
+            if (physicalPage >= 0) {
+                // 恢复页面内容，同时释放交换槽位
+                swapDevice.pageIn(process.getId(), virtualPageNumber, memory, physicalPage);
+            } else {
+                // 没有空闲页时换出一页，换出的页直接使用换入页释放的槽位
+                physicalPage = replacementPolicy.selectVictim(pageKey(process.getId(), virtualPageNumber));
                 if (physicalPage == -1) {
                     return;
                 }
+                swapDevice.exchange(process.getId(), virtualPageNumber,
+                    pageBitmap[physicalPage], frameVirtualPages[physicalPage], memory, physicalPage);
+                evicted(physicalPage);
             }
-            // 恢复页面内容
-            if (swappedPage.getContent() != null && memory != null) {
-                System.arraycopy(swappedPage.getContent(), 0, memory, physicalPage * PAGE_SIZE, PAGE_SIZE);
-            }
-            // 更新页表
-            PageEntry pageEntry = new PageEntry(physicalPage);
-            pageTables.get(process)[virtualPageNumber] = pageEntry;
-            // 更新页表位图
-            pageBitmap[physicalPage] = process.getId();
-            pageLastVisit[physicalPage] = currentTime++;
-            // 从交换区移除
-            swappedPages.remove(swappedPage);
+            // 更新页表和页表位图
+            mapPage(process, virtualPageNumber, physicalPage);
         }
     }
 
-    private int findFreePhysicalPage() {
-        for (int i = 0; i < pageBitmap.length; i++) {
-            if (pageBitmap[i] == 0) {
-                return i;
-            }
-        }
-        return -1;
+    @Override
+    public synchronized long[] getMemoryStatus() {
+        return getMemoryStatus(0, pageBitmap.length);
     }
 
-    private int findPageToSwap() {
-        // LRU算法：选择最久未使用的页
-        int oldestTime = Integer.MAX_VALUE;
-        int oldestPage = -1;
-        for (int i = 0; i < pageLastVisit.length; i++) {
-            if (pageBitmap[i] != 0 && pageLastVisit[i] < oldestTime) {
-                oldestTime = pageLastVisit[i];
-                oldestPage = i;
-            }
-        }
-        return oldestPage;
+    @Override
+    public synchronized long[] getMemoryStatus(int fromPage, int count) {
+        // 超出范围的部分截掉
+        int from = Math.max(0, Math.min(fromPage, pageBitmap.length));
+        int to = (int) Math.min(pageBitmap.length, (long) from + Math.max(0, count));
+        return Arrays.copyOfRange(pageBitmap, from, to);
     }
 
-    private SwappedOutPage findSwappedPage(Process process, int virtualPageNumber) {
-        for (SwappedOutPage page : swappedPages) {
-            if (page.getProcessId() == process.getId() && page.getVirtualPageNumber() == virtualPageNumber) {
-                return page;
-            }
-        }
-        return null;
+    @Override
+    public int getPageSize() {
+        return pageSize;
     }
 
     @Override
-    public long[] getMemoryStatus() {
-        long[] memoryStatus = new long[TOTAL_MEMORY / PAGE_SIZE];
-        Arrays.fill(memoryStatus, 0);
-        
-        // 遍历页表位图，设置已分配的内存块
-        for (int i = 0; i < pageBitmap.length; i++) {
-            if (pageBitmap[i] != 0) {
-                memoryStatus[i] = pageBitmap[i];
-            }
-        }
-        
-        return memoryStatus;
+    public long getTotalMemorySize() {
+        return totalMemory;
     }
 
-    @Getter
-    private static class SwappedOutPage {
-        private final long processId;
-        private final int virtualPageNumber;
-        private final Object[] content;
+    @Override
+    public synchronized int getSwappedPageCount() {
+        return swapDevice.usedSlots();
+    }
 
-        public SwappedOutPage(long processId, int virtualPageNumber, Object[] content) {
-            this.processId = processId;
-            this.virtualPageNumber = virtualPageNumber;
-            this.content = content;
+    @Override
+    public synchronized void setReplacementAlgorithm(String name) {
+        ReplacementAlgorithm algorithm = ReplacementAlgorithm.of(name);
+        if (algorithm == replacementAlgorithm) {
+            return;
+        }
+        // 新策略按物理页号顺序接管当前的驻留页，原策略记录的访问历史不保留
+        PageReplacementPolicy policy = algorithm.create(pageBitmap.length);
+        for (int page = freePages.nextUsed(0); page < pageBitmap.length; page = freePages.nextUsed(page + 1)) {
+            policy.onLoad(page, pageKey(pageBitmap[page], frameVirtualPages[page]));
         }
+        replacementAlgorithm = algorithm;
+        replacementPolicy = policy;
+        logger.info("Page replacement algorithm switched to {}", algorithm);
+    }
+
+    @Override
+    public synchronized ReplacementAlgorithm getReplacementAlgorithm() {
+        return replacementAlgorithm;
+    }
+
+    @Override
+    public synchronized List<ReplacementStats> getReplacementStats() {
+        List<ReplacementStats> stats = new ArrayList<>();
+        replacementStats.values().forEach(s -> stats.add(s.copy()));
+        return stats;
+    }
+
+    /**
+     * 物理内存实际分配的堆外字节数，只包含写入过的段
+     */
+    public synchronized long getAllocatedMemoryBytes() {
+        return memory.allocatedBytes();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        swapDevice.close();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.group.myos.memory.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 按字节寻址的物理内存，保存在堆外的直接缓冲区中
+ * 1. 内存按整页分成若干段，每段不超过64 MiB，物理页号右移得到段号，段内偏移为int，总大小按long计算，不受2 GiB限制
+ * 2. 段在第一次写入时才分配，没有分配的段读出全0，只有写过的部分占用堆外内存，不受垃圾回收影响
+ * 3. 多字节数据按小端序保存
+ * 4. 一页总在同一段内，页之间的复制和换入换出都是整块复制
+ * 本类不是线程安全的，由内存管理器加锁访问
+ */
+public class PhysicalMemory {
+    private static final int MAX_SEGMENT_BYTES = 1 << 26; // 每段最多64 MiB
+
+    private final int frameCount;
+    private final int frameSize;
+    private final int shift; // 物理页号右移 shift 位为段号
+    private final int mask; // 物理页号与 mask 为段内页号
+    private final ByteBuffer[] segments;
+    private final byte[] zeroFrame;
+    private long allocatedBytes = 0;
+
+    public PhysicalMemory(int frameCount, int frameSize) {
+        if (frameCount <= 0 || frameSize <= 0) {
+            throw new IllegalArgumentException("物理内存大小无效: " + frameCount + " * " + frameSize);
+        }
+        this.frameCount = frameCount;
+        this.frameSize = frameSize;
+        int framesPerSegment = Integer.highestOneBit(Math.max(1, MAX_SEGMENT_BYTES / frameSize));
+        this.shift = Integer.numberOfTrailingZeros(framesPerSegment);
+        this.mask = framesPerSegment - 1;
+        this.segments = new ByteBuffer[(int) (((long) frameCount + mask) >>> shift)];
+        this.zeroFrame = new byte[frameSize];
+    }
+
+    public int frameCount() {
+        return frameCount;
+    }
+
+    public int frameSize() {
+        return frameSize;
+    }
+
+    /**
+     * 模拟的物理内存字节数
+     */
+    public long sizeInBytes() {
+        return (long) frameCount * frameSize;
+    }
+
+    /**
+     * 已分配的堆外内存字节数
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * 把整页清零，所在的段还没有分配时本来就是0
+     */
+    public void clear(int frame) {
+        ByteBuffer segment = segments[segmentOf(frame)];
+        if (segment != null) {
+            segment.put(base(frame), zeroFrame, 0, frameSize);
+        }
+    }
+
+    public byte getByte(int frame, int offset) {
+        ByteBuffer segment = readable(frame);
+        return segment != null ? segment.get(index(frame, offset, Byte.BYTES)) : 0;
+    }
+
+    public void putByte(int frame, int offset, byte value) {
+        writable(frame).put(index(frame, offset, Byte.BYTES), value);
+    }
+
+    public int getInt(int frame, int offset) {
+        ByteBuffer segment = readable(frame);
+        return segment != null ? segment.getInt(index(frame, offset, Integer.BYTES)) : 0;
+    }
+
+    public void putInt(int frame, int offset, int value) {
+        writable(frame).putInt(index(frame, offset, Integer.BYTES), value);
+    }
+
+    public long getLong(int frame, int offset) {
+        ByteBuffer segment = readable(frame);
+        return segment != null ? segment.getLong(index(frame, offset, Long.BYTES)) : 0;
+    }
+
+    public void putLong(int frame, int offset, long value) {
+        writable(frame).putLong(index(frame, offset, Long.BYTES), value);
+    }
+
+    /**
+     * 从页内 offset 处读 length 个字节到 dst[dstOffset..]
+     */
+    public void read(int frame, int offset, byte[] dst, int dstOffset, int length) {
+        ByteBuffer segment = readable(frame);
+        int index = index(frame, offset, length);
+        if (segment != null) {
+            segment.get(index, dst, dstOffset, length);
+        } else {
+            System.arraycopy(zeroFrame, 0, dst, dstOffset, length);
+        }
+    }
+
+    /**
+     * 把 src[srcOffset..] 的 length 个字节写到页内 offset 处
+     */
+    public void write(int frame, int offset, byte[] src, int srcOffset, int length) {
+        writable(frame).put(index(frame, offset, length), src, srcOffset, length);
+    }
+
+    /**
+     * 把整页内容整块复制到 dst 的 dstIndex 处，用于换出
+     */
+    public void store(int frame, ByteBuffer dst, int dstIndex) {
+        ByteBuffer segment = readable(frame);
+        if (segment != null) {
+            dst.put(dstIndex, segment, base(frame), frameSize);
+        } else {
+            dst.put(dstIndex, zeroFrame, 0, frameSize);
+        }
+    }
+
+    /**
+     * 用 src 中 srcIndex 处的一页内容覆盖整页，用于换入
+     */
+    public void load(int frame, ByteBuffer src, int srcIndex) {
+        writable(frame).put(base(frame), src, srcIndex, frameSize);
+    }
+
+    /**
+     * 把一页的内容整块复制到另一页
+     */
+    public void copy(int fromFrame, int toFrame) {
+        ByteBuffer from = readable(fromFrame);
+        if (from == null) {
+            clear(toFrame);
+            return;
+        }
+        writable(toFrame).put(base(toFrame), from, base(fromFrame), frameSize);
+    }
+
+    private int segmentOf(int frame) {
+        if (frame < 0 || frame >= frameCount) {
+            throw new IndexOutOfBoundsException("物理页号越界: " + frame);
+        }
+        return frame >>> shift;
+    }
+
+    private ByteBuffer readable(int frame) {
+        return segments[segmentOf(frame)];
+    }
+
+    /**
+     * 物理页所在的段，第一次写入时分配；最后一段只分配到最后一页为止
+     */
+    private ByteBuffer writable(int frame) {
+        int segment = segmentOf(frame);
+        if (segments[segment] == null) {
+            int frames = Math.min(mask + 1, frameCount - (segment << shift));
+            segments[segment] = ByteBuffer.allocateDirect(frames * frameSize).order(ByteOrder.LITTLE_ENDIAN);
+            allocatedBytes += (long) frames * frameSize;
+        }
+        return segments[segment];
+    }
+
+    /**
+     * 物理页在段内的起始下标
+     */
+    private int base(int frame) {
+        return (frame & mask) * frameSize;
+    }
+
+    /**
+     * 页内 [offset, offset + length) 在段内的下标，不允许跨页
+     */
+    private int index(int frame, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > frameSize - length) {
+            throw new IndexOutOfBoundsException("页内偏移越界: " + offset + " + " + length);
+        }
+        return base(frame) + offset;
+    }
+}
@@ -0,0 +1,197 @@
+package com.group.myos.memory.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 交换设备
+ * 内存映射的交换文件按页大小分成若干槽位，换出的页整页复制到一个槽位中
+ * 1. 空闲槽位用 {@link FreePageBitmap} 管理，分配和释放为 O(log64 N)
+ * 2. (进程ID, 虚拟页号) -> 槽位号 的映射用于 O(1) 查找换出的页，堆上只保存这个映射
+ * 3. 文件按整槽位分成若干区域分别映射，每个区域不超过1 GiB，槽位号除以每区域槽位数得到区域号，
+ *    文件偏移按long计算，交换区总大小不受2 GiB限制
+ * 4. 交换内容不跨重启保留，打开时清空文件
+ * 未配置路径时使用临时文件，应用退出后删除
+ * 本类不是线程安全的，由内存管理器加锁访问
+ */
+public class SwapDevice implements AutoCloseable {
+    private static final int MAX_REGION_BYTES = 1 << 30; // 每个映射区域最多1 GiB
+
+    private final int slotSize;
+    private final int slotsPerRegion;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final FreePageBitmap freeSlots;
+    private final Map<Long, Integer> slots = new HashMap<>(); // (进程ID, 虚拟页号) -> 槽位号
+
+    public SwapDevice(String path, int slotCount, int slotSize) {
+        this(path, slotCount, slotSize, MAX_REGION_BYTES);
+    }
+
+    /**
+     * @param maxRegionBytes 每个映射区域的最大字节数，至少容纳一个槽位
+     */
+    public SwapDevice(String path, int slotCount, int slotSize, int maxRegionBytes) {
+        if (slotCount <= 0 || slotSize <= 0 || maxRegionBytes < slotSize) {
+            throw new IllegalArgumentException("交换区大小无效: " + slotCount + " * " + slotSize);
+        }
+        this.slotSize = slotSize;
+        this.slotsPerRegion = maxRegionBytes / slotSize;
+        try {
+            if (path == null || path.isBlank()) {
+                this.path = Files.createTempFile("myos-swap", ".bin");
+                this.path.toFile().deleteOnExit();
+            } else {
+                this.path = Path.of(path);
+                if (this.path.getParent() != null) {
+                    Files.createDirectories(this.path.getParent());
+                }
+            }
+            this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.regions = new MappedByteBuffer[(slotCount + slotsPerRegion - 1) / slotsPerRegion];
+            for (int region = 0; region < regions.length; region++) {
+                long position = (long) region * slotsPerRegion * slotSize;
+                int slots = Math.min(slotsPerRegion, slotCount - region * slotsPerRegion);
+                regions[region] = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) slots * slotSize);
+                regions[region].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开交换文件失败: " + path, e);
+        }
+        this.freeSlots = new FreePageBitmap(slotCount);
+    }
+
+    public int slotCount() {
+        return freeSlots.capacity();
+    }
+
+    public int usedSlots() {
+        return freeSlots.capacity() - freeSlots.freeCount();
+    }
+
+    public int regionCount() {
+        return regions.length;
+    }
+
+    /**
+     * 交换文件的字节数
+     */
+    public long sizeInBytes() {
+        return (long) slotCount() * slotSize;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public boolean hasFreeSlot() {
+        return freeSlots.freeCount() > 0;
+    }
+
+    public boolean contains(long processId, int virtualPageNumber) {
+        return slots.containsKey(key(processId, virtualPageNumber));
+    }
+
+    /**
+     * 把物理页换出到空闲槽位，同一虚拟页已换出时覆盖原槽位
+     * @return 交换区已满时为false
+     */
+    public boolean pageOut(long processId, int virtualPageNumber, PhysicalMemory memory, int frame) {
+        long key = key(processId, virtualPageNumber);
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            int free = freeSlots.allocate();
+            if (free < 0) {
+                return false;
+            }
+            slot = free;
+            slots.put(key, slot);
+        }
+        memory.store(frame, region(slot), offset(slot));
+        return true;
+    }
+
+    /**
+     * 把换出的页读回物理页并释放槽位
+     * @return 该页没有换出时为false
+     */
+    public boolean pageIn(long processId, int virtualPageNumber, PhysicalMemory memory, int frame) {
+        Integer slot = slots.remove(key(processId, virtualPageNumber));
+        if (slot == null) {
+            return false;
+        }
+        memory.load(frame, region(slot), offset(slot));
+        freeSlots.release(slot);
+        return true;
+    }
+
+    /**
+     * 交换一个换出的页和一个驻留的物理页：换出的页读回物理页，物理页原来的内容写入同一个槽位
+     * 用于交换区已满时换入
+     * @return 换入的页没有换出时为false
+     */
+    public boolean exchange(long processId, int virtualPageNumber, long victimProcessId, int victimVirtualPage,
+                            PhysicalMemory memory, int frame) {
+        Integer slot = slots.remove(key(processId, virtualPageNumber));
+        if (slot == null) {
+            return false;
+        }
+        byte[] incoming = new byte[slotSize];
+        MappedByteBuffer region = region(slot);
+        region.get(offset(slot), incoming);
+        memory.store(frame, region, offset(slot));
+        memory.write(frame, 0, incoming, 0, slotSize);
+        slots.put(key(victimProcessId, victimVirtualPage), slot);
+        return true;
+    }
+
+    /**
+     * 丢弃换出的页，进程释放内存时调用
+     */
+    public void discard(long processId, int virtualPageNumber) {
+        Integer slot = slots.remove(key(processId, virtualPageNumber));
+        if (slot != null) {
+            freeSlots.release(slot);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("关闭交换文件失败: " + path, e);
+        }
+    }
+
+    /**
+     * 槽位所在的映射区域
+     */
+    private MappedByteBuffer region(int slot) {
+        return regions[slot / slotsPerRegion];
+    }
+
+    /**
+     * 槽位在所在区域内的起始下标
+     */
+    private int offset(int slot) {
+        return (slot % slotsPerRegion) * slotSize;
+    }
+
+    /**
+     * 进程ID占高32位，虚拟页号占低32位
+     */
+    private static long key(long processId, int virtualPageNumber) {
+        return processId << 32 | (virtualPageNumber & 0xFFFFFFFFL);
+    }
+}
@@ -7,10 +7,10 @@ import lombok.Setter;
 @Setter
 @Getter
 public class MemoryBlock {
-    private int start;
-    private int size;
+    private long start;
+    private long size;
 
-    public MemoryBlock(int start, int size) {
+    public MemoryBlock(long start, long size) {
         this.start = start;
         this.size = size;
     }
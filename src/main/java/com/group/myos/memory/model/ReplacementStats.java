@@ -0,0 +1,48 @@
+package com.group.myos.memory.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一种页面置换算法在使用期间的统计
+ */
+@Data
+@NoArgsConstructor
+public class ReplacementStats {
+    private String algorithm;
+    private long hits;      // 访问驻留页的次数，跨页访问按页计
+    private long faults;    // 缺页次数
+    private long evictions; // 为装入新页而换出的页数
+
+    public ReplacementStats(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * 命中率，没有访问时为0
+     */
+    public double getHitRatio() {
+        long accesses = hits + faults;
+        return accesses == 0 ? 0 : (double) hits / accesses;
+    }
+
+    public void recordHits(int pages) {
+        hits += pages;
+    }
+
+    public void recordFault() {
+        faults++;
+    }
+
+    public void recordEviction() {
+        evictions++;
+    }
+
+    public ReplacementStats copy() {
+        ReplacementStats copy = new ReplacementStats(algorithm);
+        copy.setHits(hits);
+        copy.setFaults(faults);
+        copy.setEvictions(evictions);
+        return copy;
+    }
+}
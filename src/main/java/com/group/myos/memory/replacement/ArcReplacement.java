@@ -0,0 +1,120 @@
+package com.group.myos.memory.replacement;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * 自适应替换缓存（ARC）
+ * 1. T1：只访问过一次的驻留页；T2：访问过多次的驻留页，都按访问顺序排列
+ * 2. B1、B2：最近从 T1、T2 换出的页，只记虚拟页不占物理页
+ * 3. 缺页的页在 B1 中时增大 T1 的目标大小 p，在 B2 中时减小 p，换出时按 p 决定从 T1 还是 T2 的最久未访问端换出
+ * 容量为物理页数，T1 与 B1 合计不超过容量，四个列表合计不超过两倍容量
+ */
+public class ArcReplacement implements PageReplacementPolicy {
+    private static final byte NONE = 0;
+    private static final byte RECENT = 1;
+    private static final byte FREQUENT = 2;
+
+    private final int capacity;
+    private final long[] frameKeys; // 物理页 -> 虚拟页
+    private final byte[] lists; // 物理页所在的驻留列表
+    private final LinkedHashMap<Long, Integer> t1 = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, Integer> t2 = new LinkedHashMap<>();
+    private final LinkedHashSet<Long> b1 = new LinkedHashSet<>();
+    private final LinkedHashSet<Long> b2 = new LinkedHashSet<>();
+    private int target; // T1 的目标大小 p
+
+    public ArcReplacement(int frameCount) {
+        this.capacity = frameCount;
+        this.frameKeys = new long[frameCount];
+        this.lists = new byte[frameCount];
+    }
+
+    @Override
+    public void onLoad(int frame, long pageKey) {
+        onRemove(frame);
+        frameKeys[frame] = pageKey;
+        if (b1.contains(pageKey)) {
+            // 最近换出得太早，T1 应更大
+            target = Math.min(capacity, target + Math.max(b2.size() / b1.size(), 1));
+            b1.remove(pageKey);
+            t2.put(pageKey, frame);
+            lists[frame] = FREQUENT;
+        } else if (b2.contains(pageKey)) {
+            target = Math.max(0, target - Math.max(b1.size() / b2.size(), 1));
+            b2.remove(pageKey);
+            t2.put(pageKey, frame);
+            lists[frame] = FREQUENT;
+        } else {
+            t1.put(pageKey, frame);
+            lists[frame] = RECENT;
+            if (t1.size() + b1.size() > capacity && !b1.isEmpty()) {
+                removeEldest(b1);
+            }
+            if (t1.size() + t2.size() + b1.size() + b2.size() > 2 * capacity && !b2.isEmpty()) {
+                removeEldest(b2);
+            }
+        }
+    }
+
+    @Override
+    public void onAccess(int frame, boolean write) {
+        long pageKey = frameKeys[frame];
+        if (lists[frame] == RECENT) {
+            t1.remove(pageKey);
+        } else if (lists[frame] == FREQUENT) {
+            t2.remove(pageKey);
+        } else {
+            return;
+        }
+        t2.put(pageKey, frame);
+        lists[frame] = FREQUENT;
+    }
+
+    @Override
+    public void onRemove(int frame) {
+        if (lists[frame] == RECENT) {
+            t1.remove(frameKeys[frame]);
+        } else if (lists[frame] == FREQUENT) {
+            t2.remove(frameKeys[frame]);
+        }
+        lists[frame] = NONE;
+    }
+
+    @Override
+    public int selectVictim(long incomingPageKey) {
+        if (t1.isEmpty() && t2.isEmpty()) {
+            return -1;
+        }
+        boolean fromRecent = !t1.isEmpty()
+            && (t2.isEmpty() || t1.size() > target || (t1.size() == target && b2.contains(incomingPageKey)));
+        LinkedHashMap<Long, Integer> resident = fromRecent ? t1 : t2;
+        Iterator<Map.Entry<Long, Integer>> eldest = resident.entrySet().iterator();
+        Map.Entry<Long, Integer> entry = eldest.next();
+        eldest.remove();
+        (fromRecent ? b1 : b2).add(entry.getKey());
+        int frame = entry.getValue();
+        lists[frame] = NONE;
+        return frame;
+    }
+
+    @Override
+    public int residentCount() {
+        return t1.size() + t2.size();
+    }
+
+    /**
+     * T1 的目标大小
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    private static void removeEldest(LinkedHashSet<Long> ghosts) {
+        Iterator<Long> eldest = ghosts.iterator();
+        eldest.next();
+        eldest.remove();
+    }
+}
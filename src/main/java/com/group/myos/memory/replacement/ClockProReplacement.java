@@ -0,0 +1,246 @@
+package com.group.myos.memory.replacement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CLOCK-Pro
+ * 驻留的热页、冷页和非驻留的测试页串在同一个环上，由三个指针推进：
+ * 1. 冷指针：访问过的冷页升为热页，未访问的冷页换出并作为测试页保留一段时间
+ * 2. 热指针：热页数超过 物理页数 - 冷页目标数 时运行，访问过的热页清除访问位，未访问的降为冷页，经过的测试页被移除
+ * 3. 测试指针：测试页不超过物理页数，移除测试页时缩小冷页目标数
+ * 测试页再次缺页说明它的重用距离比热页小，装入后直接成为热页，并增大冷页目标数
+ * 冷页目标数初始为物理页数的1%，至少为1
+ */
+public class ClockProReplacement implements PageReplacementPolicy {
+    private static final byte HOT = 1;
+    private static final byte COLD = 2;
+    private static final byte TEST = 3;
+
+    private static final class Node {
+        private final long pageKey;
+        private int frame;
+        private byte type;
+        private boolean referenced;
+        private Node prev;
+        private Node next;
+
+        private Node(long pageKey, int frame, byte type) {
+            this.pageKey = pageKey;
+            this.frame = frame;
+            this.type = type;
+        }
+    }
+
+    private final int capacity;
+    private final Node[] nodes; // 物理页 -> 驻留页节点
+    private final Map<Long, Node> tests = new HashMap<>(); // 虚拟页 -> 测试页节点
+    private Node handHot;
+    private Node handCold;
+    private Node handTest;
+    private int countHot;
+    private int countCold;
+    private int coldTarget;
+
+    public ClockProReplacement(int frameCount) {
+        this.capacity = frameCount;
+        this.nodes = new Node[frameCount];
+        this.coldTarget = Math.max(1, frameCount / 100);
+    }
+
+    @Override
+    public void onLoad(int frame, long pageKey) {
+        onRemove(frame);
+        Node test = tests.remove(pageKey);
+        Node node;
+        if (test != null) {
+            unlink(test);
+            if (coldTarget < capacity) {
+                coldTarget++;
+            }
+            node = new Node(pageKey, frame, HOT);
+            countHot++;
+        } else {
+            node = new Node(pageKey, frame, COLD);
+            countCold++;
+        }
+        nodes[frame] = node;
+        link(node);
+    }
+
+    @Override
+    public void onAccess(int frame, boolean write) {
+        Node node = nodes[frame];
+        if (node != null) {
+            node.referenced = true;
+        }
+    }
+
+    @Override
+    public void onRemove(int frame) {
+        Node node = nodes[frame];
+        if (node == null) {
+            return;
+        }
+        if (node.type == HOT) {
+            countHot--;
+        } else {
+            countCold--;
+        }
+        nodes[frame] = null;
+        unlink(node);
+    }
+
+    @Override
+    public int selectVictim(long incomingPageKey) {
+        if (countHot + countCold == 0) {
+            return -1;
+        }
+        while (true) {
+            if (countCold == 0) {
+                runHandHot();
+                continue;
+            }
+            int victim = runHandCold();
+            if (victim >= 0) {
+                return victim;
+            }
+        }
+    }
+
+    @Override
+    public int residentCount() {
+        return countHot + countCold;
+    }
+
+    /**
+     * 冷页的目标数
+     */
+    public int getColdTarget() {
+        return coldTarget;
+    }
+
+    public int getTestCount() {
+        return tests.size();
+    }
+
+    /**
+     * 推进冷指针一步
+     * @return 换出的物理页，没有换出时为-1
+     */
+    private int runHandCold() {
+        Node node = handCold;
+        int victim = -1;
+        if (node.type == COLD) {
+            if (node.referenced) {
+                node.type = HOT;
+                node.referenced = false;
+                countCold--;
+                countHot++;
+            } else {
+                victim = node.frame;
+                nodes[victim] = null;
+                node.type = TEST;
+                node.frame = -1;
+                countCold--;
+                tests.put(node.pageKey, node);
+                while (tests.size() > capacity) {
+                    runHandTest();
+                }
+            }
+        }
+        if (handCold != null) {
+            handCold = handCold.next;
+        }
+        while (capacity - coldTarget < countHot) {
+            runHandHot();
+        }
+        return victim;
+    }
+
+    private void runHandHot() {
+        if (handHot == handTest) {
+            runHandTest();
+        }
+        Node node = handHot;
+        if (node.type == HOT) {
+            if (node.referenced) {
+                node.referenced = false;
+            } else {
+                node.type = COLD;
+                countHot--;
+                countCold++;
+            }
+        } else if (node.type == TEST) {
+            // 测试期结束
+            tests.remove(node.pageKey);
+            unlink(node);
+        }
+        if (handHot != null) {
+            handHot = handHot.next;
+        }
+    }
+
+    /**
+     * 推进测试指针一步，只移除测试页，不会换出驻留页
+     */
+    private void runHandTest() {
+        Node node = handTest;
+        if (node.type == TEST) {
+            tests.remove(node.pageKey);
+            unlink(node);
+            if (coldTarget > 1) {
+                coldTarget--;
+            }
+        }
+        if (handTest != null) {
+            handTest = handTest.next;
+        }
+    }
+
+    /**
+     * 新节点放在热指针之前，即环的表头
+     */
+    private void link(Node node) {
+        if (handHot == null) {
+            node.prev = node;
+            node.next = node;
+            handHot = node;
+            handCold = node;
+            handTest = node;
+            return;
+        }
+        node.next = handHot;
+        node.prev = handHot.prev;
+        handHot.prev.next = node;
+        handHot.prev = node;
+        if (handCold == handHot) {
+            handCold = node;
+        }
+    }
+
+    /**
+     * 从环上移除节点，指向它的指针退回前一个节点
+     */
+    private void unlink(Node node) {
+        if (node.next == node) {
+            handHot = null;
+            handCold = null;
+            handTest = null;
+            return;
+        }
+        if (handHot == node) {
+            handHot = node.prev;
+        }
+        if (handCold == node) {
+            handCold = node.prev;
+        }
+        if (handTest == node) {
+            handTest = node.prev;
+        }
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.group.myos.memory.replacement;
+
+import java.util.BitSet;
+
+/**
+ * 时钟算法（第二次机会）
+ * 指针按物理页号循环扫描驻留页：访问位为1时清零并跳过，为0时换出
+ * 驻留位和访问位用位图保存，扫描时按字跳过空闲物理页
+ */
+public class ClockReplacement implements PageReplacementPolicy {
+    private final BitSet resident;
+    private final BitSet referenced;
+    private int hand;
+    private int size;
+
+    public ClockReplacement(int frameCount) {
+        this.resident = new BitSet(frameCount);
+        this.referenced = new BitSet(frameCount);
+    }
+
+    @Override
+    public void onLoad(int frame, long pageKey) {
+        if (!resident.get(frame)) {
+            resident.set(frame);
+            size++;
+        }
+        referenced.set(frame);
+    }
+
+    @Override
+    public void onAccess(int frame, boolean write) {
+        if (resident.get(frame)) {
+            referenced.set(frame);
+        }
+    }
+
+    @Override
+    public void onRemove(int frame) {
+        if (resident.get(frame)) {
+            resident.clear(frame);
+            referenced.clear(frame);
+            size--;
+        }
+    }
+
+    @Override
+    public int selectVictim(long incomingPageKey) {
+        if (size == 0) {
+            return -1;
+        }
+        while (true) {
+            int frame = resident.nextSetBit(hand);
+            if (frame < 0) {
+                frame = resident.nextSetBit(0);
+            }
+            hand = frame + 1;
+            if (referenced.get(frame)) {
+                // 第二次机会
+                referenced.clear(frame);
+            } else {
+                onRemove(frame);
+                return frame;
+            }
+        }
+    }
+
+    @Override
+    public int residentCount() {
+        return size;
+    }
+}
@@ -0,0 +1,93 @@
+package com.group.myos.memory.replacement;
+
+import java.util.Arrays;
+
+/**
+ * 最近最少使用
+ * 驻留页按访问顺序串成以物理页号为下标的双向链表，访问时移到表头，从表尾换出
+ */
+public class LruReplacement implements PageReplacementPolicy {
+    private static final int NONE = -1;
+
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE; // 最近访问
+    private int tail = NONE; // 最久未访问
+    private int size;
+
+    public LruReplacement(int frameCount) {
+        this.prev = new int[frameCount];
+        this.next = new int[frameCount];
+        Arrays.fill(prev, NONE);
+        Arrays.fill(next, NONE);
+    }
+
+    @Override
+    public void onLoad(int frame, long pageKey) {
+        onRemove(frame);
+        linkFirst(frame);
+        size++;
+    }
+
+    @Override
+    public void onAccess(int frame, boolean write) {
+        if (contains(frame) && frame != head) {
+            unlink(frame);
+            linkFirst(frame);
+        }
+    }
+
+    @Override
+    public void onRemove(int frame) {
+        if (contains(frame)) {
+            unlink(frame);
+            size--;
+        }
+    }
+
+    @Override
+    public int selectVictim(long incomingPageKey) {
+        int victim = tail;
+        if (victim != NONE) {
+            onRemove(victim);
+        }
+        return victim;
+    }
+
+    @Override
+    public int residentCount() {
+        return size;
+    }
+
+    private boolean contains(int frame) {
+        return frame == head || prev[frame] != NONE;
+    }
+
+    private void linkFirst(int frame) {
+        prev[frame] = NONE;
+        next[frame] = head;
+        if (head != NONE) {
+            prev[head] = frame;
+        } else {
+            tail = frame;
+        }
+        head = frame;
+    }
+
+    private void unlink(int frame) {
+        int before = prev[frame];
+        int after = next[frame];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            head = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        } else {
+            tail = before;
+        }
+        prev[frame] = NONE;
+        next[frame] = NONE;
+    }
+}
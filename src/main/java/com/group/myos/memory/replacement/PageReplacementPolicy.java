@@ -0,0 +1,39 @@
+package com.group.myos.memory.replacement;
+
+/**
+ * 页面置换策略
+ * 内存管理器在页面装入、访问和释放时通知策略，物理页用完时由策略选出被换出的页
+ * 1. 策略只按物理页号跟踪驻留页，pageKey 标识装入的虚拟页（进程ID和虚拟页号），用于记住已换出页的历史
+ * 2. selectVictim 返回的物理页由策略自己停止跟踪，内存管理器随后把它换出
+ * 3. 各实现选择换出页的均摊代价为 O(1)
+ * 策略不是线程安全的，由内存管理器加锁访问
+ */
+public interface PageReplacementPolicy {
+
+    /**
+     * 虚拟页装入物理页
+     */
+    void onLoad(int frame, long pageKey);
+
+    /**
+     * 访问驻留的物理页，相当于硬件设置访问位，写入时同时设置修改位
+     */
+    void onAccess(int frame, boolean write);
+
+    /**
+     * 物理页被释放或主动换出，不再驻留，未跟踪的物理页忽略
+     */
+    void onRemove(int frame);
+
+    /**
+     * 选择被换出的物理页
+     * @param incomingPageKey 即将装入的虚拟页
+     * @return 物理页号，没有驻留页时为-1
+     */
+    int selectVictim(long incomingPageKey);
+
+    /**
+     * 跟踪的驻留页数
+     */
+    int residentCount();
+}
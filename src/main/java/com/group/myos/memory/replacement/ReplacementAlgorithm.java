@@ -0,0 +1,45 @@
+package com.group.myos.memory.replacement;
+
+import java.util.function.IntFunction;
+
+/**
+ * 内置的页面置换算法，按名称选择，不区分大小写，"-" 与 "_" 等价
+ */
+public enum ReplacementAlgorithm {
+    LRU("最近最少使用", LruReplacement::new),
+    CLOCK("时钟（第二次机会）", ClockReplacement::new),
+    CLOCK_PRO("CLOCK-Pro", ClockProReplacement::new),
+    ARC("自适应替换缓存", ArcReplacement::new),
+    WSCLOCK("工作集时钟", WsClockReplacement::new);
+
+    private final String description;
+    private final IntFunction<PageReplacementPolicy> factory;
+
+    ReplacementAlgorithm(String description, IntFunction<PageReplacementPolicy> factory) {
+        this.description = description;
+        this.factory = factory;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 为 frameCount 个物理页创建置换策略
+     */
+    public PageReplacementPolicy create(int frameCount) {
+        return factory.apply(frameCount);
+    }
+
+    public static ReplacementAlgorithm of(String name) {
+        if (name != null) {
+            String normalized = name.trim().toUpperCase().replace('-', '_');
+            for (ReplacementAlgorithm algorithm : values()) {
+                if (algorithm.name().equals(normalized)) {
+                    return algorithm;
+                }
+            }
+        }
+        throw new IllegalArgumentException("未知的页面置换算法: " + name);
+    }
+}
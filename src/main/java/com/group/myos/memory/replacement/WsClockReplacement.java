@@ -0,0 +1,109 @@
+package com.group.myos.memory.replacement;
+
+import java.util.BitSet;
+
+/**
+ * 工作集时钟
+ * 虚拟时间按页面访问次数推进，最后使用时间早于 当前时间 - 窗口 的页不在工作集中
+ * 指针循环扫描驻留页：
+ * 1. 访问位为1：清零，记下最后使用时间
+ * 2. 不在工作集中且未修改：换出
+ * 3. 不在工作集中但已修改：安排写回（清除修改位），下一圈可以换出
+ * 扫描两圈仍没有找到时，换出扫描中遇到的最后使用时间最早的页
+ */
+public class WsClockReplacement implements PageReplacementPolicy {
+    private final long window;
+    private final BitSet resident;
+    private final BitSet referenced;
+    private final BitSet dirty;
+    private final long[] lastUse;
+    private long now;
+    private int hand;
+    private int size;
+
+    public WsClockReplacement(int frameCount) {
+        this(frameCount, frameCount);
+    }
+
+    /**
+     * @param window 工作集窗口，单位为页面访问次数
+     */
+    public WsClockReplacement(int frameCount, long window) {
+        this.window = window;
+        this.resident = new BitSet(frameCount);
+        this.referenced = new BitSet(frameCount);
+        this.dirty = new BitSet(frameCount);
+        this.lastUse = new long[frameCount];
+    }
+
+    @Override
+    public void onLoad(int frame, long pageKey) {
+        if (!resident.get(frame)) {
+            resident.set(frame);
+            size++;
+        }
+        referenced.clear(frame);
+        dirty.clear(frame);
+        lastUse[frame] = ++now;
+    }
+
+    @Override
+    public void onAccess(int frame, boolean write) {
+        if (resident.get(frame)) {
+            now++;
+            referenced.set(frame);
+            if (write) {
+                dirty.set(frame);
+            }
+        }
+    }
+
+    @Override
+    public void onRemove(int frame) {
+        if (resident.get(frame)) {
+            resident.clear(frame);
+            referenced.clear(frame);
+            dirty.clear(frame);
+            size--;
+        }
+    }
+
+    @Override
+    public int selectVictim(long incomingPageKey) {
+        if (size == 0) {
+            return -1;
+        }
+        int oldest = -1;
+        for (long scanned = 0; scanned < 2L * size; scanned++) {
+            int frame = resident.nextSetBit(hand);
+            if (frame < 0) {
+                frame = resident.nextSetBit(0);
+            }
+            hand = frame + 1;
+            if (referenced.get(frame)) {
+                referenced.clear(frame);
+                lastUse[frame] = now;
+                continue;
+            }
+            if (now - lastUse[frame] > window) {
+                if (!dirty.get(frame)) {
+                    onRemove(frame);
+                    return frame;
+                }
+                // 安排写回
+                dirty.clear(frame);
+            }
+            if (oldest < 0 || lastUse[frame] < lastUse[oldest]) {
+                oldest = frame;
+            }
+        }
+        int victim = oldest >= 0 ? oldest : resident.nextSetBit(0);
+        onRemove(victim);
+        return victim;
+    }
+
+    @Override
+    public int residentCount() {
+        return size;
+    }
+}
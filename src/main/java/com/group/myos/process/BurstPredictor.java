@@ -0,0 +1,95 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+
+/**
+ * CPU区间预测
+ * 1. 进程可以指定总的CPU工作量（滴答），运行一个时钟滴答剩余工作量减1，减到0时进程完成
+ * 2. 进程从运行状态进入等待或终止状态时结束一个CPU区间，区间长度记录在状态转换历史中，
+ *    并按指数平均更新下一个区间的预测值：τ(n+1) = α·t(n) + (1-α)·τ(n)，t(n)为刚结束区间的实际长度；
+ *    预测值随进程保存，相当于对历史区间依次做指数平均；被抢占回到就绪状态不算区间结束
+ * 3. 还没有结束过区间的进程，预测值为本区间开始时的剩余工作量，未指定工作量时为初始预测值
+ * 4. 进程剩余区间 = 预测值 - 本区间已运行时间，且不超过剩余工作量，用于SJF和SRTF调度
+ * 区间信息只在持有进程的CPU的调度线程上修改
+ */
+public class BurstPredictor {
+    private final double alpha;
+    private final double initialEstimate;
+
+    public BurstPredictor(double alpha, double initialEstimate) {
+        if (alpha < 0 || alpha > 1) {
+            throw new IllegalArgumentException("指数平均系数必须在0到1之间: " + alpha);
+        }
+        if (initialEstimate <= 0) {
+            throw new IllegalArgumentException("初始区间预测值必须大于0: " + initialEstimate);
+        }
+        this.alpha = alpha;
+        this.initialEstimate = initialEstimate;
+    }
+
+    /**
+     * 校验CPU工作量
+     */
+    public static void validate(Process process) {
+        if (process.getCpuTime() != null && process.getCpuTime() <= 0) {
+            throw new IllegalArgumentException("CPU工作量必须大于0: " + process.getCpuTime());
+        }
+    }
+
+    /**
+     * 剩余的CPU工作量，未指定工作量时为null
+     */
+    public static Integer remainingWork(Process process) {
+        return process.getRemainingCpuTime() != null ? process.getRemainingCpuTime() : process.getCpuTime();
+    }
+
+    /**
+     * 下一个CPU区间的预测长度
+     */
+    public double estimateOf(Process process) {
+        if (process.getEstimatedBurst() != null) {
+            return process.getEstimatedBurst();
+        }
+        // 本区间开始时的剩余工作量
+        Integer remaining = remainingWork(process);
+        return remaining != null ? remaining + elapsedOf(process) : initialEstimate;
+    }
+
+    /**
+     * 当前CPU区间预计还需运行的时间
+     */
+    public double remainingBurst(Process process) {
+        double remaining = Math.max(0, estimateOf(process) - elapsedOf(process));
+        Integer work = remainingWork(process);
+        return work != null ? Math.min(remaining, work) : remaining;
+    }
+
+    /**
+     * 对运行进程计一个滴答
+     * @return 进程的CPU工作量是否已全部完成
+     */
+    public boolean consume(Process process) {
+        process.setBurstElapsed(elapsedOf(process) + 1);
+        Integer work = remainingWork(process);
+        if (work == null) {
+            return false;
+        }
+        process.setRemainingCpuTime(Math.max(0, work - 1));
+        return process.getRemainingCpuTime() == 0;
+    }
+
+    /**
+     * 结束当前CPU区间并更新预测值
+     * @return 刚结束区间的实际长度
+     */
+    public int endBurst(Process process) {
+        int burst = elapsedOf(process);
+        process.setEstimatedBurst(alpha * burst + (1 - alpha) * estimateOf(process));
+        process.setBurstElapsed(0);
+        return burst;
+    }
+
+    private static int elapsedOf(Process process) {
+        return process.getBurstElapsed() != null ? process.getBurstElapsed() : 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import com.group.myos.process.scheduling.ReadyQueue;
+
+/**
+ * 模拟CPU
+ * 每个CPU有自己的运行队列、当前运行进程和调度线程，
+ * 运行队列和当前进程只由该CPU的调度线程修改，其他线程只读取。
+ */
+public class Cpu {
+    private static final ThreadLocal<Cpu> CURRENT = new ThreadLocal<>(); // 调度线程 -> 所属CPU
+
+    private final int id;
+    private volatile ReadyQueue runQueue;
+    private volatile Process currentProcess;
+    private volatile boolean stealing; // 是否有尚未完成的窃取请求
+    private SchedulerLoop loop;
+
+    public Cpu(int id, ReadyQueue runQueue) {
+        this.id = id;
+        this.runQueue = runQueue;
+    }
+
+    /**
+     * 启动该CPU的调度线程
+     * @param dispatcher 每批命令执行完后的派发检查
+     */
+    void start(Runnable dispatcher) {
+        // 调度线程启动后先绑定线程和CPU，再执行命令和派发，之后都能通过current()找到所属CPU
+        this.loop = new SchedulerLoop("cpu-" + id, () -> CURRENT.set(this), dispatcher);
+    }
+
+    /**
+     * 当前线程所属的CPU，不是调度线程时返回null
+     */
+    public static Cpu current() {
+        return CURRENT.get();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ReadyQueue getRunQueue() {
+        return runQueue;
+    }
+
+    void setRunQueue(ReadyQueue runQueue) {
+        this.runQueue = runQueue;
+    }
+
+    public Process getCurrentProcess() {
+        return currentProcess;
+    }
+
+    void setCurrentProcess(Process currentProcess) {
+        this.currentProcess = currentProcess;
+    }
+
+    boolean isStealing() {
+        return stealing;
+    }
+
+    void setStealing(boolean stealing) {
+        this.stealing = stealing;
+    }
+
+    SchedulerLoop getLoop() {
+        return loop;
+    }
+
+    /**
+     * 负载：运行队列长度加上正在运行的进程
+     */
+    public int getLoad() {
+        return runQueue.size() + (currentProcess != null ? 1 : 0);
+    }
+
+    /**
+     * 进程是否允许在该CPU上运行
+     */
+    public boolean allows(Process process) {
+        Long affinity = process.getCpuAffinity();
+        return affinity == null || affinity == 0 || (affinity & (1L << id)) != 0;
+    }
+}
@@ -0,0 +1,192 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.ProcessGroup;
+import com.group.myos.process.model.ProcessGroupUsage;
+import com.group.myos.process.scheduling.GroupHierarchy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程组管理
+ * 1. 进程组组成树，子组按权重分配父组得到的CPU时间
+ * 2. 每个时钟滴答把运行进程的一个滴答计入其所在组和所有祖先组
+ * 3. 设置了配额的组在一个周期内用满配额后被限流，直到下一个周期开始；祖先组被限流时子组也不能运行
+ * 组的配置和统计都保存在内存中，计数在本类的同步方法中修改，限流标志可以无锁读取
+ */
+@Component
+public class ProcessGroupManager implements GroupHierarchy {
+    private static final int MAX_WEIGHT = 10000;
+
+    /**
+     * 进程组及其统计
+     */
+    private static class Entry {
+        final ProcessGroup group;
+        long usedTicks;
+        long periodUsedTicks;
+        long periodStart;
+        long throttledPeriods;
+        volatile boolean throttled;
+
+        Entry(ProcessGroup group, long now) {
+            this.group = group;
+            this.periodStart = now;
+        }
+    }
+
+    private final Map<String, Entry> groups = new ConcurrentHashMap<>(); // 组名 -> 进程组
+    private long totalTicks = 0; // 所有进程运行的滴答数
+    private long now = 0; // 最近一次时钟滴答的时间
+
+    /**
+     * 创建进程组
+     */
+    public synchronized ProcessGroup create(ProcessGroup group) {
+        if (group.getName() == null || group.getName().isBlank()) {
+            throw new IllegalArgumentException("进程组名称不能为空");
+        }
+        if (groups.containsKey(group.getName())) {
+            throw new IllegalArgumentException("进程组已存在: " + group.getName());
+        }
+        if (group.getParent() != null && !groups.containsKey(group.getParent())) {
+            throw new IllegalArgumentException("父进程组不存在: " + group.getParent());
+        }
+        if (group.getWeight() < 1 || group.getWeight() > MAX_WEIGHT) {
+            throw new IllegalArgumentException("权重必须在1到" + MAX_WEIGHT + "之间: " + group.getWeight());
+        }
+        if (group.getPeriod() <= 0) {
+            throw new IllegalArgumentException("配额周期必须大于0: " + group.getPeriod());
+        }
+        if (group.getQuota() != null && group.getQuota() <= 0) {
+            throw new IllegalArgumentException("CPU配额必须大于0: " + group.getQuota());
+        }
+        groups.put(group.getName(), new Entry(group, now));
+        return group;
+    }
+
+    /**
+     * 删除进程组，有子组时不能删除
+     */
+    public synchronized void delete(String name) {
+        if (!groups.containsKey(name)) {
+            throw new IllegalArgumentException("进程组不存在: " + name);
+        }
+        for (Entry entry : groups.values()) {
+            if (name.equals(entry.group.getParent())) {
+                throw new IllegalArgumentException("进程组 " + name + " 还有子组: " + entry.group.getName());
+            }
+        }
+        groups.remove(name);
+    }
+
+    public ProcessGroup get(String name) {
+        Entry entry = name != null ? groups.get(name) : null;
+        return entry != null ? entry.group : null;
+    }
+
+    @Override
+    public boolean exists(String group) {
+        return group != null && groups.containsKey(group);
+    }
+
+    @Override
+    public String parentOf(String group) {
+        ProcessGroup processGroup = get(group);
+        return processGroup != null ? processGroup.getParent() : null;
+    }
+
+    @Override
+    public int weightOf(String group) {
+        ProcessGroup processGroup = get(group);
+        return processGroup != null ? processGroup.getWeight() : DEFAULT_WEIGHT;
+    }
+
+    @Override
+    public boolean isThrottled(String group) {
+        for (String name = group; name != null; name = parentOf(name)) {
+            Entry entry = groups.get(name);
+            if (entry == null) {
+                return false;
+            }
+            if (entry.throttled) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 时钟滴答，到达周期边界的组重新开始计算配额
+     */
+    public synchronized void tick(long time) {
+        now = time;
+        for (Entry entry : groups.values()) {
+            int period = entry.group.getPeriod();
+            if (time - entry.periodStart >= period) {
+                entry.periodStart = time - (time - entry.periodStart) % period;
+                entry.periodUsedTicks = 0;
+                entry.throttled = false;
+            }
+        }
+    }
+
+    /**
+     * 运行进程在所属组中运行了一个滴答，计入该组和所有祖先组
+     */
+    public synchronized void charge(String group) {
+        totalTicks++;
+        for (String name = group; name != null; name = parentOf(name)) {
+            Entry entry = groups.get(name);
+            if (entry == null) {
+                return;
+            }
+            entry.usedTicks++;
+            entry.periodUsedTicks++;
+            Integer quota = entry.group.getQuota();
+            if (quota != null && !entry.throttled && entry.periodUsedTicks >= quota) {
+                entry.throttled = true;
+                entry.throttledPeriods++;
+            }
+        }
+    }
+
+    /**
+     * 所有进程组的使用统计，父组排在子组之前
+     * @param processCounts 组名 -> 组内未终止的进程数
+     */
+    public synchronized List<ProcessGroupUsage> getUsage(Map<String, Integer> processCounts) {
+        List<ProcessGroupUsage> result = new ArrayList<>();
+        for (Entry entry : groups.values()) {
+            if (entry.group.getParent() == null) {
+                collect(entry, processCounts, result);
+            }
+        }
+        return result;
+    }
+
+    private void collect(Entry entry, Map<String, Integer> processCounts, List<ProcessGroupUsage> result) {
+        ProcessGroup group = entry.group;
+        ProcessGroupUsage usage = new ProcessGroupUsage();
+        usage.setName(group.getName());
+        usage.setParent(group.getParent());
+        usage.setWeight(group.getWeight());
+        usage.setQuota(group.getQuota());
+        usage.setPeriod(group.getPeriod());
+        usage.setUsedTicks(entry.usedTicks);
+        usage.setShare(totalTicks > 0 ? (double) entry.usedTicks / totalTicks : 0);
+        usage.setPeriodUsedTicks(entry.periodUsedTicks);
+        usage.setThrottled(entry.throttled);
+        usage.setThrottledPeriods(entry.throttledPeriods);
+        usage.setProcesses(processCounts.getOrDefault(group.getName(), 0));
+        result.add(usage);
+        for (Entry child : groups.values()) {
+            if (group.getName().equals(child.group.getParent())) {
+                collect(child, processCounts, result);
+            }
+        }
+    }
+}
@@ -1,103 +1,290 @@
 package com.group.myos.process;
 
 import com.group.myos.memory.MemoryManager;
+import com.group.myos.process.model.ArchivedProcess;
 import com.group.myos.process.model.Process;
+import com.group.myos.process.model.ProcessGroup;
+import com.group.myos.process.model.ProcessGroupUsage;
 import com.group.myos.process.model.ProcessTransition;
+import com.group.myos.process.repository.ProcessArchive;
+import com.group.myos.process.repository.ProcessJournal;
 import com.group.myos.process.repository.ProcessRepository;
 import com.group.myos.process.repository.ProcessTransitionRepository;
+import com.group.myos.process.scheduling.AgingPriorityQueue;
+import com.group.myos.process.scheduling.FairShareQueue;
+import com.group.myos.process.scheduling.GroupFairQueue;
+import com.group.myos.process.scheduling.MultilevelFeedbackQueue;
+import com.group.myos.process.scheduling.PriorityReadyQueue;
+import com.group.myos.process.scheduling.ReadyQueue;
+import com.group.myos.process.scheduling.RoundRobinQueue;
+import com.group.myos.process.scheduling.SchedulingPolicy;
 import com.group.myos.interrupt.manager.InterruptManager;
 import com.group.myos.interrupt.model.InterruptType;
 import com.group.myos.interrupt.event.ProcessSchedulingEvent;
 import com.group.myos.interrupt.event.ProcessTerminationEvent;
 import com.group.myos.interrupt.event.ProcessWaitingEvent;
 import com.group.myos.interrupt.event.ProcessReadyEvent;
+import com.group.myos.interrupt.event.ClockInterruptEvent;
+import com.group.myos.timer.TimerManager;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Component
 public class ProcessScheduler {
-    private PriorityBlockingQueue<Process> readyQueue;
-    private final Map<Long, Process> allProcesses;
-    private final List<Process> waitingProcesses;
-    private final List<Process> terminatedProcesses;
-    private Process currentProcess;
+    private static final int MAX_CPUS = 64; // 亲和性掩码为64位，最多模拟64个CPU
+
+    private final ProcessStateIndex processIndex;
+    private final List<Cpu> cpus; // 模拟CPU，每个CPU有自己的运行队列、当前进程和调度线程
+    private final Map<Long, Cpu> owners = new ConcurrentHashMap<>(); // 进程ID -> 持有该进程的CPU，进程相关命令都发往该CPU
+    private final RealTimeTracker realTime = new RealTimeTracker(); // 实时进程的作业和利用率
+    private final BurstPredictor bursts; // CPU工作量和区间预测
+    private volatile long currentTick = 0; // 最近一次时钟中断的系统时间（滴答）
     
     private final MemoryManager memoryManager;
     private final ProcessSwapper processSwapper;
     private final ProcessTransitionRepository transitionRepository;
     private final ProcessRepository processRepository;
+    private final ProcessJournal processJournal;
     private final InterruptManager interruptManager;
+    private final TimerManager timerManager;
+    private final SchedulerMetrics metrics;
+    private final ProcessGroupManager groups;
+    private final ProcessArchive processArchive;
     
     private static final Logger logger = LoggerFactory.getLogger(ProcessScheduler.class);
     
-    // 添加调度算法枚举
+    // 内置调度算法，其他调度策略以SchedulingPolicy Bean的形式注册
     public enum SchedulingAlgorithm {
-        FCFS,    // 先到先服务
-        PRIORITY // 优先级调度
+        FCFS("先到先服务"),
+        PRIORITY("优先级调度"),
+        MLFQ("多级反馈队列调度"),
+        ROUND_ROBIN("时间片轮转调度"),
+        FAIR("完全公平调度"),
+        GROUP_FAIR("分组公平调度"),
+        SJF("最短作业优先调度"),
+        SRTF("最短剩余时间优先调度"),
+        EDF("最早截止时间优先调度"),
+        RATE_MONOTONIC("单调速率调度");
+
+        private final String description;
+
+        SchedulingAlgorithm(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
     }
     
-    private SchedulingAlgorithm currentAlgorithm = SchedulingAlgorithm.PRIORITY; // 默认使用优先级调度
+    private final Map<String, SchedulingPolicy> policies = new LinkedHashMap<>(); // 大写的策略名称 -> 调度策略
+    private final Object policyLock = new Object(); // 串行化策略切换，保证所有CPU最终使用同一策略
+    private volatile SchedulingPolicy currentPolicy; // 默认使用优先级调度
+    private final long agingIntervalMillis; // 优先级调度的老化周期（毫秒），0表示不老化
+    private final long archiveRetentionMillis; // 终止进程在内存中的保留时间（毫秒），负数表示不按时间归档
+    private final int maxTerminatedProcesses; // 内存中保留的终止进程数上限，负数表示不限
     
     public ProcessScheduler(
             MemoryManager memoryManager, 
             ProcessSwapper processSwapper,
             ProcessTransitionRepository transitionRepository,
             ProcessRepository processRepository,
-            InterruptManager interruptManager) {
+            ProcessJournal processJournal,
+            InterruptManager interruptManager,
+            TimerManager timerManager,
+            SchedulerMetrics metrics,
+            ProcessGroupManager groups,
+            ProcessArchive processArchive,
+            ObjectProvider<SchedulingPolicy> customPolicies,
+            @Value("${myos.scheduler.cpu-count:1}") int cpuCount,
+            @Value("${myos.scheduler.aging-interval-ms:1000}") long agingIntervalMillis,
+            @Value("${myos.scheduler.burst.alpha:0.5}") double burstAlpha,
+            @Value("${myos.scheduler.burst.initial-estimate:10}") double initialBurstEstimate,
+            @Value("${myos.archive.retention-ms:600000}") long archiveRetentionMillis,
+            @Value("${myos.archive.max-terminated:1000}") int maxTerminatedProcesses) {
         this.memoryManager = memoryManager;
         this.processSwapper = processSwapper;
         this.transitionRepository = transitionRepository;
         this.processRepository = processRepository;
+        this.processJournal = processJournal;
         this.interruptManager = interruptManager;
+        this.timerManager = timerManager;
+        this.metrics = metrics;
+        this.groups = groups;
+        this.processArchive = processArchive;
+        this.archiveRetentionMillis = archiveRetentionMillis;
+        this.maxTerminatedProcesses = maxTerminatedProcesses;
+        this.agingIntervalMillis = agingIntervalMillis;
+        this.bursts = new BurstPredictor(burstAlpha, initialBurstEstimate);
+        
+        if (cpuCount < 1 || cpuCount > MAX_CPUS) {
+            throw new IllegalArgumentException("CPU数量必须在1到" + MAX_CPUS + "之间: " + cpuCount);
+        }
         
-        // 根据当前调度算法初始化就绪队列
-        this.readyQueue = new PriorityBlockingQueue<>(100, 
-            currentAlgorithm == SchedulingAlgorithm.PRIORITY ?
-            (p1, p2) -> Integer.compare(p2.getPriority(), p1.getPriority()) : // 优先级调度，数字大的优先级高
-            Comparator.comparing(Process::getCreateTime)); // FCFS调度
+        // 注册内置调度算法和自定义调度策略
+        for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+            registerPolicy(SchedulingPolicy.of(algorithm.name(), algorithm.getDescription(), () -> createReadyQueue(algorithm)));
+        }
+        customPolicies.orderedStream().forEach(this::registerPolicy);
+        this.currentPolicy = policies.get(SchedulingAlgorithm.PRIORITY.name());
+        
+        // 根据当前调度策略为每个CPU初始化运行队列
+        List<Cpu> cpuList = new ArrayList<>(cpuCount);
+        for (int i = 0; i < cpuCount; i++) {
+            cpuList.add(new Cpu(i, currentPolicy.createQueue()));
+        }
+        this.cpus = Collections.unmodifiableList(cpuList);
             
-        this.allProcesses = new ConcurrentHashMap<>();
-        this.waitingProcesses = new ArrayList<>();
-        this.terminatedProcesses = new ArrayList<>();
+        this.processIndex = new ProcessStateIndex();
+        cpus.forEach(metrics::registerCpu);
+        for (Process.ProcessState state : Process.ProcessState.values()) {
+            metrics.registerStateCount(state.name(), processIndex, index -> index.count(state));
+        }
         
         // 初始化时从数据库加载所有进程
         loadProcessesFromDatabase();
+        
+        // 加载完成后再启动各CPU的调度线程
+        cpus.forEach(cpu -> cpu.start(this::dispatchIfNeeded));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cpus.forEach(cpu -> cpu.getLoop().shutdown());
+    }
+    
+    /**
+     * 在CPU 0的调度线程上异步执行命令，供控制器等外部调用方使用
+     * 命令中对同一CPU上进程的操作直接执行，多个操作组合后是原子的
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> command) {
+        return cpus.get(0).getLoop().submit(command);
+    }
+    
+    /**
+     * 在持有指定进程的CPU的调度线程上异步执行命令
+     */
+    public <T> CompletableFuture<T> submit(Long processId, Callable<T> command) {
+        return ownerOf(processId).getLoop().submit(command);
+    }
+    
+    private void registerPolicy(SchedulingPolicy policy) {
+        String name = policy.getName().toUpperCase();
+        if (policies.putIfAbsent(name, policy) != null) {
+            throw new IllegalArgumentException("调度策略名称重复: " + policy.getName());
+        }
     }
     
     /**
      * 设置调度算法
      */
     public void setSchedulingAlgorithm(SchedulingAlgorithm algorithm) {
-        if (this.currentAlgorithm != algorithm) {
-            this.currentAlgorithm = algorithm;
-            
-            // 重新创建就绪队列
-            PriorityBlockingQueue<Process> newQueue = new PriorityBlockingQueue<>(100,
-                algorithm == SchedulingAlgorithm.PRIORITY ?
-                (p1, p2) -> Integer.compare(p2.getPriority(), p1.getPriority()) : // 优先级调度，数字大的优先级高
-                Comparator.comparing(Process::getCreateTime));
-                
-            // 将现有进程转移到新队列
-            readyQueue.drainTo(newQueue);
-            this.readyQueue = newQueue;
+        setSchedulingPolicy(algorithm.name());
+    }
+    
+    /**
+     * 按名称切换调度策略，名称不区分大小写
+     * 每个CPU在自己的调度线程上用一条命令完成切换，切换期间该CPU不会执行其他调度命令；
+     * 所有CPU切换完成后才返回，并发的切换请求依次执行
+     */
+    public void setSchedulingPolicy(String name) {
+        SchedulingPolicy policy = policies.get(name.toUpperCase());
+        if (policy == null) {
+            throw new IllegalArgumentException("未知的调度策略: " + name);
+        }
+        synchronized (policyLock) {
+            if (currentPolicy == policy) {
+                return;
+            }
+            currentPolicy = policy;
+            cpus.forEach(cpu -> runOn(cpu, () -> replaceRunQueue(policy)));
+        }
+        logger.info("调度策略已切换为: {}", policy.getName());
+    }
+
+    private void replaceRunQueue(SchedulingPolicy policy) {
+        ReadyQueue oldQueue = runQueue();
+        ReadyQueue newQueue = policy.createQueue();
+        
+        // 按原队列的调度顺序迁移到新队列，新队列发布前原队列保持不变，其他线程不会读到空的运行队列
+        oldQueue.stream().forEach(newQueue::offer);
+        cpu().setRunQueue(newQueue);
+        oldQueue.clear();
+        
+        // 新策略下队头进程可能应抢占当前进程
+        autoSchedule();
+    }
+    
+    /**
+     * 根据调度算法创建就绪队列
+     */
+    private ReadyQueue createReadyQueue(SchedulingAlgorithm algorithm) {
+        switch (algorithm) {
+            case PRIORITY:
+                // 优先级调度，数字大的优先级高，就绪进程随等待时间老化
+                return agingIntervalMillis > 0 ? new AgingPriorityQueue(agingIntervalMillis, timerManager::currentTimeMillis) : PriorityReadyQueue.byPriority();
+            case MLFQ:
+                return new MultilevelFeedbackQueue();
+            case ROUND_ROBIN:
+                return new RoundRobinQueue();
+            case FAIR:
+                return new FairShareQueue();
+            case GROUP_FAIR:
+                return new GroupFairQueue(groups);
+            case SJF:
+                return PriorityReadyQueue.byShortestJob(bursts::remainingBurst);
+            case SRTF:
+                return PriorityReadyQueue.byShortestRemaining(bursts::remainingBurst);
+            case EDF:
+                return PriorityReadyQueue.byDeadline();
+            case RATE_MONOTONIC:
+                return PriorityReadyQueue.byRate();
+            case FCFS:
+            default:
+                return PriorityReadyQueue.byArrival(); // FCFS调度
         }
     }
     
     /**
-     * 获取当前调度算法
+     * 获取当前调度算法，使用自定义调度策略时返回null
      */
     public SchedulingAlgorithm getCurrentAlgorithm() {
-        return currentAlgorithm;
+        String name = currentPolicy.getName().toUpperCase();
+        return Arrays.stream(SchedulingAlgorithm.values())
+            .filter(algorithm -> algorithm.name().equals(name))
+            .findFirst()
+            .orElse(null);
+    }
+    
+    /**
+     * 获取当前调度策略
+     */
+    public SchedulingPolicy getCurrentPolicy() {
+        return currentPolicy;
+    }
+    
+    /**
+     * 获取所有已注册的调度策略
+     */
+    public List<SchedulingPolicy> getSchedulingPolicies() {
+        return new ArrayList<>(policies.values());
     }
     
     /**
@@ -106,12 +293,12 @@ public class ProcessScheduler {
      */
     private void autoSchedule() {
         // 如果当前没有运行进程，或者就绪队列中存在优先级比正在运行的进程高的进程，则进行调度
-        if (currentProcess == null || (!readyQueue.isEmpty() && readyQueue.peek().getPriority() > currentProcess.getPriority())) {
-            logger.info("触发自动调度 - 当前运行进程: {}, 优先级: {}, 就绪队列头进程: {}, 优先级: {}", 
-                currentProcess != null ? currentProcess.getId() : "无",
-                currentProcess != null ? currentProcess.getPriority() : "无",
-                !readyQueue.isEmpty() ? readyQueue.peek().getId() : "无",
-                !readyQueue.isEmpty() ? readyQueue.peek().getPriority() : "无");
+        if (current() == null || runQueue().shouldPreempt(current())) {
+            logger.debug("触发自动调度 - 当前运行进程: {}, 优先级: {}, 就绪队列头进程: {}, 优先级: {}", 
+                current() != null ? current().getId() : "无",
+                current() != null ? current().getPriority() : "无",
+                !runQueue().isEmpty() ? runQueue().peek().getId() : "无",
+                !runQueue().isEmpty() ? runQueue().peek().getPriority() : "无");
             schedule();
         }
     }
@@ -121,24 +308,22 @@ public class ProcessScheduler {
      */
     private void loadProcessesFromDatabase() {
         List<Process> processes = processRepository.findAll();
-        for (Process process : processes) {
-            allProcesses.put(process.getId(), process);
+        for (Process loaded : processes) {
+            // 之后只通过进程表的行视图访问进程，数据库读出的实体不再使用
+            Process process = processIndex.put(loaded);
+            if (process.getState() != Process.ProcessState.TERMINATED) {
+                realTime.register(process);
+            }
             
-            // 根据进程状态放入相应队列
+            // 根据进程状态放入负载最低的CPU的运行队列
             switch (process.getState()) {
                 case READY:
-                    readyQueue.offer(process);
-                    break;
-                case WAITING:
-                    waitingProcesses.add(process);
-                    break;
-                case TERMINATED:
-                    terminatedProcesses.add(process);
+                    placeOnLoad(process);
                     break;
                 case RUNNING:
                     // 系统重启，之前运行的进程设置为就绪
-                    process.setState(Process.ProcessState.READY);
-                    readyQueue.offer(process);
+                    processIndex.setState(process, Process.ProcessState.READY);
+                    placeOnLoad(process);
                     break;
                 default:
                     break;
@@ -150,37 +335,71 @@ public class ProcessScheduler {
      * 添加新进程
      */
     public Process addProcess(Process process) {
+        return callOn(selectCpu(process), () -> doAddProcess(process));
+    }
+
+    /**
+     * 在负载最低的CPU上异步添加新进程
+     * @param start 为true时NEW状态的进程随即设为就绪，两步在同一条命令中完成
+     */
+    public CompletableFuture<Process> submitProcess(Process process, boolean start) {
+        return selectCpu(process).getLoop().submit(() -> {
+            Process added = doAddProcess(process);
+            if (start && added.getState() == Process.ProcessState.NEW) {
+                updateProcessState(added.getId(), Process.ProcessState.READY);
+                added = processIndex.snapshot(added.getId());
+            }
+            return added;
+        });
+    }
+
+    private Process doAddProcess(Process process) {
+        // 实时进程需通过准入控制，准入后固定在分配的CPU上
+        admit(List.of(process));
+        
         // 设置创建时间和最后更新时间
         LocalDateTime now = LocalDateTime.now();
         process.setCreateTime(now);
         process.setLastUpdateTime(now);
-        process.setState(Process.ProcessState.NEW);
+        processIndex.setState(process, Process.ProcessState.NEW);
         
         // 先保存进程到数据库以获取ID
-        process = processRepository.save(process);
+        try {
+            process = processRepository.save(process);
+        } catch (RuntimeException e) {
+            realTime.forget(process);
+            throw e;
+        }
+        
+        // 进程写入进程表，之后通过行视图访问；准入时按进程对象保留的带宽在加入进程表前登记
+        Process created = process;
+        process = processIndex.put(created);
+        
+        // 实时进程创建时释放第一个作业，截止时间从此刻开始计算
+        if (process.isRealTime()) {
+            realTime.register(created);
+            realTime.release(process, currentTick);
+        }
         
         // 检查内存是否足够
-        int freeMemory = memoryManager.getFreeMemorySize();
+        long freeMemory = memoryManager.getFreeMemorySize();
         if (freeMemory < process.getMemorySize()) {
             // 内存不足，尝试交换出其他进程
-            int freedMemory = processSwapper.autoSwapOut(process.getMemorySize(), getAllInMemoryProcesses());
+            int freedMemory = processSwapper.autoSwapOut(process.getMemorySize(), inMemoryRows());
             
             // 如果释放后还是不够
             if (freedMemory + freeMemory < process.getMemorySize()) {
                 // 无法分配内存，设置进程为等待状态
                 process.setInMemory(false);
-                process.setState(Process.ProcessState.WAITING);
-                
-                waitingProcesses.add(process);
-                allProcesses.put(process.getId(), process);
+                processIndex.setState(process, Process.ProcessState.WAITING);
                 
                 // 更新进程状态到数据库
-                processRepository.save(process);
+                persist(process);
                 
                 // 记录状态转换：NEW -> WAITING（内存不足）
                 recordTransition(process, Process.ProcessState.NEW, Process.ProcessState.WAITING, "内存不足");
                 
-                return process;
+                return processIndex.snapshot(process.getId());
             }
         }
         
@@ -189,50 +408,47 @@ public class ProcessScheduler {
         if (!allocated) {
             // 内存分配失败，设置进程为等待状态
             process.setInMemory(false);
-            process.setState(Process.ProcessState.WAITING);
-            
-            waitingProcesses.add(process);
-            allProcesses.put(process.getId(), process);
+            processIndex.setState(process, Process.ProcessState.WAITING);
             
             // 更新进程状态到数据库
-            processRepository.save(process);
+            persist(process);
             
             // 记录状态转换：NEW -> WAITING（内存分配失败）
             recordTransition(process, Process.ProcessState.NEW, Process.ProcessState.WAITING, "内存分配失败");
             
-            return process;
+            return processIndex.snapshot(process.getId());
         }
         
         // 内存分配成功，将进程设置为就绪状态
-        process.setState(Process.ProcessState.READY);
+        processIndex.setState(process, Process.ProcessState.READY);
+        
+        enqueue(process);
         
         // 检查是否需要中断当前运行的进程
-        if (currentProcess != null && process.getPriority() > currentProcess.getPriority()) {
+        Process running = current();
+        if (running != null && runQueue().shouldPreempt(running)) {
             logger.info("高优先级进程 {} (优先级: {}) 到达，中断当前进程 {} (优先级: {})", 
                 process.getId(), process.getPriority(), 
-                currentProcess.getId(), currentProcess.getPriority());
+                running.getId(), running.getPriority());
                 
             // 将当前进程设置为就绪状态
-            Process.ProcessState oldState = currentProcess.getState();
-            currentProcess.setState(Process.ProcessState.READY);
-            currentProcess.setLastUpdateTime(LocalDateTime.now());
-            readyQueue.offer(currentProcess);
+            Process.ProcessState oldState = running.getState();
+            processIndex.setState(running, Process.ProcessState.READY);
+            running.setLastUpdateTime(LocalDateTime.now());
+            enqueue(running);
             
             // 保存到数据库
-            processRepository.save(currentProcess);
+            persist(running);
             
             // 记录状态转换
-            recordTransition(currentProcess, oldState, Process.ProcessState.READY, "被高优先级进程中断");
+            recordTransition(running, oldState, Process.ProcessState.READY, "被高优先级进程中断");
             
             // 清空当前进程
-            currentProcess = null;
+            setCurrent(null);
         }
         
-        readyQueue.offer(process);
-        allProcesses.put(process.getId(), process);
-        
         // 更新进程状态到数据库
-        processRepository.save(process);
+        persist(process);
         
         // 记录状态转换：NEW -> READY
         recordTransition(process, Process.ProcessState.NEW, Process.ProcessState.READY, "进程创建并分配内存成功");
@@ -240,9 +456,95 @@ public class ProcessScheduler {
         // 自动调度
         autoSchedule();
         
-        return process;
+        return processIndex.snapshot(process.getId());
     }
     
+    /**
+     * 批量创建进程
+     * 一次批量INSERT获取ID，一次遍历位图分配所有进程的内存，就绪进程按负载分配到各CPU，最后只调度一次
+     */
+    public List<Process> admitProcesses(List<Process> processes) {
+        return callOn(cpu(), () -> doAdmitProcesses(processes));
+    }
+
+    private List<Process> doAdmitProcesses(List<Process> created) {
+        if (created.isEmpty()) {
+            return created;
+        }
+        admit(created);
+        LocalDateTime now = LocalDateTime.now();
+        long requiredMemory = 0;
+        for (Process process : created) {
+            process.setCreateTime(now);
+            process.setLastUpdateTime(now);
+            processIndex.setState(process, Process.ProcessState.NEW);
+            requiredMemory += process.getMemorySize();
+        }
+        try {
+            processJournal.insertAll(created);
+        } catch (RuntimeException e) {
+            created.forEach(realTime::forget);
+            throw e;
+        }
+        // 之后通过进程表的行视图访问这些进程
+        List<Process> processes = new ArrayList<>(created.size());
+        for (Process plain : created) {
+            Process process = processIndex.put(plain);
+            if (process.isRealTime()) {
+                realTime.register(plain);
+                realTime.release(process, currentTick);
+            }
+            processes.add(process);
+        }
+
+        // 内存不足时一次性换出不足的部分，而不是每个进程各换出一次
+        long freeMemory = memoryManager.getFreeMemorySize();
+        if (requiredMemory > freeMemory) {
+            processSwapper.autoSwapOut((int) Math.min(requiredMemory - freeMemory, Integer.MAX_VALUE),
+                inMemoryRows());
+        }
+        boolean[] allocated = memoryManager.allocateMemoryForProcesses(processes);
+
+        // 各CPU的负载在本批次内本地累加，避免所有进程都落到同一个最空闲的CPU
+        int[] loads = new int[cpus.size()];
+        for (Cpu cpu : cpus) {
+            loads[cpu.getId()] = cpu.getLoad();
+        }
+        Cpu here = cpu();
+        for (int i = 0; i < processes.size(); i++) {
+            Process process = processes.get(i);
+            if (!allocated[i]) {
+                process.setInMemory(false);
+                processIndex.setState(process, Process.ProcessState.WAITING);
+                persist(process);
+                recordTransition(process, Process.ProcessState.NEW, Process.ProcessState.WAITING, "内存不足");
+                continue;
+            }
+            processIndex.setState(process, Process.ProcessState.READY);
+            Cpu target = null;
+            for (Cpu cpu : cpus) {
+                if (cpu.allows(process) && (target == null || loads[cpu.getId()] < loads[target.getId()])) {
+                    target = cpu;
+                }
+            }
+            if (target == null) {
+                target = cpus.get(0);
+            }
+            loads[target.getId()]++;
+            if (target == here) {
+                here.getRunQueue().offer(process);
+                owners.put(process.getId(), here);
+            } else {
+                handOff(process, target);
+            }
+            persist(process);
+            recordTransition(process, Process.ProcessState.NEW, Process.ProcessState.READY, "进程创建并分配内存成功");
+        }
+
+        autoSchedule();
+        return processes.stream().map(p -> processIndex.snapshot(p.getId())).collect(Collectors.toList());
+    }
+
     /**
      * 生成临时ID
      * 在实际生产环境中，应该使用持久化的ID生成策略
@@ -253,7 +555,7 @@ public class ProcessScheduler {
         Long newId = System.currentTimeMillis();
         
         // 确保ID不会重复
-        while (allProcesses.containsKey(newId)) {
+        while (processIndex.contains(newId)) {
             newId++;
         }
         
@@ -264,78 +566,92 @@ public class ProcessScheduler {
      * 调度进程
      */
     public Process schedule() {
+        Cpu here = Cpu.current();
+        return callOn(here != null ? here : cpus.get(0), this::doSchedule);
+    }
+
+    private Process doSchedule() {
+        long start = System.nanoTime();
+        boolean preempted = false;
         // 如果当前有运行进程，将其设置为就绪状态
-        if (currentProcess != null) {
-            if (currentProcess.getState() == Process.ProcessState.RUNNING) {
-                Process.ProcessState oldState = currentProcess.getState();
-                currentProcess.setState(Process.ProcessState.READY);
-                currentProcess.setLastUpdateTime(LocalDateTime.now());
-                readyQueue.offer(currentProcess);
-                processRepository.save(currentProcess);
-                recordTransition(currentProcess, oldState, Process.ProcessState.READY, "时间片用完");
+        Process running = current();
+        if (running != null) {
+            if (running.getState() == Process.ProcessState.RUNNING) {
+                preempted = true;
+                Process.ProcessState oldState = running.getState();
+                processIndex.setState(running, Process.ProcessState.READY);
+                running.setLastUpdateTime(LocalDateTime.now());
+                enqueue(running);
+                persist(running);
+                recordTransition(running, oldState, Process.ProcessState.READY, "时间片用完");
             }
-            currentProcess = null;
+            setCurrent(null);
         }
         
-        // 从就绪队列获取最高优先级进程
-        currentProcess = readyQueue.poll();
-        if (currentProcess != null) {
+        // 从就绪队列获取最高优先级进程，出队前取得它的等待时间
+        Process head = runQueue().peek();
+        long readyMillis = head != null ? runQueue().getWaitTime(head) : -1;
+        Process next = runQueue().poll();
+        if (next != null) {
             // 如果进程不在内存中，先加载回内存
-            if (!currentProcess.isInMemory()) {
-                boolean swappedIn = processSwapper.swapIn(currentProcess);
+            if (!next.isInMemory()) {
+                boolean swappedIn = processSwapper.swapIn(next);
                 if (!swappedIn) {
                     // 交换失败，放回队列末尾
-                    readyQueue.offer(currentProcess);
-                    currentProcess = null;
-                    logger.info("进程 {} 加载到内存失败，放回就绪队列", currentProcess.getId());
+                    enqueue(next);
+                    logger.info("进程 {} 加载到内存失败，放回就绪队列", next.getId());
+                    metrics.recordDispatch(cpu().getId(), System.nanoTime() - start, -1, running != null, preempted);
                     return null;
                 }
             }
             
             // 设置为运行状态
-            Process.ProcessState oldState = currentProcess.getState();
-            currentProcess.setState(Process.ProcessState.RUNNING);
-            currentProcess.setLastUpdateTime(LocalDateTime.now());
-            processRepository.save(currentProcess);
-            recordTransition(currentProcess, oldState, Process.ProcessState.RUNNING, "调度执行");
+            Process.ProcessState oldState = next.getState();
+            processIndex.setState(next, Process.ProcessState.RUNNING);
+            next.setLastUpdateTime(LocalDateTime.now());
+            setCurrent(next);
+            persist(next);
+            recordTransition(next, oldState, Process.ProcessState.RUNNING, "调度执行");
             
-            logger.info("调度进程 {} 执行，优先级: {}", currentProcess.getId(), currentProcess.getPriority());
+            logger.debug("CPU {} 调度进程 {} 执行，优先级: {}", cpu().getId(), next.getId(), next.getPriority());
         } else {
-            logger.info("就绪队列为空，没有进程可调度");
+            logger.debug("CPU {} 就绪队列为空，没有进程可调度", cpu().getId());
         }
         
-        // 打印每个队列的进程号
-        logger.info("就绪队列中的进程: {}", readyQueue.stream().map(Process::getId).collect(Collectors.toList()));
-        logger.info("等待队列中的进程: {}", waitingProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-        logger.info("终止队列中的进程: {}", terminatedProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-        
-        return currentProcess;
+        // 队列内容不再逐次打印，长度和延迟见调度器指标
+        metrics.recordDispatch(cpu().getId(), System.nanoTime() - start, next != null ? readyMillis : -1,
+            !Objects.equals(running, next), preempted);
+        return next;
     }
     
     /**
      * 阻塞进程
      */
     public void blockProcess(Process process) {
-        if (process == null) {
+        Process row = rowOf(process);
+        runOn(ownerOf(row), () -> doBlockProcess(row));
+    }
+
+    private void doBlockProcess(Process process) {
+        if (process == null || forwardToOwner(process.getId(), () -> doBlockProcess(process))) {
             return;
         }
         
         Process.ProcessState oldState = process.getState();
         
-        if (process.equals(currentProcess)) {
-            currentProcess = null;
+        if (process.equals(current())) {
+            setCurrent(null);
         } else {
             // 如果在就绪队列中，需要移除
-            readyQueue.remove(process);
+            runQueue().remove(process);
         }
         
         // 设置为等待状态
-        process.setState(Process.ProcessState.WAITING);
+        processIndex.setState(process, Process.ProcessState.WAITING);
         process.setLastUpdateTime(LocalDateTime.now());
-        waitingProcesses.add(process);
         
         // 保存到数据库
-        processRepository.save(process);
+        persist(process);
         
         // 记录状态转换
         recordTransition(process, oldState, Process.ProcessState.WAITING, "主动阻塞");
@@ -345,31 +661,33 @@ public class ProcessScheduler {
      * 唤醒等待进程
      */
     public void wakeUpProcess(Process process) {
-        if (process == null || process.getState() != Process.ProcessState.WAITING) {
+        Process row = rowOf(process);
+        runOn(ownerOf(row), () -> doWakeUpProcess(row));
+    }
+
+    private void doWakeUpProcess(Process process) {
+        if (process == null || process.getState() != Process.ProcessState.WAITING
+            || forwardToOwner(process.getId(), () -> doWakeUpProcess(process))) {
             return;
         }
         
-        // 从等待队列移除
-        waitingProcesses.remove(process);
-        
         // 如果进程不在内存中，需要先加载回内存
         if (!process.isInMemory()) {
             boolean swappedIn = processSwapper.swapIn(process);
             if (!swappedIn) {
                 // 交换失败，仍保持等待状态
-                waitingProcesses.add(process);
                 return;
             }
         }
         
         // 设置为就绪状态
         Process.ProcessState oldState = process.getState();
-        process.setState(Process.ProcessState.READY);
+        processIndex.setState(process, Process.ProcessState.READY);
         process.setLastUpdateTime(LocalDateTime.now());
-        readyQueue.offer(process);
+        enqueue(process);
         
         // 保存到数据库
-        processRepository.save(process);
+        persist(process);
         
         // 记录状态转换
         recordTransition(process, oldState, Process.ProcessState.READY, "进程唤醒");
@@ -382,7 +700,12 @@ public class ProcessScheduler {
      * 终止进程
      */
     public void terminateProcess(Process process) {
-        if (process == null) return;
+        Process row = rowOf(process);
+        runOn(ownerOf(row), () -> doTerminateProcess(row, "进程终止"));
+    }
+
+    private void doTerminateProcess(Process process, String reason) {
+        if (process == null || forwardToOwner(process.getId(), () -> doTerminateProcess(process, reason))) return;
         
         // 检查进程是否处于运行状态
         if (process.getState() != Process.ProcessState.RUNNING) {
@@ -393,44 +716,37 @@ public class ProcessScheduler {
         // 记录终止前的状态
         Process.ProcessState oldState = process.getState();
         
-        // 从所有队列中移除进程
-        readyQueue.remove(process);
-        waitingProcesses.remove(process);
-        terminatedProcesses.remove(process); // 确保不在终止队列中
+        // 从就绪队列中移除进程
+        runQueue().remove(process);
         
         // 如果进程是当前运行进程，清除当前进程
-        if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
-            currentProcess = null;
+        if (current() != null && process.getId().equals(current().getId())) {
+            setCurrent(null);
             logger.info("清除当前运行进程: {}", process.getId());
         }
         
         // 设置进程状态为终止
-        process.setState(Process.ProcessState.TERMINATED);
+        processIndex.setState(process, Process.ProcessState.TERMINATED);
         process.setLastUpdateTime(LocalDateTime.now());
         
-        // 添加到终止队列
-        terminatedProcesses.add(process);
+        runQueue().forget(process);
+        realTime.forget(process);
         
         // 释放进程占用的内存
         if (process.isInMemory()) {
             memoryManager.freeMemoryForProcess(process);
             process.setInMemory(false);
-            logger.info("释放进程 {} 占用的内存: {} MB", process.getId(), process.getMemorySize());
+            logger.info("释放进程 {} 占用的内存: {} 字节", process.getId(), process.getMemorySize());
         }
         
         // 保存到数据库
-        processRepository.save(process);
+        persist(process);
         
         // 记录状态转换
-        recordTransition(process, oldState, Process.ProcessState.TERMINATED, "进程终止");
+        recordTransition(process, oldState, Process.ProcessState.TERMINATED, reason);
         
         logger.info("进程 {} 已终止", process.getId());
         
-        // 打印队列状态
-        logger.info("就绪队列中的进程: {}", readyQueue.stream().map(Process::getId).collect(Collectors.toList()));
-        logger.info("等待队列中的进程: {}", waitingProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-        logger.info("终止队列中的进程: {}", terminatedProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-        
         // 自动调度下一个进程
         autoSchedule();
     }
@@ -439,23 +755,32 @@ public class ProcessScheduler {
      * 删除进程
      */
     public void deleteProcess(Long processId) {
-        Process process = allProcesses.remove(processId);
+        runOn(ownerOf(processId), () -> doDeleteProcess(processId));
+    }
+
+    private void doDeleteProcess(Long processId) {
+        if (forwardToOwner(processId, () -> doDeleteProcess(processId))) {
+            return;
+        }
+        Process process = processIndex.get(processId);
         if (process != null) {
             // 从相应队列中移除
-            if (process.equals(currentProcess)) {
-                currentProcess = null;
+            if (process.equals(current())) {
+                setCurrent(null);
             } else if (process.getState() == Process.ProcessState.READY) {
-                readyQueue.remove(process);
-            } else if (process.getState() == Process.ProcessState.WAITING) {
-                waitingProcesses.remove(process);
-            } else if (process.getState() == Process.ProcessState.TERMINATED) {
-                terminatedProcesses.remove(process);
+                runQueue().remove(process);
             }
             
+            runQueue().forget(process);
+            realTime.forget(process);
+            
             // 释放进程占用的内存
             memoryManager.freeMemoryForProcess(process);
             
-            // 从数据库中删除
+            // 从进程表和数据库中删除，之后行视图不再可用
+            processIndex.remove(processId);
+            owners.remove(processId);
+            processJournal.discard(processId);
             processRepository.deleteById(processId);
         }
     }
@@ -464,8 +789,12 @@ public class ProcessScheduler {
      * 更新进程状态
      */
     public void updateProcessState(Long processId, Process.ProcessState newState) {
-        Process process = allProcesses.get(processId);
-        if (process == null) {
+        runOn(ownerOf(processId), () -> doUpdateProcessState(processId, newState));
+    }
+
+    private void doUpdateProcessState(Long processId, Process.ProcessState newState) {
+        Process process = processIndex.get(processId);
+        if (process == null || forwardToOwner(processId, () -> doUpdateProcessState(processId, newState))) {
             return;
         }
         
@@ -480,77 +809,59 @@ public class ProcessScheduler {
         switch (newState) {
             case READY:
                 // 确保进程从其他队列中移除
-                if (oldState == Process.ProcessState.WAITING) {
-                    waitingProcesses.remove(process);
-                } else if (oldState == Process.ProcessState.RUNNING) {
-                    currentProcess = null;
-                } else if (oldState == Process.ProcessState.TERMINATED) {
-                    terminatedProcesses.remove(process);
+                if (oldState == Process.ProcessState.RUNNING) {
+                    setCurrent(null);
                 }
                 
                 // 确保进程不在就绪队列中
-                readyQueue.remove(process);
+                runQueue().remove(process);
                 
                 // 设置新状态并添加到就绪队列
-                process.setState(Process.ProcessState.READY);
-                readyQueue.offer(process);
+                processIndex.setState(process, Process.ProcessState.READY);
+                enqueue(process);
                 break;
             
             case WAITING:
                 // 确保进程从其他队列中移除
                 if (oldState == Process.ProcessState.READY) {
-                    readyQueue.remove(process);
+                    runQueue().remove(process);
                 } else if (oldState == Process.ProcessState.RUNNING) {
-                    currentProcess = null;
-                } else if (oldState == Process.ProcessState.TERMINATED) {
-                    terminatedProcesses.remove(process);
+                    setCurrent(null);
                 }
                 
-                // 确保进程不在等待队列中
-                waitingProcesses.remove(process);
-                
                 // 设置新状态并添加到等待队列
-                process.setState(Process.ProcessState.WAITING);
-                waitingProcesses.add(process);
+                processIndex.setState(process, Process.ProcessState.WAITING);
                 break;
             
             case RUNNING:
-                if (currentProcess != null && currentProcess.getState() == Process.ProcessState.RUNNING) {
+                if (current() != null && current().getState() == Process.ProcessState.RUNNING) {
                     // 将当前运行进程设置为就绪
-                    currentProcess.setState(Process.ProcessState.READY);
-                    readyQueue.offer(currentProcess);
+                    processIndex.setState(current(), Process.ProcessState.READY);
+                    enqueue(current());
                 }
                 
                 // 确保进程从其他队列中移除
                 if (oldState == Process.ProcessState.READY) {
-                    readyQueue.remove(process);
-                } else if (oldState == Process.ProcessState.WAITING) {
-                    waitingProcesses.remove(process);
-                } else if (oldState == Process.ProcessState.TERMINATED) {
-                    terminatedProcesses.remove(process);
+                    runQueue().remove(process);
                 }
                 
                 // 设置新状态并设置为当前运行进程
-                process.setState(Process.ProcessState.RUNNING);
-                currentProcess = process;
+                processIndex.setState(process, Process.ProcessState.RUNNING);
+                setCurrent(process);
                 break;
             
             case TERMINATED:
                 // 确保进程从其他队列中移除
                 if (oldState == Process.ProcessState.READY) {
-                    readyQueue.remove(process);
-                } else if (oldState == Process.ProcessState.WAITING) {
-                    waitingProcesses.remove(process);
+                    runQueue().remove(process);
                 } else if (oldState == Process.ProcessState.RUNNING) {
-                    currentProcess = null;
+                    setCurrent(null);
                 }
                 
-                // 确保进程不在终止队列中
-                terminatedProcesses.remove(process);
-                
                 // 设置新状态并添加到终止队列
-                process.setState(Process.ProcessState.TERMINATED);
-                terminatedProcesses.add(process);
+                processIndex.setState(process, Process.ProcessState.TERMINATED);
+                runQueue().forget(process);
+                realTime.forget(process);
                 
                 // 释放进程占用的内存
                 memoryManager.freeMemoryForProcess(process);
@@ -564,7 +875,7 @@ public class ProcessScheduler {
         process.setLastUpdateTime(LocalDateTime.now());
         
         // 更新进程到数据库
-        processRepository.save(process);
+        persist(process);
         
         // 记录状态转换
         recordTransition(process, oldState, newState, "状态更新");
@@ -574,112 +885,167 @@ public class ProcessScheduler {
      * 获取就绪进程列表
      */
     public List<Process> getReadyProcesses() {
-        // 从数据库获取最新状态
-        List<Process> processes = processRepository.findAll();
-        List<Process> readyProcesses = new ArrayList<>();
-        
-        // 更新内存中的就绪队列
-        readyQueue.clear();
-        for (Process process : processes) {
-            if (process.getState() == Process.ProcessState.READY) {
-                // 检查进程是否已经在就绪队列中
-                if (!readyQueue.contains(process)) {
-                    readyQueue.offer(process);
-                }
-                readyProcesses.add(process);
-            }
-        }
-        
-        return readyProcesses;
+        return processIndex.list(Process.ProcessState.READY);
     }
     
     /**
      * 获取等待进程列表
      */
     public List<Process> getWaitingProcesses() {
-        // 从数据库获取最新状态
-        List<Process> processes = processRepository.findAll();
-        List<Process> waitingProcesses = new ArrayList<>();
-        
-        // 更新内存中的等待队列
-        this.waitingProcesses.clear();
-        for (Process process : processes) {
-            if (process.getState() == Process.ProcessState.WAITING) {
-                this.waitingProcesses.add(process);
-                waitingProcesses.add(process);
-            }
-        }
-        
-        return waitingProcesses;
+        return processIndex.list(Process.ProcessState.WAITING);
     }
     
     /**
      * 获取已终止进程列表
      */
     public List<Process> getTerminatedProcesses() {
-        // 从数据库获取最新状态
-        List<Process> processes = processRepository.findAll();
-        List<Process> terminatedProcesses = new ArrayList<>();
-        
-        // 更新内存中的终止队列
-        this.terminatedProcesses.clear();
-        for (Process process : processes) {
-            if (process.getState() == Process.ProcessState.TERMINATED) {
-                this.terminatedProcesses.add(process);
-                terminatedProcesses.add(process);
-            }
-        }
-        
-        return terminatedProcesses;
+        return processIndex.list(Process.ProcessState.TERMINATED);
+    }
+    
+    /**
+     * 获取指定状态的进程数
+     */
+    public int countProcesses(Process.ProcessState state) {
+        return processIndex.count(state);
     }
     
     /**
      * 获取当前运行的进程
+     * 在调度线程上调用时为所在CPU的进程，否则为CPU 0的进程
      */
     public Process getCurrentProcess() {
-        return currentProcess;
+        Process process = current();
+        return process != null ? processIndex.snapshot(process.getId()) : null;
     }
     
     /**
      * 获取所有进程
      */
     public List<Process> getAllProcesses() {
-        // 从数据库获取最新进程列表
-        List<Process> processes = processRepository.findAll();
-        
-        // 更新内存中的进程映射
-        allProcesses.clear();
-        for (Process process : processes) {
-            allProcesses.put(process.getId(), process);
+        return processIndex.all();
+    }
+    
+    /**
+     * 按游标分页获取进程
+     * @param state 进程状态，为null时不限状态
+     * @param afterId 游标，只返回进程ID大于该值的进程
+     * @param limit 最多返回的进程数
+     * @return 按进程ID排序的进程
+     */
+    public List<Process> getProcessPage(Process.ProcessState state, long afterId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("每页进程数必须大于0: " + limit);
         }
-        
-        return processes;
+        return processIndex.page(state, afterId, limit);
+    }
+    
+    /**
+     * 获取进程总数
+     */
+    public int getProcessCount() {
+        return processIndex.size();
     }
     
     /**
      * 获取内存中的所有进程
      */
     public List<Process> getAllInMemoryProcesses() {
-        return allProcesses.values().stream()
+        return processIndex.all().stream()
                 .filter(Process::isInMemory)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * 内存中所有进程的行视图，换出时直接修改进程表
+     */
+    private List<Process> inMemoryRows() {
+        return getAllInMemoryProcesses().stream()
+                .map(p -> processIndex.get(p.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 调用方传入的进程对象在进程表中的行视图，不在表中时为null
+     */
+    private Process rowOf(Process process) {
+        return process != null ? processIndex.get(process.getId()) : null;
+    }
+
+    /**
+     * 把进程当前的快照交给持久化日志，数据库只保存快照，不会持有进程表的行视图
+     */
+    private void persist(Process process) {
+        Process snapshot = processIndex.snapshot(process.getId());
+        if (snapshot != null) {
+            processJournal.save(snapshot);
+        }
+    }
     
     /**
      * 记录进程状态转换
+     * 运行进程进入等待或终止状态时结束一个CPU区间，区间长度随转换记录保存
      */
     private void recordTransition(Process process, Process.ProcessState fromState, Process.ProcessState toState, String reason) {
         ProcessTransition transition = new ProcessTransition(process, fromState, toState, reason);
-        transitionRepository.save(transition);
+        if (fromState == Process.ProcessState.RUNNING
+                && (toState == Process.ProcessState.WAITING || toState == Process.ProcessState.TERMINATED)) {
+            transition.setBurst(bursts.endBurst(process));
+            if (toState == Process.ProcessState.WAITING) {
+                runQueue().onBlock(process);
+            }
+        }
+        processJournal.record(transition);
     }
     
     /**
-     * 获取进程状态转换历史
+     * 获取进程状态转换历史，已归档的进程从归档中读取
      */
     public List<ProcessTransition> getProcessTransitionHistory(Long processId) {
+        ArchivedProcess archived = getArchivedProcess(processId);
+        if (archived != null) {
+            return archived.getTransitions();
+        }
+        processJournal.flush();
         return transitionRepository.findByProcessId(processId);
     }
     
+    /**
+     * 分页获取进程状态转换历史，按记录顺序排列，已归档的进程从归档中读取
+     */
+    public Page<ProcessTransition> getProcessTransitionHistory(Long processId, Pageable pageable) {
+        ArchivedProcess archived = getArchivedProcess(processId);
+        if (archived != null) {
+            List<ProcessTransition> transitions = archived.getTransitions();
+            int from = (int) Math.min(pageable.getOffset(), transitions.size());
+            int to = Math.min(from + pageable.getPageSize(), transitions.size());
+            return new PageImpl<>(transitions.subList(from, to), pageable, transitions.size());
+        }
+        processJournal.flush();
+        return transitionRepository.findByProcessIdOrderById(processId, pageable);
+    }
+    
+    /**
+     * 进程是否已归档（不在调度器中）
+     */
+    public boolean isArchived(Long processId) {
+        return !processIndex.contains(processId) && processArchive.contains(processId);
+    }
+    
+    /**
+     * 获取已归档的进程，进程不在归档中或仍在调度器中时为null
+     */
+    public ArchivedProcess getArchivedProcess(Long processId) {
+        return isArchived(processId) ? processArchive.get(processId) : null;
+    }
+    
+    /**
+     * 已归档的进程数
+     */
+    public int getArchivedProcessCount() {
+        return processArchive.size();
+    }
+    
     public ProcessRepository getProcessRepository() {
         return processRepository;
     }
@@ -688,8 +1054,12 @@ public class ProcessScheduler {
      * 触发进程中断
      */
     public void interruptProcess(Long processId, String reason) {
-        Process process = allProcesses.get(processId);
-        if (process == null) {
+        runOn(ownerOf(processId), () -> doInterruptProcess(processId, reason));
+    }
+
+    private void doInterruptProcess(Long processId, String reason) {
+        Process process = processIndex.get(processId);
+        if (process == null || forwardToOwner(processId, () -> doInterruptProcess(processId, reason))) {
             return;
         }
         
@@ -705,68 +1075,62 @@ public class ProcessScheduler {
         // 根据中断类型处理进程状态
         switch (reason) {
             case "PROCESS":
-                if (process.equals(currentProcess)) {
+                if (process.equals(current())) {
                     Process.ProcessState oldState = process.getState();
-                    process.setState(Process.ProcessState.READY);
+                    processIndex.setState(process, Process.ProcessState.READY);
                     process.setLastUpdateTime(LocalDateTime.now());
-                    readyQueue.offer(process);
-                    currentProcess = null;
-                    processRepository.save(process);
+                    enqueue(process);
+                    setCurrent(null);
+                    persist(process);
                     recordTransition(process, oldState, Process.ProcessState.READY, "进程中断");
                     // 检查是否需要抢占当前进程
-                    if (!readyQueue.isEmpty() && readyQueue.peek().getPriority() > process.getPriority()) {
-                        logger.info("高优先级进程 {} 进入就绪队列，触发抢占", readyQueue.peek().getId());
+                    if (runQueue().shouldPreempt(process)) {
+                        logger.info("高优先级进程 {} 进入就绪队列，触发抢占", runQueue().peek().getId());
                         autoSchedule();
                     }
                 }
                 break;
             case "IO":
             case "DEVICE":
-                if (process.equals(currentProcess)) {
+                if (process.equals(current())) {
                     // 确保进程不在就绪队列中
-                    readyQueue.remove(process);
+                    runQueue().remove(process);
                     
                     Process.ProcessState oldState = process.getState();
-                    process.setState(Process.ProcessState.WAITING);
+                    processIndex.setState(process, Process.ProcessState.WAITING,
+                            reason.equals("IO") ? "等待IO完成" : "等待设备");
                     process.setLastUpdateTime(LocalDateTime.now());
-                    process.setWaitingReason(reason.equals("IO") ? "等待IO完成" : "等待设备");
-                    waitingProcesses.add(process);
-                    currentProcess = null;
-                    processRepository.save(process);
+                    setCurrent(null);
+                    persist(process);
                     recordTransition(process, oldState, Process.ProcessState.WAITING, process.getWaitingReason());
                     
-                    // 启动一个异步任务，模拟IO/设备操作完成
-                    CompletableFuture.runAsync(() -> {
-                        try {
-                            // 随机等待5-10秒
-                            Thread.sleep(5000 + (long)(Math.random() * 5000));
-                            // 将进程从等待队列移到就绪队列
-                            if (waitingProcesses.remove(process)) {
-                                // 确保进程不在就绪队列中
-                                readyQueue.remove(process);
+                    // 由系统时钟在5-10个滴答后模拟IO/设备操作完成，虚拟时间模式下不需要真实等待
+                    timerManager.schedule(5 + timerManager.getRandom().nextInt(6), () ->
+                            // 完成通知交给调度线程处理
+                            ownerOf(process).getLoop().execute(() -> {
+                                // 将进程从等待队列移到就绪队列
+                                if (processIndex.isInState(process, Process.ProcessState.WAITING)) {
+                                    // 确保进程不在就绪队列中
+                                    runQueue().remove(process);
                                 
-                                process.setState(Process.ProcessState.READY);
-                                process.setLastUpdateTime(LocalDateTime.now());
-                                process.setWaitingReason(null);
-                                readyQueue.offer(process);
-                                processRepository.save(process);
-                                recordTransition(process, Process.ProcessState.WAITING, Process.ProcessState.READY, 
-                                    reason.equals("IO") ? "IO操作完成" : "设备操作完成");
-                                logger.info("进程 {} {}操作完成，进入就绪队列", processId, reason.equals("IO") ? "IO" : "设备");
-                                // 检查是否需要抢占当前进程
-                                if (!readyQueue.isEmpty() && readyQueue.peek().getPriority() > process.getPriority()) {
-                                    logger.info("高优先级进程 {} 进入就绪队列，触发抢占", readyQueue.peek().getId());
-                                    autoSchedule();
+                                    processIndex.setState(process, Process.ProcessState.READY, null);
+                                    process.setLastUpdateTime(LocalDateTime.now());
+                                    enqueue(process);
+                                    persist(process);
+                                    recordTransition(process, Process.ProcessState.WAITING, Process.ProcessState.READY, 
+                                        reason.equals("IO") ? "IO操作完成" : "设备操作完成");
+                                    logger.info("进程 {} {}操作完成，进入就绪队列", processId, reason.equals("IO") ? "IO" : "设备");
+                                    // 检查是否需要抢占当前进程
+                                    if (runQueue().shouldPreempt(process)) {
+                                        logger.info("高优先级进程 {} 进入就绪队列，触发抢占", runQueue().peek().getId());
+                                        autoSchedule();
+                                    }
                                 }
-                            }
-                        } catch (InterruptedException e) {
-                            logger.error("等待IO/设备操作完成时被中断", e);
-                        }
-                    });
+                            }));
                 }
                 break;
             case "ERROR":
-                if (process.equals(currentProcess)) {
+                if (process.equals(current())) {
                     terminateProcess(process);
                 }
                 break;
@@ -774,17 +1138,17 @@ public class ProcessScheduler {
                 // 时钟中断一般不直接改变进程状态
                 break;
             case "OTHER":
-                if (process.equals(currentProcess)) {
+                if (process.equals(current())) {
                     Process.ProcessState oldState = process.getState();
-                    process.setState(Process.ProcessState.READY);
+                    processIndex.setState(process, Process.ProcessState.READY);
                     process.setLastUpdateTime(LocalDateTime.now());
-                    readyQueue.offer(process);
-                    currentProcess = null;
-                    processRepository.save(process);
+                    enqueue(process);
+                    setCurrent(null);
+                    persist(process);
                     recordTransition(process, oldState, Process.ProcessState.READY, "其他中断");
                     // 检查是否需要抢占当前进程
-                    if (currentProcess == null || (!readyQueue.isEmpty() && readyQueue.peek().getPriority() > process.getPriority())) {
-                        logger.info("高优先级进程 {} 进入就绪队列，触发抢占", readyQueue.peek().getId());
+                    if (current() == null || runQueue().shouldPreempt(process)) {
+                        logger.info("高优先级进程 {} 进入就绪队列，触发抢占", runQueue().peek().getId());
                         autoSchedule();
                     }
                 }
@@ -796,23 +1160,27 @@ public class ProcessScheduler {
      * 处理进程中断
      */
     public void handleProcessInterrupt(Long processId, String reason) {
-        Process process = allProcesses.get(processId);
+        runOn(ownerOf(processId), () -> doHandleProcessInterrupt(processId, reason));
+    }
+
+    private void doHandleProcessInterrupt(Long processId, String reason) {
+        Process process = processIndex.get(processId);
         if (process == null) {
             return;
         }
         switch (reason) {
             case "PROCESS":
-                if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
+                if (current() != null && process.getId().equals(current().getId())) {
                     Process.ProcessState oldState = process.getState();
-                    process.setState(Process.ProcessState.READY);
+                    processIndex.setState(process, Process.ProcessState.READY);
                     process.setLastUpdateTime(LocalDateTime.now());
                     
                     // 在添加到就绪队列之前判断是否需要调度
-                    boolean needSchedule = currentProcess == null || process.getPriority() > currentProcess.getPriority();
+                    boolean needSchedule = current() == null || process.getPriority() > current().getPriority();
                     
-                    readyQueue.offer(process);
-                    currentProcess = null;
-                    processRepository.save(process);
+                    enqueue(process);
+                    setCurrent(null);
+                    persist(process);
                     recordTransition(process, oldState, Process.ProcessState.READY, "进程中断");
                     
                     if (needSchedule) {
@@ -823,50 +1191,49 @@ public class ProcessScheduler {
                 break;
             case "IO":
             case "DEVICE":
-                if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
+                if (current() != null && process.getId().equals(current().getId())) {
                     Process.ProcessState oldState = process.getState();
-                    process.setState(Process.ProcessState.WAITING);
+                    processIndex.setState(process, Process.ProcessState.WAITING);
                     process.setLastUpdateTime(LocalDateTime.now());
-                    waitingProcesses.add(process);
-                    currentProcess = null;
-                    processRepository.save(process);
+                    setCurrent(null);
+                    persist(process);
                     recordTransition(process, oldState, Process.ProcessState.WAITING, reason.equals("IO") ? "等待IO完成" : "等待设备");
                     autoSchedule();
                 }
                 break;
             case "ERROR":
-                if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
+                if (current() != null && process.getId().equals(current().getId())) {
                     terminateProcess(process);
                 }
                 break;
             case "CLOCK":
                 // 时钟中断时，检查是否需要调度
-                if (currentProcess != null) {
+                if (current() != null) {
                     // 如果就绪队列中有更高优先级的进程，则进行调度
-                    if (!readyQueue.isEmpty() && readyQueue.peek().getPriority() > currentProcess.getPriority()) {
+                    if (runQueue().shouldPreempt(current())) {
                         logger.info("时钟中断：检测到高优先级进程 {} (优先级: {})，抢占当前进程 {} (优先级: {})", 
-                            readyQueue.peek().getId(), readyQueue.peek().getPriority(),
-                            currentProcess.getId(), currentProcess.getPriority());
+                            runQueue().peek().getId(), runQueue().peek().getPriority(),
+                            current().getId(), current().getPriority());
                         autoSchedule();
                     }
-                } else if (!readyQueue.isEmpty()) {
+                } else if (!runQueue().isEmpty()) {
                     // 如果当前没有运行进程，且就绪队列不为空，则进行调度
                     logger.info("时钟中断：当前无运行进程，就绪队列不为空，开始调度");
                     autoSchedule();
                 }
                 break;
             case "OTHER":
-                if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
+                if (current() != null && process.getId().equals(current().getId())) {
                     Process.ProcessState oldState = process.getState();
-                    process.setState(Process.ProcessState.READY);
+                    processIndex.setState(process, Process.ProcessState.READY);
                     process.setLastUpdateTime(LocalDateTime.now());
                     
                     // 在添加到就绪队列之前判断是否需要调度
-                    boolean needSchedule = currentProcess == null || process.getPriority() > currentProcess.getPriority();
+                    boolean needSchedule = current() == null || process.getPriority() > current().getPriority();
                     
-                    readyQueue.offer(process);
-                    currentProcess = null;
-                    processRepository.save(process);
+                    enqueue(process);
+                    setCurrent(null);
+                    persist(process);
                     recordTransition(process, oldState, Process.ProcessState.READY, "其他中断");
                     
                     if (needSchedule) {
@@ -879,10 +1246,10 @@ public class ProcessScheduler {
     }
 
     /**
-     * 根据ID获取进程
+     * 根据ID获取进程，返回当前的快照
      */
     public Process getProcessById(Long id) {
-        return allProcesses.get(id);
+        return processIndex.snapshot(id);
     }
 
     /**
@@ -891,15 +1258,28 @@ public class ProcessScheduler {
      * @param reason 阻塞原因
      */
     public void blockProcess(Long processId, String reason) {
-        Process process = getProcessById(processId);
-        if (process != null) {
-            process.setState(Process.ProcessState.WAITING);
-            process.setWaitingReason(reason);
+        runOn(ownerOf(processId), () -> doBlockProcess(processId, reason));
+    }
+
+    private void doBlockProcess(Long processId, String reason) {
+        if (forwardToOwner(processId, () -> doBlockProcess(processId, reason))) {
+            return;
+        }
+        Process process = processIndex.get(processId);
+        if (process != null && process.getState() != Process.ProcessState.TERMINATED) {
+            Process.ProcessState oldState = process.getState();
+            // 让出CPU或移出就绪队列，否则阻塞后仍会被调度
+            if (process.equals(current())) {
+                setCurrent(null);
+            } else {
+                runQueue().remove(process);
+            }
+            processIndex.setState(process, Process.ProcessState.WAITING, reason);
             process.setLastUpdateTime(LocalDateTime.now());
-            processRepository.save(process);
+            persist(process);
             
             // 记录状态转换
-            recordTransition(process, Process.ProcessState.RUNNING, Process.ProcessState.WAITING, reason);
+            recordTransition(process, oldState, Process.ProcessState.WAITING, reason);
         }
     }
 
@@ -908,64 +1288,255 @@ public class ProcessScheduler {
      * @param processId 进程ID
      */
     public void wakeupProcess(Long processId) {
-        Process process = getProcessById(processId);
+        runOn(ownerOf(processId), () -> doWakeupProcess(processId));
+    }
+
+    private void doWakeupProcess(Long processId) {
+        Process process = processIndex.get(processId);
         if (process != null && process.getState() == Process.ProcessState.WAITING) {
-            process.setState(Process.ProcessState.READY);
-            process.setWaitingReason(null);
+            processIndex.setState(process, Process.ProcessState.READY, null);
             process.setLastUpdateTime(LocalDateTime.now());
-            processRepository.save(process);
+            persist(process);
             
             // 记录状态转换
             recordTransition(process, Process.ProcessState.WAITING, Process.ProcessState.READY, "设备可用，进程被唤醒");
             
             // 将进程加入就绪队列
-            readyQueue.add(process);
+            enqueue(process);
         }
     }
 
     @EventListener
     public void handleProcessSchedulingEvent(ProcessSchedulingEvent event) {
+        cpus.forEach(cpu -> cpu.getLoop().execute(() -> doHandleProcessSchedulingEvent(event)));
+    }
+
+    private void doHandleProcessSchedulingEvent(ProcessSchedulingEvent event) {
         // 立即调度下一个进程
-        if (currentProcess == null) {
+        if (current() == null) {
             schedule();
         }
     }
 
+    /**
+     * 时钟中断：为当前运行进程计时，时间片用完且有其他就绪进程时切换
+     */
+    @EventListener
+    public void handleClockInterruptEvent(ClockInterruptEvent event) {
+        long now = event.getCurrentTime();
+        currentTick = now;
+        groups.tick(now);
+        cpus.forEach(cpu -> cpu.getLoop().execute(() -> doHandleClockInterruptEvent(event)));
+        
+        // 截止检查排在各CPU本滴答的计时之后执行，刚好在截止时间完成的作业不算错过
+        for (Process process : realTime.pollExpired(now)) {
+            Long deadline = process.getAbsoluteDeadline();
+            runOn(ownerOf(process), () -> doCheckDeadline(process, deadline));
+        }
+        for (Process process : realTime.pollReleases(now)) {
+            runOn(ownerOf(process), () -> doReleaseJob(process));
+        }
+    }
+
+    private void doHandleClockInterruptEvent(ClockInterruptEvent event) {
+        Process running = current();
+        if (running != null) {
+            groups.charge(running.getGroupName());
+        }
+        if (running != null && bursts.consume(running)) {
+            logger.info("进程 {} 的CPU工作量已完成", running.getId());
+            doTerminateProcess(running, "CPU工作量完成");
+            running = current();
+        } else if (running != null && realTime.consume(running)) {
+            logger.debug("实时进程 {} 的作业已完成", running.getId());
+            finishJob(running, "作业完成");
+            running = current();
+        }
+        if (runQueue().onTick(running) && !runQueue().isEmpty()) {
+            logger.debug("进程 {} 时间片用完，重新调度", running.getId());
+            schedule();
+        }
+    }
+
+    /**
+     * 作业截止时间已到，未完成则记为错过截止时间并放弃该作业
+     */
+    private void doCheckDeadline(Process process, Long deadline) {
+        if (!deadline.equals(process.getAbsoluteDeadline()) || process.getRemainingTime() == null
+                || process.getRemainingTime() <= 0
+                || processIndex.isInState(process, Process.ProcessState.TERMINATED)) {
+            return;
+        }
+        process.setDeadlineMisses((process.getDeadlineMisses() != null ? process.getDeadlineMisses() : 0) + 1);
+        logger.warn("实时进程 {} 错过截止时间 {}，剩余执行时间 {}，累计错过 {} 次",
+            process.getId(), deadline, process.getRemainingTime(), process.getDeadlineMisses());
+        finishJob(process, "错过截止时间");
+        persist(process);
+    }
+
+    /**
+     * 结束实时进程的当前作业
+     * 周期进程进入等待状态直到下一周期释放；非周期进程之后作为普通进程运行
+     */
+    private void finishJob(Process process, String reason) {
+        boolean queued = runQueue().remove(process);
+        realTime.finish(process);
+        if (process.getNextRelease() == null) {
+            // 截止时间清空后排序键变化，重新入队
+            if (queued) {
+                runQueue().offer(process);
+            }
+            return;
+        }
+        
+        Process.ProcessState oldState = process.getState();
+        if (oldState != Process.ProcessState.RUNNING && oldState != Process.ProcessState.READY) {
+            return;
+        }
+        if (process.equals(current())) {
+            setCurrent(null);
+        }
+        processIndex.setState(process, Process.ProcessState.WAITING, "等待下一周期");
+        process.setLastUpdateTime(LocalDateTime.now());
+        persist(process);
+        recordTransition(process, oldState, Process.ProcessState.WAITING, reason + "，等待下一周期");
+        autoSchedule();
+    }
+
+    /**
+     * 周期进程到达释放时间，释放新作业并进入就绪状态
+     */
+    private void doReleaseJob(Process process) {
+        if (processIndex.isInState(process, Process.ProcessState.TERMINATED) || !processIndex.contains(process.getId())) {
+            return;
+        }
+        // 释放作业会改变排序键，仍在就绪队列中的进程需重新入队
+        boolean queued = runQueue().remove(process);
+        realTime.release(process, currentTick);
+        if (queued) {
+            runQueue().offer(process);
+            autoSchedule();
+            return;
+        }
+        if (!processIndex.isInState(process, Process.ProcessState.WAITING)
+                || !"等待下一周期".equals(process.getWaitingReason())) {
+            return;
+        }
+        processIndex.setState(process, Process.ProcessState.READY, null);
+        process.setLastUpdateTime(LocalDateTime.now());
+        enqueue(process);
+        persist(process);
+        recordTransition(process, Process.ProcessState.WAITING, Process.ProcessState.READY, "周期作业释放");
+        autoSchedule();
+    }
+
+    /**
+     * 校验进程参数，并预先检查实时进程能否准入，不占用利用率
+     * 实时进程按分区调度，每个实时进程固定在一个CPU上：EDF下每个CPU的利用率不超过1；
+     * RM下不超过Liu-Layland界 n(2^(1/n)-1)，n为该CPU上的实时进程数；其他调度算法按EDF的界检查
+     * 预检查通过后创建时仍可能因并发创建的实时进程抢先占用而被拒绝
+     */
+    public void checkAdmission(List<Process> processes) {
+        validate(processes);
+        realTime.check(processes, cpus.size(), getCurrentAlgorithm() == SchedulingAlgorithm.RATE_MONOTONIC);
+    }
+
+    /**
+     * 校验进程参数并准入实时进程，检查和占用利用率一次完成
+     */
+    private void admit(List<Process> processes) {
+        validate(processes);
+        realTime.admit(processes, cpus.size(), getCurrentAlgorithm() == SchedulingAlgorithm.RATE_MONOTONIC);
+    }
+
+    private void validate(List<Process> processes) {
+        for (Process process : processes) {
+            RealTimeTracker.validate(process);
+            BurstPredictor.validate(process);
+            if (process.getGroupName() != null && !groups.exists(process.getGroupName())) {
+                throw new IllegalArgumentException("进程组不存在: " + process.getGroupName());
+            }
+        }
+    }
+
+    /**
+     * 分配到指定CPU的实时进程利用率
+     */
+    public double getRealTimeUtilization(int cpuId) {
+        return realTime.getUtilization(cpuId);
+    }
+
+    /**
+     * 进程已结束的CPU区间长度，按时间顺序排列
+     */
+    public List<Integer> getBurstHistory(Long processId) {
+        ArchivedProcess archived = getArchivedProcess(processId);
+        if (archived != null) {
+            return archived.getTransitions().stream()
+                .map(ProcessTransition::getBurst)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        }
+        processJournal.flush();
+        return transitionRepository.findByProcessIdAndBurstIsNotNullOrderById(processId).stream()
+            .map(ProcessTransition::getBurst)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 进程下一个CPU区间的预测长度
+     */
+    public double getEstimatedBurst(Process process) {
+        return bursts.estimateOf(process);
+    }
+
+    /**
+     * 进程当前CPU区间预计还需运行的时间
+     */
+    public double getRemainingBurst(Process process) {
+        return bursts.remainingBurst(process);
+    }
+
+    /**
+     * 已准入的实时进程总利用率
+     */
+    public double getRealTimeUtilization() {
+        return realTime.getUtilization();
+    }
+
     @EventListener
     public void handleProcessTerminationEvent(ProcessTerminationEvent event) {
+        ownerOf(event.getProcessId()).getLoop().execute(() -> doHandleProcessTerminationEvent(event));
+    }
+
+    private void doHandleProcessTerminationEvent(ProcessTerminationEvent event) {
         Long processId = event.getProcessId();
-        Process process = getProcessById(processId);
+        Process process = processIndex.get(processId);
         if (process != null) {
             // 如果进程是当前运行进程，需要将其从运行状态移除
-            if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
-                currentProcess = null;
+            if (current() != null && process.getId().equals(current().getId())) {
+                setCurrent(null);
             }
             // 如果进程在就绪队列中，需要移除
-            readyQueue.remove(process);
-            // 如果进程在等待队列中，需要移除
-            waitingProcesses.remove(process);
+            runQueue().remove(process);
             
             // 设置进程状态为终止
-            process.setState(Process.ProcessState.TERMINATED);
+            processIndex.setState(process, Process.ProcessState.TERMINATED);
             process.setLastUpdateTime(LocalDateTime.now());
-            terminatedProcesses.add(process);
+            runQueue().forget(process);
+            realTime.forget(process);
             
             // 释放进程占用的内存
             memoryManager.freeMemoryForProcess(process);
             
             // 保存到数据库
-            processRepository.save(process);
+            persist(process);
             
             // 记录状态转换
             recordTransition(process, Process.ProcessState.RUNNING, Process.ProcessState.TERMINATED, "进程被终止");
             
             logger.info("进程 {} 已终止", processId);
             
-            // 打印队列状态
-            logger.info("就绪队列中的进程: {}", readyQueue.stream().map(Process::getId).collect(Collectors.toList()));
-            logger.info("等待队列中的进程: {}", waitingProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-            logger.info("终止队列中的进程: {}", terminatedProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-            
             // 自动调度下一个进程
             autoSchedule();
         }
@@ -973,34 +1544,37 @@ public class ProcessScheduler {
 
     @EventListener
     public void handleProcessWaitingEvent(ProcessWaitingEvent event) {
+        ownerOf(event.getProcessId()).getLoop().execute(() -> doHandleProcessWaitingEvent(event));
+    }
+
+    private void doHandleProcessWaitingEvent(ProcessWaitingEvent event) {
         Long processId = event.getProcessId();
-        Process process = getProcessById(processId);
+        Process process = processIndex.get(processId);
         if (process != null) {
             logger.info("处理进程等待事件 - 进程ID: {}, 当前状态: {}", processId, process.getState());
             
             // 如果进程是当前运行进程，需要将其从运行状态移除
-            if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
-                currentProcess = null;
+            if (current() != null && process.getId().equals(current().getId())) {
+                setCurrent(null);
                 logger.info("进程 {} 从运行状态移除", processId);
             }
             
             // 如果进程在就绪队列中，需要移除
-            if (readyQueue.remove(process)) {
+            if (runQueue().remove(process)) {
                 logger.info("进程 {} 从就绪队列移除", processId);
             }
             
             // 如果进程已经在等待队列中，不需要重复添加
-            if (waitingProcesses.contains(process)) {
+            if (processIndex.isInState(process, Process.ProcessState.WAITING)) {
                 logger.info("进程 {} 已在等待队列中", processId);
                 return;
             }
             
             // 设置进程状态为等待
             Process.ProcessState oldState = process.getState();
-            process.setState(Process.ProcessState.WAITING);
+            processIndex.setState(process, Process.ProcessState.WAITING);
             process.setLastUpdateTime(LocalDateTime.now());
-            waitingProcesses.add(process);
-            processRepository.save(process);
+            persist(process);
             
             // 记录状态转换
             recordTransition(process, oldState, Process.ProcessState.WAITING, event.getReason());
@@ -1014,27 +1588,26 @@ public class ProcessScheduler {
 
     @EventListener
     public void handleProcessReadyEvent(ProcessReadyEvent event) {
+        ownerOf(event.getProcessId()).getLoop().execute(() -> doHandleProcessReadyEvent(event));
+    }
+
+    private void doHandleProcessReadyEvent(ProcessReadyEvent event) {
         Long processId = event.getProcessId();
-        Process process = getProcessById(processId);
+        Process process = processIndex.get(processId);
         if (process != null) {
-            // 如果进程在等待队列中，需要移除
-            waitingProcesses.remove(process);
-            
             // 如果进程是当前运行进程，需要先将其从运行状态移除
-            if (currentProcess != null && process.getId().equals(currentProcess.getId())) {
-                currentProcess = null;
+            if (current() != null && process.getId().equals(current().getId())) {
+                setCurrent(null);
             }
             
             // 设置进程状态为就绪
             Process.ProcessState oldState = process.getState();
-            process.setState(Process.ProcessState.READY);
+            processIndex.setState(process, Process.ProcessState.READY);
             process.setLastUpdateTime(LocalDateTime.now());
             
-            // 在添加到就绪队列之前判断是否需要调度
-            boolean needSchedule = currentProcess == null || process.getPriority() > currentProcess.getPriority();
-            
-            readyQueue.offer(process);
-            processRepository.save(process);
+            enqueue(process);
+            boolean needSchedule = current() == null || runQueue().shouldPreempt(current());
+            persist(process);
             
             // 记录状态转换
             recordTransition(process, oldState, Process.ProcessState.READY, "进程就绪");
@@ -1042,8 +1615,8 @@ public class ProcessScheduler {
             if (needSchedule) {
                 logger.info("进程 {} 进入就绪队列，优先级: {}，当前运行进程: {}，优先级: {}", 
                     processId, process.getPriority(),
-                    currentProcess != null ? currentProcess.getId() : "无",
-                    currentProcess != null ? currentProcess.getPriority() : "无");
+                    current() != null ? current().getId() : "无",
+                    current() != null ? current().getPriority() : "无");
                 autoSchedule();
             }
         }
@@ -1051,72 +1624,495 @@ public class ProcessScheduler {
 
     @Scheduled(fixedRate = 5000) // 每5秒执行一次
     public void printQueueStatus() {
+        // 虚拟时间模式下不按墙上时钟向调度线程插入命令，保证仿真可重现
+        if (timerManager.isVirtualTime()) {
+            return;
+        }
+        cpus.forEach(cpu -> cpu.getLoop().execute(this::doPrintQueueStatus));
+    }
+
+    @Scheduled(fixedDelayString = "${myos.archive.interval-ms:10000}")
+    public void scheduledArchive() {
+        // 虚拟时间模式下不按墙上时钟归档，保证仿真可重现
+        if (timerManager.isVirtualTime()) {
+            return;
+        }
+        try {
+            archiveTerminatedProcesses(archiveRetentionMillis, maxTerminatedProcesses);
+        } catch (RuntimeException e) {
+            logger.error("归档终止进程失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 归档终止的进程
+     * 终止超过保留时间的进程，以及终止进程数超过上限时最早终止的进程，连同状态转换记录写入归档，
+     * 然后从进程表和数据库中删除
+     * @param retentionMillis 保留时间（毫秒），负数表示不按时间归档
+     * @param maxTerminated 保留的终止进程数上限，负数表示不限
+     * @return 归档的进程数
+     */
+    public synchronized int archiveTerminatedProcesses(long retentionMillis, int maxTerminated) {
+        // 按终止时间从早到晚选出要归档的进程
+        List<Process> terminated = processIndex.list(Process.ProcessState.TERMINATED);
+        terminated.sort(Comparator.comparingLong(p -> processIndex.stateSince(p.getId())));
+        Instant now = Instant.now();
+        long cutoff = now.getEpochSecond() * 1_000_000_000L + now.getNano() - retentionMillis * 1_000_000L;
+        int excess = maxTerminated >= 0 ? terminated.size() - maxTerminated : 0;
+        List<Process> expired = new ArrayList<>();
+        for (Process process : terminated) {
+            boolean old = retentionMillis >= 0 && processIndex.stateSince(process.getId()) <= cutoff;
+            if (expired.size() >= excess && !old) {
+                break;
+            }
+            expired.add(process);
+        }
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        
+        // 在持有进程的CPU上确认进程仍处于终止状态，此时终止命令及其状态转换记录都已提交
+        List<Process> confirmed = new ArrayList<>();
+        expired.stream().collect(Collectors.groupingBy(this::ownerOf)).forEach((owner, processes) ->
+            confirmed.addAll(callOn(owner, () -> processes.stream()
+                .filter(p -> processIndex.isInState(p, Process.ProcessState.TERMINATED))
+                .collect(Collectors.toList()))));
+        
+        // 先写归档再从调度器中删除，归档期间进程仍可查询
+        processJournal.flush();
+        List<Long> ids = confirmed.stream().map(Process::getId).collect(Collectors.toList());
+        Map<Long, List<ProcessTransition>> transitions = transitionRepository.findByProcessIdInOrderById(ids).stream()
+            .collect(Collectors.groupingBy(t -> t.getProcess().getId()));
+        LocalDateTime archiveTime = LocalDateTime.now();
+        List<ArchivedProcess> batch = new ArrayList<>(confirmed.size());
+        for (Process process : confirmed) {
+            ArchivedProcess archived = new ArchivedProcess();
+            archived.setProcess(process);
+            archived.setTransitions(transitions.getOrDefault(process.getId(), new ArrayList<>()));
+            archived.setArchiveTime(archiveTime);
+            batch.add(archived);
+        }
+        processArchive.append(batch);
+        
+        List<Long> evicted = new ArrayList<>();
+        confirmed.stream().collect(Collectors.groupingBy(this::ownerOf)).forEach((owner, processes) ->
+            evicted.addAll(callOn(owner, () -> doEvictTerminated(processes))));
+        // 归档期间又回到调度中的进程以调度器中的为准
+        ids.stream().filter(id -> !evicted.contains(id)).forEach(processArchive::forget);
+        processJournal.purge(evicted);
+        logger.info("归档终止进程: {} 个，累计归档: {} 个", evicted.size(), processArchive.size());
+        return evicted.size();
+    }
+
+    private List<Long> doEvictTerminated(List<Process> processes) {
+        List<Long> evicted = new ArrayList<>(processes.size());
+        for (Process process : processes) {
+            if (processIndex.isInState(process, Process.ProcessState.TERMINATED)) {
+                processIndex.remove(process.getId());
+                owners.remove(process.getId());
+                evicted.add(process.getId());
+            }
+        }
+        return evicted;
+    }
+
+    private void doPrintQueueStatus() {
         // 检查当前运行进程是否有效
-        if (currentProcess != null && currentProcess.getState() != Process.ProcessState.RUNNING) {
-            logger.info("发现无效的当前运行进程，正在清除: {}", currentProcess.getId());
-            currentProcess = null;
+        if (current() != null && current().getState() != Process.ProcessState.RUNNING) {
+            logger.info("发现无效的当前运行进程，正在清除: {}", current().getId());
+            setCurrent(null);
         }
         
-        // 只打印队列状态，不进行调度
-        logger.info("当前运行进程: {}", currentProcess != null ? currentProcess.getId() : "无");
-        logger.info("就绪队列中的进程: {}", readyQueue.stream().map(Process::getId).collect(Collectors.toList()));
-        logger.info("等待队列中的进程: {}", waitingProcesses.stream().map(Process::getId).collect(Collectors.toList()));
-        logger.info("终止队列中的进程: {}", terminatedProcesses.stream().map(Process::getId).collect(Collectors.toList()));
+        // 只打印队列长度，不进行调度；队列内容可通过接口查询
+        logger.info("CPU {} 当前运行进程: {}, 就绪: {}, 等待: {}, 终止: {}", cpu().getId(),
+            current() != null ? current().getId() : "无", runQueue().size(),
+            processIndex.count(Process.ProcessState.WAITING), processIndex.count(Process.ProcessState.TERMINATED));
     }
 
-    @Scheduled(fixedRate = 50) // 每0.05秒执行一次
-    public void checkAndSchedule() {
+    /**
+     * 派发检查，由调度线程在每批命令执行完后调用
+     * 就绪队列入队、唤醒、中断等操作都以命令形式提交，提交即唤醒调度线程，不需要轮询
+     */
+    private void dispatchIfNeeded() {
         // 如果当前没有运行进程且就绪队列不为空，或者当前有运行进程但就绪队列中有更高优先级的进程，则进行调度
-        if ((currentProcess == null && !readyQueue.isEmpty()) ||
-                (currentProcess != null && !readyQueue.isEmpty() && readyQueue.peek().getPriority() > currentProcess.getPriority())) {
-            logger.info("定时检查：当前运行进程: {}, 优先级: {}, 就绪队列头进程: {}, 优先级: {}",
-                    currentProcess != null ? currentProcess.getId() : "无",
-                    currentProcess != null ? currentProcess.getPriority() : "无",
-                    !readyQueue.isEmpty() ? readyQueue.peek().getId() : "无",
-                    !readyQueue.isEmpty() ? readyQueue.peek().getPriority() : "无");
+        if ((current() == null && !runQueue().isEmpty()) ||
+                (current() != null && runQueue().shouldPreempt(current()))) {
+            logger.debug("派发检查：当前运行进程: {}, 优先级: {}, 就绪队列头进程: {}, 优先级: {}",
+                    current() != null ? current().getId() : "无",
+                    current() != null ? current().getPriority() : "无",
+                    !runQueue().isEmpty() ? runQueue().peek().getId() : "无",
+                    !runQueue().isEmpty() ? runQueue().peek().getPriority() : "无");
             schedule();
         }
+        
+        // 本CPU空闲时从最忙的CPU窃取进程；本CPU还有排队进程时唤醒一个空闲CPU，由它的派发检查来窃取
+        Cpu here = cpu();
+        if (current() == null && runQueue().isEmpty()) {
+            stealWork(here);
+        } else if (!runQueue().isEmpty()) {
+            cpus.stream()
+                .filter(cpu -> cpu != here && cpu.getLoad() == 0 && !cpu.isStealing())
+                .findFirst()
+                .ifPresent(idle -> idle.getLoop().execute(() -> { }));
+        }
+    }
+
+    /**
+     * 工作窃取：向运行队列最长的CPU请求一个允许在本CPU上运行的进程
+     * 请求和转交都是异步投递，CPU之间不会相互等待
+     */
+    private void stealWork(Cpu thief) {
+        if (cpus.size() == 1 || thief.isStealing()) {
+            return;
+        }
+        Cpu victim = cpus.stream()
+            .filter(cpu -> cpu != thief)
+            .max(Comparator.comparingInt(cpu -> cpu.getRunQueue().size()))
+            .orElse(null);
+        if (victim == null || victim.getRunQueue().isEmpty()) {
+            return;
+        }
+        thief.setStealing(true);
+        victim.getLoop().submit(() -> donate(thief))
+            .whenComplete((process, e) -> thief.getLoop().execute(() -> thief.setStealing(false)));
+    }
+
+    /**
+     * 在被窃取的CPU上执行：取出队列中最后一个允许在窃取方运行的进程转交出去，保留队头给本CPU
+     */
+    private Process donate(Cpu thief) {
+        Process candidate = runQueue().stream()
+            .filter(thief::allows)
+            .reduce((first, second) -> second)
+            .orElse(null);
+        if (candidate == null || !runQueue().remove(candidate)) {
+            return null;
+        }
+        logger.info("CPU {} 从 CPU {} 窃取进程 {}", thief.getId(), cpu().getId(), candidate.getId());
+        handOff(candidate, thief);
+        return candidate;
+    }
+
+    /**
+     * 进程进入就绪状态后放入当前CPU的运行队列
+     * 当前CPU不满足进程的亲和性时转交给允许的CPU
+     */
+    private void enqueue(Process process) {
+        Cpu here = cpu();
+        if (!here.allows(process)) {
+            handOff(process, selectCpu(process));
+            return;
+        }
+        here.getRunQueue().offer(process);
+        owners.put(process.getId(), here);
+    }
+
+    /**
+     * 将就绪进程转交给另一个CPU
+     * 先投递入队命令再修改归属，之后发往该进程的命令一定排在入队命令之后
+     */
+    private void handOff(Process process, Cpu target) {
+        target.getLoop().execute(() -> {
+            // 转交途中进程可能已被阻塞或终止
+            if (processIndex.isInState(process, Process.ProcessState.READY) && !runQueue().contains(process)) {
+                runQueue().offer(process);
+            }
+        });
+        owners.put(process.getId(), target);
+    }
+
+    /**
+     * 启动时把进程放入负载最低的CPU，此时调度线程尚未启动
+     */
+    private void placeOnLoad(Process process) {
+        Cpu target = selectCpu(process);
+        target.getRunQueue().offer(process);
+        owners.put(process.getId(), target);
+    }
+
+    /**
+     * 选择允许运行该进程且负载最低的CPU
+     */
+    private Cpu selectCpu(Process process) {
+        return cpus.stream()
+            .filter(cpu -> cpu.allows(process))
+            .min(Comparator.comparingInt(Cpu::getLoad))
+            .orElse(cpus.get(0));
+    }
+
+    /**
+     * 持有该进程的CPU，未被任何CPU持有时为CPU 0
+     */
+    private Cpu ownerOf(Long processId) {
+        Cpu owner = processId != null ? owners.get(processId) : null;
+        return owner != null ? owner : cpus.get(0);
+    }
+
+    private Cpu ownerOf(Process process) {
+        return process != null ? ownerOf(process.getId()) : cpus.get(0);
+    }
+
+    /**
+     * 进程可能在命令投递后被其他CPU窃取，不在当前持有者上时把命令转发过去，
+     * 避免修改其他CPU的就绪队列和当前进程
+     * @return 已转发时为true，调用方应直接返回
+     */
+    private boolean forwardToOwner(Long processId, Runnable command) {
+        Cpu owner = ownerOf(processId);
+        if (owner == cpu()) {
+            return false;
+        }
+        runOn(owner, command);
+        return true;
+    }
+
+    /**
+     * 在指定CPU的调度线程上执行命令
+     * 外部线程等待命令完成；调度线程之间只异步投递，避免相互等待造成死锁
+     */
+    private void runOn(Cpu target, Runnable command) {
+        Cpu here = Cpu.current();
+        if (here == target) {
+            command.run();
+        } else if (here != null) {
+            target.getLoop().execute(command);
+        } else {
+            target.getLoop().call(() -> {
+                command.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 执行有返回值的命令，已在调度线程上时在本CPU执行，否则在指定CPU上执行并等待结果
+     */
+    private <T> T callOn(Cpu target, Callable<T> command) {
+        Cpu here = Cpu.current();
+        return (here != null ? here : target).getLoop().call(command);
+    }
+
+    /**
+     * 当前调度线程所属的CPU，不在调度线程上时为CPU 0
+     */
+    private Cpu cpu() {
+        Cpu cpu = Cpu.current();
+        return cpu != null ? cpu : cpus.get(0);
+    }
+
+    private Process current() {
+        return cpu().getCurrentProcess();
+    }
+
+    private void setCurrent(Process process) {
+        cpu().setCurrentProcess(process);
+    }
+
+    private ReadyQueue runQueue() {
+        return cpu().getRunQueue();
     }
 
     /**
-     * 设置当前运行进程（仅用于测试）
+     * 设置CPU 0的当前运行进程（仅用于测试）
      */
     public void setCurrentProcess(Process process) {
-        this.currentProcess = process;
+        Cpu cpu0 = cpus.get(0);
+        Process row = rowOf(process);
+        runOn(cpu0, () -> {
+            setCurrent(row != null ? row : process);
+            if (process != null && process.getId() != null) {
+                owners.put(process.getId(), cpu0);
+            }
+        });
+    }
+
+    /**
+     * 获取CPU 0的就绪队列
+     */
+    public ReadyQueue getReadyQueue() {
+        return cpus.get(0).getRunQueue();
+    }
+
+    /**
+     * 进程的有效优先级，就绪进程由所在CPU的运行队列计算（包含老化提升）
+     */
+    public int getEffectivePriority(Process process) {
+        return ownerOf(process).getRunQueue().getEffectivePriority(process);
+    }
+
+    /**
+     * 进程在就绪队列中已等待的时间（毫秒）
+     */
+    public long getWaitTime(Process process) {
+        return ownerOf(process).getRunQueue().getWaitTime(process);
+    }
+
+    /**
+     * 所有CPU的调度线程是否空闲（没有正在执行或待执行的命令）
+     */
+    public boolean isIdle() {
+        return cpus.stream().allMatch(cpu -> cpu.getLoop().isIdle());
+    }
+
+    /**
+     * 设置各CPU是否在每条命令后派发，仿真时开启以保证相同的命令序列得到相同的调度结果
+     */
+    public void setDispatchEachCommand(boolean dispatchEachCommand) {
+        cpus.forEach(cpu -> cpu.getLoop().setDispatchEachCommand(dispatchEachCommand));
+    }
+
+    /**
+     * 所有CPU的调度线程已执行的命令总数
+     */
+    public long getExecutedCommandCount() {
+        return cpus.stream().mapToLong(cpu -> cpu.getLoop().getExecutedCount()).sum();
+    }
+
+    /**
+     * 获取所有模拟CPU
+     */
+    public List<Cpu> getCpus() {
+        return cpus;
+    }
+
+    /**
+     * 获取各CPU上正在运行的进程
+     */
+    public List<Process> getRunningProcesses() {
+        return cpus.stream()
+            .map(Cpu::getCurrentProcess)
+            .filter(Objects::nonNull)
+            .map(p -> processIndex.snapshot(p.getId()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 设置进程的CPU亲和性
+     * 实时进程固定在准入时分配的CPU上，不能修改
+     * @param cpuIds 允许运行的CPU编号，为空表示不限制
+     */
+    public void setProcessAffinity(Long processId, Collection<Integer> cpuIds) {
+        Process process = getProcessById(processId);
+        if (process != null && process.isRealTime()) {
+            throw new IllegalArgumentException("实时进程固定在准入时分配的CPU上，不能修改亲和性: " + processId);
+        }
+        long mask = 0;
+        if (cpuIds != null) {
+            for (Integer cpuId : cpuIds) {
+                if (cpuId == null || cpuId < 0 || cpuId >= cpus.size()) {
+                    throw new IllegalArgumentException("无效的CPU编号: " + cpuId);
+                }
+                mask |= 1L << cpuId;
+            }
+        }
+        Long affinity = mask != 0 ? mask : null;
+        runOn(ownerOf(processId), () -> doSetProcessAffinity(processId, affinity));
+    }
+
+    private void doSetProcessAffinity(Long processId, Long affinity) {
+        Process process = processIndex.get(processId);
+        if (process == null) {
+            return;
+        }
+        process.setCpuAffinity(affinity);
+        process.setLastUpdateTime(LocalDateTime.now());
+        persist(process);
+        
+        // 就绪进程所在CPU不再允许时立即迁移，运行中的进程在下次让出CPU时迁移
+        if (process.getState() == Process.ProcessState.READY && !cpu().allows(process) && runQueue().remove(process)) {
+            handOff(process, selectCpu(process));
+        }
+    }
+
+    /**
+     * 设置进程所属的进程组
+     * @param group 进程组名称，为空表示移出进程组
+     */
+    public void setProcessGroup(Long processId, String group) {
+        if (group != null && !groups.exists(group)) {
+            throw new IllegalArgumentException("进程组不存在: " + group);
+        }
+        runOn(ownerOf(processId), () -> doSetProcessGroup(processId, group));
+    }
+
+    private void doSetProcessGroup(Long processId, String group) {
+        Process process = processIndex.get(processId);
+        if (process == null || forwardToOwner(processId, () -> doSetProcessGroup(processId, group))) {
+            return;
+        }
+        
+        // 所属组是分组调度的排序键，就绪进程需重新入队
+        boolean queued = runQueue().remove(process);
+        process.setGroupName(group);
+        if (queued) {
+            runQueue().offer(process);
+        }
+        process.setLastUpdateTime(LocalDateTime.now());
+        persist(process);
+    }
+
+    /**
+     * 创建进程组
+     */
+    public ProcessGroup createProcessGroup(ProcessGroup group) {
+        return groups.create(group);
+    }
+
+    /**
+     * 删除进程组，组内还有未终止的进程或有子组时不能删除
+     */
+    public void deleteProcessGroup(String name) {
+        Long active = processIndex.findActiveInGroup(name);
+        if (active != null) {
+            throw new IllegalArgumentException("进程组 " + name + " 中还有未终止的进程: " + active);
+        }
+        groups.delete(name);
     }
 
     /**
-     * 获取就绪队列
+     * 各进程组的CPU使用统计
      */
-    public PriorityBlockingQueue<Process> getReadyQueue() {
-        return readyQueue;
+    public List<ProcessGroupUsage> getProcessGroupUsage() {
+        return groups.getUsage(processIndex.countActiveByGroup());
     }
 
     /**
      * 更新进程优先级
      */
     public void updateProcessPriority(Long processId, Integer priority) {
-        Process process = getProcessById(processId);
+        runOn(ownerOf(processId), () -> doUpdateProcessPriority(processId, priority));
+    }
+
+    private void doUpdateProcessPriority(Long processId, Integer priority) {
+        Process process = processIndex.get(processId);
         if (process != null) {
-            // 保存旧状态
-            Process.ProcessState oldState = process.getState();
-            
-            // 如果进程在就绪队列中，需要先移除
-            if (oldState == Process.ProcessState.READY) {
-                readyQueue.remove(process);
+            if (forwardToOwner(processId, () -> doUpdateProcessPriority(processId, priority))) {
+                return;
             }
             
-            // 更新优先级
-            process.setPriority(priority);
+            // 就绪队列按位置调整，不需要移除再入队
+            runQueue().updatePriority(process, priority);
             process.setLastUpdateTime(LocalDateTime.now());
             
-            // 如果进程之前在就绪状态，重新加入就绪队列
-            if (oldState == Process.ProcessState.READY) {
-                readyQueue.offer(process);
-            }
-            
             // 保存到数据库
-            processRepository.save(process);
+            persist(process);
         }
     }
+
+    /**
+     * 批量修改进程优先级
+     * 按持有进程的CPU分组，每个CPU只执行一条命令
+     */
+    public CompletableFuture<Void> updateProcessPriorities(Map<Long, Integer> priorities) {
+        Map<Cpu, List<Map.Entry<Long, Integer>>> byOwner = priorities.entrySet().stream()
+            .collect(Collectors.groupingBy(entry -> ownerOf(entry.getKey())));
+        CompletableFuture<?>[] updates = byOwner.entrySet().stream()
+            .map(group -> group.getKey().getLoop().submit(() -> {
+                group.getValue().forEach(entry -> doUpdateProcessPriority(entry.getKey(), entry.getValue()));
+                return null;
+            }))
+            .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(updates);
+    }
 } 
\ No newline at end of file
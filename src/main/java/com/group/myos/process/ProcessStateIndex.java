@@ -0,0 +1,190 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 进程状态索引
+ * 调度器内存中的进程表，是进程状态的唯一来源：
+ * 1. 进程保存在列存储的紧凑进程表（ProcessTable）中，按进程ID查找不装箱
+ * 2. 按状态维护进程链表和计数器，状态变化时增量更新
+ * 3. put 把进程对象写入列后返回行视图，get 也返回行视图；调度器内部只持有行视图，修改直接写入列
+ * 4. snapshot、list、all、page 和 remove 返回由列重建的进程对象，用于接口返回和持久化，修改它们不会影响进程表
+ * 读取某一状态的进程按状态位图顺序扫描，为O(结果数 + 进程总数/64)，不需要排序；统计各状态进程数为O(1)
+ * 所有方法在进程表上同步，与行视图的读写使用同一把锁
+ */
+public class ProcessStateIndex {
+    private final ProcessTable table;
+
+    public ProcessStateIndex() {
+        this(new ProcessTable());
+    }
+
+    public ProcessStateIndex(ProcessTable table) {
+        this.table = table;
+    }
+
+    /**
+     * 加入或刷新进程，按进程当前状态建立索引
+     * @return 进程的行视图，进程没有ID时原样返回
+     */
+    public Process put(Process process) {
+        if (process.getId() == null) {
+            return process;
+        }
+        synchronized (table) {
+            if (process.getState() == null) {
+                process.setState(Process.ProcessState.NEW);
+            }
+            return table.put(process);
+        }
+    }
+
+    /**
+     * 修改进程状态并同步更新索引
+     */
+    public void setState(Process process, Process.ProcessState newState) {
+        synchronized (table) {
+            process.setState(newState);
+            table.update(process);
+        }
+    }
+
+    /**
+     * 修改进程状态和等待原因并同步更新索引，原因为null表示清除
+     */
+    public void setState(Process process, Process.ProcessState newState, String waitingReason) {
+        synchronized (table) {
+            process.setWaitingReason(waitingReason);
+            setState(process, newState);
+        }
+    }
+
+    /**
+     * 把不是行视图的进程对象上的字段写回进程表；行视图的修改已经在列中
+     */
+    public void refresh(Process process) {
+        synchronized (table) {
+            table.update(process);
+        }
+    }
+
+    /**
+     * 删除进程，返回删除前的快照
+     */
+    public Process remove(Long processId) {
+        synchronized (table) {
+            return processId != null ? table.remove(processId) : null;
+        }
+    }
+
+    /**
+     * 进程的行视图，不在索引中时为null
+     */
+    public Process get(Long processId) {
+        synchronized (table) {
+            return processId != null ? table.get(processId) : null;
+        }
+    }
+
+    /**
+     * 进程当前的快照，不在索引中时为null
+     */
+    public Process snapshot(Long processId) {
+        synchronized (table) {
+            return processId != null ? table.snapshot(processId) : null;
+        }
+    }
+
+    public boolean contains(Long processId) {
+        synchronized (table) {
+            return processId != null && table.contains(processId);
+        }
+    }
+
+    /**
+     * 是否处于指定状态
+     */
+    public boolean isInState(Process process, Process.ProcessState state) {
+        synchronized (table) {
+            return process.getId() != null && state == table.stateOf(process.getId());
+        }
+    }
+
+    /**
+     * 进程进入当前状态的时间（纪元纳秒），不在索引中时为-1
+     */
+    public long stateSince(Long processId) {
+        synchronized (table) {
+            return processId != null ? table.stateSince(processId) : -1;
+        }
+    }
+
+    /**
+     * 获取指定状态的进程快照，按进程ID排序
+     */
+    public List<Process> list(Process.ProcessState state) {
+        synchronized (table) {
+            return table.list(state);
+        }
+    }
+
+    /**
+     * 获取所有进程的快照，按进程ID排序
+     */
+    public List<Process> all() {
+        synchronized (table) {
+            return table.all();
+        }
+    }
+
+    /**
+     * 进程ID大于 afterId 的前 limit 个进程的快照，按进程ID排序，state为null时不限状态
+     */
+    public List<Process> page(Process.ProcessState state, long afterId, int limit) {
+        synchronized (table) {
+            return table.page(state, afterId, limit);
+        }
+    }
+
+    /**
+     * 指定状态的进程数
+     */
+    public int count(Process.ProcessState state) {
+        synchronized (table) {
+            return table.count(state);
+        }
+    }
+
+    public int size() {
+        synchronized (table) {
+            return table.size();
+        }
+    }
+
+    /**
+     * 各组未终止的进程数
+     */
+    public Map<String, Integer> countActiveByGroup() {
+        synchronized (table) {
+            return table.countActiveByGroup();
+        }
+    }
+
+    /**
+     * 组内任一未终止进程的ID，没有时为null
+     */
+    public Long findActiveInGroup(String group) {
+        synchronized (table) {
+            return table.findActiveInGroup(group);
+        }
+    }
+
+    public void clear() {
+        synchronized (table) {
+            table.clear();
+        }
+    }
+}
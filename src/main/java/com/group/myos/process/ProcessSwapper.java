@@ -9,11 +9,11 @@ import java.util.List;
 public class ProcessSwapper {
     private final List<Process> swappedProcesses = new ArrayList<>();
 
-    public List<Process> getSwappedProcesses() {
-        return swappedProcesses;
+    public synchronized List<Process> getSwappedProcesses() {
+        return new ArrayList<>(swappedProcesses);
     }
 
-    public boolean swapIn(Process process) {
+    public synchronized boolean swapIn(Process process) {
         if (swappedProcesses.remove(process)) {
             process.setInMemory(true);
             return true;
@@ -21,7 +21,7 @@ public class ProcessSwapper {
         return false;
     }
 
-    public boolean swapOut(Process process) {
+    public synchronized boolean swapOut(Process process) {
         if (process.isInMemory()) {
             swappedProcesses.add(process);
             process.setInMemory(false);
@@ -30,7 +30,7 @@ public class ProcessSwapper {
         return false;
     }
 
-    public int autoSwapOut(int requiredMemory, List<Process> inMemoryProcesses) {
+    public synchronized int autoSwapOut(int requiredMemory, List<Process> inMemoryProcesses) {
         int freedMemory = 0;
         for (Process process : inMemoryProcesses) {
             if (freedMemory >= requiredMemory) break;
@@ -0,0 +1,992 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * 紧凑进程表
+ * 以列存储（struct-of-arrays）保存调度器工作集中的进程，每个进程占用一个槽位：
+ * 1. 进程ID、状态、优先级、内存大小、所属组、等待原因、创建时间和进入当前状态的时间都是基本类型的列，
+ *    时间为纪元纳秒，等待原因和组名保存为字符串池中的编号
+ * 2. 进程ID到槽位的映射为线性探测的开放寻址哈希表，不装箱
+ * 3. 所有进程ID另存一份有序数组，删除的进程ID留在数组中，超过一半时压缩；每个槽位记录其进程ID在数组中的位置
+ * 4. 每个状态一个位图，按有序数组中的位置标记处于该状态的进程；状态变化是清一位、置一位，计数为O(1)，
+ *    按状态读取时顺序找出置位的位置，结果天然按进程ID排序，不需要排序
+ * 5. 删除的槽位放入空闲链表复用
+ * 列是进程数据的唯一来源，表中不保存进程对象：
+ * 1. get 返回行视图（Row），读写都直接访问该行的列，调度器内部的就绪队列、当前进程等持有的都是行视图
+ * 2. remove、list、all、page 和 snapshot 由列重建新的进程对象，作为接口返回值和持久化的快照
+ * 本类不是线程安全的，行视图和 ProcessStateIndex 都在进程表上加锁访问
+ */
+public class ProcessTable {
+    private static final int NONE = -1;
+    private static final byte FREE = -1;
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final byte IN_MEMORY = 1;
+    private static final byte HAS_AFFINITY = 2;
+    private static final byte TERMINATED = (byte) Process.ProcessState.TERMINATED.ordinal();
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Process.ProcessState[] STATES = Process.ProcessState.values();
+
+    private final Clock clock;
+    private final StringPool strings = new StringPool();
+
+    // 按槽位存储的列
+    private long[] ids;
+    private byte[] states;           // 状态序号，FREE表示空闲槽位
+    private int[] priorities;
+    private int[] memorySizes;
+    private int[] groups;            // 组名在字符串池中的编号
+    private int[] reasons;           // 等待原因在字符串池中的编号
+    private long[] createNanos;
+    private long[] stateSinceNanos;
+    private int[] next;              // 空闲槽位为空闲链表的后继
+    private int[] positions;         // 进程ID在有序数组中的位置
+
+    // 其余字段的列，整数列以NULL_INT、时间列以NULL_TIME表示为空
+    private String[] names;
+    private String[] swapFiles;
+    private byte[] flags;
+    private long[] affinities;
+    private long[] updateNanos;
+    private int[] periods;
+    private int[] relativeDeadlines;
+    private int[] executionTimes;
+    private int[] deadlineMisses;
+    private int[] cpuTimes;
+    private int[] remainingCpuTimes;
+    private double[] estimatedBursts; // NaN表示为空
+    // 当前作业和CPU区间的运行时信息，不持久化
+    private long[] absoluteDeadlines;
+    private int[] remainingTimes;
+    private long[] nextReleases;
+    private int[] burstElapsed;
+
+    private final long[][] stateBits = new long[STATES.length][]; // 各状态的位图，按有序数组中的位置
+    private final int[] counts = new int[STATES.length];
+    private int size = 0;
+    private int used = 0;        // 用过的槽位数
+    private int freeHead = NONE;
+
+    // 按进程ID排序的所有进程ID，可能含有已删除的进程ID
+    private long[] order;
+    private int orderSize = 0;
+    private int removedInOrder = 0;
+
+    // 进程ID -> 槽位
+    private long[] keys;
+    private int[] values;
+    private int keyCount = 0;
+
+    public ProcessTable() {
+        this(Clock.systemUTC());
+    }
+
+    public ProcessTable(Clock clock) {
+        this.clock = clock;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 把进程对象的字段写入表中，已在表中时覆盖原来的列
+     * @return 该进程的行视图，传入的就是本表的行视图时直接返回
+     */
+    public Process put(Process process) {
+        if (owns(process)) {
+            return process;
+        }
+        long id = process.getId();
+        int slot = slotOf(id);
+        if (slot == NONE) {
+            slot = allocateSlot();
+            ids[slot] = id;
+            states[slot] = FREE;
+            createNanos[slot] = process.getCreateTime() != null ? toNanos(process.getCreateTime()) : now();
+            mapPut(id, slot);
+            addToOrder(id, slot);
+            size++;
+        }
+        if (states[slot] == FREE || STATES[states[slot]] != process.getState()) {
+            moveTo(slot, process.getState());
+        }
+        sync(slot, process);
+        return new Row(id, slot);
+    }
+
+    /**
+     * 按进程对象的当前状态更新槽位，同时刷新其他列；行视图的修改已经写在列中，不需要更新
+     * @return 进程是否在表中
+     */
+    public boolean update(Process process) {
+        int slot = process.getId() != null ? slotOf(process.getId()) : NONE;
+        if (slot == NONE || owns(process)) {
+            return slot != NONE;
+        }
+        if (STATES[states[slot]] != process.getState()) {
+            moveTo(slot, process.getState());
+        }
+        sync(slot, process);
+        return true;
+    }
+
+    public Process remove(long id) {
+        int slot = slotOf(id);
+        if (slot == NONE) {
+            return null;
+        }
+        Process process = materialize(slot);
+        unlink(slot);
+        mapRemove(id);
+        if (++removedInOrder > orderSize / 2) {
+            compactOrder();
+        }
+        states[slot] = FREE;
+        names[slot] = null;
+        swapFiles[slot] = null;
+        next[slot] = freeHead;
+        freeHead = slot;
+        size--;
+        return process;
+    }
+
+    /**
+     * 进程的行视图，不在表中时为null
+     */
+    public Process get(long id) {
+        int slot = slotOf(id);
+        return slot != NONE ? new Row(id, slot) : null;
+    }
+
+    /**
+     * 由列重建的进程对象，之后表中的修改不会反映到该对象上；不在表中时为null
+     */
+    public Process snapshot(long id) {
+        int slot = slotOf(id);
+        return slot != NONE ? materialize(slot) : null;
+    }
+
+    /**
+     * 是否为本表的行视图
+     */
+    public boolean owns(Process process) {
+        return process instanceof Row row && row.table() == this;
+    }
+
+    public boolean contains(long id) {
+        return slotOf(id) != NONE;
+    }
+
+    /**
+     * 进程在表中的状态，不在表中时为null
+     */
+    public Process.ProcessState stateOf(long id) {
+        int slot = slotOf(id);
+        return slot != NONE ? STATES[states[slot]] : null;
+    }
+
+    /**
+     * 进程进入当前状态的时间（纪元纳秒），不在表中时为-1
+     */
+    public long stateSince(long id) {
+        int slot = slotOf(id);
+        return slot != NONE ? stateSinceNanos[slot] : -1;
+    }
+
+    /**
+     * 进程的创建时间（纪元纳秒），不在表中时为-1
+     */
+    public long createdAt(long id) {
+        int slot = slotOf(id);
+        return slot != NONE ? createNanos[slot] : -1;
+    }
+
+    /**
+     * 指定状态的进程，按进程ID排序
+     * 顺序扫描该状态的位图，取满该状态的进程数即停止，为O(结果数 + 进程总数/64)
+     */
+    public List<Process> list(Process.ProcessState state) {
+        int count = counts[state.ordinal()];
+        long[] bits = stateBits[state.ordinal()];
+        List<Process> result = new ArrayList<>(count);
+        for (int i = nextSetBit(bits, 0); i != NONE && result.size() < count; i = nextSetBit(bits, i + 1)) {
+            result.add(materialize(slotOf(order[i])));
+        }
+        return result;
+    }
+
+    /**
+     * 所有进程，按进程ID排序
+     */
+    public List<Process> all() {
+        return page(null, Long.MIN_VALUE, size);
+    }
+
+    /**
+     * 进程ID大于 afterId 的前 limit 个进程，按进程ID排序，state为null时不限状态
+     * 在有序的进程ID数组中二分查找起点，向后扫描到取满为止；不限状态时为O(log N + limit)，
+     * 按状态分页时在该状态的位图中向后查找，其他状态的进程每64个只看一个字
+     */
+    public List<Process> page(Process.ProcessState state, long afterId, int limit) {
+        List<Process> result = new ArrayList<>(Math.min(limit, size));
+        int from = upperBound(afterId);
+        if (state != null) {
+            long[] bits = stateBits[state.ordinal()];
+            for (int i = nextSetBit(bits, from); i != NONE && result.size() < limit; i = nextSetBit(bits, i + 1)) {
+                result.add(materialize(slotOf(order[i])));
+            }
+            return result;
+        }
+        for (int i = from; i < orderSize && result.size() < limit; i++) {
+            int slot = slotOf(order[i]);
+            if (slot != NONE) {
+                result.add(materialize(slot));
+            }
+        }
+        return result;
+    }
+
+    public int count(Process.ProcessState state) {
+        return counts[state.ordinal()];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 各组未终止的进程数，只扫描状态列和组列
+     */
+    public Map<String, Integer> countActiveByGroup() {
+        int[] perGroup = new int[strings.size()];
+        for (int slot = 0; slot < used; slot++) {
+            if (states[slot] != FREE && states[slot] != TERMINATED && groups[slot] != NONE) {
+                perGroup[groups[slot]]++;
+            }
+        }
+        Map<String, Integer> result = new HashMap<>();
+        for (int code = 0; code < perGroup.length; code++) {
+            if (perGroup[code] > 0) {
+                result.put(strings.value(code), perGroup[code]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 组内任一未终止进程的ID，没有时为null
+     */
+    public Long findActiveInGroup(String group) {
+        int code = strings.find(group);
+        if (code == NONE) {
+            return null;
+        }
+        for (int slot = 0; slot < used; slot++) {
+            if (states[slot] != FREE && states[slot] != TERMINATED && groups[slot] == code) {
+                return ids[slot];
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        Arrays.fill(counts, 0);
+        size = 0;
+        used = 0;
+        freeHead = NONE;
+    }
+
+    /**
+     * 把新进程ID加入有序数组并记录槽位的位置，进程ID通常递增，直接追加在末尾
+     * 数组中已有该进程ID（删除后又加入）时不重复加入；插入到中间时后面的位置都变了，重建位置和位图
+     */
+    private void addToOrder(long id, int slot) {
+        int index = orderSize == 0 || order[orderSize - 1] < id ? orderSize : lowerBound(id);
+        if (index < orderSize && order[index] == id) {
+            removedInOrder--;
+            positions[slot] = index;
+            return;
+        }
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, order.length * 2);
+            for (int state = 0; state < stateBits.length; state++) {
+                stateBits[state] = Arrays.copyOf(stateBits[state], words(order.length));
+            }
+        }
+        System.arraycopy(order, index, order, index + 1, orderSize - index);
+        order[index] = id;
+        orderSize++;
+        if (index == orderSize - 1) {
+            positions[slot] = index;
+        } else {
+            reindex();
+        }
+    }
+
+    /**
+     * 去掉有序数组中已删除的进程ID，重建位置和位图
+     */
+    private void compactOrder() {
+        int kept = 0;
+        for (int i = 0; i < orderSize; i++) {
+            if (slotOf(order[i]) != NONE) {
+                order[kept++] = order[i];
+            }
+        }
+        orderSize = kept;
+        removedInOrder = 0;
+        reindex();
+    }
+
+    /**
+     * 按有序数组重新记录各槽位的位置并重建各状态的位图
+     */
+    private void reindex() {
+        for (long[] bits : stateBits) {
+            Arrays.fill(bits, 0);
+        }
+        for (int i = 0; i < orderSize; i++) {
+            int slot = slotOf(order[i]);
+            if (slot != NONE) {
+                positions[slot] = i;
+                if (states[slot] != FREE) {
+                    stateBits[states[slot]][i >>> 6] |= 1L << i;
+                }
+            }
+        }
+    }
+
+    /**
+     * 位图中 from 及之后第一个置位的位置，没有时为NONE
+     */
+    private static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return NONE;
+        }
+        long value = bits[word] & (-1L << from);
+        while (value == 0) {
+            if (++word == bits.length) {
+                return NONE;
+            }
+            value = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(value);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * 第一个不小于 id 的位置
+     */
+    private int lowerBound(long id) {
+        int low = 0;
+        int high = orderSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 第一个大于 id 的位置
+     */
+    private int upperBound(long id) {
+        return id == Long.MAX_VALUE ? orderSize : lowerBound(id + 1);
+    }
+
+    /**
+     * 把进程对象上状态以外的字段写入列，等待原因和组名保存为字符串池中的编号
+     */
+    private void sync(int slot, Process process) {
+        priorities[slot] = process.getPriority() != null ? process.getPriority() : 0;
+        memorySizes[slot] = process.getMemorySize() != null ? process.getMemorySize() : 0;
+        reasons[slot] = strings.code(process.getWaitingReason());
+        groups[slot] = strings.code(process.getGroupName());
+        names[slot] = process.getName();
+        swapFiles[slot] = process.getSwapFilePath();
+        flags[slot] = (byte) ((process.isInMemory() ? IN_MEMORY : 0) | (process.getCpuAffinity() != null ? HAS_AFFINITY : 0));
+        affinities[slot] = process.getCpuAffinity() != null ? process.getCpuAffinity() : 0;
+        updateNanos[slot] = process.getLastUpdateTime() != null ? toNanos(process.getLastUpdateTime()) : NULL_TIME;
+        periods[slot] = orNull(process.getPeriod());
+        relativeDeadlines[slot] = orNull(process.getRelativeDeadline());
+        executionTimes[slot] = orNull(process.getExecutionTime());
+        deadlineMisses[slot] = orNull(process.getDeadlineMisses());
+        cpuTimes[slot] = orNull(process.getCpuTime());
+        remainingCpuTimes[slot] = orNull(process.getRemainingCpuTime());
+        estimatedBursts[slot] = process.getEstimatedBurst() != null ? process.getEstimatedBurst() : Double.NaN;
+        absoluteDeadlines[slot] = orNull(process.getAbsoluteDeadline());
+        remainingTimes[slot] = orNull(process.getRemainingTime());
+        nextReleases[slot] = orNull(process.getNextRelease());
+        burstElapsed[slot] = orNull(process.getBurstElapsed());
+    }
+
+    /**
+     * 由槽位上的列重建进程对象，每次都是新对象
+     */
+    private Process materialize(int slot) {
+        Process process = new Process(ids[slot], names[slot], priorities[slot], STATES[states[slot]], memorySizes[slot]);
+        process.setCreateTime(toTime(createNanos[slot]));
+        process.setLastUpdateTime(updateNanos[slot] != NULL_TIME ? toTime(updateNanos[slot]) : null);
+        process.setInMemory((flags[slot] & IN_MEMORY) != 0);
+        process.setSwapFilePath(swapFiles[slot]);
+        process.setWaitingReason(strings.value(reasons[slot]));
+        process.setGroupName(strings.value(groups[slot]));
+        process.setCpuAffinity((flags[slot] & HAS_AFFINITY) != 0 ? affinities[slot] : null);
+        process.setPeriod(toInteger(periods[slot]));
+        process.setRelativeDeadline(toInteger(relativeDeadlines[slot]));
+        process.setExecutionTime(toInteger(executionTimes[slot]));
+        process.setDeadlineMisses(toInteger(deadlineMisses[slot]));
+        process.setCpuTime(toInteger(cpuTimes[slot]));
+        process.setRemainingCpuTime(toInteger(remainingCpuTimes[slot]));
+        process.setEstimatedBurst(Double.isNaN(estimatedBursts[slot]) ? null : estimatedBursts[slot]);
+        process.setAbsoluteDeadline(toLong(absoluteDeadlines[slot]));
+        process.setRemainingTime(toInteger(remainingTimes[slot]));
+        process.setNextRelease(toLong(nextReleases[slot]));
+        process.setBurstElapsed(toInteger(burstElapsed[slot]));
+        return process;
+    }
+
+    private void moveTo(int slot, Process.ProcessState state) {
+        if (states[slot] != FREE) {
+            unlink(slot);
+        }
+        int ordinal = state.ordinal();
+        states[slot] = (byte) ordinal;
+        stateBits[ordinal][positions[slot] >>> 6] |= 1L << positions[slot];
+        counts[ordinal]++;
+        stateSinceNanos[slot] = now();
+    }
+
+    private void unlink(int slot) {
+        int ordinal = states[slot];
+        stateBits[ordinal][positions[slot] >>> 6] &= ~(1L << positions[slot]);
+        counts[ordinal]--;
+    }
+
+    private int allocateSlot() {
+        if (freeHead != NONE) {
+            int slot = freeHead;
+            freeHead = next[slot];
+            return slot;
+        }
+        if (used == ids.length) {
+            grow(ids.length * 2);
+        }
+        return used++;
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        states = new byte[capacity];
+        priorities = new int[capacity];
+        memorySizes = new int[capacity];
+        groups = new int[capacity];
+        reasons = new int[capacity];
+        createNanos = new long[capacity];
+        stateSinceNanos = new long[capacity];
+        next = new int[capacity];
+        positions = new int[capacity];
+        names = new String[capacity];
+        swapFiles = new String[capacity];
+        flags = new byte[capacity];
+        affinities = new long[capacity];
+        updateNanos = new long[capacity];
+        periods = new int[capacity];
+        relativeDeadlines = new int[capacity];
+        executionTimes = new int[capacity];
+        deadlineMisses = new int[capacity];
+        cpuTimes = new int[capacity];
+        remainingCpuTimes = new int[capacity];
+        estimatedBursts = new double[capacity];
+        absoluteDeadlines = new long[capacity];
+        remainingTimes = new int[capacity];
+        nextReleases = new long[capacity];
+        burstElapsed = new int[capacity];
+        order = new long[capacity];
+        for (int state = 0; state < stateBits.length; state++) {
+            stateBits[state] = new long[words(capacity)];
+        }
+        orderSize = 0;
+        removedInOrder = 0;
+        keys = new long[capacity * 2];
+        values = new int[capacity * 2];
+        Arrays.fill(keys, EMPTY_KEY);
+        keyCount = 0;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        states = Arrays.copyOf(states, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        memorySizes = Arrays.copyOf(memorySizes, capacity);
+        groups = Arrays.copyOf(groups, capacity);
+        reasons = Arrays.copyOf(reasons, capacity);
+        createNanos = Arrays.copyOf(createNanos, capacity);
+        stateSinceNanos = Arrays.copyOf(stateSinceNanos, capacity);
+        next = Arrays.copyOf(next, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        names = Arrays.copyOf(names, capacity);
+        swapFiles = Arrays.copyOf(swapFiles, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        affinities = Arrays.copyOf(affinities, capacity);
+        updateNanos = Arrays.copyOf(updateNanos, capacity);
+        periods = Arrays.copyOf(periods, capacity);
+        relativeDeadlines = Arrays.copyOf(relativeDeadlines, capacity);
+        executionTimes = Arrays.copyOf(executionTimes, capacity);
+        deadlineMisses = Arrays.copyOf(deadlineMisses, capacity);
+        cpuTimes = Arrays.copyOf(cpuTimes, capacity);
+        remainingCpuTimes = Arrays.copyOf(remainingCpuTimes, capacity);
+        estimatedBursts = Arrays.copyOf(estimatedBursts, capacity);
+        absoluteDeadlines = Arrays.copyOf(absoluteDeadlines, capacity);
+        remainingTimes = Arrays.copyOf(remainingTimes, capacity);
+        nextReleases = Arrays.copyOf(nextReleases, capacity);
+        burstElapsed = Arrays.copyOf(burstElapsed, capacity);
+    }
+
+    // ---- 进程ID到槽位的开放寻址哈希表，装载因子不超过1/2 ----
+
+    private int slotOf(long id) {
+        int mask = keys.length - 1;
+        for (int i = hash(id) & mask; keys[i] != EMPTY_KEY; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                return values[i];
+            }
+        }
+        return NONE;
+    }
+
+    private void mapPut(long id, int slot) {
+        if ((keyCount + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = hash(id) & mask;
+        while (keys[i] != EMPTY_KEY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        values[i] = slot;
+        keyCount++;
+    }
+
+    /**
+     * 删除后把同一探测序列中后面的键前移，不留墓碑
+     */
+    private void mapRemove(long id) {
+        int mask = keys.length - 1;
+        int i = hash(id) & mask;
+        while (keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = EMPTY_KEY;
+        keyCount--;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY_KEY; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            // 键的起始位置不在 (i, j] 之间时可以移到空位 i
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                keys[j] = EMPTY_KEY;
+                i = j;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        keyCount = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                mapPut(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private long now() {
+        Instant instant = clock.instant();
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static LocalDateTime toTime(long nanos) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static int orNull(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+
+    private static long orNull(Long value) {
+        return value != null ? value : NULL_TIME;
+    }
+
+    private static Integer toInteger(int value) {
+        return value != NULL_INT ? value : null;
+    }
+
+    private static Long toLong(long value) {
+        return value != NULL_TIME ? value : null;
+    }
+
+    /**
+     * 进程表中一行的视图
+     * 只记住进程ID和槽位，所有读写都在进程表上加锁后直接访问该行的列，同一进程的所有视图看到的是同一份数据；
+     * 修改状态时同时调整状态链表。进程从表中删除后读写视图抛出 IllegalStateException
+     * 视图不是JPA实体，持久化时使用 snapshot 得到的进程对象
+     */
+    final class Row extends Process {
+        private int slot;
+
+        private Row(long id, int slot) {
+            super(id);
+            this.slot = slot;
+        }
+
+        private ProcessTable table() {
+            return ProcessTable.this;
+        }
+
+        /**
+         * 该行当前的槽位；槽位变化（删除后重新加入、清空）时按进程ID重新查找
+         */
+        private int slot() {
+            long id = super.getId();
+            if (slot >= used || states[slot] == FREE || ids[slot] != id) {
+                int found = slotOf(id);
+                if (found == NONE) {
+                    throw new IllegalStateException("进程已从进程表中删除: " + id);
+                }
+                slot = found;
+            }
+            return slot;
+        }
+
+        private <T> T read(IntFunction<T> column) {
+            synchronized (ProcessTable.this) {
+                return column.apply(slot());
+            }
+        }
+
+        private void write(IntConsumer column) {
+            synchronized (ProcessTable.this) {
+                column.accept(slot());
+            }
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("不能修改进程表中进程的ID");
+        }
+
+        @Override
+        public String getName() {
+            return read(s -> names[s]);
+        }
+
+        @Override
+        public void setName(String name) {
+            write(s -> names[s] = name);
+        }
+
+        @Override
+        public Integer getPriority() {
+            return read(s -> priorities[s]);
+        }
+
+        @Override
+        public void setPriority(Integer priority) {
+            write(s -> priorities[s] = priority != null ? priority : 0);
+        }
+
+        @Override
+        public ProcessState getState() {
+            return read(s -> STATES[states[s]]);
+        }
+
+        @Override
+        public void setState(ProcessState state) {
+            Objects.requireNonNull(state, "进程状态不能为空");
+            write(s -> {
+                if (states[s] != state.ordinal()) {
+                    moveTo(s, state);
+                }
+            });
+        }
+
+        @Override
+        public Integer getMemorySize() {
+            return read(s -> memorySizes[s]);
+        }
+
+        @Override
+        public void setMemorySize(Integer memorySize) {
+            write(s -> memorySizes[s] = memorySize != null ? memorySize : 0);
+        }
+
+        @Override
+        public LocalDateTime getCreateTime() {
+            return read(s -> toTime(createNanos[s]));
+        }
+
+        @Override
+        public void setCreateTime(LocalDateTime createTime) {
+            write(s -> createNanos[s] = createTime != null ? toNanos(createTime) : now());
+        }
+
+        @Override
+        public LocalDateTime getLastUpdateTime() {
+            return read(s -> updateNanos[s] != NULL_TIME ? toTime(updateNanos[s]) : null);
+        }
+
+        @Override
+        public void setLastUpdateTime(LocalDateTime lastUpdateTime) {
+            write(s -> updateNanos[s] = lastUpdateTime != null ? toNanos(lastUpdateTime) : NULL_TIME);
+        }
+
+        @Override
+        public boolean isInMemory() {
+            return read(s -> (flags[s] & IN_MEMORY) != 0);
+        }
+
+        @Override
+        public void setInMemory(boolean inMemory) {
+            write(s -> flags[s] = (byte) (inMemory ? flags[s] | IN_MEMORY : flags[s] & ~IN_MEMORY));
+        }
+
+        @Override
+        public String getSwapFilePath() {
+            return read(s -> swapFiles[s]);
+        }
+
+        @Override
+        public void setSwapFilePath(String swapFilePath) {
+            write(s -> swapFiles[s] = swapFilePath);
+        }
+
+        @Override
+        public String getWaitingReason() {
+            return read(s -> strings.value(reasons[s]));
+        }
+
+        @Override
+        public void setWaitingReason(String waitingReason) {
+            write(s -> reasons[s] = strings.code(waitingReason));
+        }
+
+        @Override
+        public Long getCpuAffinity() {
+            return read(s -> (flags[s] & HAS_AFFINITY) != 0 ? affinities[s] : null);
+        }
+
+        @Override
+        public void setCpuAffinity(Long cpuAffinity) {
+            write(s -> {
+                flags[s] = (byte) (cpuAffinity != null ? flags[s] | HAS_AFFINITY : flags[s] & ~HAS_AFFINITY);
+                affinities[s] = cpuAffinity != null ? cpuAffinity : 0;
+            });
+        }
+
+        @Override
+        public String getGroupName() {
+            return read(s -> strings.value(groups[s]));
+        }
+
+        @Override
+        public void setGroupName(String groupName) {
+            write(s -> groups[s] = strings.code(groupName));
+        }
+
+        @Override
+        public Integer getPeriod() {
+            return read(s -> toInteger(periods[s]));
+        }
+
+        @Override
+        public void setPeriod(Integer period) {
+            write(s -> periods[s] = orNull(period));
+        }
+
+        @Override
+        public Integer getRelativeDeadline() {
+            return read(s -> toInteger(relativeDeadlines[s]));
+        }
+
+        @Override
+        public void setRelativeDeadline(Integer relativeDeadline) {
+            write(s -> relativeDeadlines[s] = orNull(relativeDeadline));
+        }
+
+        @Override
+        public Integer getExecutionTime() {
+            return read(s -> toInteger(executionTimes[s]));
+        }
+
+        @Override
+        public void setExecutionTime(Integer executionTime) {
+            write(s -> executionTimes[s] = orNull(executionTime));
+        }
+
+        @Override
+        public Integer getDeadlineMisses() {
+            return read(s -> toInteger(deadlineMisses[s]));
+        }
+
+        @Override
+        public void setDeadlineMisses(Integer misses) {
+            write(s -> deadlineMisses[s] = orNull(misses));
+        }
+
+        @Override
+        public Integer getCpuTime() {
+            return read(s -> toInteger(cpuTimes[s]));
+        }
+
+        @Override
+        public void setCpuTime(Integer cpuTime) {
+            write(s -> cpuTimes[s] = orNull(cpuTime));
+        }
+
+        @Override
+        public Integer getRemainingCpuTime() {
+            return read(s -> toInteger(remainingCpuTimes[s]));
+        }
+
+        @Override
+        public void setRemainingCpuTime(Integer remainingCpuTime) {
+            write(s -> remainingCpuTimes[s] = orNull(remainingCpuTime));
+        }
+
+        @Override
+        public Double getEstimatedBurst() {
+            return read(s -> Double.isNaN(estimatedBursts[s]) ? null : estimatedBursts[s]);
+        }
+
+        @Override
+        public void setEstimatedBurst(Double estimatedBurst) {
+            write(s -> estimatedBursts[s] = estimatedBurst != null ? estimatedBurst : Double.NaN);
+        }
+
+        @Override
+        public Long getAbsoluteDeadline() {
+            return read(s -> toLong(absoluteDeadlines[s]));
+        }
+
+        @Override
+        public void setAbsoluteDeadline(Long absoluteDeadline) {
+            write(s -> absoluteDeadlines[s] = orNull(absoluteDeadline));
+        }
+
+        @Override
+        public Integer getRemainingTime() {
+            return read(s -> toInteger(remainingTimes[s]));
+        }
+
+        @Override
+        public void setRemainingTime(Integer remainingTime) {
+            write(s -> remainingTimes[s] = orNull(remainingTime));
+        }
+
+        @Override
+        public Long getNextRelease() {
+            return read(s -> toLong(nextReleases[s]));
+        }
+
+        @Override
+        public void setNextRelease(Long nextRelease) {
+            write(s -> nextReleases[s] = orNull(nextRelease));
+        }
+
+        @Override
+        public Integer getBurstElapsed() {
+            return read(s -> toInteger(burstElapsed[s]));
+        }
+
+        @Override
+        public void setBurstElapsed(Integer elapsed) {
+            write(s -> burstElapsed[s] = orNull(elapsed));
+        }
+
+        @Override
+        public boolean isRealTime() {
+            return read(s -> periods[s] != NULL_INT || relativeDeadlines[s] != NULL_INT);
+        }
+
+        @Override
+        public String toString() {
+            synchronized (ProcessTable.this) {
+                long id = super.getId();
+                return contains(id) ? materialize(slot()).toString() : "Process(id=" + id + ", 已从进程表中删除)";
+            }
+        }
+    }
+
+    /**
+     * 字符串池，相同的字符串只保存一份并编号
+     */
+    private static class StringPool {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        int find(String value) {
+            Integer code = value != null ? codes.get(value) : null;
+            return code != null ? code : NONE;
+        }
+
+        String value(int code) {
+            return code != NONE ? values.get(code) : null;
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 实时进程的作业记录
+ * 1. 每个实时进程按作业运行：作业释放时获得执行时间和绝对截止时间，运行一个时钟滴答剩余时间减1
+ * 2. 未完成作业按绝对截止时间排序，周期进程的下一次释放按释放时间排序，
+ *    每个时钟滴答只需从集合头部取出到期的进程，不需要扫描所有进程
+ * 3. 记录每个实时进程的CPU利用率（执行时间 / min(周期, 相对截止时间)），用于准入控制
+ * 4. 实时进程按分区调度：准入时把进程固定（CPU亲和性只保留一位）在一个CPU上，每个CPU单独检查可调度上界，
+ *    EDF为1，RM为 n(2^(1/n)-1)，n为该CPU上的实时进程数；调度器的各CPU独立调度，不做全局调度，
+ *    全局调度的上界（EDF为CPU数）对分区调度不成立
+ * 准入检查和占用利用率在同一个同步方法中完成，多个CPU同时创建实时进程也不会超额准入
+ * 作业的截止时间和释放时间只在本类的同步方法中修改，修改前先移出集合
+ */
+public class RealTimeTracker {
+    private static final Comparator<Process> BY_DEADLINE =
+        Comparator.<Process>comparingLong(Process::getAbsoluteDeadline).thenComparing(Process::getId);
+    private static final Comparator<Process> BY_RELEASE =
+        Comparator.<Process>comparingLong(Process::getNextRelease).thenComparing(Process::getId);
+
+    private final TreeSet<Process> activeJobs = new TreeSet<>(BY_DEADLINE); // 未完成的作业
+    private final TreeSet<Process> pendingReleases = new TreeSet<>(BY_RELEASE); // 等待下一周期的进程
+    private final Map<Long, Allocation> allocations = new HashMap<>(); // 进程ID -> 所在CPU和利用率
+    private final Map<Process, Allocation> reserved = new IdentityHashMap<>(); // 已准入、还没有进程ID的进程
+
+    /**
+     * 实时进程所在的CPU和占用的利用率
+     */
+    private static final class Allocation {
+        private final int cpu;
+        private final double utilization;
+
+        private Allocation(int cpu, double utilization) {
+            this.cpu = cpu;
+            this.utilization = utilization;
+        }
+    }
+
+    /**
+     * 校验实时参数
+     */
+    public static void validate(Process process) {
+        if (!process.isRealTime()) {
+            return;
+        }
+        if (process.getPeriod() != null && process.getPeriod() <= 0) {
+            throw new IllegalArgumentException("周期必须大于0: " + process.getPeriod());
+        }
+        if (process.getRelativeDeadline() != null && process.getRelativeDeadline() <= 0) {
+            throw new IllegalArgumentException("相对截止时间必须大于0: " + process.getRelativeDeadline());
+        }
+        if (process.getExecutionTime() == null || process.getExecutionTime() <= 0) {
+            throw new IllegalArgumentException("实时进程必须指定大于0的执行时间");
+        }
+        if (process.getExecutionTime() > deadlineOf(process)) {
+            throw new IllegalArgumentException("执行时间不能超过截止时间: " + process.getExecutionTime() + " > " + deadlineOf(process));
+        }
+    }
+
+    /**
+     * 相对截止时间，未指定时等于周期
+     */
+    public static int deadlineOf(Process process) {
+        return process.getRelativeDeadline() != null ? process.getRelativeDeadline() : process.getPeriod();
+    }
+
+    /**
+     * 实时进程的CPU利用率，截止时间短于周期时按截止时间计算（密度）
+     */
+    public static double utilizationOf(Process process) {
+        int window = process.getPeriod() != null ? Math.min(process.getPeriod(), deadlineOf(process)) : deadlineOf(process);
+        return (double) process.getExecutionTime() / window;
+    }
+
+    /**
+     * 已准入的实时进程总利用率
+     */
+    public synchronized double getUtilization() {
+        double total = 0;
+        for (Allocation allocation : allocations.values()) {
+            total += allocation.utilization;
+        }
+        for (Allocation allocation : reserved.values()) {
+            total += allocation.utilization;
+        }
+        return total;
+    }
+
+    /**
+     * 分配到指定CPU的实时进程利用率
+     */
+    public synchronized double getUtilization(int cpu) {
+        double total = 0;
+        for (Allocation allocation : allocations.values()) {
+            total += allocation.cpu == cpu ? allocation.utilization : 0;
+        }
+        for (Allocation allocation : reserved.values()) {
+            total += allocation.cpu == cpu ? allocation.utilization : 0;
+        }
+        return total;
+    }
+
+    public synchronized int getTaskCount() {
+        return allocations.size() + reserved.size();
+    }
+
+    /**
+     * 检查实时进程能否准入，不占用利用率
+     * @throws IllegalArgumentException 有进程放不进任何允许的CPU
+     */
+    public synchronized void check(List<Process> processes, int cpuCount, boolean rateMonotonic) {
+        partition(processes, cpuCount, rateMonotonic);
+    }
+
+    /**
+     * 准入实时进程：为每个实时进程选出一个CPU，固定进程的CPU亲和性并占用该CPU的利用率
+     * 全部进程都能放下时才占用，否则不修改任何进程
+     * 还没有进程ID的进程先按对象保留，分配ID后由 register 登记
+     * @throws IllegalArgumentException 有进程放不进任何允许的CPU
+     */
+    public synchronized void admit(List<Process> processes, int cpuCount, boolean rateMonotonic) {
+        Map<Process, Integer> placement = partition(processes, cpuCount, rateMonotonic);
+        placement.forEach((process, cpu) -> {
+            process.setCpuAffinity(1L << cpu);
+            Allocation allocation = new Allocation(cpu, utilizationOf(process));
+            if (process.getId() != null) {
+                allocations.put(process.getId(), allocation);
+            } else {
+                reserved.put(process, allocation);
+            }
+        });
+    }
+
+    /**
+     * 登记已分配ID的实时进程
+     * 准入时保留的进程转为按ID登记；从数据库加载的进程按其CPU亲和性的最低位登记
+     */
+    public synchronized void register(Process process) {
+        if (!process.isRealTime() || process.getId() == null) {
+            return;
+        }
+        Allocation allocation = reserved.remove(process);
+        if (allocation == null) {
+            int cpu = process.getCpuAffinity() != null && process.getCpuAffinity() != 0
+                ? Long.numberOfTrailingZeros(process.getCpuAffinity()) : 0;
+            allocation = new Allocation(cpu, utilizationOf(process));
+        }
+        allocations.put(process.getId(), allocation);
+    }
+
+    /**
+     * 释放一个新作业
+     * 周期进程的释放时间沿周期网格推进，截止时间从计划释放时间算起
+     */
+    public synchronized void release(Process process, long now) {
+        detach(process);
+        long releaseTime = process.getNextRelease() != null ? process.getNextRelease() : now;
+        process.setRemainingTime(process.getExecutionTime());
+        process.setAbsoluteDeadline(releaseTime + deadlineOf(process));
+        process.setNextRelease(process.getPeriod() != null ? releaseTime + process.getPeriod() : null);
+        activeJobs.add(process);
+    }
+
+    /**
+     * 运行中的实时进程消耗一个时钟滴答
+     * @return 当前作业是否刚好完成
+     */
+    public synchronized boolean consume(Process process) {
+        if (process == null || process.getAbsoluteDeadline() == null || process.getRemainingTime() == null
+                || process.getRemainingTime() <= 0) {
+            return false;
+        }
+        process.setRemainingTime(process.getRemainingTime() - 1);
+        return process.getRemainingTime() == 0;
+    }
+
+    /**
+     * 结束当前作业（完成或被放弃），周期进程登记下一次释放
+     */
+    public synchronized void finish(Process process) {
+        detach(process);
+        process.setAbsoluteDeadline(null);
+        process.setRemainingTime(0);
+        if (process.getNextRelease() != null) {
+            pendingReleases.add(process);
+        }
+    }
+
+    /**
+     * 取出截止时间已到的作业，由调用方判断作业是否完成
+     */
+    public synchronized List<Process> pollExpired(long now) {
+        List<Process> expired = new ArrayList<>();
+        while (!activeJobs.isEmpty() && activeJobs.first().getAbsoluteDeadline() <= now) {
+            expired.add(activeJobs.pollFirst());
+        }
+        return expired;
+    }
+
+    /**
+     * 取出释放时间已到的周期进程
+     */
+    public synchronized List<Process> pollReleases(long now) {
+        List<Process> due = new ArrayList<>();
+        while (!pendingReleases.isEmpty() && pendingReleases.first().getNextRelease() <= now) {
+            due.add(pendingReleases.pollFirst());
+        }
+        return due;
+    }
+
+    /**
+     * 进程终止或删除后清除其作业记录
+     */
+    public synchronized void forget(Process process) {
+        detach(process);
+        reserved.remove(process);
+        if (process.getId() != null) {
+            allocations.remove(process.getId());
+        }
+    }
+
+    /**
+     * 按利用率从大到小依次把实时进程放入第一个放得下的允许CPU（首次适应递减）
+     * @return 实时进程 -> CPU编号
+     */
+    private Map<Process, Integer> partition(List<Process> processes, int cpuCount, boolean rateMonotonic) {
+        double[] utilization = new double[cpuCount];
+        int[] tasks = new int[cpuCount];
+        for (Allocation allocation : allocations.values()) {
+            occupy(allocation, utilization, tasks);
+        }
+        for (Allocation allocation : reserved.values()) {
+            occupy(allocation, utilization, tasks);
+        }
+        List<Process> incoming = new ArrayList<>();
+        for (Process process : processes) {
+            if (process.isRealTime()) {
+                incoming.add(process);
+            }
+        }
+        incoming.sort(Comparator.comparingDouble(RealTimeTracker::utilizationOf).reversed());
+
+        Map<Process, Integer> placement = new IdentityHashMap<>();
+        for (Process process : incoming) {
+            double required = utilizationOf(process);
+            int chosen = -1;
+            for (int cpu = 0; cpu < cpuCount && cpu < Long.SIZE && chosen < 0; cpu++) {
+                boolean allowed = process.getCpuAffinity() == null || (process.getCpuAffinity() & (1L << cpu)) != 0;
+                if (allowed && utilization[cpu] + required <= bound(tasks[cpu] + 1, rateMonotonic) + 1e-9) {
+                    chosen = cpu;
+                }
+            }
+            if (chosen < 0) {
+                throw new IllegalArgumentException(String.format(
+                    "实时进程准入失败：进程 %s 的CPU利用率为 %.3f，加入任何允许的CPU后都会超过单个CPU的%s可调度上界",
+                    process.getName(), required, rateMonotonic ? "RM" : "EDF"));
+            }
+            utilization[chosen] += required;
+            tasks[chosen]++;
+            placement.put(process, chosen);
+        }
+        return placement;
+    }
+
+    private static void occupy(Allocation allocation, double[] utilization, int[] tasks) {
+        if (allocation.cpu < utilization.length) {
+            utilization[allocation.cpu] += allocation.utilization;
+            tasks[allocation.cpu]++;
+        }
+    }
+
+    /**
+     * 单个CPU上 n 个实时进程的可调度上界：EDF为1，RM为Liu-Layland界 n(2^(1/n)-1)
+     */
+    private static double bound(int n, boolean rateMonotonic) {
+        return rateMonotonic ? n * (Math.pow(2, 1.0 / n) - 1) : 1.0;
+    }
+
+    private void detach(Process process) {
+        if (process.getAbsoluteDeadline() != null) {
+            activeJobs.remove(process);
+        }
+        if (process.getNextRelease() != null) {
+            pendingReleases.remove(process);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.group.myos.process;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 调度器事件循环
+ * 所有修改调度状态的命令都放入无锁的多生产者单消费者队列，由唯一的调度线程按提交顺序执行，
+ * 调度状态只会被这一个线程修改，不需要加锁。
+ * 调度线程内部再次提交的命令直接执行，保证调度逻辑内部的相互调用和同步事件不会死锁。
+ * 每执行完一批命令后调用一次派发回调，空闲时线程挂起，由新提交的命令唤醒，不做轮询。
+ */
+public class SchedulerLoop implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLoop.class);
+
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Runnable init; // 调度线程启动后、执行任何命令和派发之前调用
+    private final Runnable dispatcher; // 每批命令执行完后调用，检查是否需要派发进程
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean busy = false; // 是否正在执行命令或派发
+    private volatile boolean dispatchEachCommand = false; // 改为每条命令后派发一次，派发次数不再取决于命令分批，用于确定性仿真
+    private final AtomicLong executedCount = new AtomicLong(0); // 已执行的命令数
+
+    public SchedulerLoop(String name) {
+        this(name, () -> { });
+    }
+
+    public SchedulerLoop(String name, Runnable dispatcher) {
+        this(name, () -> { }, dispatcher);
+    }
+
+    /**
+     * @param init 在调度线程上最先执行，用于绑定线程局部状态
+     */
+    public SchedulerLoop(String name, Runnable init, Runnable dispatcher) {
+        this.init = init;
+        this.dispatcher = dispatcher;
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 提交命令，返回命令执行结果
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(command.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+        if (isLoopThread()) {
+            task.run();
+        } else if (!running) {
+            future.completeExceptionally(new IllegalStateException("调度器已停止"));
+        } else {
+            commands.offer(task);
+            LockSupport.unpark(thread);
+        }
+        return future;
+    }
+
+    /**
+     * 提交命令，不等待结果
+     */
+    public void execute(Runnable command) {
+        submit(() -> {
+            command.run();
+            return null;
+        }).exceptionally(e -> {
+            logger.error("调度命令执行失败", e);
+            return null;
+        });
+    }
+
+    /**
+     * 提交命令并等待结果，命令抛出的运行时异常原样抛出
+     */
+    public <T> T call(Callable<T> command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 当前线程是否为调度线程
+     */
+    public boolean isLoopThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * 待执行的命令数
+     */
+    public int getPendingCount() {
+        return commands.size();
+    }
+
+    /**
+     * 是否空闲：没有正在执行和待执行的命令
+     */
+    public boolean isIdle() {
+        return !busy && commands.isEmpty();
+    }
+
+    public void setDispatchEachCommand(boolean dispatchEachCommand) {
+        this.dispatchEachCommand = dispatchEachCommand;
+    }
+
+    /**
+     * 已执行的命令总数，用于判断两次检查之间是否执行过命令
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    @Override
+    public void run() {
+        init.run();
+        while (running) {
+            busy = true;
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                command.run();
+                executedCount.incrementAndGet();
+                if (dispatchEachCommand) {
+                    dispatch();
+                }
+            }
+            if (!dispatchEachCommand) {
+                dispatch();
+            }
+            busy = false;
+            if (commands.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    private void dispatch() {
+        try {
+            dispatcher.run();
+        } catch (RuntimeException e) {
+            logger.error("进程派发失败", e);
+        }
+    }
+
+    /**
+     * 停止调度线程，已提交的命令执行完后退出
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.group.myos.process;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 调度器指标，通过Micrometer注册，由 /actuator/metrics 查询
+ * 1. 派发延迟：一次调度（保存当前进程、选出并切换到下一个进程）的耗时
+ * 2. 就绪等待时间：进程被派发前在就绪队列中等待的时间
+ * 3. 上下文切换和抢占次数，按CPU计数；每秒上下文切换次数每秒采样一次
+ * 4. 各CPU就绪队列长度和各状态的进程数
+ * 计时器按直方图记录并发布分位数，记录操作只是原子计数，不影响调度线程
+ */
+@Component
+public class SchedulerMetrics {
+    private static final String PREFIX = "myos.scheduler.";
+
+    private final MeterRegistry registry;
+    private final Timer dispatchLatency;
+    private final Timer readyTime;
+    private final List<Counter> contextSwitches = new CopyOnWriteArrayList<>(); // 按CPU编号
+    private final List<Counter> preemptions = new CopyOnWriteArrayList<>(); // 按CPU编号
+    private volatile double contextSwitchRate = 0; // 最近一秒的上下文切换次数
+    private double lastContextSwitches = 0;
+
+    public SchedulerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.dispatchLatency = Timer.builder(PREFIX + "dispatch.latency")
+            .description("一次调度的耗时")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(registry);
+        this.readyTime = Timer.builder(PREFIX + "ready.time")
+            .description("进程被派发前在就绪队列中等待的时间")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(registry);
+        Gauge.builder(PREFIX + "context.switch.rate", this, SchedulerMetrics::getContextSwitchRate)
+            .description("每秒上下文切换次数")
+            .register(registry);
+    }
+
+    /**
+     * 注册一个CPU的指标，CPU按编号顺序注册
+     */
+    public void registerCpu(Cpu cpu) {
+        String id = String.valueOf(cpu.getId());
+        Gauge.builder(PREFIX + "run.queue.length", cpu, c -> c.getRunQueue().size())
+            .description("就绪队列长度")
+            .tag("cpu", id)
+            .register(registry);
+        contextSwitches.add(Counter.builder(PREFIX + "context.switches")
+            .description("上下文切换次数")
+            .tag("cpu", id)
+            .register(registry));
+        preemptions.add(Counter.builder(PREFIX + "preemptions")
+            .description("运行中的进程被抢占或时间片用完而放回就绪队列的次数")
+            .tag("cpu", id)
+            .register(registry));
+    }
+
+    /**
+     * 注册某个状态的进程数
+     */
+    public <T> void registerStateCount(String state, T source, ToDoubleFunction<T> count) {
+        Gauge.builder(PREFIX + "processes", source, count)
+            .description("各状态的进程数")
+            .tag("state", state)
+            .register(registry);
+    }
+
+    /**
+     * 记录一次调度
+     * @param latencyNanos 调度耗时（纳秒）
+     * @param readyMillis 被派发进程在就绪队列中等待的时间（毫秒），没有派发进程时为负数
+     * @param switched 运行进程是否发生变化
+     * @param preempted 原运行进程是否被放回就绪队列
+     */
+    public void recordDispatch(int cpuId, long latencyNanos, long readyMillis, boolean switched, boolean preempted) {
+        dispatchLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (readyMillis >= 0) {
+            readyTime.record(readyMillis, TimeUnit.MILLISECONDS);
+        }
+        if (switched) {
+            contextSwitches.get(cpuId).increment();
+        }
+        if (preempted) {
+            preemptions.get(cpuId).increment();
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public synchronized void sampleContextSwitchRate() {
+        double total = getContextSwitches();
+        contextSwitchRate = total - lastContextSwitches;
+        lastContextSwitches = total;
+    }
+
+    public double getContextSwitchRate() {
+        return contextSwitchRate;
+    }
+
+    public double getContextSwitches() {
+        return contextSwitches.stream().mapToDouble(Counter::count).sum();
+    }
+
+    public double getPreemptions() {
+        return preemptions.stream().mapToDouble(Counter::count).sum();
+    }
+
+    public Timer getDispatchLatency() {
+        return dispatchLatency;
+    }
+
+    public Timer getReadyTime() {
+        return readyTime;
+    }
+}
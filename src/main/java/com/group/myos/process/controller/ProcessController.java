@@ -1,24 +1,41 @@
 package com.group.myos.process.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group.myos.process.Cpu;
 import com.group.myos.process.ProcessScheduler;
 import com.group.myos.process.ProcessSwapper;
+import com.group.myos.process.SchedulerMetrics;
 import com.group.myos.process.model.Process;
+import com.group.myos.process.model.ProcessGroup;
+import com.group.myos.process.model.ProcessTransition;
+import com.group.myos.process.scheduling.SchedulingPolicy;
 import com.group.myos.device.manager.DeviceManager;
 import com.group.myos.device.model.Device;
 import com.group.myos.interrupt.model.InterruptType;
 import com.group.myos.interrupt.manager.InterruptManager;
 import com.group.myos.timer.TimerManager;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/process")
@@ -29,6 +46,10 @@ public class ProcessController {
     private final DeviceManager deviceManager;
     private final InterruptManager interruptManager;
     private final TimerManager timerManager;
+    private final SchedulerMetrics schedulerMetrics;
+    private final ObjectMapper objectMapper;
+    private static final int MAX_PAGE_SIZE = 1000; // 分页查询每页最多的进程数
+    private static final int STREAM_BATCH_SIZE = 1000; // 流式输出时每次从进程表读取的进程数
     private static final Logger logger = LoggerFactory.getLogger(ProcessController.class);
     
     @Autowired
@@ -37,17 +58,21 @@ public class ProcessController {
             ProcessSwapper processSwapper,
             DeviceManager deviceManager,
             InterruptManager interruptManager,
-            TimerManager timerManager) {
+            TimerManager timerManager,
+            SchedulerMetrics schedulerMetrics,
+            ObjectMapper objectMapper) {
         this.processScheduler = processScheduler;
         this.processSwapper = processSwapper;
         this.deviceManager = deviceManager;
         this.interruptManager = interruptManager;
         this.timerManager = timerManager;
+        this.schedulerMetrics = schedulerMetrics;
+        this.objectMapper = objectMapper;
     }
 
     // 进程管理API
     @PostMapping("")
-    public ResponseEntity<Map<String, Object>> createProcess(@RequestBody Process process) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createProcess(@RequestBody Process process) {
         // 确保基本字段不为空
         if (process.getName() == null || process.getName().trim().isEmpty()) {
             process.setName("Process-" + System.currentTimeMillis());
@@ -61,18 +86,25 @@ public class ProcessController {
             process.setMemorySize(10); // 默认内存大小
         }
         
-        Process newProcess = processScheduler.addProcess(process);
+        CompletableFuture<ResponseEntity<Map<String, Object>>> rejected = checkAdmission(List.of(process));
+        if (rejected != null) {
+            return rejected;
+        }
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "操作成功");
-        response.put("data", newProcess);
-        return ResponseEntity.ok(response);
+        return processScheduler.submitProcess(process, false)
+            .thenApply(newProcess -> {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "操作成功");
+                response.put("data", newProcess);
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(this::admissionFailed);
     }
 
     // 添加新的端点：创建进程并立即启动（设置为READY状态）
     @PostMapping("/create-and-start")
-    public ResponseEntity<Map<String, Object>> createAndStartProcess(@RequestBody Process process) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createAndStartProcess(@RequestBody Process process) {
         // 确保基本字段不为空
         if (process.getName() == null || process.getName().trim().isEmpty()) {
             process.setName("Process-" + System.currentTimeMillis());
@@ -86,23 +118,100 @@ public class ProcessController {
             process.setMemorySize(10); // 默认内存大小
         }
         
-        // 创建进程
-        Process newProcess = processScheduler.addProcess(process);
-        
-        // 如果进程状态为NEW，则立即设置为READY
-        if (newProcess.getState() == Process.ProcessState.NEW) {
-            processScheduler.updateProcessState(newProcess.getId(), Process.ProcessState.READY);
+        CompletableFuture<ResponseEntity<Map<String, Object>>> rejected = checkAdmission(List.of(process));
+        if (rejected != null) {
+            return rejected;
         }
         
+        // 创建和启动在所选CPU的调度线程上一次完成，中间不会插入其他调度操作
+        return processScheduler.submitProcess(process, true).thenApply(newProcess -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "操作成功");
+            response.put("data", newProcess);
+            return ResponseEntity.ok(response);
+        }).exceptionally(this::admissionFailed);
+    }
+
+    // 批量创建进程：一次批量插入、一次内存分配、一次调度
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createProcesses(@RequestBody List<Process> processes) {
+        long seed = System.currentTimeMillis();
+        for (int i = 0; i < processes.size(); i++) {
+            Process process = processes.get(i);
+            if (process.getName() == null || process.getName().trim().isEmpty()) {
+                process.setName("Process-" + seed + "-" + i);
+            }
+            if (process.getPriority() == null) {
+                process.setPriority(0);
+            }
+            if (process.getMemorySize() == null) {
+                process.setMemorySize(10); // 默认内存大小
+            }
+        }
+
+        CompletableFuture<ResponseEntity<Map<String, Object>>> rejected = checkAdmission(processes);
+        if (rejected != null) {
+            return rejected;
+        }
+
+        return processScheduler.submit(() -> processScheduler.admitProcesses(processes))
+            .thenApply(admitted -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("admitted", admitted.size());
+                data.put("ready", admitted.stream().filter(p -> p.isInMemory()).count());
+                data.put("waiting", admitted.stream().filter(p -> !p.isInMemory()).count());
+                data.put("processIds", admitted.stream().map(Process::getId).collect(Collectors.toList()));
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "操作成功");
+                response.put("data", data);
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(this::admissionFailed);
+    }
+
+    /**
+     * 调度线程上准入失败时返回错误响应：预检查通过后，并发创建的实时进程可能先占用了CPU利用率
+     * 其他异常原样抛出
+     */
+    private ResponseEntity<Map<String, Object>> admissionFailed(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof IllegalArgumentException)) {
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        }
         Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "操作成功");
-        response.put("data", newProcess);
-        return ResponseEntity.ok(response);
+        response.put("success", false);
+        response.put("message", cause.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * 实时进程准入检查，未通过时返回错误响应，通过时返回null
+     */
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> checkAdmission(List<Process> processes) {
+        try {
+            processScheduler.checkAdmission(processes);
+            return null;
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
     }
 
+    /**
+     * 获取所有进程
+     * 指定after或limit时按游标分页：返回进程ID大于after的前limit个进程，nextCursor为下一页的after，没有下一页时为null
+     */
     @GetMapping("")
-    public ResponseEntity<Map<String, Object>> getAllProcesses() {
+    public ResponseEntity<Map<String, Object>> getAllProcesses(@RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer limit) {
+        if (after != null || limit != null) {
+            return pageResponse(null, after, limit);
+        }
         List<Process> processes = processScheduler.getAllProcesses();
         processes = processes != null ? processes : new ArrayList<>();
         
@@ -113,9 +222,16 @@ public class ProcessController {
         return ResponseEntity.ok(response);
     }
     
-    // 修改为使用路径参数获取特定状态的进程
+    /**
+     * 获取特定状态的进程，分页参数同获取所有进程
+     */
     @GetMapping("{state}")
-    public ResponseEntity<Map<String, Object>> getProcessesByState(@PathVariable String state) {
+    public ResponseEntity<Map<String, Object>> getProcessesByState(@PathVariable String state,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (after != null || limit != null) {
+            return pageResponse(state, after, limit);
+        }
         List<Process> processes = new ArrayList<>();
         
         switch(state.toLowerCase()) {
@@ -145,6 +261,74 @@ public class ProcessController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 以NDJSON格式流式返回进程，每行一个进程，按进程ID排序
+     * 按游标分批读取进程表，不在内存中构建完整的列表和响应体
+     */
+    @GetMapping(value = {"", "{state}"}, params = "format=ndjson")
+    public void streamProcesses(@PathVariable(required = false) String state,
+                                @RequestParam(defaultValue = "0") long after,
+                                HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = response.getWriter();
+        long cursor = after;
+        List<Process> batch;
+        do {
+            batch = loadPage(state, cursor, STREAM_BATCH_SIZE);
+            for (Process process : batch) {
+                writer.write(objectMapper.writeValueAsString(process));
+                writer.write('\n');
+            }
+            writer.flush();
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
+
+    private ResponseEntity<Map<String, Object>> pageResponse(String state, Long after, Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        int pageSize = limit != null ? limit : 100;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            response.put("success", false);
+            response.put("message", "每页进程数必须在1到" + MAX_PAGE_SIZE + "之间: " + pageSize);
+            return ResponseEntity.badRequest().body(response);
+        }
+        List<Process> processes = loadPage(state, after != null ? after : 0, pageSize);
+        response.put("success", true);
+        response.put("message", "操作成功");
+        response.put("data", processes);
+        response.put("nextCursor", processes.size() == pageSize ? processes.get(processes.size() - 1).getId() : null);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 读取一页进程，state为null时不限状态，未知状态返回空列表
+     */
+    private List<Process> loadPage(String state, long after, int limit) {
+        if (state == null) {
+            return processScheduler.getProcessPage(null, after, limit);
+        }
+        switch (state.toLowerCase()) {
+            case "ready":
+                return processScheduler.getProcessPage(Process.ProcessState.READY, after, limit);
+            case "waiting":
+                return processScheduler.getProcessPage(Process.ProcessState.WAITING, after, limit);
+            case "terminated":
+                return processScheduler.getProcessPage(Process.ProcessState.TERMINATED, after, limit);
+            case "swapped":
+                // 换出的进程很少，直接筛选
+                return processSwapper.getSwappedProcesses().stream()
+                    .filter(process -> process.getId() > after)
+                    .sorted(Comparator.comparing(Process::getId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            default:
+                return new ArrayList<>();
+        }
+    }
+
     @GetMapping("current")
     public ResponseEntity<Map<String, Object>> getCurrentProcess() {
         Process currentProcess = processScheduler.getCurrentProcess();
@@ -186,22 +370,20 @@ public class ProcessController {
     }
     
     @PostMapping("schedule")
-    public ResponseEntity<Map<String, Object>> scheduleNextProcess() {
-        Process scheduledProcess = processScheduler.schedule();
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "操作成功");
-        response.put("data", scheduledProcess);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> scheduleNextProcess() {
+        return processScheduler.submit(processScheduler::schedule)
+            .thenApply(scheduledProcess -> {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "操作成功");
+                response.put("data", scheduledProcess);
+                return ResponseEntity.ok(response);
+            });
     }
     
     @PostMapping("{id}/block")
     public ResponseEntity<Map<String, Object>> blockProcess(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Process process = processScheduler.getProcessById(id);
                 
         if (process == null) {
             Map<String, Object> response = new HashMap<>();
@@ -220,10 +402,7 @@ public class ProcessController {
     
     @PostMapping("{id}/wakeup")
     public ResponseEntity<Map<String, Object>> wakeUpProcess(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Process process = processScheduler.getProcessById(id);
                 
         if (process == null) {
             Map<String, Object> response = new HashMap<>();
@@ -242,10 +421,7 @@ public class ProcessController {
     
     @PostMapping("{id}/start")
     public ResponseEntity<Map<String, Object>> startProcess(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Process process = processScheduler.getProcessById(id);
                 
         if (process == null) {
             Map<String, Object> response = new HashMap<>();
@@ -270,34 +446,33 @@ public class ProcessController {
     }
     
     @PostMapping("{id}/terminate")
-    public ResponseEntity<Map<String, Object>> terminateProcess(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-                
-        if (process == null) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "未找到进程: " + id);
-            return ResponseEntity.badRequest().body(response);
-        }
-        
-        // 检查进程是否处于运行状态
-        if (process.getState() != Process.ProcessState.RUNNING) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> terminateProcess(@PathVariable Long id) {
+        // 检查和终止在持有该进程的CPU上一次完成，避免检查后进程状态被其他操作修改
+        return processScheduler.submit(id, () -> {
+            Process process = processScheduler.getProcessById(id);
+            
+            if (process == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "未找到进程: " + id);
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            // 检查进程是否处于运行状态
+            if (process.getState() != Process.ProcessState.RUNNING) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "只能终止运行状态的进程");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            processScheduler.terminateProcess(process);
+            
             Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "只能终止运行状态的进程");
-            return ResponseEntity.badRequest().body(response);
-        }
-        
-        // 直接调用进程调度器终止进程
-        processScheduler.terminateProcess(process);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "进程已终止");
-        return ResponseEntity.ok(response);
+            response.put("success", true);
+            response.put("message", "进程已终止");
+            return ResponseEntity.ok(response);
+        });
     }
     
     @PutMapping("{id}/priority")
@@ -327,10 +502,7 @@ public class ProcessController {
     
     @GetMapping("{id}/info")
     public ResponseEntity<Map<String, Object>> getProcessInfo(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Process process = processScheduler.getProcessById(id);
                 
         if (process == null) {
             Map<String, Object> response = new HashMap<>();
@@ -344,6 +516,8 @@ public class ProcessController {
         info.put("name", process.getName());
         info.put("state", process.getState().name());
         info.put("priority", process.getPriority());
+        info.put("effectivePriority", processScheduler.getEffectivePriority(process));
+        info.put("waitTime", processScheduler.getWaitTime(process));
         info.put("memorySize", process.getMemorySize());
         info.put("createTime", process.getCreateTime());
         info.put("lastUpdateTime", process.getLastUpdateTime());
@@ -360,17 +534,34 @@ public class ProcessController {
     public ResponseEntity<Map<String, Object>> getProcessStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        List<Process> allProcesses = processScheduler.getAllProcesses();
-        stats.put("totalProcesses", allProcesses.size());
-        stats.put("newProcesses", allProcesses.stream()
-                .filter(p -> p.getState() == Process.ProcessState.NEW)
-                .count());
-        stats.put("readyProcesses", processScheduler.getReadyProcesses().size());
-        stats.put("runningProcesses", processScheduler.getCurrentProcess() != null ? 1 : 0);
-        stats.put("waitingProcesses", processScheduler.getWaitingProcesses().size());
-        stats.put("terminatedProcesses", processScheduler.getTerminatedProcesses().size());
+        stats.put("totalProcesses", processScheduler.getProcessCount());
+        stats.put("newProcesses", processScheduler.countProcesses(Process.ProcessState.NEW));
+        stats.put("readyProcesses", processScheduler.countProcesses(Process.ProcessState.READY));
+        stats.put("runningProcesses", processScheduler.countProcesses(Process.ProcessState.RUNNING));
+        stats.put("cpuCount", processScheduler.getCpus().size());
+        stats.put("waitingProcesses", processScheduler.countProcesses(Process.ProcessState.WAITING));
+        stats.put("terminatedProcesses", processScheduler.countProcesses(Process.ProcessState.TERMINATED));
+        stats.put("archivedProcesses", processScheduler.getArchivedProcessCount());
         stats.put("swappedProcesses", processSwapper.getSwappedProcesses().size());
         
+        // 实时进程：总利用率和每个进程错过截止时间的次数
+        Map<Long, Integer> deadlineMisses = new HashMap<>();
+        for (Process process : processScheduler.getAllProcesses()) {
+            if (process.isRealTime()) {
+                deadlineMisses.put(process.getId(), process.getDeadlineMisses() != null ? process.getDeadlineMisses() : 0);
+            }
+        }
+        stats.put("realTimeUtilization", processScheduler.getRealTimeUtilization());
+        stats.put("deadlineMisses", deadlineMisses);
+        stats.put("totalDeadlineMisses", deadlineMisses.values().stream().mapToInt(Integer::intValue).sum());
+        
+        // 调度器指标，分位数等详细数据见 /actuator/metrics
+        stats.put("contextSwitches", (long) schedulerMetrics.getContextSwitches());
+        stats.put("contextSwitchRate", schedulerMetrics.getContextSwitchRate());
+        stats.put("preemptions", (long) schedulerMetrics.getPreemptions());
+        stats.put("dispatchCount", schedulerMetrics.getDispatchLatency().count());
+        stats.put("meanDispatchLatencyMicros", schedulerMetrics.getDispatchLatency().mean(TimeUnit.MICROSECONDS));
+        
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "操作成功");
@@ -379,22 +570,155 @@ public class ProcessController {
     }
 
     /**
-     * 设置调度算法
+     * 获取各CPU的状态
+     */
+    @GetMapping("/cpus")
+    public ResponseEntity<Map<String, Object>> getCpus() {
+        List<Map<String, Object>> cpus = new ArrayList<>();
+        for (Cpu cpu : processScheduler.getCpus()) {
+            Process current = cpu.getCurrentProcess();
+            Map<String, Object> info = new HashMap<>();
+            info.put("id", cpu.getId());
+            info.put("currentProcessId", current != null ? current.getId() : null);
+            info.put("runQueueSize", cpu.getRunQueue().size());
+            info.put("runQueue", cpu.getRunQueue().stream().map(Process::getId).collect(Collectors.toList()));
+            cpus.add(info);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "操作成功");
+        response.put("data", cpus);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 设置进程的CPU亲和性
+     * @param cpus 允许运行的CPU编号，不传表示不限制
+     */
+    @PutMapping("{id}/affinity")
+    public ResponseEntity<Map<String, Object>> setProcessAffinity(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<Integer> cpus) {
+        Process process = processScheduler.getProcessById(id);
+        if (process == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "未找到进程: " + id);
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        try {
+            processScheduler.setProcessAffinity(id, cpus);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "进程CPU亲和性已更新");
+        response.put("data", processScheduler.getProcessById(id));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 设置进程所属的进程组
+     * @param group 进程组名称，不传表示移出进程组
+     */
+    @PutMapping("{id}/group")
+    public ResponseEntity<Map<String, Object>> setProcessGroup(
+            @PathVariable Long id,
+            @RequestParam(required = false) String group) {
+        Process process = processScheduler.getProcessById(id);
+        if (process == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "未找到进程: " + id);
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        try {
+            processScheduler.setProcessGroup(id, group);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "进程组已更新");
+        response.put("data", processScheduler.getProcessById(id));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取所有进程组及其CPU使用统计
+     */
+    @GetMapping("/groups")
+    public ResponseEntity<Map<String, Object>> getProcessGroups() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "操作成功");
+        response.put("data", processScheduler.getProcessGroupUsage());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 创建进程组
+     */
+    @PostMapping("/groups")
+    public ResponseEntity<Map<String, Object>> createProcessGroup(@RequestBody ProcessGroup group) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("data", processScheduler.createProcessGroup(group));
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("success", true);
+        response.put("message", "进程组已创建");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 删除进程组
+     */
+    @DeleteMapping("/groups/{name}")
+    public ResponseEntity<Map<String, Object>> deleteProcessGroup(@PathVariable String name) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            processScheduler.deleteProcessGroup(name);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("success", true);
+        response.put("message", "进程组已删除");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 设置调度算法，可以是内置调度算法或自定义调度策略的名称
      */
     @PutMapping("/scheduling-algorithm")
     public ResponseEntity<Map<String, Object>> setSchedulingAlgorithm(@RequestParam String algorithm) {
         try {
-            ProcessScheduler.SchedulingAlgorithm schedulingAlgorithm = 
-                ProcessScheduler.SchedulingAlgorithm.valueOf(algorithm.toUpperCase());
-            
-            processScheduler.setSchedulingAlgorithm(schedulingAlgorithm);
+            processScheduler.setSchedulingPolicy(algorithm);
+            SchedulingPolicy policy = processScheduler.getCurrentPolicy();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "调度算法已更新为: " + algorithm);
             response.put("data", Map.of(
-                "algorithm", algorithm,
-                "description", algorithm.equals("FCFS") ? "先到先服务" : "优先级调度"
+                "algorithm", policy.getName(),
+                "description", policy.getDescription()
             ));
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
@@ -410,18 +734,38 @@ public class ProcessController {
      */
     @GetMapping("/scheduling-algorithm")
     public ResponseEntity<Map<String, Object>> getSchedulingAlgorithm() {
-        ProcessScheduler.SchedulingAlgorithm algorithm = processScheduler.getCurrentAlgorithm();
+        SchedulingPolicy policy = processScheduler.getCurrentPolicy();
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "操作成功");
         response.put("data", Map.of(
-            "algorithm", algorithm.name(),
-            "description", algorithm == ProcessScheduler.SchedulingAlgorithm.FCFS ? "先到先服务" : "优先级调度"
+            "algorithm", policy.getName(),
+            "description", policy.getDescription()
         ));
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 获取所有可用的调度算法，包括自定义调度策略
+     */
+    @GetMapping("/scheduling-algorithms")
+    public ResponseEntity<Map<String, Object>> getSchedulingAlgorithms() {
+        List<Map<String, Object>> algorithms = new ArrayList<>();
+        for (SchedulingPolicy policy : processScheduler.getSchedulingPolicies()) {
+            algorithms.add(Map.of(
+                "algorithm", policy.getName(),
+                "description", policy.getDescription()
+            ));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "操作成功");
+        response.put("data", algorithms);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 触发进程中断
      */
@@ -439,7 +783,7 @@ public class ProcessController {
             }
             
             // 检查进程是否处于运行状态
-            if (!process.equals(processScheduler.getCurrentProcess()) || process.getState() != Process.ProcessState.RUNNING) {
+            if (process.getState() != Process.ProcessState.RUNNING) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "进程不在运行状态，无法触发中断");
@@ -502,10 +846,7 @@ public class ProcessController {
     // 恢复之前的交换相关端点
     @PostMapping("{id}/swapin")
     public ResponseEntity<Map<String, Object>> swapInProcess(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Process process = processScheduler.getProcessById(id);
                 
         if (process == null) {
             Map<String, Object> response = new HashMap<>();
@@ -524,10 +865,7 @@ public class ProcessController {
     
     @PostMapping("{id}/swapout")
     public ResponseEntity<Map<String, Object>> swapOutProcess(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Process process = processScheduler.getProcessById(id);
                 
         if (process == null) {
             Map<String, Object> response = new HashMap<>();
@@ -546,39 +884,79 @@ public class ProcessController {
 
     // 添加新的端点：批量更新进程优先级
     @PutMapping("/batch-update-priorities")
-    public ResponseEntity<Map<String, Object>> batchUpdatePriorities(@RequestBody Map<Long, Integer> priorityUpdates) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, Object> results = new HashMap<>();
-        
-        priorityUpdates.forEach((id, priority) -> {
-            processScheduler.updateProcessPriority(id, priority);
-            results.put(id.toString(), "优先级已更新为 " + priority);
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> batchUpdatePriorities(@RequestBody Map<Long, Integer> priorityUpdates) {
+        // 按持有进程的CPU分组更新，全部完成后返回
+        return processScheduler.updateProcessPriorities(priorityUpdates).thenApply(done -> {
+            Map<String, Object> results = new HashMap<>();
+            priorityUpdates.forEach((id, priority) -> results.put(id.toString(), "优先级已更新为 " + priority));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
         });
+    }
+
+    /**
+     * 获取进程状态转换历史，已归档的进程从归档中读取
+     * 指定page或size时分页返回，按记录顺序排列；都不指定时返回全部记录
+     */
+    @GetMapping("{id}/transitions")
+    public ResponseEntity<Map<String, Object>> getProcessTransitions(@PathVariable Long id,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        Map<String, Object> response = new HashMap<>();
+        boolean archived = processScheduler.isArchived(id);
+        if (processScheduler.getProcessById(id) == null && !archived) {
+            response.put("success", false);
+            response.put("message", "未找到进程: " + id);
+            return ResponseEntity.badRequest().body(response);
+        }
         
+        if (page == null && size == null) {
+            response.put("data", processScheduler.getProcessTransitionHistory(id));
+        } else {
+            int pageNumber = page != null ? page : 0;
+            int pageSize = size != null ? size : 100;
+            if (pageNumber < 0 || pageSize < 1 || pageSize > 1000) {
+                response.put("success", false);
+                response.put("message", "页码不能小于0，每页条数必须在1到1000之间");
+                return ResponseEntity.badRequest().body(response);
+            }
+            Page<ProcessTransition> result = processScheduler.getProcessTransitionHistory(id, PageRequest.of(pageNumber, pageSize));
+            response.put("data", result.getContent());
+            response.put("page", pageNumber);
+            response.put("size", pageSize);
+            response.put("total", result.getTotalElements());
+        }
         response.put("success", true);
-        response.put("results", results);
+        response.put("message", "操作成功");
+        response.put("archived", archived);
         return ResponseEntity.ok(response);
     }
 
-    // 添加新的端点：获取进程状态转换历史
-    @GetMapping("{id}/transitions")
-    public ResponseEntity<Map<String, Object>> getProcessTransitions(@PathVariable Long id) {
-        Process process = processScheduler.getAllProcesses().stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-                
+    /**
+     * 获取进程的CPU区间信息：历史区间长度、下一个区间的预测值和剩余工作量
+     */
+    @GetMapping("{id}/bursts")
+    public ResponseEntity<Map<String, Object>> getProcessBursts(@PathVariable Long id) {
+        Process process = processScheduler.getProcessById(id);
+        Map<String, Object> response = new HashMap<>();
         if (process == null) {
-            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "未找到进程: " + id);
             return ResponseEntity.badRequest().body(response);
         }
         
-        Map<String, Object> response = new HashMap<>();
+        Map<String, Object> data = new HashMap<>();
+        data.put("bursts", processScheduler.getBurstHistory(id));
+        data.put("estimatedBurst", processScheduler.getEstimatedBurst(process));
+        data.put("remainingBurst", processScheduler.getRemainingBurst(process));
+        data.put("cpuTime", process.getCpuTime());
+        data.put("remainingCpuTime", process.getRemainingCpuTime() != null ? process.getRemainingCpuTime() : process.getCpuTime());
         response.put("success", true);
         response.put("message", "操作成功");
-        response.put("data", processScheduler.getProcessTransitionHistory(id));
+        response.put("data", data);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,17 @@
+package com.group.myos.process.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 归档的终止进程：进程最后的状态及其全部状态转换记录
+ * 转换记录中的进程引用在归档时去掉，读取时指回进程快照
+ */
+@Data
+public class ArchivedProcess {
+    private Process process;
+    private List<ProcessTransition> transitions;
+    private LocalDateTime archiveTime;
+}
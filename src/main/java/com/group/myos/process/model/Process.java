@@ -27,6 +27,37 @@ public class Process {
     private String swapFilePath; // 交换文件路径
     @Column(name = "waiting_reason")
     private String waitingReason;
+    @Column(name = "cpu_affinity")
+    private Long cpuAffinity; // CPU亲和性掩码，第i位为1表示允许在CPU i上运行，为空表示不限制
+    @Column(name = "group_name")
+    private String groupName; // 所属进程组，为空表示不属于任何组
+
+    // 实时进程参数，时间单位均为时钟滴答；设置了周期或相对截止时间的进程为实时进程
+    private Integer period; // 周期，为空表示非周期进程
+    @Column(name = "relative_deadline")
+    private Integer relativeDeadline; // 相对截止时间，为空时等于周期
+    @Column(name = "execution_time")
+    private Integer executionTime; // 每个作业的执行时间（最坏情况）
+    @Column(name = "deadline_misses")
+    private Integer deadlineMisses; // 错过截止时间的作业数
+
+    // CPU区间参数，时间单位为时钟滴答
+    @Column(name = "cpu_time")
+    private Integer cpuTime; // 总的CPU工作量，完成后进程自动终止，为空表示不限
+    @Column(name = "remaining_cpu_time")
+    private Integer remainingCpuTime; // 剩余的CPU工作量
+    @Column(name = "estimated_burst")
+    private Double estimatedBurst; // 下一个CPU区间的预测长度，为空表示还没有结束过区间
+
+    // 当前作业的运行时信息，不持久化
+    @Transient
+    private Long absoluteDeadline; // 当前作业的绝对截止时间，为空表示没有未完成的作业
+    @Transient
+    private Integer remainingTime; // 当前作业剩余的执行时间
+    @Transient
+    private Long nextRelease; // 周期进程下一个作业的释放时间
+    @Transient
+    private Integer burstElapsed; // 当前CPU区间已运行的时间
 
     public enum ProcessState {
         NEW,        // 新建
@@ -36,6 +67,13 @@ public class Process {
         TERMINATED  // 终止
     }
 
+    /**
+     * 是否为实时进程
+     */
+    public boolean isRealTime() {
+        return period != null || relativeDeadline != null;
+    }
+
     // 无参构造函数
     public Process() {
         this.inMemory = true; // 默认进程在内存中
@@ -58,6 +96,11 @@ public class Process {
         this.inMemory = true; // 默认进程在内存中
     }
 
+    // 只设置 id 的构造函数，供进程表的行视图使用，其余字段由子类从进程表读写
+    protected Process(Long id) {
+        this.id = id;
+    }
+
     // Getters and Setters
     public String getWaitingReason() {
         return waitingReason;
@@ -70,7 +113,7 @@ public class Process {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Process)) return false; // 进程表的行视图与进程对象按 id 比较
         Process process = (Process) o;
         return Objects.equals(id, process.id);
     }
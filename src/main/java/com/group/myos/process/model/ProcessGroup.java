@@ -0,0 +1,18 @@
+package com.group.myos.process.model;
+
+import com.group.myos.process.scheduling.GroupHierarchy;
+import lombok.Data;
+
+/**
+ * 进程组
+ * 同一父组下的子组按权重比例分配CPU时间，可以设置每个周期内的CPU配额，用完后组内进程在本周期内不再被调度
+ * 时间单位为时钟滴答
+ */
+@Data
+public class ProcessGroup {
+    private String name;
+    private String parent;                            // 父进程组，为空表示顶层进程组
+    private int weight = GroupHierarchy.DEFAULT_WEIGHT; // 权重 1-10000
+    private Integer quota;                            // 每个周期内所有CPU合计可运行的滴答数，为空表示不限
+    private int period = 100;                         // 配额周期
+}
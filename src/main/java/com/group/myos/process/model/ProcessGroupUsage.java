@@ -0,0 +1,21 @@
+package com.group.myos.process.model;
+
+import lombok.Data;
+
+/**
+ * 进程组的CPU使用统计，包含所有子组
+ */
+@Data
+public class ProcessGroupUsage {
+    private String name;
+    private String parent;
+    private int weight;
+    private Integer quota;
+    private int period;
+    private long usedTicks;        // 累计运行的滴答数
+    private double share;          // 占所有进程运行滴答数的比例
+    private long periodUsedTicks;  // 本周期已运行的滴答数
+    private boolean throttled;     // 本周期配额是否已用完
+    private long throttledPeriods; // 配额用完的周期数
+    private int processes;         // 组内（不含子组）未终止的进程数
+}
@@ -26,6 +26,7 @@ public class ProcessTransition {
 
     private LocalDateTime transitionTime;
     private String reason; // 可选的转换原因
+    private Integer burst; // 离开运行状态时结束的CPU区间长度（滴答），被抢占时为空
 
     public ProcessTransition(Process process, Process.ProcessState fromState, Process.ProcessState toState) {
         this.process = process;
@@ -0,0 +1,199 @@
+package com.group.myos.process.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group.myos.process.model.ArchivedProcess;
+import com.group.myos.process.model.ProcessTransition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 终止进程归档
+ * 只追加写入的压缩文件，每次归档的一批进程组成一帧：4字节长度 + GZIP压缩的JSON数组
+ * 1. 内存中只保存进程ID到帧位置的索引，读取时解压所在的帧，最近读取的帧会缓存
+ * 2. 打开已有的归档文件时逐帧扫描重建索引
+ * 3. 同一进程被多次归档时以最后一次为准
+ * 未配置路径时使用临时文件，应用退出后删除；配置路径时应与持久化的数据库一起使用，否则重启后进程ID会与归档重复
+ */
+@Component
+public class ProcessArchive {
+    private static final Logger logger = LoggerFactory.getLogger(ProcessArchive.class);
+    private static final TypeReference<List<ArchivedProcess>> FRAME_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<Long, Long> offsets = new ConcurrentHashMap<>(); // 进程ID -> 所在帧的位置
+
+    private long cachedOffset = -1;
+    private List<ArchivedProcess> cachedFrame;
+
+    public ProcessArchive(ObjectMapper objectMapper, @Value("${myos.archive.path:}") String path) throws IOException {
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (path == null || path.isBlank()) {
+            this.path = Files.createTempFile("myos-archive", ".bin");
+            this.path.toFile().deleteOnExit();
+        } else {
+            this.path = Path.of(path);
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+        }
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        rebuildIndex();
+    }
+
+    /**
+     * 追加一批归档进程，写入一帧
+     */
+    public synchronized void append(List<ArchivedProcess> processes) {
+        if (processes.isEmpty()) {
+            return;
+        }
+        try {
+            for (ArchivedProcess archived : processes) {
+                archived.getTransitions().forEach(t -> t.setProcess(null));
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (OutputStream out = new GZIPOutputStream(bytes)) {
+                objectMapper.writeValue(out, processes);
+            }
+            long offset = channel.size();
+            ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + bytes.size());
+            frame.putInt(bytes.size()).put(bytes.toByteArray()).flip();
+            while (frame.hasRemaining()) {
+                channel.write(frame, offset + frame.position());
+            }
+            for (ArchivedProcess archived : processes) {
+                offsets.put(archived.getProcess().getId(), offset);
+                archived.getTransitions().forEach(t -> t.setProcess(archived.getProcess()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入进程归档失败", e);
+        }
+    }
+
+    /**
+     * 获取归档的进程，不存在时为null
+     */
+    public synchronized ArchivedProcess get(Long processId) {
+        Long offset = processId != null ? offsets.get(processId) : null;
+        if (offset == null) {
+            return null;
+        }
+        ArchivedProcess found = null;
+        for (ArchivedProcess archived : readFrame(offset)) {
+            if (processId.equals(archived.getProcess().getId())) {
+                found = archived;
+            }
+        }
+        if (found != null) {
+            for (ProcessTransition transition : found.getTransitions()) {
+                transition.setProcess(found.getProcess());
+            }
+        }
+        return found;
+    }
+
+    public boolean contains(Long processId) {
+        return processId != null && offsets.containsKey(processId);
+    }
+
+    /**
+     * 从索引中去掉进程，用于归档后又回到调度器中的进程
+     */
+    public void forget(Long processId) {
+        offsets.remove(processId);
+    }
+
+    /**
+     * 归档的进程数
+     */
+    public int size() {
+        return offsets.size();
+    }
+
+    /**
+     * 归档文件的字节数
+     */
+    public long sizeInBytes() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<ArchivedProcess> readFrame(long offset) {
+        if (offset == cachedOffset) {
+            return cachedFrame;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(readBytes(offset)))) {
+            cachedFrame = objectMapper.readValue(in, FRAME_TYPE);
+            cachedOffset = offset;
+            return cachedFrame;
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取进程归档失败，位置: " + offset, e);
+        }
+    }
+
+    private byte[] readBytes(long offset) throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(frameLength(offset));
+        readFully(body, offset + Integer.BYTES);
+        return body.array();
+    }
+
+    private int frameLength(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        readFully(header, offset);
+        return header.flip().getInt();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("归档文件在位置 " + position + " 处被截断");
+            }
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        while (offset < size) {
+            for (ArchivedProcess archived : readFrame(offset)) {
+                offsets.put(archived.getProcess().getId(), offset);
+            }
+            offset += Integer.BYTES + frameLength(offset);
+        }
+        if (size > 0) {
+            logger.info("加载进程归档 {}: {} 个进程", path, offsets.size());
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.group.myos.process.repository;
+
+import com.group.myos.process.model.Process;
+import com.group.myos.process.model.ProcessTransition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 进程持久化日志（write-behind）
+ * 调度器的状态变化先记录在内存中，由后台按批量写入数据库：
+ * 1. 同一进程的多次保存合并为一次UPDATE，只写最新状态
+ * 2. 状态转换记录按顺序追加，使用JDBC批量INSERT
+ * 3. 待写入条数达到阈值或距上次写入超过固定时间时刷新，应用关闭前强制刷新
+ * 4. 保存和追加时把进程和状态转换复制为不可变的行，之后调用方修改对象不会影响待写入的数据
+ */
+@Component
+public class ProcessJournal {
+    private static final Logger logger = LoggerFactory.getLogger(ProcessJournal.class);
+    private static final int FLUSH_BATCH_SIZE = 500; // 达到该条数立即触发刷新
+    private static final long FLUSH_INTERVAL_MS = 200; // 定时刷新间隔（毫秒）
+
+    private static final String UPDATE_PROCESS_SQL =
+        "UPDATE processes SET name = ?, priority = ?, state = ?, memory_size = ?, create_time = ?, " +
+        "last_update_time = ?, in_memory = ?, swap_file_path = ?, waiting_reason = ?, cpu_affinity = ?, " +
+        "period = ?, relative_deadline = ?, execution_time = ?, deadline_misses = ?, cpu_time = ?, " +
+        "remaining_cpu_time = ?, estimated_burst = ?, group_name = ? WHERE id = ?";
+    private static final String INSERT_PROCESS_SQL =
+        "INSERT INTO processes (name, priority, state, memory_size, create_time, last_update_time, " +
+        "in_memory, swap_file_path, waiting_reason, cpu_affinity, period, relative_deadline, execution_time, " +
+        "deadline_misses, cpu_time, remaining_cpu_time, estimated_burst, group_name) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_TRANSITIONS_SQL = "DELETE FROM process_transitions WHERE process_id = ?";
+    private static final String DELETE_PROCESS_SQL = "DELETE FROM processes WHERE id = ?";
+    private static final String INSERT_TRANSITION_SQL =
+        "INSERT INTO process_transitions (process_id, from_state, to_state, transition_time, reason, burst) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, ProcessRow> pendingProcesses = new ConcurrentHashMap<>(); // 进程ID -> 待写入的进程行
+    private final ConcurrentLinkedQueue<TransitionRow> pendingTransitions = new ConcurrentLinkedQueue<>();
+    private volatile Map<Long, ProcessRow> flushing = Map.of(); // 正在写入的进程行，提交后清空
+    private final AtomicInteger pendingTransitionCount = new AtomicInteger(0);
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "process-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProcessJournal(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 记录进程的最新状态，同一进程未刷新前的多次保存只写一次
+     * 进程必须已经插入数据库（拥有ID），保存的是调用时各字段的值
+     */
+    public void save(Process process) {
+        if (process == null || process.getId() == null) {
+            return;
+        }
+        pendingProcesses.put(process.getId(), ProcessRow.of(process));
+        requestFlushIfFull();
+    }
+
+    /**
+     * 批量插入新进程，每批使用一条JDBC批量INSERT，并回填数据库生成的ID
+     * 插入立即执行（不经过写缓冲），调用方需要ID来分配内存和建立索引
+     */
+    public void insertAll(List<Process> processes) {
+        for (int from = 0; from < processes.size(); from += FLUSH_BATCH_SIZE) {
+            List<Process> chunk = processes.subList(from, Math.min(from + FLUSH_BATCH_SIZE, processes.size()));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((Connection connection) -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_PROCESS_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Process process : chunk) {
+                        ProcessRow.of(process).bindColumns(ps);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Process process : chunk) {
+                            if (!keys.next()) {
+                                throw new SQLException("批量插入返回的ID数量少于进程数");
+                            }
+                            process.setId(keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * 追加一条状态转换记录，保存的是调用时各字段的值
+     */
+    public void record(ProcessTransition transition) {
+        pendingTransitions.offer(TransitionRow.of(transition));
+        pendingTransitionCount.incrementAndGet();
+        requestFlushIfFull();
+    }
+
+    /**
+     * 丢弃某个进程尚未写入的记录，用于删除进程
+     */
+    public synchronized void discard(Long processId) {
+        pendingProcesses.remove(processId);
+        if (pendingTransitions.removeIf(t -> processId.equals(t.processId()))) {
+            pendingTransitionCount.set(pendingTransitions.size());
+        }
+    }
+
+    /**
+     * 删除进程及其状态转换记录，尚未写入的记录一并丢弃，用于归档
+     */
+    public synchronized void purge(List<Long> processIds) {
+        if (processIds.isEmpty()) {
+            return;
+        }
+        processIds.forEach(this::discard);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_TRANSITIONS_SQL, processIds, processIds.size(),
+                (ps, id) -> ps.setLong(1, id));
+            jdbcTemplate.batchUpdate(DELETE_PROCESS_SQL, processIds, processIds.size(),
+                (ps, id) -> ps.setLong(1, id));
+        });
+    }
+
+    /**
+     * 进程尚未写入数据库的最新状态，包括正在写入的记录；没有时为null，数据库中的状态就是最新的
+     * 只读取一个进程的状态时用它代替 flush
+     */
+    public Process.ProcessState pendingState(Long processId) {
+        ProcessRow row = pendingProcesses.get(processId);
+        if (row == null) {
+            row = flushing.get(processId);
+        }
+        return row != null ? row.state() : null;
+    }
+
+    /**
+     * 待写入的记录数
+     */
+    public int getPendingCount() {
+        return pendingProcesses.size() + pendingTransitionCount.get();
+    }
+
+    @Scheduled(fixedDelay = FLUSH_INTERVAL_MS)
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 将所有待写入记录写入数据库
+     * 读取数据库前调用以保证读到最新状态
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (pendingProcesses.isEmpty() && pendingTransitions.isEmpty()) {
+            return;
+        }
+
+        // 先登记为正在写入再移出待写入表，pendingState 在写入提交前总能查到；期间又保存的新记录留到下次写入
+        Map<Long, ProcessRow> batch = new HashMap<>(pendingProcesses);
+        flushing = batch;
+        batch.forEach(pendingProcesses::remove);
+        List<ProcessRow> processes = new ArrayList<>(batch.values());
+        List<TransitionRow> transitions = new ArrayList<>();
+        TransitionRow transition;
+        while ((transition = pendingTransitions.poll()) != null) {
+            transitions.add(transition);
+            pendingTransitionCount.decrementAndGet();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_PROCESS_SQL, processes, processes.size(),
+                    (ps, p) -> p.bindUpdate(ps));
+                jdbcTemplate.batchUpdate(INSERT_TRANSITION_SQL, transitions, transitions.size(),
+                    (ps, t) -> t.bind(ps));
+            });
+        } catch (RuntimeException e) {
+            // 批量写入失败（包括事务无法开始）时逐条写入，跳过无法写入的记录，避免一条坏数据阻塞整个日志
+            logger.warn("进程日志批量写入失败，改为逐条写入: {}", e.getMessage());
+            processes.forEach(p -> writeSingle(p.id(),
+                () -> jdbcTemplate.update(UPDATE_PROCESS_SQL, p::bindUpdate)));
+            transitions.forEach(t -> writeSingle(t.processId(),
+                () -> jdbcTemplate.update(INSERT_TRANSITION_SQL, t::bind)));
+        } finally {
+            flushing = Map.of();
+        }
+        logger.debug("进程日志刷新完成 - 进程: {}, 状态转换: {}", processes.size(), transitions.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    private void requestFlushIfFull() {
+        if (getPendingCount() >= FLUSH_BATCH_SIZE && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    private void writeSingle(Long processId, Runnable write) {
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            logger.error("进程 {} 的记录写入失败，已丢弃: {}", processId, e.getMessage());
+        }
+    }
+
+    /**
+     * 待写入的进程行，保存时从进程对象复制
+     */
+    private record ProcessRow(Long id, String name, Integer priority, Process.ProcessState state, Integer memorySize,
+                              LocalDateTime createTime, LocalDateTime lastUpdateTime, boolean inMemory, String swapFilePath,
+                              String waitingReason, Long cpuAffinity, Integer period, Integer relativeDeadline,
+                              Integer executionTime, Integer deadlineMisses, Integer cpuTime, Integer remainingCpuTime,
+                              Double estimatedBurst, String groupName) {
+
+        static ProcessRow of(Process p) {
+            return new ProcessRow(p.getId(), p.getName(), p.getPriority(), p.getState(), p.getMemorySize(),
+                p.getCreateTime(), p.getLastUpdateTime(), p.isInMemory(), p.getSwapFilePath(),
+                p.getWaitingReason(), p.getCpuAffinity(), p.getPeriod(), p.getRelativeDeadline(), p.getExecutionTime(),
+                p.getDeadlineMisses(), p.getCpuTime(), p.getRemainingCpuTime(), p.getEstimatedBurst(), p.getGroupName());
+        }
+
+        void bindUpdate(PreparedStatement ps) throws SQLException {
+            bindColumns(ps);
+            ps.setLong(19, id);
+        }
+
+        void bindColumns(PreparedStatement ps) throws SQLException {
+            ps.setString(1, name);
+            ps.setObject(2, priority);
+            ps.setString(3, state != null ? state.name() : null);
+            ps.setObject(4, memorySize);
+            ps.setTimestamp(5, toTimestamp(createTime));
+            ps.setTimestamp(6, toTimestamp(lastUpdateTime));
+            ps.setBoolean(7, inMemory);
+            ps.setString(8, swapFilePath);
+            ps.setString(9, waitingReason);
+            ps.setObject(10, cpuAffinity);
+            ps.setObject(11, period);
+            ps.setObject(12, relativeDeadline);
+            ps.setObject(13, executionTime);
+            ps.setObject(14, deadlineMisses);
+            ps.setObject(15, cpuTime);
+            ps.setObject(16, remainingCpuTime);
+            ps.setObject(17, estimatedBurst);
+            ps.setString(18, groupName);
+        }
+    }
+
+    /**
+     * 待写入的状态转换行，追加时从状态转换记录复制
+     */
+    private record TransitionRow(Long processId, Process.ProcessState fromState, Process.ProcessState toState,
+                                 LocalDateTime transitionTime, String reason, Integer burst) {
+
+        static TransitionRow of(ProcessTransition t) {
+            return new TransitionRow(t.getProcess().getId(), t.getFromState(), t.getToState(),
+                t.getTransitionTime(), t.getReason(), t.getBurst());
+        }
+
+        void bind(PreparedStatement ps) throws SQLException {
+            ps.setLong(1, processId);
+            ps.setString(2, fromState != null ? fromState.name() : null);
+            ps.setString(3, toState != null ? toState.name() : null);
+            ps.setTimestamp(4, toTimestamp(transitionTime));
+            ps.setString(5, reason);
+            ps.setObject(6, burst);
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
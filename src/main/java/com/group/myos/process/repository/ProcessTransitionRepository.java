@@ -2,9 +2,12 @@ package com.group.myos.process.repository;
 
 import com.group.myos.process.model.Process;
 import com.group.myos.process.model.ProcessTransition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +16,7 @@ public interface ProcessTransitionRepository extends JpaRepository<ProcessTransi
     List<ProcessTransition> findByProcessOrderByTransitionTimeDesc(Process process);
     List<ProcessTransition> findByFromState(Process.ProcessState fromState);
     List<ProcessTransition> findByToState(Process.ProcessState toState);
+    List<ProcessTransition> findByProcessIdAndBurstIsNotNullOrderById(Long processId);
+    Page<ProcessTransition> findByProcessIdOrderById(Long processId, Pageable pageable);
+    List<ProcessTransition> findByProcessIdInOrderById(Collection<Long> processIds);
 } 
\ No newline at end of file
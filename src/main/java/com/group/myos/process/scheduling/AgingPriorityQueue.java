@@ -0,0 +1,172 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 带老化的优先级就绪队列，防止低优先级进程被持续到达的高优先级进程饿死
+ * 1. 时间按老化周期划分为纪元（epoch），进程在就绪队列中每等待一个纪元，有效优先级加1
+ * 2. 有效优先级 = 优先级 + (当前纪元 - 入队纪元)，所有进程随时间同步增长，
+ *    因此只需按 优先级 - 入队纪元 分桶排序，老化时不需要重新调整队列
+ * 3. 桶按键从大到小调度，同一桶内先入队的先调度
+ * 4. 桶内按进程ID索引，删除进程和修改优先级不需要扫描桶
+ */
+public class AgingPriorityQueue implements ReadyQueue {
+    private final long agingIntervalMillis; // 老化周期（毫秒），每等待一个周期有效优先级加1
+    private final LongSupplier clock; // 当前时间（毫秒）
+
+    private final TreeMap<Long, LinkedHashMap<Long, Process>> buckets = new TreeMap<>(Comparator.reverseOrder()); // 桶键 -> 按入队顺序的进程
+    private final Map<Long, Long> bucketKeys = new HashMap<>(); // 进程ID -> 所在桶的键
+    private final Map<Long, Long> enqueueTimes = new HashMap<>(); // 进程ID -> 入队时间（毫秒）
+
+    public AgingPriorityQueue(long agingIntervalMillis) {
+        this(agingIntervalMillis, System::currentTimeMillis);
+    }
+
+    public AgingPriorityQueue(long agingIntervalMillis, LongSupplier clock) {
+        if (agingIntervalMillis <= 0) {
+            throw new IllegalArgumentException("老化周期必须大于0: " + agingIntervalMillis);
+        }
+        this.agingIntervalMillis = agingIntervalMillis;
+        this.clock = clock;
+    }
+
+    private long epochOf(long time) {
+        return Math.floorDiv(time, agingIntervalMillis);
+    }
+
+    private static int priorityOf(Process process) {
+        return process.getPriority() != null ? process.getPriority() : 0;
+    }
+
+    @Override
+    public synchronized boolean offer(Process process) {
+        if (bucketKeys.containsKey(process.getId())) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        insert(process, priorityOf(process) - epochOf(now));
+        enqueueTimes.put(process.getId(), now);
+        return true;
+    }
+
+    private void insert(Process process, long key) {
+        buckets.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(process.getId(), process);
+        bucketKeys.put(process.getId(), key);
+    }
+
+    private void detach(Long processId, long key) {
+        LinkedHashMap<Long, Process> bucket = buckets.get(key);
+        bucket.remove(processId);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized Process poll() {
+        Map.Entry<Long, LinkedHashMap<Long, Process>> first = buckets.firstEntry();
+        if (first == null) {
+            return null;
+        }
+        Process process = first.getValue().values().iterator().next();
+        detach(process.getId(), first.getKey());
+        bucketKeys.remove(process.getId());
+        enqueueTimes.remove(process.getId());
+        return process;
+    }
+
+    @Override
+    public synchronized Process peek() {
+        Map.Entry<Long, LinkedHashMap<Long, Process>> first = buckets.firstEntry();
+        return first != null ? first.getValue().values().iterator().next() : null;
+    }
+
+    @Override
+    public synchronized boolean remove(Process process) {
+        Long key = bucketKeys.remove(process.getId());
+        if (key == null) {
+            return false;
+        }
+        enqueueTimes.remove(process.getId());
+        detach(process.getId(), key);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Process process) {
+        return bucketKeys.containsKey(process.getId());
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return bucketKeys.isEmpty();
+    }
+
+    @Override
+    public synchronized int size() {
+        return bucketKeys.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        buckets.clear();
+        bucketKeys.clear();
+        enqueueTimes.clear();
+    }
+
+    @Override
+    public synchronized Stream<Process> stream() {
+        List<Process> processes = new ArrayList<>(bucketKeys.size());
+        buckets.values().forEach(bucket -> processes.addAll(bucket.values()));
+        return processes.stream();
+    }
+
+    @Override
+    public synchronized List<Process> drain() {
+        List<Process> processes = new ArrayList<>(bucketKeys.size());
+        buckets.values().forEach(bucket -> processes.addAll(bucket.values()));
+        clear();
+        return processes;
+    }
+
+    /**
+     * 修改优先级时保留入队时间，已积累的老化提升不丢失
+     */
+    @Override
+    public synchronized void updatePriority(Process process, int priority) {
+        Long key = bucketKeys.get(process.getId());
+        process.setPriority(priority);
+        if (key != null) {
+            detach(process.getId(), key);
+            insert(process, priority - epochOf(enqueueTimes.get(process.getId())));
+        }
+    }
+
+    /**
+     * 队头进程的有效优先级高于当前运行进程时抢占
+     */
+    @Override
+    public synchronized boolean shouldPreempt(Process running) {
+        Process head = peek();
+        return head != null && running != null && getEffectivePriority(head) > priorityOf(running);
+    }
+
+    @Override
+    public synchronized int getEffectivePriority(Process process) {
+        Long key = bucketKeys.get(process.getId());
+        if (key == null) {
+            return priorityOf(process);
+        }
+        return (int) (key + epochOf(clock.getAsLong()));
+    }
+
+    @Override
+    public synchronized long getWaitTime(Process process) {
+        Long enqueueTime = enqueueTimes.get(process.getId());
+        return enqueueTime != null ? clock.getAsLong() - enqueueTime : 0;
+    }
+}
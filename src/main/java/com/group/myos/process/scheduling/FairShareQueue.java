@@ -0,0 +1,191 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 完全公平调度（CFS风格）就绪队列
+ * 1. 每个进程维护虚拟运行时间vruntime，运行一个时钟滴答增加 滴答长度 * 基准权重 / 进程权重
+ * 2. 权重由优先级决定，优先级每高1级权重约为1.25倍，因此高优先级进程的vruntime增长更慢、获得更多CPU时间
+ * 3. 就绪队列是按vruntime排序的红黑树（TreeSet），总是调度vruntime最小的进程
+ * 4. 新进入队列的进程vruntime不低于队列当前最小值，避免长时间睡眠的进程回来后独占CPU
+ */
+public class FairShareQueue implements ReadyQueue {
+    private static final long TICK_UNIT = 1_000_000L; // 一个时钟滴答对应的虚拟时间
+    private static final int NICE_0_WEIGHT = 1024; // 优先级为0的进程权重
+    private static final int MIN_PRIORITY = -20;
+    private static final int MAX_PRIORITY = 19;
+    private static final int SCHED_LATENCY_TICKS = 6; // 调度周期（时钟滴答数），周期内每个就绪进程至少运行一次
+    private static final int MIN_GRANULARITY_TICKS = 1; // 最小时间片
+    private static final long WAKEUP_GRANULARITY = TICK_UNIT; // 抢占所需的最小vruntime差距
+    private static final int[] WEIGHTS = buildWeights();
+
+    private final Map<Long, Long> vruntimes = new HashMap<>(); // 进程ID -> 虚拟运行时间
+    private final Map<Long, Integer> ranTicks = new HashMap<>(); // 进程ID -> 本次调度已运行滴答数
+    private final Map<Long, Integer> queuedWeights = new HashMap<>(); // 进程ID -> 入队时的权重
+    private final TreeSet<Process> tree = new TreeSet<>(
+        Comparator.<Process>comparingLong(p -> vruntimes.get(p.getId())).thenComparing(Process::getId));
+    private long totalQueuedWeight = 0;
+    private long minVruntime = 0;
+
+    private static int[] buildWeights() {
+        int[] weights = new int[MAX_PRIORITY - MIN_PRIORITY + 1];
+        for (int priority = MIN_PRIORITY; priority <= MAX_PRIORITY; priority++) {
+            weights[priority - MIN_PRIORITY] = (int) Math.max(1, Math.round(NICE_0_WEIGHT * Math.pow(1.25, priority)));
+        }
+        return weights;
+    }
+
+    /**
+     * 根据优先级计算权重
+     */
+    public static int weightOf(Process process) {
+        int priority = process.getPriority() != null ? process.getPriority() : 0;
+        priority = Math.max(MIN_PRIORITY, Math.min(MAX_PRIORITY, priority));
+        return WEIGHTS[priority - MIN_PRIORITY];
+    }
+
+    /**
+     * 获取进程的虚拟运行时间
+     */
+    public synchronized long getVruntime(Process process) {
+        return vruntimes.getOrDefault(process.getId(), minVruntime);
+    }
+
+    public synchronized long getMinVruntime() {
+        return minVruntime;
+    }
+
+    @Override
+    public synchronized boolean offer(Process process) {
+        if (contains(process)) {
+            return false;
+        }
+        long vruntime = Math.max(vruntimes.getOrDefault(process.getId(), minVruntime), minVruntime);
+        vruntimes.put(process.getId(), vruntime);
+        ranTicks.remove(process.getId());
+
+        int weight = weightOf(process);
+        queuedWeights.put(process.getId(), weight);
+        totalQueuedWeight += weight;
+        return tree.add(process);
+    }
+
+    @Override
+    public synchronized Process poll() {
+        Process process = tree.pollFirst();
+        if (process != null) {
+            dequeued(process);
+        }
+        return process;
+    }
+
+    @Override
+    public synchronized Process peek() {
+        return tree.isEmpty() ? null : tree.first();
+    }
+
+    @Override
+    public synchronized boolean remove(Process process) {
+        if (!vruntimes.containsKey(process.getId()) || !tree.remove(process)) {
+            return false;
+        }
+        dequeued(process);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Process process) {
+        return vruntimes.containsKey(process.getId()) && tree.contains(process);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return tree.isEmpty();
+    }
+
+    @Override
+    public synchronized int size() {
+        return tree.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        tree.clear();
+        queuedWeights.clear();
+        totalQueuedWeight = 0;
+    }
+
+    @Override
+    public synchronized Stream<Process> stream() {
+        return new ArrayList<>(tree).stream();
+    }
+
+    @Override
+    public synchronized List<Process> drain() {
+        List<Process> processes = new ArrayList<>(tree);
+        clear();
+        return processes;
+    }
+
+    /**
+     * 队头进程的vruntime比运行进程小超过抢占粒度时抢占
+     */
+    @Override
+    public synchronized boolean shouldPreempt(Process running) {
+        if (running == null || tree.isEmpty()) {
+            return false;
+        }
+        return getVruntime(tree.first()) + WAKEUP_GRANULARITY < getVruntime(running);
+    }
+
+    @Override
+    public synchronized boolean onTick(Process running) {
+        if (running == null) {
+            return false;
+        }
+        int weight = weightOf(running);
+        long vruntime = getVruntime(running) + TICK_UNIT * NICE_0_WEIGHT / weight;
+        vruntimes.put(running.getId(), vruntime);
+        updateMinVruntime(vruntime);
+
+        int ran = ranTicks.merge(running.getId(), 1, Integer::sum);
+        if (ran < idealSlice(weight)) {
+            return false;
+        }
+        ranTicks.remove(running.getId());
+        return true;
+    }
+
+    @Override
+    public synchronized void forget(Process process) {
+        remove(process);
+        vruntimes.remove(process.getId());
+        ranTicks.remove(process.getId());
+    }
+
+    /**
+     * 按权重在调度周期内分配的时间片
+     */
+    private int idealSlice(int weight) {
+        long slice = SCHED_LATENCY_TICKS * weight / (weight + totalQueuedWeight);
+        return (int) Math.max(MIN_GRANULARITY_TICKS, slice);
+    }
+
+    private void dequeued(Process process) {
+        Integer weight = queuedWeights.remove(process.getId());
+        if (weight != null) {
+            totalQueuedWeight -= weight;
+        }
+    }
+
+    /**
+     * minVruntime单调递增，取运行进程和队头进程中较小的vruntime
+     */
+    private void updateMinVruntime(long runningVruntime) {
+        long candidate = tree.isEmpty() ? runningVruntime : Math.min(runningVruntime, getVruntime(tree.first()));
+        minVruntime = Math.max(minVruntime, candidate);
+    }
+}
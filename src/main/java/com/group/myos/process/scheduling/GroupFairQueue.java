@@ -0,0 +1,284 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 分组公平调度就绪队列（层次化的完全公平调度）
+ * 1. 每个进程组对应树中的一个节点，节点在父节点中有自己的虚拟运行时间，运行一个滴答增加 滴答长度 * 默认权重 / 组权重，
+ *    因此同一父组下的子组按权重比例分得CPU时间
+ * 2. 组内直接包含的进程作为一个整体（按默认权重）与子组竞争，整体内部按进程优先级做完全公平调度
+ * 3. 选择进程时从根开始逐层选择虚拟运行时间最小且未被限流的子组，直到选中某个组内的进程；
+ *    某个子组的进程都被限流时回退到下一个子组
+ * 4. 新变为可运行的组，虚拟运行时间不低于父节点当前的最小值，避免空闲的组回来后独占CPU
+ * 5. 运行进程所在组被限流，或其他组的虚拟运行时间落后超过抢占粒度时，时钟滴答触发重新调度
+ * 组的层次、权重和限流状态由 GroupHierarchy 提供
+ */
+public class GroupFairQueue implements ReadyQueue {
+    private static final long TICK_UNIT = 1_000_000L; // 一个时钟滴答对应的虚拟时间
+    private static final long WAKEUP_GRANULARITY = TICK_UNIT; // 抢占所需的最小虚拟时间差距
+
+    private final GroupHierarchy hierarchy;
+    private final Node root = new Node(null, null);
+    private final Map<String, Node> nodes = new HashMap<>(); // 组名 -> 节点
+    private final Map<Long, Node> positions = new HashMap<>(); // 进程ID -> 所在节点
+
+    /**
+     * 进程组节点
+     */
+    private static class Node {
+        final String name;
+        final Node parent;
+        final FairShareQueue local = new FairShareQueue(); // 组内直接包含的进程
+        final List<Node> children = new ArrayList<>();
+        long vruntime;      // 在父节点中的虚拟运行时间
+        long localVruntime; // 组内直接包含的进程整体的虚拟运行时间
+        long minVruntime;   // 子实体的最小虚拟运行时间，单调不减
+        int queued;         // 子树中的就绪进程数
+
+        Node(String name, Node parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+    }
+
+    public GroupFairQueue(GroupHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
+    @Override
+    public synchronized boolean offer(Process process) {
+        if (positions.containsKey(process.getId())) {
+            return false;
+        }
+        Node node = nodeOf(process);
+        if (!node.local.offer(process)) {
+            return false;
+        }
+        positions.put(process.getId(), node);
+        if (node.local.size() == 1) {
+            node.localVruntime = Math.max(node.localVruntime, node.minVruntime);
+        }
+        for (Node n = node; n != null; n = n.parent) {
+            n.queued++;
+            if (n.queued == 1 && n.parent != null) {
+                n.vruntime = Math.max(n.vruntime, n.parent.minVruntime);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized Process poll() {
+        Process process = peek();
+        if (process == null) {
+            return null;
+        }
+        Node node = positions.get(process.getId());
+        removeFrom(node, process);
+        // 被选中的实体虚拟运行时间最小，推进各级的最小值
+        node.minVruntime = Math.max(node.minVruntime, node.localVruntime);
+        for (Node n = node; n.parent != null; n = n.parent) {
+            n.parent.minVruntime = Math.max(n.parent.minVruntime, n.vruntime);
+        }
+        return process;
+    }
+
+    @Override
+    public synchronized Process peek() {
+        return pick(root);
+    }
+
+    @Override
+    public synchronized boolean remove(Process process) {
+        Node node = positions.get(process.getId());
+        if (node == null) {
+            return false;
+        }
+        removeFrom(node, process);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Process process) {
+        return positions.containsKey(process.getId());
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return root.queued == 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return root.queued;
+    }
+
+    @Override
+    public synchronized void clear() {
+        clear(root);
+        positions.clear();
+    }
+
+    /**
+     * 按各级虚拟运行时间深度优先列出，虚拟运行时间不变时即为调度顺序
+     */
+    @Override
+    public synchronized Stream<Process> stream() {
+        List<Process> processes = new ArrayList<>(root.queued);
+        collect(root, processes);
+        return processes.stream();
+    }
+
+    @Override
+    public synchronized List<Process> drain() {
+        List<Process> processes = new ArrayList<>(root.queued);
+        collect(root, processes);
+        clear();
+        return processes;
+    }
+
+    /**
+     * 运行进程所在组被限流时立即抢占；同组进程按组内的完全公平调度比较，
+     * 不同组的进程在最近公共祖先下比较各自所在子树的虚拟运行时间
+     */
+    @Override
+    public synchronized boolean shouldPreempt(Process running) {
+        Process head = peek();
+        if (head == null || running == null) {
+            return false;
+        }
+        if (hierarchy.isThrottled(running.getGroupName())) {
+            return true;
+        }
+        Node headNode = positions.get(head.getId());
+        Node runningNode = nodeOf(running);
+        if (headNode == runningNode) {
+            return runningNode.local.shouldPreempt(running);
+        }
+        Set<Node> runningPath = new HashSet<>();
+        for (Node n = runningNode; n != null; n = n.parent) {
+            runningPath.add(n);
+        }
+        Node ancestor = headNode;
+        while (!runningPath.contains(ancestor)) {
+            ancestor = ancestor.parent;
+        }
+        return vruntimeUnder(ancestor, headNode) + WAKEUP_GRANULARITY < vruntimeUnder(ancestor, runningNode);
+    }
+
+    @Override
+    public synchronized boolean onTick(Process running) {
+        if (running == null) {
+            return false;
+        }
+        Node node = nodeOf(running);
+        boolean sliceUsed = node.local.onTick(running);
+        node.localVruntime += TICK_UNIT;
+        for (Node n = node; n.parent != null; n = n.parent) {
+            n.vruntime += TICK_UNIT * GroupHierarchy.DEFAULT_WEIGHT / hierarchy.weightOf(n.name);
+        }
+        return sliceUsed || shouldPreempt(running);
+    }
+
+    @Override
+    public synchronized void forget(Process process) {
+        Node node = positions.getOrDefault(process.getId(), nodeOf(process));
+        remove(process);
+        node.local.forget(process);
+    }
+
+    /**
+     * 进程所在组的节点，组不存在时为根节点
+     */
+    private Node nodeOf(Process process) {
+        return nodeFor(process.getGroupName());
+    }
+
+    private Node nodeFor(String group) {
+        if (group == null || !hierarchy.exists(group)) {
+            return root;
+        }
+        Node node = nodes.get(group);
+        if (node != null && node.queued == 0 && !Objects.equals(node.parent.name, hierarchy.parentOf(group))) {
+            // 组被删除后以不同的父组重新创建
+            node.parent.children.remove(node);
+            node = null;
+        }
+        if (node == null) {
+            Node parent = nodeFor(hierarchy.parentOf(group));
+            node = new Node(group, parent);
+            parent.children.add(node);
+            nodes.put(group, node);
+        }
+        return node;
+    }
+
+    /**
+     * 从节点开始选择下一个进程，按虚拟运行时间从小到大尝试组内进程整体和各子组
+     */
+    private Process pick(Node node) {
+        if (node.queued == 0 || hierarchy.isThrottled(node.name)) {
+            return null;
+        }
+        List<Node> candidates = new ArrayList<>(node.children.size() + 1);
+        if (!node.local.isEmpty()) {
+            candidates.add(node);
+        }
+        for (Node child : node.children) {
+            if (child.queued > 0) {
+                candidates.add(child);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(n -> n == node ? node.localVruntime : n.vruntime));
+        for (Node candidate : candidates) {
+            Process process = candidate == node ? node.local.peek() : pick(candidate);
+            if (process != null) {
+                return process;
+            }
+        }
+        return null;
+    }
+
+    private void removeFrom(Node node, Process process) {
+        node.local.remove(process);
+        positions.remove(process.getId());
+        for (Node n = node; n != null; n = n.parent) {
+            n.queued--;
+        }
+    }
+
+    /**
+     * 节点在祖先节点之下所在实体的虚拟运行时间
+     */
+    private long vruntimeUnder(Node ancestor, Node node) {
+        if (node == ancestor) {
+            return ancestor.localVruntime;
+        }
+        while (node.parent != ancestor) {
+            node = node.parent;
+        }
+        return node.vruntime;
+    }
+
+    private void collect(Node node, List<Process> processes) {
+        List<Node> entities = new ArrayList<>(node.children);
+        entities.add(node);
+        entities.sort(Comparator.comparingLong(n -> n == node ? node.localVruntime : n.vruntime));
+        for (Node entity : entities) {
+            if (entity == node) {
+                node.local.stream().forEach(processes::add);
+            } else if (entity.queued > 0) {
+                collect(entity, processes);
+            }
+        }
+    }
+
+    private void clear(Node node) {
+        node.local.clear();
+        node.queued = 0;
+        node.children.forEach(this::clear);
+    }
+}
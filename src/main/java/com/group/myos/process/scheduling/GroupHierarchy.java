@@ -0,0 +1,29 @@
+package com.group.myos.process.scheduling;
+
+/**
+ * 进程组层次结构，供分组调度的就绪队列查询
+ * 组名为null表示根组
+ */
+public interface GroupHierarchy {
+    int DEFAULT_WEIGHT = 100; // 默认权重，根组中直接包含的进程整体也按此权重参与调度
+
+    /**
+     * 进程组是否存在，不存在的组按根组处理
+     */
+    boolean exists(String group);
+
+    /**
+     * 父进程组，顶层进程组返回null
+     */
+    String parentOf(String group);
+
+    /**
+     * 进程组在兄弟组之间分配CPU时间的权重
+     */
+    int weightOf(String group);
+
+    /**
+     * 进程组或其祖先是否已用完本周期的CPU配额
+     */
+    boolean isThrottled(String group);
+}
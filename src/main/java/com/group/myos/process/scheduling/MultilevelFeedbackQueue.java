@@ -0,0 +1,186 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 多级反馈队列（MLFQ）
+ * 1. 新进程进入最高级队列（第0级），级别越高越先被调度，同级按先来先服务
+ * 2. 进程在某一级累计用完该级时间片后降一级，阻塞不会重置已用时间，防止进程通过频繁让出CPU霸占高级队列
+ * 3. 每隔固定时钟滴答将所有进程提升回最高级，避免低级队列中的长作业饥饿
+ */
+public class MultilevelFeedbackQueue implements ReadyQueue {
+    private static final int[] DEFAULT_QUANTUMS = {1, 2, 4}; // 各级时间片（时钟滴答数）
+    private static final int DEFAULT_BOOST_INTERVAL = 20; // 优先级提升周期（时钟滴答数）
+
+    private final List<LinkedHashSet<Process>> levels;
+    private final int[] quantums;
+    private final int boostInterval;
+    private final Map<Long, Integer> levelOf = new HashMap<>(); // 进程ID -> 所在级别
+    private final Map<Long, Integer> usedTicks = new HashMap<>(); // 进程ID -> 在当前级别已用的滴答数
+    private long tickCount = 0;
+
+    public MultilevelFeedbackQueue() {
+        this(DEFAULT_QUANTUMS, DEFAULT_BOOST_INTERVAL);
+    }
+
+    public MultilevelFeedbackQueue(int[] quantums, int boostInterval) {
+        if (quantums.length == 0 || boostInterval <= 0) {
+            throw new IllegalArgumentException("多级反馈队列参数无效");
+        }
+        this.quantums = quantums.clone();
+        this.boostInterval = boostInterval;
+        this.levels = new ArrayList<>(quantums.length);
+        for (int i = 0; i < quantums.length; i++) {
+            levels.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * 获取进程当前所在级别
+     */
+    public synchronized int getLevel(Process process) {
+        return levelOf.getOrDefault(process.getId(), 0);
+    }
+
+    /**
+     * 获取指定级别的时间片长度
+     */
+    public int getQuantum(int level) {
+        return quantums[level];
+    }
+
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    @Override
+    public synchronized boolean offer(Process process) {
+        int level = levelOf.computeIfAbsent(process.getId(), id -> 0);
+        return levels.get(level).add(process);
+    }
+
+    @Override
+    public synchronized Process poll() {
+        for (LinkedHashSet<Process> level : levels) {
+            Iterator<Process> iterator = level.iterator();
+            if (iterator.hasNext()) {
+                Process process = iterator.next();
+                iterator.remove();
+                return process;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized Process peek() {
+        for (LinkedHashSet<Process> level : levels) {
+            if (!level.isEmpty()) {
+                return level.iterator().next();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized boolean remove(Process process) {
+        Integer level = levelOf.get(process.getId());
+        return level != null && levels.get(level).remove(process);
+    }
+
+    @Override
+    public synchronized boolean contains(Process process) {
+        Integer level = levelOf.get(process.getId());
+        return level != null && levels.get(level).contains(process);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        int size = 0;
+        for (LinkedHashSet<Process> level : levels) {
+            size += level.size();
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        levels.forEach(LinkedHashSet::clear);
+    }
+
+    @Override
+    public synchronized Stream<Process> stream() {
+        List<Process> snapshot = new ArrayList<>();
+        levels.forEach(snapshot::addAll);
+        return snapshot.stream();
+    }
+
+    @Override
+    public synchronized List<Process> drain() {
+        List<Process> processes = new ArrayList<>();
+        levels.forEach(level -> {
+            processes.addAll(level);
+            level.clear();
+        });
+        return processes;
+    }
+
+    /**
+     * 队头进程所在级别高于运行进程时抢占
+     */
+    @Override
+    public synchronized boolean shouldPreempt(Process running) {
+        Process head = peek();
+        return head != null && running != null && getLevel(head) < getLevel(running);
+    }
+
+    @Override
+    public synchronized boolean onTick(Process running) {
+        tickCount++;
+        if (tickCount % boostInterval == 0) {
+            boost();
+        }
+        if (running == null) {
+            return false;
+        }
+
+        int level = getLevel(running);
+        int used = usedTicks.merge(running.getId(), 1, Integer::sum);
+        if (used < quantums[level]) {
+            return false;
+        }
+
+        // 时间片用完，降级（最低级内部轮转）
+        levelOf.put(running.getId(), Math.min(level + 1, levels.size() - 1));
+        usedTicks.remove(running.getId());
+        return true;
+    }
+
+    @Override
+    public synchronized void forget(Process process) {
+        remove(process);
+        levelOf.remove(process.getId());
+        usedTicks.remove(process.getId());
+    }
+
+    /**
+     * 将所有进程提升至最高级
+     */
+    private void boost() {
+        LinkedHashSet<Process> top = levels.get(0);
+        for (int i = 1; i < levels.size(); i++) {
+            top.addAll(levels.get(i));
+            levels.get(i).clear();
+        }
+        levelOf.replaceAll((id, level) -> 0);
+        usedTicks.clear();
+    }
+}
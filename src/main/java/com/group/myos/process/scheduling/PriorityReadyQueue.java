@@ -0,0 +1,258 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * 基于比较器的单一就绪队列，用于FCFS、优先级、SJF、SRTF、EDF和RM调度
+ * 使用带位置索引的二叉堆：进程ID -> 堆中下标，
+ * 删除任意进程和修改优先级只需从该位置上浮或下沉，为O(log N)
+ * 比较结果相同的进程按入队顺序调度
+ */
+public class PriorityReadyQueue implements ReadyQueue {
+    private static final Comparator<Process> BY_PRIORITY = (p1, p2) -> Integer.compare(p2.getPriority(), p1.getPriority());
+
+    /**
+     * 抢占方式
+     */
+    public enum Preemption {
+        PRIORITY, // 按优先级抢占
+        ORDER,    // 按队列顺序抢占
+        NONE      // 不抢占
+    }
+
+    private final Comparator<Process> comparator;
+    private final Preemption preemption;
+    private final List<Process> heap = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>(); // 进程ID -> 堆中下标
+    private final Map<Long, Long> sequences = new HashMap<>(); // 进程ID -> 入队序号
+    private long nextSequence = 0;
+
+    public PriorityReadyQueue(Comparator<Process> comparator) {
+        this(comparator, Preemption.PRIORITY);
+    }
+
+    public PriorityReadyQueue(Comparator<Process> comparator, Preemption preemption) {
+        this.comparator = comparator;
+        this.preemption = preemption;
+    }
+
+    /**
+     * 优先级调度，数字大的优先级高
+     */
+    public static PriorityReadyQueue byPriority() {
+        return new PriorityReadyQueue(BY_PRIORITY);
+    }
+
+    /**
+     * 最早截止时间优先（EDF），有未完成作业的实时进程按绝对截止时间排序，其余进程排在后面按优先级排序
+     * 截止时间更早的进程到达时抢占当前进程
+     */
+    public static PriorityReadyQueue byDeadline() {
+        return new PriorityReadyQueue(
+            Comparator.comparing(Process::getAbsoluteDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(BY_PRIORITY),
+            Preemption.ORDER);
+    }
+
+    /**
+     * 单调速率调度（RM），有未完成作业的实时进程按周期排序，周期越短优先级越高，
+     * 非周期实时进程按相对截止时间排序（单调截止时间），其余进程排在后面按优先级排序
+     */
+    public static PriorityReadyQueue byRate() {
+        return new PriorityReadyQueue(
+            Comparator.comparing(PriorityReadyQueue::rateOf, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(BY_PRIORITY),
+            Preemption.ORDER);
+    }
+
+    /**
+     * 最短作业优先（SJF），按预计的CPU区间长度排序，非抢占
+     */
+    public static PriorityReadyQueue byShortestJob(ToDoubleFunction<Process> burst) {
+        return new PriorityReadyQueue(Comparator.comparingDouble(burst), Preemption.NONE);
+    }
+
+    /**
+     * 最短剩余时间优先（SRTF），按预计的剩余区间长度排序，剩余时间更短的进程到达时抢占当前进程
+     */
+    public static PriorityReadyQueue byShortestRemaining(ToDoubleFunction<Process> remaining) {
+        return new PriorityReadyQueue(Comparator.comparingDouble(remaining), Preemption.ORDER);
+    }
+
+    private static Integer rateOf(Process process) {
+        if (process.getAbsoluteDeadline() == null) {
+            return null;
+        }
+        return process.getPeriod() != null ? process.getPeriod() : process.getRelativeDeadline();
+    }
+
+    /**
+     * 先到先服务，按创建时间排序
+     */
+    public static PriorityReadyQueue byArrival() {
+        return new PriorityReadyQueue(Comparator.comparing(Process::getCreateTime));
+    }
+
+    @Override
+    public synchronized boolean offer(Process process) {
+        if (positions.containsKey(process.getId())) {
+            return false;
+        }
+        sequences.put(process.getId(), nextSequence++);
+        heap.add(process);
+        positions.put(process.getId(), heap.size() - 1);
+        siftUp(heap.size() - 1);
+        return true;
+    }
+
+    @Override
+    public synchronized Process poll() {
+        if (heap.isEmpty()) {
+            return null;
+        }
+        return removeAt(0);
+    }
+
+    @Override
+    public synchronized Process peek() {
+        return heap.isEmpty() ? null : heap.get(0);
+    }
+
+    @Override
+    public synchronized boolean remove(Process process) {
+        Integer index = positions.get(process.getId());
+        if (index == null) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Process process) {
+        return positions.containsKey(process.getId());
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public synchronized int size() {
+        return heap.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        heap.clear();
+        positions.clear();
+        sequences.clear();
+    }
+
+    @Override
+    public synchronized Stream<Process> stream() {
+        List<Process> processes = new ArrayList<>(heap);
+        processes.sort(this::compare);
+        return processes.stream();
+    }
+
+    @Override
+    public synchronized List<Process> drain() {
+        List<Process> processes = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            processes.add(removeAt(0));
+        }
+        return processes;
+    }
+
+    @Override
+    public synchronized boolean shouldPreempt(Process running) {
+        if (preemption == Preemption.NONE) {
+            return false;
+        }
+        if (preemption == Preemption.PRIORITY) {
+            return ReadyQueue.super.shouldPreempt(running);
+        }
+        Process head = peek();
+        return head != null && running != null && comparator.compare(head, running) < 0;
+    }
+
+    /**
+     * 原地修改优先级，从进程当前位置上浮或下沉
+     */
+    @Override
+    public synchronized void updatePriority(Process process, int priority) {
+        process.setPriority(priority);
+        Integer index = positions.get(process.getId());
+        if (index != null) {
+            siftUp(index);
+            siftDown(positions.get(process.getId()));
+        }
+    }
+
+    private Process removeAt(int index) {
+        Process removed = heap.get(index);
+        int last = heap.size() - 1;
+        if (index != last) {
+            move(heap.get(last), index);
+        }
+        heap.remove(last);
+        positions.remove(removed.getId());
+        sequences.remove(removed.getId());
+        if (index < heap.size()) {
+            siftUp(index);
+            siftDown(positions.get(heap.get(index).getId()));
+        }
+        return removed;
+    }
+
+    private void siftUp(int index) {
+        Process process = heap.get(index);
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(process, heap.get(parent)) >= 0) {
+                break;
+            }
+            move(heap.get(parent), index);
+            index = parent;
+        }
+        move(process, index);
+    }
+
+    private void siftDown(int index) {
+        Process process = heap.get(index);
+        int half = heap.size() >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heap.size() && compare(heap.get(right), heap.get(child)) < 0) {
+                child = right;
+            }
+            if (compare(process, heap.get(child)) <= 0) {
+                break;
+            }
+            move(heap.get(child), index);
+            index = child;
+        }
+        move(process, index);
+    }
+
+    private void move(Process process, int index) {
+        heap.set(index, process);
+        positions.put(process.getId(), index);
+    }
+
+    private int compare(Process p1, Process p2) {
+        int result = comparator.compare(p1, p2);
+        return result != 0 ? result : Long.compare(sequences.get(p1.getId()), sequences.get(p2.getId()));
+    }
+}
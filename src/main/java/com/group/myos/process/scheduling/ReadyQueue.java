@@ -0,0 +1,110 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 就绪队列
+ * 不同调度算法对就绪进程的组织方式不同，调度器只通过该接口访问就绪队列
+ */
+public interface ReadyQueue {
+
+    /**
+     * 进程进入就绪队列
+     */
+    boolean offer(Process process);
+
+    /**
+     * 取出下一个应被调度的进程
+     */
+    Process poll();
+
+    /**
+     * 查看下一个应被调度的进程，不移除
+     */
+    Process peek();
+
+    boolean remove(Process process);
+
+    boolean contains(Process process);
+
+    boolean isEmpty();
+
+    int size();
+
+    void clear();
+
+    /**
+     * 按调度顺序列出队列中的进程，不移除
+     */
+    Stream<Process> stream();
+
+    /**
+     * 取出队列中的全部进程，用于切换调度算法时迁移
+     */
+    List<Process> drain();
+
+    /**
+     * 判断队头进程是否应抢占当前运行进程
+     * 默认按优先级比较，数字大的优先级高
+     */
+    default boolean shouldPreempt(Process running) {
+        Process head = peek();
+        return head != null && running != null && head.getPriority() > running.getPriority();
+    }
+
+    /**
+     * 时钟滴答，对当前运行进程计时
+     * @param running 当前运行进程，可能为null
+     * @return 当前运行进程的时间片是否已用完
+     */
+    default boolean onTick(Process running) {
+        return false;
+    }
+
+    /**
+     * 修改进程优先级，进程在队列中时同时调整其位置
+     * 默认先移除再重新入队，支持按位置调整的队列应覆盖此方法
+     */
+    default void updatePriority(Process process, int priority) {
+        boolean queued = remove(process);
+        process.setPriority(priority);
+        if (queued) {
+            offer(process);
+        }
+    }
+
+    /**
+     * 进程的有效优先级，支持老化的队列会随等待时间提高
+     */
+    default int getEffectivePriority(Process process) {
+        return process.getPriority() != null ? process.getPriority() : 0;
+    }
+
+    /**
+     * 进程在就绪队列中已等待的时间（毫秒），不在队列中时为0
+     * 默认以进入就绪状态时更新的最后更新时间估算
+     */
+    default long getWaitTime(Process process) {
+        if (!contains(process) || process.getLastUpdateTime() == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(process.getLastUpdateTime(), LocalDateTime.now()).toMillis());
+    }
+
+    /**
+     * 运行进程进入等待状态，让出CPU
+     */
+    default void onBlock(Process process) {
+    }
+
+    /**
+     * 进程终止或删除后，清除队列为其保存的调度信息
+     */
+    default void forget(Process process) {
+    }
+}
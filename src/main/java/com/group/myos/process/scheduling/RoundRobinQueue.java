@@ -0,0 +1,120 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 时间片轮转（RR）就绪队列
+ * 进程按到达顺序排队，运行满一个时间片后回到队尾，不按优先级抢占
+ */
+public class RoundRobinQueue implements ReadyQueue {
+    private static final int DEFAULT_QUANTUM = 2; // 时间片（时钟滴答数）
+
+    private final LinkedHashSet<Process> queue = new LinkedHashSet<>();
+    private final int quantum;
+    private final Map<Long, Integer> usedTicks = new HashMap<>(); // 进程ID -> 本次时间片已用滴答数
+
+    public RoundRobinQueue() {
+        this(DEFAULT_QUANTUM);
+    }
+
+    public RoundRobinQueue(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("时间片长度必须大于0");
+        }
+        this.quantum = quantum;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    @Override
+    public synchronized boolean offer(Process process) {
+        // 重新入队的进程下次运行时获得完整时间片
+        usedTicks.remove(process.getId());
+        return queue.add(process);
+    }
+
+    @Override
+    public synchronized Process poll() {
+        Iterator<Process> iterator = queue.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Process process = iterator.next();
+        iterator.remove();
+        return process;
+    }
+
+    @Override
+    public synchronized Process peek() {
+        return queue.isEmpty() ? null : queue.iterator().next();
+    }
+
+    @Override
+    public synchronized boolean remove(Process process) {
+        return queue.remove(process);
+    }
+
+    @Override
+    public synchronized boolean contains(Process process) {
+        return queue.contains(process);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        queue.clear();
+    }
+
+    @Override
+    public synchronized Stream<Process> stream() {
+        return new ArrayList<>(queue).stream();
+    }
+
+    @Override
+    public synchronized List<Process> drain() {
+        List<Process> processes = new ArrayList<>(queue);
+        queue.clear();
+        return processes;
+    }
+
+    /**
+     * 轮转调度只在时间片用完时切换
+     */
+    @Override
+    public boolean shouldPreempt(Process running) {
+        return false;
+    }
+
+    @Override
+    public synchronized boolean onTick(Process running) {
+        if (running == null) {
+            return false;
+        }
+        int used = usedTicks.merge(running.getId(), 1, Integer::sum);
+        if (used < quantum) {
+            return false;
+        }
+        usedTicks.remove(running.getId());
+        return true;
+    }
+
+    @Override
+    public synchronized void forget(Process process) {
+        queue.remove(process);
+        usedTicks.remove(process.getId());
+    }
+}
@@ -0,0 +1,52 @@
+package com.group.myos.process.scheduling;
+
+import java.util.function.Supplier;
+
+/**
+ * 调度策略
+ * 调度器启动时收集所有该类型的Spring Bean，与内置调度算法一起按名称注册，运行中可以随时切换
+ * 策略为每个CPU创建一个就绪队列，调度器通过就绪队列的方法回调策略：
+ * 1. 选择下一个进程：poll / peek
+ * 2. 进程进入就绪队列：offer，之后用 shouldPreempt 判断是否抢占当前进程
+ * 3. 时钟滴答：onTick，返回true时重新调度
+ * 4. 运行进程阻塞：onBlock；终止或删除：forget
+ * 就绪队列只在所属CPU的调度线程上修改，切换策略时在同一条命令中迁移
+ */
+public interface SchedulingPolicy {
+
+    /**
+     * 策略名称，用于切换策略，不区分大小写
+     */
+    String getName();
+
+    default String getDescription() {
+        return getName();
+    }
+
+    /**
+     * 为一个CPU创建就绪队列
+     */
+    ReadyQueue createQueue();
+
+    /**
+     * 由名称、描述和就绪队列工厂组成的策略
+     */
+    static SchedulingPolicy of(String name, String description, Supplier<ReadyQueue> queueFactory) {
+        return new SchedulingPolicy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public ReadyQueue createQueue() {
+                return queueFactory.get();
+            }
+        };
+    }
+}
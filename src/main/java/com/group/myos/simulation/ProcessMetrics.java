@@ -0,0 +1,21 @@
+package com.group.myos.simulation;
+
+import lombok.Data;
+
+/**
+ * 回放中一个进程的统计结果，时间单位为滴答
+ */
+@Data
+public class ProcessMetrics {
+    private long line;            // 轨迹中的行号
+    private Long processId;       // 进程ID
+    private String name;          // 进程名称
+    private long arrival;         // 到达时间
+    private long completion;      // 完成时间，未完成时为-1
+    private boolean completed;    // 是否执行完所有阶段
+    private long turnaround;      // 周转时间 = 完成时间 - 到达时间
+    private long waiting;         // 在就绪队列中等待的时间
+    private long response;        // 响应时间 = 第一次运行的时间 - 到达时间，未运行时为-1
+    private long blocked;         // 等待IO和设备的时间
+    private int cpuTime;          // 已执行的CPU时间
+}
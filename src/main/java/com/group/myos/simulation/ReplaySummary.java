@@ -0,0 +1,19 @@
+package com.group.myos.simulation;
+
+import lombok.Data;
+
+/**
+ * 轨迹回放的汇总结果，时间单位为滴答
+ */
+@Data
+public class ReplaySummary {
+    private long processes;          // 回放的进程数
+    private long completed;          // 执行完所有阶段的进程数
+    private long unfinished;         // 达到滴答上限时仍未完成的进程数
+    private long ticks;              // 回放经过的滴答数
+    private double averageTurnaround; // 已完成进程的平均周转时间
+    private double averageWaiting;   // 已完成进程的平均等待时间
+    private double averageResponse;  // 已完成进程的平均响应时间
+    private long maxTurnaround;      // 最大周转时间
+    private long wallTimeMillis;     // 实际耗时（毫秒）
+}
@@ -0,0 +1,22 @@
+package com.group.myos.simulation;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 仿真结果
+ */
+@Data
+public class SimulationReport {
+    private long seed;                      // 随机种子
+    private int ticks;                      // 仿真的时钟滴答数
+    private long startTick;                 // 开始时的系统时间
+    private long endTick;                   // 结束时的系统时间
+    private int created;                    // 创建的进程数
+    private int terminated;                 // 仿真期间终止的进程数
+    private Map<String, Integer> finalStates; // 仿真结束时各状态的进程数
+    private long checksum;                  // 仿真结束时所有仿真进程状态的校验和，相同种子应得到相同结果
+    private long wallTimeMillis;            // 实际耗时（毫秒）
+    private double speedup;                 // 虚拟时间与实际耗时之比
+}
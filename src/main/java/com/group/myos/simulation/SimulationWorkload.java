@@ -0,0 +1,44 @@
+package com.group.myos.simulation;
+
+import lombok.Data;
+
+/**
+ * 仿真负载参数
+ * 进程按泊松过程到达，优先级和内存大小均匀分布，生存时间和IO间隔服从指数分布
+ * 时间单位均为时钟滴答
+ */
+@Data
+public class SimulationWorkload {
+    private long seed = 42;              // 随机种子，相同种子和参数的仿真结果相同
+    private int ticks = 1000;            // 仿真的时钟滴答数
+    private double arrivalRate = 0.2;    // 每个滴答平均到达的进程数
+    private int maxPriority = 9;         // 优先级范围 0..maxPriority
+    private int minMemory = 1;           // 进程内存大小下限
+    private int maxMemory = 32;          // 进程内存大小上限
+    private double meanLifetime = 30;    // 进程平均生存时间
+    private double ioRate = 0.05;        // 每个滴答进程平均发起的IO次数，0表示不发起IO
+
+    /**
+     * 校验参数
+     */
+    public void validate() {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("仿真滴答数必须大于0: " + ticks);
+        }
+        if (arrivalRate <= 0) {
+            throw new IllegalArgumentException("到达率必须大于0: " + arrivalRate);
+        }
+        if (maxPriority < 0) {
+            throw new IllegalArgumentException("最大优先级不能小于0: " + maxPriority);
+        }
+        if (minMemory <= 0 || maxMemory < minMemory) {
+            throw new IllegalArgumentException("内存大小范围无效: " + minMemory + "-" + maxMemory);
+        }
+        if (meanLifetime <= 0) {
+            throw new IllegalArgumentException("平均生存时间必须大于0: " + meanLifetime);
+        }
+        if (ioRate < 0) {
+            throw new IllegalArgumentException("IO频率不能小于0: " + ioRate);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.group.myos.simulation;
+
+import com.group.myos.interrupt.manager.InterruptManager;
+import com.group.myos.process.ProcessScheduler;
+import com.group.myos.process.model.Process;
+import com.group.myos.timer.TimerManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 离散事件仿真器
+ * 1. 切换到虚拟时间，由仿真线程逐个滴答推进系统时钟，定时任务、设备超时检查和时钟中断都在滴答中同步触发
+ * 2. 停止中断分发线程，中断由仿真线程在每个滴答后逐个处理
+ * 3. 每个滴答后等待各CPU的调度线程执行完所有命令（settle），再推进下一个滴答，不需要真实等待；
+ *    调度线程改为每条命令后派发，派发时机只取决于命令顺序
+ * 4. 进程到达、终止和IO全部由种子随机源生成，单CPU下相同种子和参数的仿真结果完全相同
+ */
+@Slf4j
+@Component
+public class Simulator {
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L; // 调度器随机源的种子与负载随机源错开
+
+    private final TimerManager timerManager;
+    private final ProcessScheduler processScheduler;
+    private final InterruptManager interruptManager;
+
+    public Simulator(TimerManager timerManager, ProcessScheduler processScheduler, InterruptManager interruptManager) {
+        this.timerManager = timerManager;
+        this.processScheduler = processScheduler;
+        this.interruptManager = interruptManager;
+    }
+
+    /**
+     * 一次仿真的状态，只在仿真线程上访问
+     * 仿真结束后active置为false，残留的定时任务不再执行
+     */
+    private static class Run {
+        final SimulationWorkload workload;
+        final Random random;
+        final List<Long> created = new ArrayList<>();
+        final Set<Long> terminated = new HashSet<>();
+        boolean active = true;
+
+        Run(SimulationWorkload workload) {
+            this.workload = workload;
+            this.random = new Random(workload.getSeed());
+        }
+
+        /**
+         * 指数分布的滴答数
+         */
+        long exponential(double mean) {
+            return (long) (-Math.log(1 - random.nextDouble()) * mean);
+        }
+    }
+
+    /**
+     * 运行一次仿真，同一时间只能运行一个仿真
+     */
+    public SimulationReport run(SimulationWorkload workload) {
+        workload.validate();
+        Run run = new Run(workload);
+        long wallStart = System.nanoTime();
+        SimulationReport report = inVirtualTime(workload.getSeed(), () -> {
+            SimulationReport result = new SimulationReport();
+            try {
+                result.setStartTick(timerManager.getCurrentTime());
+                scheduleArrival(run);
+
+                for (int i = 0; i < workload.getTicks(); i++) {
+                    step();
+                }
+
+                result.setEndTick(timerManager.getCurrentTime());
+                fillReport(result, run);
+            } finally {
+                run.active = false;
+                // 终止仿真中残留的进程，释放内存
+                for (Long processId : run.created) {
+                    if (!run.terminated.contains(processId)) {
+                        processScheduler.updateProcessState(processId, Process.ProcessState.TERMINATED);
+                    }
+                }
+                settle();
+            }
+            return result;
+        });
+
+        report.setWallTimeMillis(Math.max(1, (System.nanoTime() - wallStart) / 1_000_000));
+        report.setSpeedup((double) workload.getTicks() * 1000 / report.getWallTimeMillis());
+        log.info("仿真完成 - 种子: {}, 滴答: {}, 创建进程: {}, 校验和: {}, 耗时: {}ms",
+            workload.getSeed(), workload.getTicks(), report.getCreated(), report.getChecksum(), report.getWallTimeMillis());
+        return report;
+    }
+
+    /**
+     * 在虚拟时间下执行仿真过程，结束后恢复原来的时钟模式和中断分发线程
+     * 同一时间只能有一个仿真过程，仿真过程通过step()推进时钟
+     */
+    public synchronized <T> T inVirtualTime(long seed, Supplier<T> body) {
+        boolean wasVirtualTime = timerManager.isVirtualTime();
+        boolean dispatcherWasRunning = interruptManager.isDispatcherRunning();
+
+        timerManager.setVirtualTime(true);
+        timerManager.start();
+        interruptManager.stopDispatcher();
+        processScheduler.setDispatchEachCommand(true);
+        try {
+            settle();
+            timerManager.reseed(seed ^ SEED_MIX);
+            return body.get();
+        } finally {
+            processScheduler.setDispatchEachCommand(false);
+            timerManager.setVirtualTime(wasVirtualTime);
+            if (dispatcherWasRunning) {
+                interruptManager.startDispatcher();
+            }
+        }
+    }
+
+    /**
+     * 推进一个时钟滴答，并等待系统稳定
+     */
+    public void step() {
+        timerManager.tick();
+        settle();
+    }
+
+    /**
+     * 等待所有CPU的调度线程执行完命令，并处理完所有中断
+     * 调度线程在执行命令时可能产生新的命令和中断，直到两次空闲检查之间没有执行任何命令才算稳定
+     */
+    public void settle() {
+        long lastExecuted = -1;
+        while (true) {
+            while (!processScheduler.isIdle()) {
+                Thread.onSpinWait();
+            }
+            if (interruptManager.processNext()) {
+                lastExecuted = -1;
+                continue;
+            }
+            long executed = processScheduler.getExecutedCommandCount();
+            if (executed == lastExecuted) {
+                return;
+            }
+            lastExecuted = executed;
+        }
+    }
+
+    private void scheduleArrival(Run run) {
+        timerManager.schedule(run.exponential(1 / run.workload.getArrivalRate()), () -> {
+            if (!run.active) {
+                return;
+            }
+            arrive(run);
+            scheduleArrival(run);
+        });
+    }
+
+    /**
+     * 创建一个仿真进程，并安排它的终止和IO
+     */
+    private void arrive(Run run) {
+        SimulationWorkload workload = run.workload;
+        Process process = new Process();
+        process.setName("Sim-" + workload.getSeed() + "-" + run.created.size());
+        process.setPriority(run.random.nextInt(workload.getMaxPriority() + 1));
+        process.setMemorySize(workload.getMinMemory()
+            + run.random.nextInt(workload.getMaxMemory() - workload.getMinMemory() + 1));
+        Long processId = processScheduler.addProcess(process).getId();
+        run.created.add(processId);
+
+        timerManager.schedule(Math.max(1, run.exponential(workload.getMeanLifetime())), () -> {
+            if (run.active && run.terminated.add(processId)) {
+                processScheduler.updateProcessState(processId, Process.ProcessState.TERMINATED);
+            }
+        });
+        if (workload.getIoRate() > 0) {
+            scheduleIo(run, processId);
+        }
+    }
+
+    private void scheduleIo(Run run, Long processId) {
+        timerManager.schedule(Math.max(1, run.exponential(1 / run.workload.getIoRate())), () -> {
+            if (!run.active || run.terminated.contains(processId)) {
+                return;
+            }
+            // 进程不在运行时中断不生效
+            processScheduler.interruptProcess(processId, "IO");
+            scheduleIo(run, processId);
+        });
+    }
+
+    private void fillReport(SimulationReport report, Run run) {
+        Map<String, Integer> states = new TreeMap<>();
+        long checksum = 17;
+        for (Long processId : run.created) {
+            Process process = processScheduler.getProcessById(processId);
+            Process.ProcessState state = process != null ? process.getState() : Process.ProcessState.TERMINATED;
+            states.merge(state.name(), 1, Integer::sum);
+            checksum = checksum * 31 + state.ordinal();
+            if (process != null) {
+                checksum = checksum * 31 + Objects.hashCode(process.getPriority());
+                checksum = checksum * 31 + (process.isInMemory() ? 1 : 0);
+                checksum = checksum * 31 + Objects.hashCode(process.getWaitingReason());
+            }
+        }
+        report.setSeed(run.workload.getSeed());
+        report.setTicks(run.workload.getTicks());
+        report.setCreated(run.created.size());
+        report.setTerminated(run.terminated.size());
+        report.setFinalStates(states);
+        report.setChecksum(checksum);
+    }
+}
@@ -0,0 +1,56 @@
+package com.group.myos.simulation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * 逐行读取负载轨迹，不把整个轨迹读入内存
+ * 跳过空行、#开头的注释行和CSV表头，要求到达时间不递减
+ */
+public class TraceReader implements Closeable {
+    private final BufferedReader reader;
+    private long lineNumber = 0;
+    private long lastArrival = 0;
+
+    public TraceReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * 读取下一个进程，轨迹结束时返回null
+     */
+    public TraceRecord next() {
+        String text;
+        while ((text = readLine()) != null) {
+            lineNumber++;
+            text = text.trim();
+            if (text.isEmpty() || text.startsWith("#") || text.toLowerCase().startsWith("arrival,")) {
+                continue;
+            }
+            TraceRecord record = TraceRecord.parse(text, lineNumber);
+            if (record.getArrival() < lastArrival) {
+                throw new IllegalArgumentException("第" + lineNumber + "行: 到达时间必须按顺序排列: "
+                    + record.getArrival() + " < " + lastArrival);
+            }
+            lastArrival = record.getArrival();
+            return record;
+        }
+        return null;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
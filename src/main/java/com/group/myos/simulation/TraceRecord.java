@@ -0,0 +1,125 @@
+package com.group.myos.simulation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 负载轨迹中的一行，对应一个进程
+ * 支持两种格式：
+ * 1. CSV：到达时间,名称,优先级,内存大小,阶段列表，例如 0,p1,3,10,cpu:3 io:5 cpu:2
+ * 2. JSON：{"arrival":0,"name":"p1","priority":3,"memorySize":10,"steps":"cpu:3 io:5 cpu:2"}，
+ *    steps也可以是字符串数组
+ * 阶段之间用空格或分号分隔，第一个阶段必须是CPU，IO和设备阶段之间必须有CPU阶段
+ */
+@Data
+public class TraceRecord {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private long line;            // 所在行号
+    private long arrival;         // 到达时间（滴答，相对回放开始）
+    private String name;          // 进程名称，为空时按行号生成
+    private int priority;         // 优先级
+    private int memorySize;       // 内存大小
+    private List<TraceStep> steps; // 按顺序执行的阶段
+
+    /**
+     * 解析一行轨迹
+     */
+    public static TraceRecord parse(String text, long line) {
+        TraceRecord record = new TraceRecord();
+        record.setLine(line);
+        try {
+            if (text.startsWith("{")) {
+                parseJson(record, text);
+            } else {
+                parseCsv(record, text);
+            }
+            record.validate();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("第" + line + "行: " + e.getMessage());
+        }
+        if (record.getName() == null || record.getName().isBlank()) {
+            record.setName("Trace-" + line);
+        }
+        return record;
+    }
+
+    private static void parseCsv(TraceRecord record, String text) {
+        String[] columns = text.split(",", -1);
+        if (columns.length != 5) {
+            throw new IllegalArgumentException("CSV需要5列（到达时间,名称,优先级,内存大小,阶段列表），实际为" + columns.length + "列");
+        }
+        try {
+            record.setArrival(Long.parseLong(columns[0].trim()));
+            record.setName(columns[1].trim());
+            record.setPriority(columns[2].isBlank() ? 0 : Integer.parseInt(columns[2].trim()));
+            record.setMemorySize(columns[3].isBlank() ? 10 : Integer.parseInt(columns[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的数字: " + e.getMessage());
+        }
+        record.setSteps(parseSteps(columns[4]));
+    }
+
+    private static void parseJson(TraceRecord record, String text) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("无效的JSON: " + e.getOriginalMessage());
+        }
+        if (!node.hasNonNull("arrival") || !node.hasNonNull("steps")) {
+            throw new IllegalArgumentException("JSON必须包含arrival和steps");
+        }
+        record.setArrival(node.get("arrival").asLong());
+        record.setName(node.hasNonNull("name") ? node.get("name").asText() : null);
+        record.setPriority(node.path("priority").asInt(0));
+        record.setMemorySize(node.path("memorySize").asInt(10));
+        JsonNode steps = node.get("steps");
+        if (steps.isArray()) {
+            List<TraceStep> parsed = new ArrayList<>(steps.size());
+            steps.forEach(step -> parsed.add(TraceStep.parse(step.asText())));
+            record.setSteps(parsed);
+        } else {
+            record.setSteps(parseSteps(steps.asText()));
+        }
+    }
+
+    private static List<TraceStep> parseSteps(String text) {
+        List<TraceStep> steps = new ArrayList<>();
+        for (String token : text.trim().split("[\\s;]+")) {
+            if (!token.isEmpty()) {
+                steps.add(TraceStep.parse(token));
+            }
+        }
+        return steps;
+    }
+
+    private void validate() {
+        if (arrival < 0) {
+            throw new IllegalArgumentException("到达时间不能小于0: " + arrival);
+        }
+        if (memorySize <= 0) {
+            throw new IllegalArgumentException("内存大小必须大于0: " + memorySize);
+        }
+        if (steps.isEmpty() || steps.get(0).kind() != TraceStep.Kind.CPU) {
+            throw new IllegalArgumentException("第一个阶段必须是CPU阶段");
+        }
+        for (int i = 1; i < steps.size(); i++) {
+            if (steps.get(i).kind() != TraceStep.Kind.CPU && steps.get(i - 1).kind() != TraceStep.Kind.CPU) {
+                throw new IllegalArgumentException("IO和设备阶段之间必须有CPU阶段");
+            }
+        }
+    }
+
+    /**
+     * 所有CPU阶段的总时间
+     */
+    public int getCpuTime() {
+        return steps.stream().filter(step -> step.kind() == TraceStep.Kind.CPU).mapToInt(TraceStep::ticks).sum();
+    }
+}
@@ -0,0 +1,289 @@
+package com.group.myos.simulation;
+
+import com.group.myos.device.manager.DeviceManager;
+import com.group.myos.device.model.Device;
+import com.group.myos.process.ProcessScheduler;
+import com.group.myos.process.model.Process;
+import com.group.myos.timer.TimerManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 负载轨迹回放
+ * 1. 在虚拟时间下逐行读取轨迹，同一滴答到达的进程一次批量创建
+ * 2. 每个滴答按进程状态计时：运行中消耗CPU阶段，就绪计入等待时间，等待计入阻塞时间
+ * 3. CPU阶段结束后进入下一阶段：IO阶段阻塞进程，由系统时钟在IO结束时唤醒；
+ *    设备阶段向设备管理器请求设备并阻塞进程，设备使用时间到自动释放后唤醒；最后一个阶段结束后终止进程
+ * 4. 进程完成后立即输出统计结果并丢弃回放状态，内存占用只与同时活跃的进程数有关
+ */
+@Slf4j
+@Component
+public class TraceReplayer {
+    private final Simulator simulator;
+    private final ProcessScheduler processScheduler;
+    private final DeviceManager deviceManager;
+    private final TimerManager timerManager;
+
+    public TraceReplayer(Simulator simulator, ProcessScheduler processScheduler,
+                         DeviceManager deviceManager, TimerManager timerManager) {
+        this.simulator = simulator;
+        this.processScheduler = processScheduler;
+        this.deviceManager = deviceManager;
+        this.timerManager = timerManager;
+    }
+
+    /**
+     * 回放中的进程
+     */
+    private static class Replay {
+        final TraceRecord record;
+        final Long processId;
+        int stepIndex = 0;     // 当前阶段
+        int remaining;         // 当前CPU阶段剩余的滴答数
+        int cpuTime = 0;
+        long firstRun = -1;
+        long waiting = 0;
+        long blocked = 0;
+        Long deviceId;         // 正在请求或使用的设备
+        boolean holdingDevice; // 是否已分配到设备
+
+        Replay(TraceRecord record, Long processId) {
+            this.record = record;
+            this.processId = processId;
+            this.remaining = record.getSteps().get(0).ticks();
+        }
+    }
+
+    /**
+     * 一次回放的状态，只在仿真线程上访问
+     */
+    private static class Run {
+        final Map<Long, Replay> active = new LinkedHashMap<>(); // 进程ID -> 回放中的进程
+        final Consumer<ProcessMetrics> sink;
+        final ReplaySummary summary = new ReplaySummary();
+        long now = 0;
+        long totalTurnaround = 0;
+        long totalWaiting = 0;
+        long totalResponse = 0;
+        boolean running = true;
+
+        Run(Consumer<ProcessMetrics> sink) {
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * 回放轨迹，每个进程完成时把统计结果交给sink
+     * @param maxTicks 滴答上限，达到后终止未完成的进程
+     */
+    public ReplaySummary replay(Reader trace, long maxTicks, Consumer<ProcessMetrics> sink) {
+        if (maxTicks <= 0) {
+            throw new IllegalArgumentException("滴答上限必须大于0: " + maxTicks);
+        }
+        long wallStart = System.nanoTime();
+        ReplaySummary summary = simulator.inVirtualTime(0, () -> doReplay(new TraceReader(trace), maxTicks, sink));
+        summary.setWallTimeMillis((System.nanoTime() - wallStart) / 1_000_000);
+        log.info("轨迹回放完成 - 进程: {}, 完成: {}, 滴答: {}, 平均周转时间: {}, 耗时: {}ms",
+            summary.getProcesses(), summary.getCompleted(), summary.getTicks(),
+            summary.getAverageTurnaround(), summary.getWallTimeMillis());
+        return summary;
+    }
+
+    private ReplaySummary doReplay(TraceReader reader, long maxTicks, Consumer<ProcessMetrics> sink) {
+        Run run = new Run(sink);
+        try {
+            TraceRecord next = reader.next();
+            while ((next != null || !run.active.isEmpty()) && run.now < maxTicks) {
+                List<TraceRecord> arrivals = new ArrayList<>();
+                while (next != null && next.getArrival() <= run.now) {
+                    arrivals.add(next);
+                    next = reader.next();
+                }
+                if (!arrivals.isEmpty()) {
+                    admit(run, arrivals);
+                    simulator.settle();
+                }
+                account(run);
+                run.now++;
+                simulator.step();
+            }
+        } finally {
+            run.running = false;
+            // 达到滴答上限或轨迹出错时终止剩余进程
+            for (Replay replay : new ArrayList<>(run.active.values())) {
+                finish(run, replay, false, run.now);
+            }
+            simulator.settle();
+        }
+
+        ReplaySummary summary = run.summary;
+        summary.setTicks(run.now);
+        if (summary.getCompleted() > 0) {
+            summary.setAverageTurnaround((double) run.totalTurnaround / summary.getCompleted());
+            summary.setAverageWaiting((double) run.totalWaiting / summary.getCompleted());
+            summary.setAverageResponse((double) run.totalResponse / summary.getCompleted());
+        }
+        return summary;
+    }
+
+    /**
+     * 批量创建同一滴答到达的进程
+     */
+    private void admit(Run run, List<TraceRecord> arrivals) {
+        List<Process> processes = new ArrayList<>(arrivals.size());
+        for (TraceRecord record : arrivals) {
+            for (TraceStep step : record.getSteps()) {
+                if (step.kind() == TraceStep.Kind.DEVICE && deviceManager.getDevice(step.deviceId()) == null) {
+                    throw new IllegalArgumentException("第" + record.getLine() + "行: 设备不存在: " + step.deviceId());
+                }
+            }
+            Process process = new Process();
+            process.setName(record.getName());
+            process.setPriority(record.getPriority());
+            process.setMemorySize(record.getMemorySize());
+            processes.add(process);
+        }
+        List<Process> admitted = processScheduler.admitProcesses(processes);
+        for (int i = 0; i < admitted.size(); i++) {
+            Long processId = admitted.get(i).getId();
+            run.active.put(processId, new Replay(arrivals.get(i), processId));
+        }
+        run.summary.setProcesses(run.summary.getProcesses() + admitted.size());
+    }
+
+    /**
+     * 按当前状态为每个进程计一个滴答，状态变化在所有进程计时之后再执行
+     */
+    private void account(Run run) {
+        List<Replay> burstsDone = new ArrayList<>();
+        List<Replay> devicesDone = new ArrayList<>();
+        List<Replay> gone = new ArrayList<>();
+        for (Replay replay : run.active.values()) {
+            Process process = processScheduler.getProcessById(replay.processId);
+            if (process == null || process.getState() == Process.ProcessState.TERMINATED) {
+                gone.add(replay);
+                continue;
+            }
+            switch (process.getState()) {
+                case RUNNING:
+                    if (replay.firstRun < 0) {
+                        replay.firstRun = run.now;
+                    }
+                    replay.cpuTime++;
+                    if (--replay.remaining == 0) {
+                        burstsDone.add(replay);
+                    }
+                    break;
+                case WAITING:
+                    replay.blocked++;
+                    if (replay.deviceId != null && deviceReleased(replay)) {
+                        devicesDone.add(replay);
+                    }
+                    break;
+                default:
+                    replay.waiting++;
+                    break;
+            }
+        }
+
+        // 被其他途径终止的进程按未完成输出
+        gone.forEach(replay -> finish(run, replay, false, run.now));
+        for (Replay replay : devicesDone) {
+            replay.deviceId = null;
+            replay.holdingDevice = false;
+            resume(run, replay, run.now + 1);
+        }
+        for (Replay replay : burstsDone) {
+            advance(run, replay);
+        }
+    }
+
+    /**
+     * 设备是否已由该进程使用完毕：进程先持有设备，之后设备被释放或分配给其他进程
+     */
+    private boolean deviceReleased(Replay replay) {
+        Device device = deviceManager.getDevice(replay.deviceId);
+        boolean holding = replay.processId.equals(device.getCurrentProcessId());
+        if (holding) {
+            replay.holdingDevice = true;
+            return false;
+        }
+        return replay.holdingDevice;
+    }
+
+    /**
+     * CPU阶段结束，进入下一阶段
+     */
+    private void advance(Run run, Replay replay) {
+        replay.stepIndex++;
+        List<TraceStep> steps = replay.record.getSteps();
+        if (replay.stepIndex >= steps.size()) {
+            finish(run, replay, true, run.now + 1);
+            return;
+        }
+        TraceStep step = steps.get(replay.stepIndex);
+        if (step.kind() == TraceStep.Kind.IO) {
+            processScheduler.blockProcess(replay.processId, "等待IO完成");
+            // IO从本滴答结束时开始，持续step.ticks()个滴答，由时钟线程在下一次推进时钟时执行唤醒
+            timerManager.schedule(step.ticks() + 1, () -> {
+                if (run.running && run.active.containsKey(replay.processId)) {
+                    resume(run, replay, run.now);
+                }
+            });
+        } else {
+            // 与请求设备接口相同：设备忙时进入设备的等待队列，进程都进入等待状态
+            replay.deviceId = step.deviceId();
+            replay.holdingDevice = deviceManager.allocateDevice(step.deviceId(), replay.processId, step.ticks());
+            processScheduler.blockProcess(replay.processId, "等待设备: " + step.deviceId());
+        }
+    }
+
+    /**
+     * IO或设备阶段结束，唤醒进程执行下一个CPU阶段
+     * @param time 阶段结束的时间
+     */
+    private void resume(Run run, Replay replay, long time) {
+        replay.stepIndex++;
+        List<TraceStep> steps = replay.record.getSteps();
+        if (replay.stepIndex >= steps.size()) {
+            finish(run, replay, true, time);
+            return;
+        }
+        replay.remaining = steps.get(replay.stepIndex).ticks();
+        processScheduler.wakeUpProcess(processScheduler.getProcessById(replay.processId));
+    }
+
+    private void finish(Run run, Replay replay, boolean completed, long time) {
+        run.active.remove(replay.processId);
+        processScheduler.updateProcessState(replay.processId, Process.ProcessState.TERMINATED);
+
+        ProcessMetrics metrics = new ProcessMetrics();
+        metrics.setLine(replay.record.getLine());
+        metrics.setProcessId(replay.processId);
+        metrics.setName(replay.record.getName());
+        metrics.setArrival(replay.record.getArrival());
+        metrics.setCompleted(completed);
+        metrics.setCompletion(completed ? time : -1);
+        metrics.setTurnaround(completed ? time - replay.record.getArrival() : -1);
+        metrics.setWaiting(replay.waiting);
+        metrics.setResponse(replay.firstRun >= 0 ? replay.firstRun - replay.record.getArrival() : -1);
+        metrics.setBlocked(replay.blocked);
+        metrics.setCpuTime(replay.cpuTime);
+
+        if (completed) {
+            ReplaySummary summary = run.summary;
+            summary.setCompleted(summary.getCompleted() + 1);
+            summary.setMaxTurnaround(Math.max(summary.getMaxTurnaround(), metrics.getTurnaround()));
+            run.totalTurnaround += metrics.getTurnaround();
+            run.totalWaiting += metrics.getWaiting();
+            run.totalResponse += Math.max(0, metrics.getResponse());
+        } else {
+            run.summary.setUnfinished(run.summary.getUnfinished() + 1);
+        }
+        run.sink.accept(metrics);
+    }
+}
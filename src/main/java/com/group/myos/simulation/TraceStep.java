@@ -0,0 +1,54 @@
+package com.group.myos.simulation;
+
+/**
+ * 负载轨迹中进程的一个阶段：CPU执行、IO或使用设备
+ * @param kind 阶段类型
+ * @param ticks 持续的时钟滴答数
+ * @param deviceId 使用的设备ID，仅设备阶段有效
+ */
+public record TraceStep(Kind kind, int ticks, Long deviceId) {
+
+    public enum Kind {
+        CPU,
+        IO,
+        DEVICE
+    }
+
+    /**
+     * 解析一个阶段：cpu:滴答数、io:滴答数 或 device:设备ID:滴答数
+     */
+    public static TraceStep parse(String token) {
+        String[] parts = token.trim().split(":");
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "cpu":
+                    if (parts.length == 2) {
+                        return of(Kind.CPU, Integer.parseInt(parts[1]), null);
+                    }
+                    break;
+                case "io":
+                    if (parts.length == 2) {
+                        return of(Kind.IO, Integer.parseInt(parts[1]), null);
+                    }
+                    break;
+                case "device":
+                    if (parts.length == 3) {
+                        return of(Kind.DEVICE, Integer.parseInt(parts[2]), Long.parseLong(parts[1]));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的阶段: " + token);
+        }
+        throw new IllegalArgumentException("无效的阶段: " + token);
+    }
+
+    private static TraceStep of(Kind kind, int ticks, Long deviceId) {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("阶段持续时间必须大于0: " + kind.name().toLowerCase() + ":" + ticks);
+        }
+        return new TraceStep(kind, ticks, deviceId);
+    }
+}
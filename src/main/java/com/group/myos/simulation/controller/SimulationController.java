@@ -0,0 +1,93 @@
+package com.group.myos.simulation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group.myos.simulation.ReplaySummary;
+import com.group.myos.simulation.SimulationReport;
+import com.group.myos.simulation.SimulationWorkload;
+import com.group.myos.simulation.Simulator;
+import com.group.myos.simulation.TraceReplayer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 仿真控制器
+ * 提供在虚拟时间下运行确定性仿真的REST API接口
+ */
+@RestController
+@RequestMapping("/simulation")
+public class SimulationController {
+    private final Simulator simulator;
+    private final TraceReplayer traceReplayer;
+    private final ObjectMapper objectMapper;
+
+    public SimulationController(Simulator simulator, TraceReplayer traceReplayer, ObjectMapper objectMapper) {
+        this.simulator = simulator;
+        this.traceReplayer = traceReplayer;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 运行仿真
+     * @param workload 负载参数，为空时使用默认参数
+     * @return 仿真结果，参数无效时返回400
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Object>> run(@RequestBody(required = false) SimulationWorkload workload) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            SimulationReport report = simulator.run(workload != null ? workload : new SimulationWorkload());
+            response.put("success", true);
+            response.put("message", "仿真完成");
+            response.put("data", report);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 回放负载轨迹
+     * 请求体为CSV或JSON行格式的轨迹，边读边回放；响应为NDJSON，每个进程完成时输出一行统计结果，
+     * 最后一行为汇总结果。轨迹格式错误时，如果还没有输出则返回400，否则输出一行错误信息
+     * @param maxTicks 滴答上限，达到后终止未完成的进程
+     */
+    @PostMapping("/replay")
+    public void replay(@RequestParam(defaultValue = "1000000") long maxTicks,
+                       Reader trace, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = response.getWriter();
+        try {
+            ReplaySummary summary = traceReplayer.replay(trace, maxTicks, metrics -> writeLine(writer, metrics));
+            writeLine(writer, Map.of("summary", summary));
+        } catch (IllegalArgumentException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            writeLine(writer, Map.of("error", e.getMessage()));
+        }
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.group.myos.interrupt.model.InterruptType;
 import com.group.myos.interrupt.event.ClockInterruptEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -19,17 +20,30 @@ import java.util.stream.Collectors;
  * 系统时钟管理器
  * 负责系统时钟的启动、停止和定时任务调度
  * 同时负责触发时钟中断
+ * 系统时间以滴答计，实时模式下每秒滴答一次；虚拟时间（仿真）模式下不再按墙上时钟滴答，
+ * 只由仿真器调用tick()推进，定时任务按滴答排序在事件队列中，不需要真实等待
  */
 @Slf4j
 @Component
 public class TimerManager {
     private static final int CLOCK_INTERRUPT_INTERVAL = 1; // 时钟中断间隔（秒）
-    private long currentTime = 0;
-    private boolean isRunning = false;
+    private static final long TICK_MILLIS = 1000; // 一个滴答对应的毫秒数
+    private volatile long currentTime = 0;
+    private volatile boolean isRunning = false;
+    private final PriorityQueue<TimerTask> timerTasks = new PriorityQueue<>(
+        Comparator.comparingLong(TimerTask::dueTime).thenComparingLong(TimerTask::sequence)); // 按到期滴答排序的定时任务
+    private long nextSequence = 0;
+    private volatile Random random = new Random(); // 模拟随机事件的随机源，仿真时由种子初始化以保证结果可重现
+
+    @Value("${myos.simulation.enabled:false}")
+    private volatile boolean virtualTime; // 虚拟时间模式，墙上时钟不再驱动滴答
 
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
+    private record TimerTask(long dueTime, long sequence, Runnable action) {
+    }
+
     @PostConstruct
     public void init() {
         start();
@@ -63,10 +77,54 @@ public class TimerManager {
     }
 
     /**
-     * 系统时钟滴答
-     * 每秒执行一次
+     * 当前时间（毫秒），虚拟时间模式下由滴答数换算
+     */
+    public long currentTimeMillis() {
+        return virtualTime ? currentTime * TICK_MILLIS : System.currentTimeMillis();
+    }
+
+    public boolean isVirtualTime() {
+        return virtualTime;
+    }
+
+    public void setVirtualTime(boolean virtualTime) {
+        this.virtualTime = virtualTime;
+        log.info(virtualTime ? "切换到虚拟时间模式" : "切换到实时模式");
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * 用种子重置随机源
+     */
+    public void reseed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 在指定滴答数之后执行任务，任务在时钟线程上执行，应尽快返回
+     */
+    public void schedule(long delayTicks, Runnable action) {
+        synchronized (timerTasks) {
+            timerTasks.offer(new TimerTask(currentTime + Math.max(0, delayTicks), nextSequence++, action));
+        }
+    }
+
+    /**
+     * 墙上时钟驱动的滴答，每秒执行一次，虚拟时间模式下不执行
      */
     @Scheduled(fixedRate = 1000) // 每秒执行一次
+    public void scheduledTick() {
+        if (!virtualTime) {
+            tick();
+        }
+    }
+
+    /**
+     * 系统时钟滴答
+     */
     public void tick() {
         if (!isRunning) {
             return;
@@ -74,6 +132,9 @@ public class TimerManager {
 
         currentTime++;
         
+        // 执行到期的定时任务
+        runDueTasks();
+        
         // 发布设备超时检查事件
         eventPublisher.publishEvent(new DeviceTimeoutEvent(currentTime, null, "设备超时检查"));
         
@@ -83,6 +144,23 @@ public class TimerManager {
         }
     }
 
+    private void runDueTasks() {
+        while (true) {
+            TimerTask task;
+            synchronized (timerTasks) {
+                if (timerTasks.isEmpty() || timerTasks.peek().dueTime() > currentTime) {
+                    return;
+                }
+                task = timerTasks.poll();
+            }
+            try {
+                task.action().run();
+            } catch (RuntimeException e) {
+                log.error("定时任务执行失败", e);
+            }
+        }
+    }
+
     /**
      * 触发时钟中断
      */
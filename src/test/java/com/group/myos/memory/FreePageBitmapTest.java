@@ -0,0 +1,73 @@
+package com.group.myos.memory;
+
+import com.group.myos.memory.impl.FreePageBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FreePageBitmapTest {
+
+    @Test
+    void testAllocateAndReleaseAcrossLevels() {
+        // 64^3 + 5 页，共4层
+        FreePageBitmap bitmap = new FreePageBitmap(262_149);
+        assertEquals(262_149, bitmap.freeCount());
+        for (int i = 0; i < 262_149; i++) {
+            assertEquals(i, bitmap.allocate());
+        }
+        assertEquals(0, bitmap.freeCount());
+        assertEquals(-1, bitmap.allocate());
+        assertEquals(-1, bitmap.nextFree(0));
+
+        // 只释放最后一页，需要逐层上升再下降才能找到
+        assertTrue(bitmap.release(262_148));
+        assertFalse(bitmap.release(262_148));
+        assertEquals(1, bitmap.freeCount());
+        assertEquals(262_148, bitmap.nextFree(0));
+        assertEquals(262_148, bitmap.allocate());
+
+        assertTrue(bitmap.release(70_000));
+        assertEquals(70_000, bitmap.nextFree(5));
+        assertEquals(-1, bitmap.nextFree(70_001));
+        assertEquals(70_001, bitmap.nextUsed(70_000));
+    }
+
+    @Test
+    void testMatchesLinearScan() {
+        int capacity = 5_000;
+        FreePageBitmap bitmap = new FreePageBitmap(capacity);
+        boolean[] used = new boolean[capacity];
+        int usedCount = 0;
+        Random random = new Random(42);
+        for (int step = 0; step < 20_000; step++) {
+            int page = random.nextInt(capacity);
+            if (random.nextBoolean()) {
+                assertEquals(!used[page], bitmap.take(page));
+                usedCount += used[page] ? 0 : 1;
+                used[page] = true;
+            } else {
+                assertEquals(used[page], bitmap.release(page));
+                usedCount -= used[page] ? 1 : 0;
+                used[page] = false;
+            }
+            assertEquals(capacity - usedCount, bitmap.freeCount());
+
+            int from = random.nextInt(capacity);
+            int expectedFree = -1;
+            for (int i = from; i < capacity && expectedFree < 0; i++) {
+                expectedFree = used[i] ? -1 : i;
+            }
+            int expectedUsed = capacity;
+            for (int i = from; i < capacity; i++) {
+                if (used[i]) {
+                    expectedUsed = i;
+                    break;
+                }
+            }
+            assertEquals(expectedFree, bitmap.nextFree(from));
+            assertEquals(expectedUsed, bitmap.nextUsed(from));
+        }
+    }
+}
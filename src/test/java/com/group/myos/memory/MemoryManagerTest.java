@@ -5,8 +5,10 @@ import com.group.myos.memory.model.MemoryBlock;
 import com.group.myos.process.model.Process;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -65,11 +67,11 @@ public class MemoryManagerTest {
     void testMemoryAllocationAndFree() {
         // 测试内存分配和释放
         assertTrue(memoryManager.allocateMemoryForProcess(process1, 16));
-        int freeMemoryAfterAllocation = memoryManager.getFreeMemorySize();
+        long freeMemoryAfterAllocation = memoryManager.getFreeMemorySize();
         assertEquals(1008, freeMemoryAfterAllocation);
 
         memoryManager.freeMemoryForProcess(process1);
-        int freeMemoryAfterFree = memoryManager.getFreeMemorySize();
+        long freeMemoryAfterFree = memoryManager.getFreeMemorySize();
 
         assertEquals(1024, freeMemoryAfterFree); // 释放后应该恢复全部内存
         assertEquals(0.0, memoryManager.getMemoryUsage());
@@ -100,7 +102,7 @@ public class MemoryManagerTest {
         assertTrue(memoryManager.allocateMemoryForProcess(process1, 16));
         assertTrue(memoryManager.allocateMemoryForProcess(process2, 32));
 
-        int allocatedMemory = 1024 - memoryManager.getFreeMemorySize();
+        long allocatedMemory = 1024 - memoryManager.getFreeMemorySize();
         assertEquals(48, allocatedMemory);
 
         memoryManager.freeMemoryForProcess(process1);
@@ -167,4 +169,114 @@ public class MemoryManagerTest {
             assertEquals(0, status[i]);
         }
     }
+
+    @Test
+    void testBatchAllocation() {
+        // 进程1先占用前4页，批量分配应跳过已占用的页
+        assertTrue(memoryManager.allocateMemoryForProcess(process1, 16));
+        Process largeProcess = new Process();
+        largeProcess.setId(5L);
+        largeProcess.setMemorySize(2048);
+
+        boolean[] allocated = memoryManager.allocateMemoryForProcesses(List.of(process2, largeProcess, process3));
+        assertArrayEquals(new boolean[] {true, false, true}, allocated);
+        assertEquals(1024 - 16 - 32 - 16, memoryManager.getFreeMemorySize());
+
+        long[] status = memoryManager.getMemoryStatus();
+        for (int i = 4; i < 12; i++) {
+            assertEquals(2, status[i]);
+        }
+        for (int i = 12; i < 16; i++) {
+            assertEquals(3, status[i]);
+        }
+
+        // 批量分配的内存可以正常释放
+        memoryManager.freeMemoryForProcess(process2);
+        assertEquals(1024 - 16 - 16, memoryManager.getFreeMemorySize());
+    }
+
+    @Test
+    void testLargeConfiguredMemory() {
+        // 64 GiB、4096字节的页：16M个物理页，物理内存写入时才按段分配
+        MemoryManagerImpl large = new MemoryManagerImpl(64L << 30, 4096, 1024, null, 16);
+        assertEquals(64L << 30, large.getTotalMemorySize());
+        assertEquals(64L << 30, large.getFreeMemorySize());
+        assertEquals(1, large.getMemoryStatus(16_777_215, 10).length);
+        assertEquals(0, large.getMemoryStatus(16_777_216, 1).length);
+        assertEquals(0, large.getAllocatedMemoryBytes());
+
+        assertTrue(large.allocateMemoryForProcess(process1, 4 * 4096));
+        assertEquals((64L << 30) - 4 * 4096, large.getFreeMemorySize());
+        assertArrayEquals(new long[] {1, 1, 1, 1, 0}, large.getMemoryStatus(0, 5));
+        assertEquals(0, large.getAllocatedMemoryBytes());
+
+        // 第一次写入只分配所在的一段（64 MiB）；虚拟地址不能超过 最大页数 × 页大小
+        assertTrue(large.writeMemory(process1, 4 * 4096 - 1, new byte[] {42}));
+        assertArrayEquals(new byte[] {42}, large.readMemory(process1, 4 * 4096 - 1, 1));
+        assertArrayEquals(new byte[] {0}, large.readMemory(process1, 0, 1));
+        assertFalse(large.writeMemory(process1, 1024 * 4096, new byte[] {1}));
+        assertEquals(64L << 20, large.getAllocatedMemoryBytes());
+
+        large.freeMemoryForProcess(process1);
+        assertEquals(0.0, large.getMemoryUsage());
+        large.close();
+        assertThrows(IllegalArgumentException.class, () -> new MemoryManagerImpl((64L << 30) + 4096, 4096, 256));
+        assertThrows(IllegalArgumentException.class, () -> new MemoryManagerImpl(1000, 3, 256));
+    }
+
+    @Test
+    void testTypedAccessAcrossPages() {
+        assertTrue(memoryManager.allocateMemoryForProcess(process1, 16));
+
+        // 页大小为4，long 跨两页，int 正好一页
+        assertTrue(memoryManager.writeLong(process1, 2, 0x0102030405060708L));
+        assertEquals(0x0102030405060708L, memoryManager.readLong(process1, 2));
+        assertArrayEquals(new byte[] {8, 7, 6, 5, 4, 3, 2, 1}, memoryManager.readMemory(process1, 2, 8));
+        assertTrue(memoryManager.writeInt(process1, 12, -7));
+        assertEquals(-7, memoryManager.readInt(process1, 12));
+        assertTrue(memoryManager.getPageEntry(process1, 1).isDirty());
+
+        // 第5页无效：读写都不生效，并触发缺页中断分配该页
+        assertNull(memoryManager.readInt(process1, 14));
+        assertTrue(memoryManager.isPageValid(process1, 4));
+        assertEquals(-7, memoryManager.readInt(process1, 12));
+
+        // 换出再换入后内容不变，新分配的页内容为0
+        memoryManager.swapOutPage(process1, 1);
+        assertFalse(memoryManager.isPageValid(process1, 1));
+        assertTrue(memoryManager.allocatePage(process2, 0));
+        assertArrayEquals(new byte[4], memoryManager.readMemory(process2, 0, 4));
+        memoryManager.swapInPage(process1, 1);
+        assertEquals(0x0102030405060708L, memoryManager.readLong(process1, 2));
+    }
+
+    @Test
+    void testSwapFile(@TempDir Path dir) {
+        Path file = dir.resolve("swap.bin");
+        MemoryManagerImpl swapping = new MemoryManagerImpl(64, 4, 16, file.toString(), 2);
+        assertTrue(swapping.allocateMemoryForProcess(process1, 16));
+        for (int page = 0; page < 4; page++) {
+            assertTrue(swapping.writeInt(process1, page * 4, 100 + page));
+        }
+        assertEquals(4L * 2, file.toFile().length());
+
+        // 两个槽位用完后页面留在内存中
+        swapping.swapOutPage(process1, 0);
+        swapping.swapOutPage(process1, 1);
+        swapping.swapOutPage(process1, 2);
+        assertEquals(2, swapping.getSwappedPageCount());
+        assertFalse(swapping.isPageValid(process1, 1));
+        assertTrue(swapping.isPageValid(process1, 2));
+
+        // 访问换出的页时从交换区换入，槽位被释放
+        assertNull(swapping.readInt(process1, 4));
+        assertEquals(101, swapping.readInt(process1, 4));
+        assertEquals(1, swapping.getSwappedPageCount());
+
+        // 进程释放内存时丢弃换出的页
+        swapping.freeMemoryForProcess(process1);
+        assertEquals(0, swapping.getSwappedPageCount());
+        assertEquals(64, swapping.getFreeMemorySize());
+        swapping.close();
+    }
 }
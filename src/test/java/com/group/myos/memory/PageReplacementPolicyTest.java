@@ -0,0 +1,155 @@
+package com.group.myos.memory;
+
+import com.group.myos.memory.impl.MemoryManagerImpl;
+import com.group.myos.memory.model.ReplacementStats;
+import com.group.myos.memory.replacement.PageReplacementPolicy;
+import com.group.myos.memory.replacement.ReplacementAlgorithm;
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageReplacementPolicyTest {
+
+    @Test
+    void testLruAndClockVictims() {
+        PageReplacementPolicy lru = ReplacementAlgorithm.LRU.create(3);
+        PageReplacementPolicy clock = ReplacementAlgorithm.CLOCK.create(3);
+        for (PageReplacementPolicy policy : List.of(lru, clock)) {
+            for (int frame = 0; frame < 3; frame++) {
+                policy.onLoad(frame, frame);
+            }
+        }
+        lru.onAccess(0, false);
+        assertEquals(1, lru.selectVictim(9));
+        assertEquals(2, lru.residentCount());
+
+        // 装入时访问位为1，第一圈全部清零后换出指针处的页
+        assertEquals(0, clock.selectVictim(9));
+        clock.onAccess(1, false);
+        assertEquals(2, clock.selectVictim(9));
+        clock.onRemove(1);
+        assertEquals(-1, clock.selectVictim(9));
+    }
+
+    @Test
+    void testRandomTracesKeepResidentSetConsistent() {
+        for (ReplacementAlgorithm algorithm : ReplacementAlgorithm.values()) {
+            Random random = new Random(7);
+            int frames = 32;
+            int[] trace = new int[20_000];
+            for (int i = 0; i < trace.length; i++) {
+                // 一半访问落在8个热页上
+                trace[i] = random.nextBoolean() ? random.nextInt(8) : random.nextInt(200);
+            }
+            replay(algorithm, frames, trace, random);
+        }
+    }
+
+    @Test
+    void testScanResistance() {
+        // 每轮把8个热页各连续访问两次，再顺序扫描8个只访问一次的页
+        // 热页的重用距离为16，超过12个物理页，LRU 每轮只有第二次访问命中
+        List<Integer> trace = new ArrayList<>();
+        int scanKey = 1000;
+        for (int round = 0; round < 200; round++) {
+            for (int hot = 0; hot < 8; hot++) {
+                trace.add(hot);
+                trace.add(hot);
+            }
+            for (int i = 0; i < 8; i++) {
+                trace.add(scanKey++);
+            }
+        }
+        int[] keys = trace.stream().mapToInt(Integer::intValue).toArray();
+        int lruHits = replay(ReplacementAlgorithm.LRU, 12, keys, null);
+        assertTrue(replay(ReplacementAlgorithm.ARC, 12, keys, null) > lruHits);
+        assertTrue(replay(ReplacementAlgorithm.CLOCK_PRO, 12, keys, null) > lruHits);
+    }
+
+    /**
+     * 按访问序列驱动置换策略，检查换出的页确实驻留，返回命中次数
+     * random 不为空时随机释放一些物理页
+     */
+    private static int replay(ReplacementAlgorithm algorithm, int frames, int[] trace, Random random) {
+        PageReplacementPolicy policy = algorithm.create(frames);
+        Map<Long, Integer> resident = new HashMap<>();
+        long[] frameKeys = new long[frames];
+        Deque<Integer> free = new ArrayDeque<>();
+        for (int frame = 0; frame < frames; frame++) {
+            free.add(frame);
+        }
+        int hits = 0;
+        for (int key : trace) {
+            Integer frame = resident.get((long) key);
+            if (frame != null) {
+                policy.onAccess(frame, random != null && random.nextBoolean());
+                hits++;
+            } else {
+                if (free.isEmpty()) {
+                    int victim = policy.selectVictim(key);
+                    assertTrue(victim >= 0 && resident.remove(frameKeys[victim]) != null, algorithm + " 换出了未驻留的页");
+                    free.add(victim);
+                }
+                frame = free.poll();
+                frameKeys[frame] = key;
+                resident.put((long) key, frame);
+                policy.onLoad(frame, key);
+            }
+            if (random != null && random.nextInt(100) == 0) {
+                Integer released = resident.remove((long) trace[random.nextInt(trace.length)]);
+                if (released != null) {
+                    policy.onRemove(released);
+                    free.add(released);
+                }
+            }
+            assertEquals(resident.size(), policy.residentCount(), algorithm.name());
+        }
+        return hits;
+    }
+
+    @Test
+    void testManagerReplacesPagesAndSwitchesAlgorithm() {
+        // 4个物理页
+        MemoryManagerImpl memoryManager = new MemoryManagerImpl(16, 4, 16, null, 0, "clock");
+        Process process = new Process();
+        process.setId(1L);
+        for (int page = 0; page < 8; page++) {
+            // 第一次写入缺页，第二次写入成功
+            assertFalse(memoryManager.writeInt(process, page * 4, page));
+            assertTrue(memoryManager.writeInt(process, page * 4, page));
+        }
+        assertEquals(4, memoryManager.getSwappedPageCount());
+
+        memoryManager.setReplacementAlgorithm("clock-pro");
+        assertEquals(ReplacementAlgorithm.CLOCK_PRO, memoryManager.getReplacementAlgorithm());
+        for (int page = 0; page < 8; page++) {
+            Integer value = memoryManager.readInt(process, page * 4);
+            if (value == null) {
+                value = memoryManager.readInt(process, page * 4);
+            }
+            assertEquals(page, value);
+        }
+        assertEquals(4, memoryManager.getSwappedPageCount());
+
+        Map<String, ReplacementStats> stats = new HashMap<>();
+        memoryManager.getReplacementStats().forEach(s -> stats.put(s.getAlgorithm(), s));
+        assertEquals(8, stats.get("CLOCK").getFaults());
+        assertEquals(8, stats.get("CLOCK").getHits());
+        assertEquals(4, stats.get("CLOCK").getEvictions());
+        assertTrue(stats.get("CLOCK_PRO").getFaults() > 0);
+        assertEquals(stats.get("CLOCK_PRO").getFaults(), stats.get("CLOCK_PRO").getEvictions());
+        assertEquals(0, stats.get("ARC").getHits());
+
+        assertThrows(IllegalArgumentException.class, () -> memoryManager.setReplacementAlgorithm("FIFO"));
+        memoryManager.close();
+    }
+}
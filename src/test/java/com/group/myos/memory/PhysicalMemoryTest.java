@@ -0,0 +1,45 @@
+package com.group.myos.memory;
+
+import com.group.myos.memory.impl.PhysicalMemory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhysicalMemoryTest {
+
+    @Test
+    void testSegmentsBeyondTwoGigabytesAreAllocatedOnWrite() {
+        // 1M个4 KiB页，共4 GiB，每段16384页（64 MiB）
+        int frames = 1 << 20;
+        PhysicalMemory memory = new PhysicalMemory(frames, 4096);
+        assertEquals(4L << 30, memory.sizeInBytes());
+        assertEquals(0, memory.allocatedBytes());
+
+        // 没有写过的页读出0，不分配
+        assertEquals(0L, memory.getLong(frames - 1, 4088));
+        memory.clear(frames - 1);
+        assertEquals(0, memory.allocatedBytes());
+
+        memory.putLong(frames - 1, 4088, 0x0102030405060708L);
+        memory.putInt(0, 0, 42);
+        assertEquals(2L << 26, memory.allocatedBytes());
+        assertEquals(0x0102030405060708L, memory.getLong(frames - 1, 4088));
+        assertEquals(0x08, memory.getByte(frames - 1, 4088)); // 小端序
+
+        // 跨段复制整页，换出再换入
+        memory.copy(frames - 1, 0);
+        assertEquals(0x0102030405060708L, memory.getLong(0, 4088));
+        ByteBuffer slot = ByteBuffer.allocate(4096);
+        memory.store(0, slot, 0);
+        memory.copy(1, 0); // 第1页没有写过，复制后为0
+        assertEquals(0L, memory.getLong(0, 4088));
+        memory.load(0, slot, 0);
+        assertEquals(0x0102030405060708L, memory.getLong(0, 4088));
+        assertEquals(2L << 26, memory.allocatedBytes());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.getInt(frames, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.putInt(0, 4093, 1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.group.myos.memory;
+
+import com.group.myos.memory.impl.PhysicalMemory;
+import com.group.myos.memory.impl.SwapDevice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwapDeviceTest {
+
+    @Test
+    void testSwapFileBeyondTwoGigabytes(@TempDir Path dir) {
+        // 1M个4 KiB槽位，共4 GiB，分成4个1 GiB的区域映射
+        Path file = dir.resolve("swap.bin");
+        try (SwapDevice swap = new SwapDevice(file.toString(), 1 << 20, 4096)) {
+            assertEquals(4L << 30, swap.sizeInBytes());
+            assertEquals(4, swap.regionCount());
+            assertEquals(4L << 30, file.toFile().length());
+
+            PhysicalMemory memory = new PhysicalMemory(2, 4096);
+            memory.putLong(0, 4088, 42L);
+            assertTrue(swap.pageOut(1, 0, memory, 0));
+            memory.clear(0);
+            assertTrue(swap.pageIn(1, 0, memory, 0));
+            assertEquals(42L, memory.getLong(0, 4088));
+        }
+    }
+
+    @Test
+    void testSlotsAcrossRegions(@TempDir Path dir) {
+        // 每个区域两个槽位，5个槽位分成3个区域，最后一个区域只有一个槽位
+        Path file = dir.resolve("swap.bin");
+        try (SwapDevice swap = new SwapDevice(file.toString(), 5, 8, 16)) {
+            assertEquals(3, swap.regionCount());
+            assertEquals(40, file.toFile().length());
+
+            PhysicalMemory memory = new PhysicalMemory(6, 8);
+            for (int page = 0; page < 5; page++) {
+                memory.putLong(page, 0, 100 + page);
+                assertTrue(swap.pageOut(1, page, memory, page));
+            }
+            assertFalse(swap.pageOut(1, 5, memory, 5));
+            assertEquals(5, swap.usedSlots());
+
+            // 最后一个区域的页与驻留页交换
+            memory.putLong(5, 0, 200);
+            assertTrue(swap.exchange(1, 4, 2, 0, memory, 5));
+            assertEquals(104, memory.getLong(5, 0));
+
+            for (int page = 3; page >= 0; page--) {
+                memory.clear(page);
+                assertTrue(swap.pageIn(1, page, memory, page));
+                assertEquals(100 + page, memory.getLong(page, 0));
+            }
+            assertTrue(swap.pageIn(2, 0, memory, 0));
+            assertEquals(200, memory.getLong(0, 0));
+            assertEquals(0, swap.usedSlots());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new SwapDevice(null, 4, 8, 4));
+    }
+}
@@ -0,0 +1,91 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import com.group.myos.process.scheduling.PriorityReadyQueue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BurstPredictorTest {
+
+    private static Process process(long id, Integer cpuTime) {
+        Process process = new Process(id, "P" + id, 0, Process.ProcessState.READY, 16);
+        process.setCpuTime(cpuTime);
+        return process;
+    }
+
+    private static void run(BurstPredictor predictor, Process process, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            predictor.consume(process);
+        }
+    }
+
+    @Test
+    void testExponentialAveraging() {
+        BurstPredictor predictor = new BurstPredictor(0.5, 10);
+        Process process = process(1L, null);
+        assertEquals(10, predictor.estimateOf(process), 1e-9);
+
+        // τ1 = 0.5·6 + 0.5·10 = 8，τ2 = 0.5·4 + 0.5·8 = 6
+        run(predictor, process, 6);
+        assertEquals(4, predictor.remainingBurst(process), 1e-9);
+        assertEquals(6, predictor.endBurst(process));
+        assertEquals(8, predictor.estimateOf(process), 1e-9);
+        run(predictor, process, 4);
+        assertEquals(4, predictor.endBurst(process));
+        assertEquals(6, predictor.estimateOf(process), 1e-9);
+
+        // 超出预测值后剩余区间为0
+        run(predictor, process, 7);
+        assertEquals(0, predictor.remainingBurst(process), 1e-9);
+    }
+
+    @Test
+    void testWorkCompletes() {
+        BurstPredictor predictor = new BurstPredictor(0.5, 10);
+        Process process = process(1L, 3);
+        // 没有结束过区间时以工作量为预测值
+        assertEquals(3, predictor.estimateOf(process), 1e-9);
+        assertFalse(predictor.consume(process));
+        assertFalse(predictor.consume(process));
+        assertEquals(1, predictor.remainingBurst(process), 1e-9);
+        assertTrue(predictor.consume(process));
+        assertEquals(0, process.getRemainingCpuTime());
+
+        // 未指定工作量的进程不会完成
+        Process endless = process(2L, null);
+        run(predictor, endless, 100);
+        assertFalse(predictor.consume(endless));
+    }
+
+    @Test
+    void testShortestRemainingOrder() {
+        BurstPredictor predictor = new BurstPredictor(0.5, 10);
+        PriorityReadyQueue queue = PriorityReadyQueue.byShortestRemaining(predictor::remainingBurst);
+        Process longJob = process(1L, 8);
+        Process shortJob = process(2L, 2);
+        Process unknown = process(3L, null);
+        queue.offer(longJob);
+        queue.offer(unknown);
+        queue.offer(shortJob);
+        assertEquals(shortJob, queue.peek());
+
+        // 运行进程剩余时间少于队头时不被抢占
+        Process running = process(4L, 5);
+        run(predictor, running, 4);
+        assertFalse(queue.shouldPreempt(running));
+        assertTrue(queue.shouldPreempt(process(5L, 6)));
+
+        // SJF不抢占
+        PriorityReadyQueue sjf = PriorityReadyQueue.byShortestJob(predictor::remainingBurst);
+        sjf.offer(shortJob);
+        assertFalse(sjf.shouldPreempt(process(6L, 9)));
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BurstPredictor(1.5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new BurstPredictor(0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> BurstPredictor.validate(process(1L, 0)));
+    }
+}
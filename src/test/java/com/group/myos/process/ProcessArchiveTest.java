@@ -0,0 +1,118 @@
+package com.group.myos.process;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group.myos.process.model.ArchivedProcess;
+import com.group.myos.process.model.Process;
+import com.group.myos.process.model.ProcessTransition;
+import com.group.myos.process.repository.ProcessArchive;
+import com.group.myos.process.repository.ProcessRepository;
+import com.group.myos.process.repository.ProcessTransitionRepository;
+import com.group.myos.simulation.Simulator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "myos.simulation.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:archivedb"
+})
+public class ProcessArchiveTest {
+
+    @Autowired
+    private ProcessScheduler processScheduler;
+
+    @Autowired
+    private Simulator simulator;
+
+    @Autowired
+    private ProcessRepository processRepository;
+
+    @Autowired
+    private ProcessTransitionRepository transitionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testTerminatedProcessesAreArchivedAndStillQueryable() {
+        List<Process> finished = simulator.inVirtualTime(0, () -> {
+            List<Process> processes = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Process process = new Process();
+                process.setName("Archived" + i);
+                process.setMemorySize(1);
+                process.setCpuTime(2);
+                processes.add(processScheduler.addProcess(process));
+            }
+            simulator.settle();
+            for (int tick = 0; tick < 6; tick++) {
+                simulator.step();
+            }
+            processes.forEach(p -> assertEquals(Process.ProcessState.TERMINATED, processScheduler.getProcessById(p.getId()).getState()));
+            return processes;
+        });
+        Map<Long, Integer> transitionCounts = new HashMap<>();
+        finished.forEach(p -> transitionCounts.put(p.getId(), processScheduler.getProcessTransitionHistory(p.getId()).size()));
+
+        // 只保留最近终止的一个进程
+        int archived = processScheduler.archiveTerminatedProcesses(-1, 1);
+        assertEquals(2, archived);
+        List<Process> kept = finished.stream().filter(p -> processScheduler.getProcessById(p.getId()) != null).toList();
+        assertEquals(1, kept.size());
+        assertFalse(processScheduler.isArchived(kept.get(0).getId()));
+        Process oldest = finished.stream().filter(p -> processScheduler.isArchived(p.getId())).findFirst().orElseThrow();
+        int transitionCount = transitionCounts.get(oldest.getId());
+        assertTrue(transitionCount >= 3);
+        assertFalse(processRepository.existsById(oldest.getId()));
+        assertTrue(transitionRepository.findByProcessId(oldest.getId()).isEmpty());
+
+        // 归档后仍能分页查询状态转换历史和CPU区间
+        Page<ProcessTransition> page = processScheduler.getProcessTransitionHistory(oldest.getId(), PageRequest.of(0, 2));
+        assertEquals(transitionCount, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertEquals(Process.ProcessState.NEW, page.getContent().get(0).getFromState());
+        Page<ProcessTransition> last = processScheduler.getProcessTransitionHistory(oldest.getId(),
+            PageRequest.of((transitionCount - 1) / 2, 2));
+        assertEquals(Process.ProcessState.TERMINATED, last.getContent().get(last.getContent().size() - 1).getToState());
+        assertEquals(List.of(2), processScheduler.getBurstHistory(oldest.getId()));
+
+        ArchivedProcess snapshot = processScheduler.getArchivedProcess(oldest.getId());
+        assertEquals(oldest.getName(), snapshot.getProcess().getName());
+        assertSame(snapshot.getProcess(), snapshot.getTransitions().get(0).getProcess());
+    }
+
+    @Test
+    public void testArchiveFileIsReopened(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("archive.bin");
+        ProcessArchive archive = new ProcessArchive(objectMapper, file.toString());
+        for (long id = 1; id <= 2; id++) {
+            Process process = new Process(id, "P" + id, 0, Process.ProcessState.TERMINATED, 4);
+            ArchivedProcess archived = new ArchivedProcess();
+            archived.setProcess(process);
+            archived.setTransitions(new ArrayList<>(List.of(
+                new ProcessTransition(process, Process.ProcessState.RUNNING, Process.ProcessState.TERMINATED, "进程终止"))));
+            archive.append(List.of(archived));
+        }
+        archive.close();
+
+        // 重新打开时逐帧重建索引
+        ProcessArchive reopened = new ProcessArchive(objectMapper, file.toString());
+        assertEquals(2, reopened.size());
+        ArchivedProcess second = reopened.get(2L);
+        assertEquals("P2", second.getProcess().getName());
+        assertEquals("进程终止", second.getTransitions().get(0).getReason());
+        assertNull(reopened.get(3L));
+        reopened.close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import com.group.myos.process.model.ProcessTransition;
+import com.group.myos.process.repository.ProcessJournal;
+import com.group.myos.process.repository.ProcessRepository;
+import com.group.myos.process.repository.ProcessTransitionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ProcessJournalTest {
+
+    @Autowired
+    private ProcessJournal processJournal;
+
+    @Autowired
+    private ProcessRepository processRepository;
+
+    @Autowired
+    private ProcessTransitionRepository processTransitionRepository;
+
+    @Test
+    public void testSavesAreCoalescedAndFlushed() {
+        Process process = new Process();
+        process.setName("JournalProcess");
+        process.setState(Process.ProcessState.NEW);
+        process = processRepository.save(process);
+
+        // 多次保存同一进程只保留一条待写入记录
+        process.setState(Process.ProcessState.READY);
+        processJournal.save(process);
+        process.setState(Process.ProcessState.RUNNING);
+        processJournal.save(process);
+        processJournal.record(new ProcessTransition(process, Process.ProcessState.NEW, Process.ProcessState.READY, "创建"));
+        ProcessTransition transition = new ProcessTransition(process, Process.ProcessState.READY, Process.ProcessState.RUNNING, "调度执行");
+        processJournal.record(transition);
+
+        // 保存后再修改对象不影响待写入的记录
+        process.setState(Process.ProcessState.TERMINATED);
+        transition.setReason("已修改");
+
+        // 刷新前从日志读到尚未写入的状态
+        assertEquals(Process.ProcessState.RUNNING, processJournal.pendingState(process.getId()));
+
+        processJournal.flush();
+        assertEquals(0, processJournal.getPendingCount());
+        assertNull(processJournal.pendingState(process.getId()));
+
+        Process stored = processRepository.findById(process.getId()).orElse(null);
+        assertNotNull(stored);
+        assertEquals(Process.ProcessState.RUNNING, stored.getState());
+
+        List<ProcessTransition> transitions = processTransitionRepository.findByProcessId(process.getId());
+        assertEquals(2, transitions.size());
+        assertEquals("调度执行", transitions.get(1).getReason());
+    }
+
+    @Test
+    public void testDiscardDropsPendingRecords() {
+        Process process = new Process();
+        process.setName("DiscardedProcess");
+        process = processRepository.save(process);
+
+        process.setState(Process.ProcessState.READY);
+        processJournal.save(process);
+        processJournal.record(new ProcessTransition(process, Process.ProcessState.NEW, Process.ProcessState.READY, "创建"));
+        processJournal.discard(process.getId());
+        processJournal.flush();
+
+        assertEquals(Process.ProcessState.NEW, processRepository.findById(process.getId()).orElseThrow().getState());
+        assertTrue(processTransitionRepository.findByProcessId(process.getId()).isEmpty());
+    }
+
+    @Test
+    public void testInsertAllAssignsIds() {
+        Process first = new Process();
+        first.setName("BatchProcess1");
+        first.setState(Process.ProcessState.NEW);
+        Process second = new Process();
+        second.setName("BatchProcess2");
+        second.setState(Process.ProcessState.NEW);
+        second.setCpuAffinity(2L);
+
+        processJournal.insertAll(List.of(first, second));
+
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        assertNotEquals(first.getId(), second.getId());
+        Process stored = processRepository.findById(second.getId()).orElseThrow();
+        assertEquals("BatchProcess2", stored.getName());
+        assertEquals(2L, stored.getCpuAffinity());
+    }
+}
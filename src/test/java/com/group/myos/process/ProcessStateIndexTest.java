@@ -0,0 +1,58 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessStateIndexTest {
+    private ProcessStateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProcessStateIndex();
+    }
+
+    @Test
+    void testStateChangesUpdateViewsAndCounters() {
+        Process process1 = new Process(1L, "Process1", 0, Process.ProcessState.READY, 16);
+        Process process2 = new Process(2L, "Process2", 0, Process.ProcessState.READY, 16);
+        Process row1 = index.put(process1);
+        index.put(process2);
+        assertEquals(2, index.count(Process.ProcessState.READY));
+
+        index.setState(row1, Process.ProcessState.WAITING);
+        assertEquals(Process.ProcessState.WAITING, row1.getState());
+        assertEquals(Process.ProcessState.WAITING, index.get(1L).getState());
+        assertEquals(1, index.count(Process.ProcessState.READY));
+        assertEquals(1, index.count(Process.ProcessState.WAITING));
+        assertEquals(List.of(process1), index.list(Process.ProcessState.WAITING));
+        assertTrue(index.isInState(process1, Process.ProcessState.WAITING));
+
+        index.setState(row1, Process.ProcessState.TERMINATED);
+        assertEquals(0, index.count(Process.ProcessState.WAITING));
+        assertEquals(1, index.count(Process.ProcessState.TERMINATED));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testRemoveAndUnindexedProcess() {
+        Process process = new Process(1L, "Process1", 0, Process.ProcessState.READY, 16);
+        index.put(process);
+        Process removed = index.remove(1L);
+        assertEquals(process, removed);
+        assertNotSame(process, removed);
+        assertNull(index.get(1L));
+        assertEquals(0, index.count(Process.ProcessState.READY));
+        assertEquals(0, index.size());
+
+        // 未加入索引的进程只修改状态
+        Process other = new Process(2L, "Process2", 0, Process.ProcessState.NEW, 16);
+        index.setState(other, Process.ProcessState.READY);
+        assertEquals(Process.ProcessState.READY, other.getState());
+        assertEquals(0, index.count(Process.ProcessState.READY));
+    }
+}
@@ -0,0 +1,182 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessTableTest {
+
+    @Test
+    void testGrowRemoveAndReuseSlots() {
+        ProcessTable table = new ProcessTable();
+        for (long id = 1; id <= 1000; id++) {
+            table.put(new Process(id, "P" + id, 0, Process.ProcessState.READY, 16));
+        }
+        // 删除一半后哈希表中剩余的进程仍能找到
+        for (long id = 1; id <= 1000; id += 2) {
+            assertNotNull(table.remove(id));
+        }
+        assertEquals(500, table.size());
+        assertEquals(500, table.count(Process.ProcessState.READY));
+        for (long id = 1; id <= 1000; id++) {
+            assertEquals(id % 2 == 0, table.contains(id), "进程 " + id);
+        }
+        assertNull(table.remove(1L));
+
+        // 复用空闲槽位，列表仍按进程ID排序
+        table.put(new Process(1001L, "P1001", 0, Process.ProcessState.READY, 16));
+        table.put(new Process(3L, "P3", 0, Process.ProcessState.WAITING, 16));
+        List<Process> waiting = table.list(Process.ProcessState.WAITING);
+        assertEquals(1, waiting.size());
+        assertEquals(3L, waiting.get(0).getId());
+        List<Process> all = table.all();
+        assertEquals(502, all.size());
+        assertEquals(2L, all.get(0).getId());
+        assertEquals(3L, all.get(1).getId());
+        assertEquals(1001L, all.get(all.size() - 1).getId());
+    }
+
+    @Test
+    void testCursorPages() {
+        ProcessTable table = new ProcessTable();
+        // 倒序加入，槽位顺序与进程ID顺序相反
+        for (long id = 10; id >= 1; id--) {
+            table.put(new Process(id, "P" + id, 0, id % 2 == 0 ? Process.ProcessState.READY : Process.ProcessState.WAITING, 16));
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(table.page(null, 0, 4)));
+        assertEquals(List.of(5L, 6L, 7L, 8L), ids(table.page(null, 4, 4)));
+        assertEquals(List.of(9L, 10L), ids(table.page(null, 8, 4)));
+        assertEquals(List.of(4L, 6L, 8L), ids(table.page(Process.ProcessState.READY, 2, 3)));
+        assertEquals(List.of(), ids(table.page(Process.ProcessState.WAITING, 9, 3)));
+        assertEquals(List.of(2L, 4L, 6L, 8L, 10L), ids(table.list(Process.ProcessState.READY)));
+
+        // 删除后再加入的进程ID不重复出现；删除过半后压缩有序数组
+        table.remove(4L);
+        table.put(new Process(4L, "P4", 0, Process.ProcessState.WAITING, 16));
+        for (long id = 5; id <= 10; id++) {
+            table.remove(id);
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(table.all()));
+        assertEquals(List.of(1L, 3L, 4L), ids(table.page(Process.ProcessState.WAITING, 0, 10)));
+        table.put(new Process(7L, "P7", 0, Process.ProcessState.READY, 16));
+        assertEquals(List.of(4L, 7L), ids(table.page(null, 3, 10)));
+
+        // 状态变化后按状态读取仍按进程ID排序；插到中间的进程ID不打乱其他进程的位置
+        table.get(3L).setState(Process.ProcessState.READY);
+        table.put(new Process(5L, "P5", 0, Process.ProcessState.READY, 16));
+        assertEquals(List.of(2L, 3L, 5L, 7L), ids(table.list(Process.ProcessState.READY)));
+        assertEquals(List.of(1L, 4L), ids(table.list(Process.ProcessState.WAITING)));
+        assertEquals(List.of(5L, 7L), ids(table.page(Process.ProcessState.READY, 3, 10)));
+    }
+
+    private static List<Long> ids(List<Process> processes) {
+        return processes.stream().map(Process::getId).toList();
+    }
+
+    @Test
+    void testInternedColumnsAndGroupCounts() {
+        ProcessTable table = new ProcessTable();
+        Process process1 = new Process(1L, "P1", 0, Process.ProcessState.WAITING, 16);
+        Process process2 = new Process(2L, "P2", 0, Process.ProcessState.WAITING, 16);
+        Process process3 = new Process(3L, "P3", 0, Process.ProcessState.TERMINATED, 16);
+        process1.setWaitingReason(new String("等待设备: 1"));
+        process2.setWaitingReason(new String("等待设备: 1"));
+        process1.setGroupName("web");
+        process2.setGroupName("web");
+        process3.setGroupName("batch");
+        Process row1 = table.put(process1);
+        Process row2 = table.put(process2);
+        table.put(process3);
+
+        // 相同的等待原因共享一个字符串
+        assertSame(row1.getWaitingReason(), row2.getWaitingReason());
+        assertEquals(Map.of("web", 2), table.countActiveByGroup());
+        assertEquals(1L, table.findActiveInGroup("web"));
+        assertNull(table.findActiveInGroup("batch"));
+        assertNull(table.findActiveInGroup("none"));
+
+        // 通过行视图修改直接写入列；普通进程对象的修改要 update 才写入
+        row1.setState(Process.ProcessState.TERMINATED);
+        process2.setGroupName("batch");
+        assertEquals(Map.of("web", 1), table.countActiveByGroup());
+        table.update(process2);
+        assertEquals(Map.of("batch", 1), table.countActiveByGroup());
+        assertEquals(2, table.count(Process.ProcessState.TERMINATED));
+        assertEquals(1, table.count(Process.ProcessState.WAITING));
+    }
+
+    @Test
+    void testRowsAndSnapshots() {
+        ProcessTable table = new ProcessTable();
+        Process process = new Process(1L, "P1", 3, Process.ProcessState.RUNNING, 16);
+        process.setCpuAffinity(2L);
+        process.setPeriod(10);
+        process.setDeadlineMisses(1);
+        process.setEstimatedBurst(4.5);
+        process.setAbsoluteDeadline(25L);
+        Process row = table.put(process);
+        assertNotSame(process, row);
+        assertEquals(process, row);
+        assertTrue(table.owns(row));
+        assertFalse(table.owns(process));
+
+        // 表中不保存传入的进程对象，行视图的修改直接写入列
+        process.setPriority(9);
+        assertEquals(3, row.getPriority());
+        row.setState(Process.ProcessState.TERMINATED);
+        row.setInMemory(false);
+        row.setRemainingTime(5);
+        assertEquals(1, table.count(Process.ProcessState.TERMINATED));
+        assertEquals(0, table.count(Process.ProcessState.RUNNING));
+        assertEquals(Process.ProcessState.RUNNING, process.getState());
+
+        // 快照由列重建，之后与表互不影响
+        Process snapshot = table.snapshot(1L);
+        assertNotSame(row, snapshot);
+        assertFalse(table.owns(snapshot));
+        assertEquals("P1", snapshot.getName());
+        assertEquals(3, snapshot.getPriority());
+        assertEquals(Process.ProcessState.TERMINATED, snapshot.getState());
+        assertEquals(2L, snapshot.getCpuAffinity());
+        assertEquals(10, snapshot.getPeriod());
+        assertNull(snapshot.getRelativeDeadline());
+        assertEquals(1, snapshot.getDeadlineMisses());
+        assertEquals(4.5, snapshot.getEstimatedBurst());
+        assertEquals(25L, snapshot.getAbsoluteDeadline());
+        assertEquals(5, snapshot.getRemainingTime());
+        assertNull(snapshot.getNextRelease());
+        assertFalse(snapshot.isInMemory());
+        assertEquals(process.getCreateTime(), snapshot.getCreateTime());
+        snapshot.setPriority(7);
+        assertEquals(3, row.getPriority());
+
+        // 同一进程的视图看到同一份数据；删除后视图不可用，重新加入后找到新的槽位
+        table.get(1L).setPriority(5);
+        assertEquals(5, row.getPriority());
+        assertEquals(5, table.remove(1L).getPriority());
+        assertThrows(IllegalStateException.class, row::getPriority);
+        table.put(new Process(1L, "P1", 0, Process.ProcessState.READY, 16));
+        assertEquals(Process.ProcessState.READY, row.getState());
+        assertThrows(UnsupportedOperationException.class, () -> row.setId(2L));
+    }
+
+    @Test
+    void testTimestampsAreEpochNanos() {
+        Instant instant = Instant.ofEpochSecond(1_700_000_000L, 123);
+        ProcessTable table = new ProcessTable(Clock.fixed(instant, ZoneOffset.UTC));
+        Process process = new Process(1L, "P1", 0, Process.ProcessState.NEW, 16);
+        process.setCreateTime(null); // 没有创建时间时取加入进程表的时间
+        table.put(process);
+        assertEquals(1_700_000_000_000_000_123L, table.stateSince(1L));
+        assertEquals(1_700_000_000_000_000_123L, table.createdAt(1L));
+        assertEquals(-1, table.stateSince(2L));
+        assertFalse(table.update(new Process(2L, "P2", 0, Process.ProcessState.NEW, 16)));
+    }
+}
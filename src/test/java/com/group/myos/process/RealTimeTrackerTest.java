@@ -0,0 +1,106 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RealTimeTrackerTest {
+
+    private static Process periodic(long id, int period, int executionTime) {
+        Process process = new Process(id, "RT" + id, 0, Process.ProcessState.READY, 16);
+        process.setPeriod(period);
+        process.setExecutionTime(executionTime);
+        return process;
+    }
+
+    @Test
+    void testPeriodicJobLifecycle() {
+        RealTimeTracker tracker = new RealTimeTracker();
+        Process process = periodic(1L, 5, 2);
+        tracker.register(process);
+        assertEquals(0.4, tracker.getUtilization(), 1e-9);
+
+        // 第0滴答释放作业，截止时间为第5滴答，下一次释放也在第5滴答
+        tracker.release(process, 0);
+        assertEquals(5L, process.getAbsoluteDeadline());
+        assertEquals(5L, process.getNextRelease());
+        assertFalse(tracker.consume(process));
+        assertTrue(tracker.consume(process));
+
+        // 作业完成后不再参与截止检查，到释放时间后取出
+        tracker.finish(process);
+        assertTrue(tracker.pollExpired(5).isEmpty());
+        assertTrue(tracker.pollReleases(4).isEmpty());
+        assertEquals(List.of(process), tracker.pollReleases(5));
+
+        // 释放时间沿周期网格推进
+        tracker.release(process, 7);
+        assertEquals(10L, process.getAbsoluteDeadline());
+        assertEquals(10L, process.getNextRelease());
+    }
+
+    @Test
+    void testExpiredJobsInDeadlineOrder() {
+        RealTimeTracker tracker = new RealTimeTracker();
+        Process late = periodic(1L, 10, 1);
+        Process early = periodic(2L, 4, 1);
+        tracker.release(late, 0);
+        tracker.release(early, 0);
+
+        assertTrue(tracker.pollExpired(3).isEmpty());
+        assertEquals(List.of(early), tracker.pollExpired(4));
+        assertEquals(List.of(late), tracker.pollExpired(20));
+
+        tracker.forget(late);
+        assertTrue(tracker.pollExpired(100).isEmpty());
+    }
+
+    @Test
+    void testAdmissionPartitionsTasksPerCpu() {
+        RealTimeTracker tracker = new RealTimeTracker();
+        // 三个利用率0.6的进程：全局EDF的界为2，分区后每个CPU只能放一个
+        Process first = periodic(1L, 10, 6);
+        Process second = periodic(2L, 10, 6);
+        tracker.admit(List.of(first, second), 2, false);
+        assertEquals(1L, first.getCpuAffinity());
+        assertEquals(2L, second.getCpuAffinity());
+        assertEquals(0.6, tracker.getUtilization(1), 1e-9);
+
+        Process third = periodic(3L, 10, 6);
+        assertThrows(IllegalArgumentException.class, () -> tracker.admit(List.of(third), 2, false));
+        assertNull(third.getCpuAffinity());
+        assertEquals(2, tracker.getTaskCount());
+
+        // 没有ID的进程先保留，登记后按ID释放
+        Process pending = new Process(null, "RT", 0, Process.ProcessState.NEW, 16);
+        pending.setPeriod(10);
+        pending.setExecutionTime(4);
+        tracker.admit(List.of(pending), 2, false);
+        assertEquals(1.0, tracker.getUtilization(0), 1e-9);
+        pending.setId(4L);
+        tracker.register(pending);
+        tracker.forget(pending);
+        assertEquals(1.2, tracker.getUtilization(), 1e-9);
+
+        // RM下单个CPU两个进程的界约为0.828
+        tracker.forget(second);
+        Process small = periodic(5L, 10, 3);
+        assertThrows(IllegalArgumentException.class, () -> tracker.check(List.of(small), 1, true));
+        assertDoesNotThrow(() -> tracker.check(List.of(small), 2, true));
+    }
+
+    @Test
+    void testValidateRejectsMissingExecutionTime() {
+        Process process = new Process(1L, "RT", 0, Process.ProcessState.NEW, 16);
+        process.setRelativeDeadline(3);
+        assertThrows(IllegalArgumentException.class, () -> RealTimeTracker.validate(process));
+        process.setExecutionTime(4);
+        assertThrows(IllegalArgumentException.class, () -> RealTimeTracker.validate(process));
+        process.setExecutionTime(3);
+        assertDoesNotThrow(() -> RealTimeTracker.validate(process));
+        assertEquals(1.0, RealTimeTracker.utilizationOf(process), 1e-9);
+    }
+}
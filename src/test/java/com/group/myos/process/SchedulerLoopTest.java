@@ -0,0 +1,87 @@
+package com.group.myos.process;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerLoopTest {
+
+    private final SchedulerLoop loop = new SchedulerLoop("test-scheduler");
+
+    @AfterEach
+    public void tearDown() {
+        loop.shutdown();
+    }
+
+    @Test
+    public void testCommandsRunInSubmissionOrderOnLoopThread() throws Exception {
+        List<Integer> executed = new ArrayList<>(); // 只在调度线程上修改，不需要同步
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            futures.add(loop.submit(() -> {
+                executed.add(value);
+                return loop.isLoopThread();
+            }));
+        }
+        for (CompletableFuture<Boolean> future : futures) {
+            assertTrue(future.get(1, TimeUnit.SECONDS), "命令应在调度线程上执行");
+        }
+
+        List<Integer> snapshot = loop.call(() -> new ArrayList<>(executed));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, snapshot.get(i));
+        }
+    }
+
+    @Test
+    public void testNestedCallDoesNotDeadlock() throws Exception {
+        Integer result = loop.submit(() -> loop.call(() -> 42)).get(1, TimeUnit.SECONDS);
+        assertEquals(42, result);
+    }
+
+    @Test
+    public void testDispatcherRunsRightAfterCommand() throws Exception {
+        AtomicLong submittedAt = new AtomicLong();
+        AtomicLong dispatchedAt = new AtomicLong();
+        AtomicBoolean pending = new AtomicBoolean(false);
+        CountDownLatch dispatched = new CountDownLatch(1);
+        SchedulerLoop dispatchLoop = new SchedulerLoop("test-dispatch", () -> {
+            if (pending.compareAndSet(true, false)) {
+                dispatchedAt.set(System.nanoTime());
+                dispatched.countDown();
+            }
+        });
+        try {
+            Thread.sleep(20); // 让调度线程进入挂起状态
+            submittedAt.set(System.nanoTime());
+            dispatchLoop.execute(() -> pending.set(true));
+            assertTrue(dispatched.await(1, TimeUnit.SECONDS), "提交命令后应立即执行派发检查");
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(dispatchedAt.get() - submittedAt.get());
+            assertTrue(latencyMs < 20, "派发延迟应远小于原来的50ms轮询周期，实际: " + latencyMs + "ms");
+        } finally {
+            dispatchLoop.shutdown();
+        }
+    }
+
+    @Test
+    public void testExceptionPropagatesToCaller() throws Exception {
+        assertThrows(IllegalStateException.class, () -> loop.call(() -> {
+            throw new IllegalStateException("失败");
+        }));
+
+        // 失败的命令不影响后续命令
+        CountDownLatch latch = new CountDownLatch(1);
+        loop.execute(latch::countDown);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,57 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SchedulerMetricsTest {
+
+    @Autowired
+    private ProcessScheduler processScheduler;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testDispatchRecorded() {
+        long dispatches = schedulerMetrics.getDispatchLatency().count();
+        long readyCount = schedulerMetrics.getReadyTime().count();
+
+        Process process = new Process();
+        process.setName("MetricsTest");
+        process.setPriority(9);
+        process.setMemorySize(1);
+        process = processScheduler.addProcess(process);
+        processScheduler.schedule();
+
+        try {
+            assertTrue(schedulerMetrics.getDispatchLatency().count() > dispatches, "调度应记录派发延迟");
+            assertTrue(schedulerMetrics.getReadyTime().count() > readyCount, "派发进程应记录就绪等待时间");
+            assertTrue(schedulerMetrics.getContextSwitches() > 0, "派发新进程应计为上下文切换");
+        } finally {
+            processScheduler.updateProcessState(process.getId(), Process.ProcessState.TERMINATED);
+        }
+    }
+
+    @Test
+    public void testGaugesRegistered() {
+        for (Cpu cpu : processScheduler.getCpus()) {
+            Gauge gauge = meterRegistry.find("myos.scheduler.run.queue.length")
+                .tag("cpu", String.valueOf(cpu.getId())).gauge();
+            assertNotNull(gauge, "每个CPU应注册就绪队列长度");
+            assertEquals(cpu.getRunQueue().size(), gauge.value());
+        }
+        Gauge terminated = meterRegistry.find("myos.scheduler.processes").tag("state", "TERMINATED").gauge();
+        assertNotNull(terminated);
+        assertEquals(processScheduler.countProcesses(Process.ProcessState.TERMINATED), (int) terminated.value());
+    }
+}
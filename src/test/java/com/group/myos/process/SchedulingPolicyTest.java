@@ -0,0 +1,152 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import com.group.myos.process.scheduling.ReadyQueue;
+import com.group.myos.process.scheduling.SchedulingPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:policydb")
+public class SchedulingPolicyTest {
+
+    /**
+     * 后进先出的就绪队列，不抢占
+     */
+    static class LifoQueue implements ReadyQueue {
+        private final LinkedList<Process> stack = new LinkedList<>();
+
+        @Override
+        public synchronized boolean offer(Process process) {
+            if (stack.contains(process)) {
+                return false;
+            }
+            stack.addFirst(process);
+            return true;
+        }
+
+        @Override
+        public synchronized Process poll() {
+            return stack.pollFirst();
+        }
+
+        @Override
+        public synchronized Process peek() {
+            return stack.peekFirst();
+        }
+
+        @Override
+        public synchronized boolean remove(Process process) {
+            return stack.remove(process);
+        }
+
+        @Override
+        public synchronized boolean contains(Process process) {
+            return stack.contains(process);
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return stack.isEmpty();
+        }
+
+        @Override
+        public synchronized int size() {
+            return stack.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            stack.clear();
+        }
+
+        @Override
+        public synchronized Stream<Process> stream() {
+            return new ArrayList<>(stack).stream();
+        }
+
+        @Override
+        public synchronized List<Process> drain() {
+            List<Process> processes = new ArrayList<>(stack);
+            stack.clear();
+            return processes;
+        }
+
+        @Override
+        public boolean shouldPreempt(Process running) {
+            return false;
+        }
+    }
+
+    @TestConfiguration
+    static class PolicyConfig {
+        @Bean
+        SchedulingPolicy lifoPolicy() {
+            return SchedulingPolicy.of("LIFO", "后进先出调度", LifoQueue::new);
+        }
+    }
+
+    @Autowired
+    private ProcessScheduler processScheduler;
+
+    private Process newProcess(String name, int priority) {
+        Process process = new Process();
+        process.setName(name);
+        process.setPriority(priority);
+        process.setMemorySize(1);
+        return processScheduler.addProcess(process);
+    }
+
+    private List<Long> queuedIds(Cpu cpu) {
+        return cpu.getRunQueue().stream().map(Process::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSwitchToCustomPolicyKeepsReadyProcesses() {
+        Cpu cpu = processScheduler.getCpus().get(0);
+        List<Process> created = new ArrayList<>();
+        try {
+            Process running = newProcess("Running", 9);
+            created.add(running);
+            for (int priority = 1; priority <= 3; priority++) {
+                created.add(newProcess("Ready" + priority, priority));
+            }
+            assertEquals(running, cpu.getCurrentProcess());
+            // 优先级调度顺序：3, 2, 1
+            List<Long> priorityOrder = List.of(created.get(3).getId(), created.get(2).getId(), created.get(1).getId());
+            assertEquals(priorityOrder, queuedIds(cpu));
+
+            assertTrue(processScheduler.getSchedulingPolicies().stream().anyMatch(p -> p.getName().equals("LIFO")));
+            processScheduler.setSchedulingPolicy("lifo");
+            assertEquals("LIFO", processScheduler.getCurrentPolicy().getName());
+            assertNull(processScheduler.getCurrentAlgorithm());
+            assertInstanceOf(LifoQueue.class, cpu.getRunQueue());
+
+            // 按原调度顺序迁移，后进先出后顺序相反；运行进程不受影响
+            assertEquals(List.of(created.get(1).getId(), created.get(2).getId(), created.get(3).getId()), queuedIds(cpu));
+            assertEquals(running, cpu.getCurrentProcess());
+
+            processScheduler.setSchedulingAlgorithm(ProcessScheduler.SchedulingAlgorithm.PRIORITY);
+            assertEquals(ProcessScheduler.SchedulingAlgorithm.PRIORITY, processScheduler.getCurrentAlgorithm());
+            assertEquals(priorityOrder, queuedIds(cpu));
+        } finally {
+            processScheduler.setSchedulingAlgorithm(ProcessScheduler.SchedulingAlgorithm.PRIORITY);
+            created.forEach(p -> processScheduler.updateProcessState(p.getId(), Process.ProcessState.TERMINATED));
+        }
+    }
+
+    @Test
+    public void testUnknownPolicyRejected() {
+        assertThrows(IllegalArgumentException.class, () -> processScheduler.setSchedulingPolicy("NO_SUCH_POLICY"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import com.group.myos.simulation.Simulator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "myos.simulation.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:simdb"
+})
+public class ShortestRemainingTimeTest {
+
+    @Autowired
+    private ProcessScheduler processScheduler;
+
+    @Autowired
+    private Simulator simulator;
+
+    private Process newProcess(String name, int cpuTime) {
+        Process process = new Process();
+        process.setName(name);
+        process.setMemorySize(1);
+        process.setCpuTime(cpuTime);
+        return processScheduler.addProcess(process);
+    }
+
+    // addProcess 返回的是快照，状态从调度器重新读取
+    private Process.ProcessState state(Process process) {
+        return processScheduler.getProcessById(process.getId()).getState();
+    }
+
+    private void steps(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            simulator.step();
+        }
+    }
+
+    @Test
+    public void testShorterJobPreemptsAndWorkCompletes() {
+        ProcessScheduler.SchedulingAlgorithm previous = processScheduler.getCurrentAlgorithm();
+        processScheduler.setSchedulingAlgorithm(ProcessScheduler.SchedulingAlgorithm.SRTF);
+        try {
+            simulator.inVirtualTime(0, () -> {
+                Process longJob = newProcess("Long", 6);
+                simulator.settle();
+                assertEquals(Process.ProcessState.RUNNING, state(longJob));
+                steps(2);
+
+                // 剩余2个滴答的进程到达，抢占剩余4个滴答的进程
+                Process shortJob = newProcess("Short", 2);
+                simulator.settle();
+                assertEquals(Process.ProcessState.RUNNING, state(shortJob));
+                assertEquals(Process.ProcessState.READY, state(longJob));
+
+                steps(2);
+                assertEquals(Process.ProcessState.TERMINATED, state(shortJob));
+                assertEquals(Process.ProcessState.RUNNING, state(longJob));
+
+                steps(4);
+                assertEquals(Process.ProcessState.TERMINATED, state(longJob));
+                assertEquals(0, processScheduler.getProcessById(longJob.getId()).getRemainingCpuTime());
+
+                // 被抢占不结束区间，终止时结束一个完整的区间
+                assertEquals(List.of(2), processScheduler.getBurstHistory(shortJob.getId()));
+                assertEquals(List.of(6), processScheduler.getBurstHistory(longJob.getId()));
+                return null;
+            });
+        } finally {
+            processScheduler.setSchedulingAlgorithm(previous);
+        }
+    }
+}
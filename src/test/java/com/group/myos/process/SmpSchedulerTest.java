@@ -0,0 +1,162 @@
+package com.group.myos.process;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "myos.scheduler.cpu-count=2",
+    "spring.datasource.url=jdbc:h2:mem:smpdb"
+})
+public class SmpSchedulerTest {
+
+    @Autowired
+    private ProcessScheduler processScheduler;
+
+    /**
+     * 终止之前留下的进程，测试不依赖执行顺序
+     */
+    @BeforeEach
+    void terminateLeftovers() {
+        for (Process process : processScheduler.getAllProcesses()) {
+            if (process.getState() != Process.ProcessState.TERMINATED) {
+                processScheduler.updateProcessState(process.getId(), Process.ProcessState.TERMINATED);
+            }
+        }
+    }
+
+    private Process newProcess(String name, Long affinity) {
+        Process process = new Process();
+        process.setName(name);
+        process.setMemorySize(1);
+        process.setCpuAffinity(affinity);
+        return processScheduler.addProcess(process);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private Cpu cpuRunning(Process process) {
+        return processScheduler.getCpus().stream()
+            .filter(cpu -> process.equals(cpu.getCurrentProcess()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Test
+    public void testAffinityAndWorkStealing() throws InterruptedException {
+        Cpu cpu0 = processScheduler.getCpus().get(0);
+        Cpu cpu1 = processScheduler.getCpus().get(1);
+        awaitTrue(() -> cpu0.getLoad() == 0 && cpu1.getLoad() == 0, "测试开始前两个CPU应空闲");
+
+        // 三个进程都只允许在CPU 0上运行：一个运行，两个排队，CPU 1不能窃取
+        List<Process> pinned = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pinned.add(newProcess("pinned-" + i, 1L));
+        }
+        awaitTrue(() -> cpu0.getCurrentProcess() != null && cpu0.getRunQueue().size() == 2, "进程应全部留在CPU 0");
+        assertNull(cpu1.getCurrentProcess(), "亲和性限制下CPU 1不应运行进程");
+
+        // 解除排队进程的亲和性限制后，空闲的CPU 1应窃取一个进程运行
+        for (Process process : pinned) {
+            if (!process.equals(cpu0.getCurrentProcess())) {
+                processScheduler.setProcessAffinity(process.getId(), null);
+            }
+        }
+        awaitTrue(() -> cpu1.getCurrentProcess() != null, "CPU 1应窃取进程");
+        assertEquals(1, cpu0.getRunQueue().size() + cpu1.getRunQueue().size());
+        assertEquals(2, processScheduler.getRunningProcesses().size());
+
+        for (Process process : pinned) {
+            processScheduler.updateProcessState(process.getId(), Process.ProcessState.TERMINATED);
+        }
+    }
+
+    @Test
+    public void testNewProcessesSpreadAcrossCpus() throws InterruptedException {
+        awaitTrue(() -> processScheduler.getRunningProcesses().isEmpty(), "测试开始前两个CPU应空闲");
+
+        Process first = newProcess("spread-0", null);
+        Process second = newProcess("spread-1", null);
+        awaitTrue(() -> cpuRunning(first) != null && cpuRunning(second) != null, "两个进程应同时运行");
+        assertNotSame(cpuRunning(first), cpuRunning(second), "两个进程应运行在不同CPU上");
+
+        processScheduler.updateProcessState(first.getId(), Process.ProcessState.TERMINATED);
+        processScheduler.updateProcessState(second.getId(), Process.ProcessState.TERMINATED);
+    }
+
+    @Test
+    public void testCommandsFollowMigratedProcess() throws Exception {
+        Cpu cpu0 = processScheduler.getCpus().get(0);
+        Cpu cpu1 = processScheduler.getCpus().get(1);
+        awaitTrue(() -> cpu0.getLoad() == 0 && cpu1.getLoad() == 0, "测试开始前两个CPU应空闲");
+
+        // 两个CPU各运行一个进程，两个进程在CPU 0上排队
+        Process first = newProcess("migrate-cpu0", 1L);
+        Process second = newProcess("migrate-cpu1", 2L);
+        Process terminated = newProcess("migrate-terminated", 1L);
+        Process blocked = newProcess("migrate-blocked", 1L);
+        awaitTrue(() -> cpu0.getRunQueue().size() == 2 && cpu1.getCurrentProcess() != null, "两个进程应在CPU 0上排队");
+
+        // 阻塞CPU 0的调度线程，使迁移命令和之后的终止、阻塞命令按顺序排队
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        cpu0.getLoop().execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        // 命令投递时进程仍属于CPU 0，执行时已迁移到CPU 1的就绪队列
+        List<Thread> callers = new ArrayList<>();
+        List<Runnable> commands = List.of(
+            () -> processScheduler.setProcessAffinity(terminated.getId(), List.of(1)),
+            () -> processScheduler.setProcessAffinity(blocked.getId(), List.of(1)),
+            // 等CPU 1执行完转交的入队命令
+            () -> cpu0.getLoop().execute(() -> cpu1.getLoop().submit(() -> null).join()),
+            () -> processScheduler.updateProcessState(terminated.getId(), Process.ProcessState.TERMINATED),
+            () -> processScheduler.blockProcess(blocked.getId(), "等待I/O"));
+        for (Runnable command : commands) {
+            int pending = cpu0.getLoop().getPendingCount();
+            Thread caller = new Thread(command);
+            caller.start();
+            callers.add(caller);
+            awaitTrue(() -> cpu0.getLoop().getPendingCount() > pending, "命令应在CPU 0上排队");
+        }
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(2000);
+        }
+
+        // 终止和阻塞转发给CPU 1执行，两个进程应从CPU 1的就绪队列移除，不会再被调度
+        awaitTrue(() -> cpu0.getLoop().isIdle() && cpu1.getLoop().isIdle(), "转发的命令应执行完");
+        assertFalse(cpu1.getLoop().call(() -> cpu1.getRunQueue().contains(terminated)), "已终止的进程不应留在CPU 1的就绪队列");
+        assertFalse(cpu1.getLoop().call(() -> cpu1.getRunQueue().contains(blocked)), "阻塞的进程不应留在CPU 1的就绪队列");
+        assertEquals(Process.ProcessState.TERMINATED, processScheduler.getProcessById(terminated.getId()).getState());
+        assertEquals(Process.ProcessState.WAITING, processScheduler.getProcessById(blocked.getId()).getState());
+
+        for (Process process : List.of(first, second, blocked)) {
+            processScheduler.updateProcessState(process.getId(), Process.ProcessState.TERMINATED);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgingPriorityQueueTest {
+
+    @Test
+    void testWaitingProcessAgesPastNewArrivals() {
+        AtomicLong now = new AtomicLong(0);
+        AgingPriorityQueue queue = new AgingPriorityQueue(100, now::get);
+        Process low = new Process(1L, "Low", 0, Process.ProcessState.READY, 16);
+        queue.offer(low);
+
+        // 刚入队时高优先级进程先调度
+        Process high = new Process(2L, "High", 3, Process.ProcessState.READY, 16);
+        queue.offer(high);
+        assertEquals(high, queue.poll());
+
+        // 等待4个老化周期后，低优先级进程的有效优先级超过新到达的高优先级进程
+        now.set(400);
+        assertEquals(4, queue.getEffectivePriority(low));
+        assertEquals(400, queue.getWaitTime(low));
+        Process newcomer = new Process(3L, "Newcomer", 3, Process.ProcessState.READY, 16);
+        queue.offer(newcomer);
+        assertEquals(3, queue.getEffectivePriority(newcomer));
+        assertTrue(queue.shouldPreempt(new Process(4L, "Running", 3, Process.ProcessState.RUNNING, 16)));
+        assertEquals(low, queue.poll());
+        assertEquals(newcomer, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testSameKeyIsFifoAndRemoveWorks() {
+        AtomicLong now = new AtomicLong(0);
+        AgingPriorityQueue queue = new AgingPriorityQueue(100, now::get);
+        Process first = new Process(1L, "First", 1, Process.ProcessState.READY, 16);
+        Process second = new Process(2L, "Second", 1, Process.ProcessState.READY, 16);
+        Process third = new Process(3L, "Third", 1, Process.ProcessState.READY, 16);
+        queue.offer(first);
+        queue.offer(second);
+        queue.offer(third);
+
+        assertTrue(queue.remove(second));
+        assertFalse(queue.contains(second));
+        assertEquals(0, queue.getWaitTime(second));
+        assertEquals(2, queue.size());
+        assertEquals(first, queue.poll());
+        assertEquals(third, queue.poll());
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,71 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FairShareQueueTest {
+
+    @Test
+    void testHigherPriorityGetsMoreCpuTime() {
+        FairShareQueue queue = new FairShareQueue();
+        Process low = new Process(1L, "Low", 0, Process.ProcessState.READY, 16);
+        Process high = new Process(2L, "High", 5, Process.ProcessState.READY, 16);
+        queue.offer(low);
+        queue.offer(high);
+
+        // 模拟100个时钟滴答，时间片用完时切换到vruntime最小的进程
+        int lowTicks = 0;
+        int highTicks = 0;
+        Process running = queue.poll();
+        for (int i = 0; i < 100; i++) {
+            if (running == low) {
+                lowTicks++;
+            } else {
+                highTicks++;
+            }
+            if (queue.onTick(running)) {
+                queue.offer(running);
+                running = queue.poll();
+            }
+        }
+
+        // 优先级5的权重约为优先级0的3倍
+        assertTrue(highTicks > lowTicks * 2, "high=" + highTicks + ", low=" + lowTicks);
+    }
+
+    @Test
+    void testNewProcessStartsAtMinVruntime() {
+        FairShareQueue queue = new FairShareQueue();
+        Process first = new Process(1L, "First", 0, Process.ProcessState.READY, 16);
+        queue.offer(first);
+        Process running = queue.poll();
+        for (int i = 0; i < 10; i++) {
+            queue.onTick(running);
+        }
+
+        Process late = new Process(2L, "Late", 0, Process.ProcessState.READY, 16);
+        queue.offer(late);
+        assertEquals(queue.getMinVruntime(), queue.getVruntime(late));
+        assertTrue(queue.getVruntime(late) > 0);
+    }
+
+    @Test
+    void testRoundRobinRotatesAfterQuantum() {
+        RoundRobinQueue queue = new RoundRobinQueue(2);
+        Process process1 = new Process(1L, "Process1", 9, Process.ProcessState.READY, 16);
+        Process process2 = new Process(2L, "Process2", 0, Process.ProcessState.READY, 16);
+        queue.offer(process1);
+        queue.offer(process2);
+
+        Process running = queue.poll();
+        assertEquals(process1, running);
+        assertFalse(queue.shouldPreempt(running));
+        assertFalse(queue.onTick(running));
+        assertTrue(queue.onTick(running));
+
+        queue.offer(running);
+        assertEquals(process2, queue.poll());
+    }
+}
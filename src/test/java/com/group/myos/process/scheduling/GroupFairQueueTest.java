@@ -0,0 +1,141 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.ProcessGroupManager;
+import com.group.myos.process.model.Process;
+import com.group.myos.process.model.ProcessGroup;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupFairQueueTest {
+
+    private static ProcessGroup group(String name, String parent, int weight, Integer quota) {
+        ProcessGroup group = new ProcessGroup();
+        group.setName(name);
+        group.setParent(parent);
+        group.setWeight(weight);
+        group.setQuota(quota);
+        group.setPeriod(10);
+        return group;
+    }
+
+    private static Process process(long id, String group) {
+        Process process = new Process(id, "P" + id, 0, Process.ProcessState.READY, 16);
+        process.setGroupName(group);
+        return process;
+    }
+
+    /**
+     * 模拟时钟滴答，返回每个组运行的滴答数
+     */
+    private static Map<String, Integer> run(GroupFairQueue queue, ProcessGroupManager groups, int ticks) {
+        Map<String, Integer> usage = new HashMap<>();
+        Process running = queue.poll();
+        for (int tick = 1; tick <= ticks; tick++) {
+            groups.tick(tick);
+            if (running != null) {
+                usage.merge(running.getGroupName(), 1, Integer::sum);
+                groups.charge(running.getGroupName());
+            }
+            if (queue.onTick(running) || running == null) {
+                if (running != null) {
+                    queue.offer(running);
+                }
+                running = queue.poll();
+            }
+        }
+        return usage;
+    }
+
+    @Test
+    void testGroupsShareByWeight() {
+        ProcessGroupManager groups = new ProcessGroupManager();
+        groups.create(group("a", null, 200, null));
+        groups.create(group("b", null, 100, null));
+        GroupFairQueue queue = new GroupFairQueue(groups);
+
+        // a组1个进程，b组4个进程，CPU时间按组权重2:1分配而不是按进程数
+        queue.offer(process(1L, "a"));
+        for (long id = 2; id <= 5; id++) {
+            queue.offer(process(id, "b"));
+        }
+        Map<String, Integer> usage = run(queue, groups, 300);
+        assertEquals(200, usage.get("a"), 10);
+        assertEquals(100, usage.get("b"), 10);
+    }
+
+    @Test
+    void testHierarchicalShares() {
+        ProcessGroupManager groups = new ProcessGroupManager();
+        groups.create(group("tenant1", null, 100, null));
+        groups.create(group("tenant2", null, 100, null));
+        groups.create(group("web", "tenant2", 300, null));
+        groups.create(group("batch", "tenant2", 100, null));
+        GroupFairQueue queue = new GroupFairQueue(groups);
+        queue.offer(process(1L, "tenant1"));
+        queue.offer(process(2L, "web"));
+        queue.offer(process(3L, "batch"));
+
+        // 两个租户各一半，tenant2内部按3:1分配
+        Map<String, Integer> usage = run(queue, groups, 400);
+        assertEquals(200, usage.get("tenant1"), 10);
+        assertEquals(150, usage.get("web"), 10);
+        assertEquals(50, usage.get("batch"), 10);
+    }
+
+    @Test
+    void testQuotaThrottlesGroup() {
+        ProcessGroupManager groups = new ProcessGroupManager();
+        groups.create(group("noisy", null, 1000, 2));
+        GroupFairQueue queue = new GroupFairQueue(groups);
+        queue.offer(process(1L, "noisy"));
+        queue.offer(process(2L, null));
+
+        // 每10个滴答noisy组最多运行2个滴答，其余时间给根组的进程
+        Map<String, Integer> usage = run(queue, groups, 100);
+        assertTrue(usage.get("noisy") <= 22, "配额应限制noisy组: " + usage);
+        assertTrue(usage.get("noisy") >= 18, "每个周期都应得到配额: " + usage);
+
+        // 限流的组没有其他可运行进程时CPU空闲
+        GroupFairQueue onlyNoisy = new GroupFairQueue(groups);
+        onlyNoisy.offer(process(3L, "noisy"));
+        groups.charge("noisy");
+        groups.charge("noisy");
+        assertTrue(groups.isThrottled("noisy"));
+        assertNull(onlyNoisy.peek());
+        assertEquals(1, onlyNoisy.size());
+    }
+
+    @Test
+    void testGroupUsageAndValidation() {
+        ProcessGroupManager groups = new ProcessGroupManager();
+        groups.create(group("parent", null, 100, 5));
+        groups.create(group("child", "parent", 100, null));
+        groups.charge("child");
+        groups.charge(null);
+
+        List<String> order = groups.getUsage(Map.of()).stream().map(u -> u.getName()).toList();
+        assertEquals(List.of("parent", "child"), order);
+        assertEquals(1, groups.getUsage(Map.of()).get(0).getUsedTicks());
+        assertEquals(0.5, groups.getUsage(Map.of()).get(0).getShare(), 1e-9);
+
+        // 子组的限流受祖先组配额约束，周期边界重置
+        for (int i = 0; i < 4; i++) {
+            groups.charge("child");
+        }
+        assertTrue(groups.isThrottled("child"));
+        groups.tick(10);
+        assertFalse(groups.isThrottled("child"));
+
+        assertThrows(IllegalArgumentException.class, () -> groups.create(group("orphan", "missing", 100, null)));
+        assertThrows(IllegalArgumentException.class, () -> groups.create(group("heavy", null, 0, null)));
+        assertThrows(IllegalArgumentException.class, () -> groups.delete("parent"));
+        groups.delete("child");
+        groups.delete("parent");
+        assertFalse(groups.exists("parent"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultilevelFeedbackQueueTest {
+    private MultilevelFeedbackQueue queue;
+    private Process process1;
+    private Process process2;
+
+    @BeforeEach
+    void setUp() {
+        // 两级队列，时间片分别为1和2个滴答，每10个滴答提升一次
+        queue = new MultilevelFeedbackQueue(new int[]{1, 2}, 10);
+        process1 = new Process(1L, "Process1", 0, Process.ProcessState.READY, 16);
+        process2 = new Process(2L, "Process2", 0, Process.ProcessState.READY, 16);
+    }
+
+    @Test
+    void testNewProcessEntersTopLevel() {
+        queue.offer(process1);
+        assertEquals(0, queue.getLevel(process1));
+        assertEquals(process1, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testDemotionAfterQuantum() {
+        queue.offer(process1);
+        Process running = queue.poll();
+
+        // 第0级时间片为1，一个滴答后降级
+        assertTrue(queue.onTick(running));
+        assertEquals(1, queue.getLevel(running));
+
+        // 最低级时间片为2
+        queue.offer(running);
+        running = queue.poll();
+        assertFalse(queue.onTick(running));
+        assertTrue(queue.onTick(running));
+        assertEquals(1, queue.getLevel(running));
+    }
+
+    @Test
+    void testHigherLevelPreemptsLowerLevel() {
+        queue.offer(process1);
+        Process running = queue.poll();
+        queue.onTick(running);
+
+        queue.offer(process2);
+        assertTrue(queue.shouldPreempt(running));
+        assertEquals(process2, queue.peek());
+    }
+
+    @Test
+    void testPeriodicBoost() {
+        queue.offer(process1);
+        queue.onTick(queue.poll());
+        queue.offer(process1);
+        assertEquals(1, queue.getLevel(process1));
+
+        for (int i = 1; i < 10; i++) {
+            queue.onTick(null);
+        }
+        assertEquals(0, queue.getLevel(process1));
+        assertEquals(process1, queue.poll());
+    }
+
+    @Test
+    void testForgetClearsLevel() {
+        queue.offer(process1);
+        queue.onTick(queue.poll());
+        queue.forget(process1);
+
+        queue.offer(process1);
+        assertEquals(0, queue.getLevel(process1));
+    }
+}
@@ -0,0 +1,79 @@
+package com.group.myos.process.scheduling;
+
+import com.group.myos.process.model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriorityReadyQueueTest {
+
+    @Test
+    void testRemoveAndUpdatePriorityKeepHeapOrder() {
+        PriorityReadyQueue queue = PriorityReadyQueue.byPriority();
+        Random random = new Random(42);
+        List<Process> processes = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            Process process = new Process(id, "P" + id, random.nextInt(20), Process.ProcessState.READY, 16);
+            processes.add(process);
+            queue.offer(process);
+        }
+
+        // 随机删除和修改优先级后，出队顺序仍按优先级从高到低
+        for (int i = 0; i < 300; i++) {
+            Process process = processes.remove(random.nextInt(processes.size()));
+            assertTrue(queue.remove(process));
+            assertFalse(queue.contains(process));
+        }
+        for (Process process : processes) {
+            queue.updatePriority(process, random.nextInt(20));
+        }
+        assertEquals(processes.size(), queue.size());
+
+        int previous = Integer.MAX_VALUE;
+        while (!queue.isEmpty()) {
+            Process process = queue.poll();
+            assertTrue(process.getPriority() <= previous);
+            previous = process.getPriority();
+        }
+    }
+
+    @Test
+    void testEqualPriorityIsFifo() {
+        PriorityReadyQueue queue = PriorityReadyQueue.byPriority();
+        for (long id = 1; id <= 5; id++) {
+            queue.offer(new Process(id, "P" + id, 1, Process.ProcessState.READY, 16));
+        }
+        Process raised = new Process(6L, "Raised", 0, Process.ProcessState.READY, 16);
+        queue.offer(raised);
+        queue.updatePriority(raised, 2);
+
+        assertEquals(raised, queue.poll());
+        for (long id = 1; id <= 5; id++) {
+            assertEquals(id, queue.poll().getId());
+        }
+    }
+
+    @Test
+    void testEarliestDeadlineFirst() {
+        PriorityReadyQueue queue = PriorityReadyQueue.byDeadline();
+        Process background = new Process(1L, "Background", 9, Process.ProcessState.READY, 16);
+        Process later = new Process(2L, "Later", 0, Process.ProcessState.READY, 16);
+        later.setAbsoluteDeadline(20L);
+        Process sooner = new Process(3L, "Sooner", 0, Process.ProcessState.READY, 16);
+        sooner.setAbsoluteDeadline(10L);
+        queue.offer(background);
+        queue.offer(later);
+
+        // 截止时间更早的作业抢占截止时间较晚的运行进程
+        Process running = queue.poll();
+        assertEquals(later, running);
+        queue.offer(sooner);
+        assertTrue(queue.shouldPreempt(running));
+        assertEquals(sooner, queue.poll());
+        assertEquals(background, queue.poll());
+    }
+}
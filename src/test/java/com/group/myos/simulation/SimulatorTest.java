@@ -0,0 +1,48 @@
+package com.group.myos.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "myos.simulation.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:simdb"
+})
+public class SimulatorTest {
+
+    @Autowired
+    private Simulator simulator;
+
+    private SimulationWorkload workload(long seed) {
+        SimulationWorkload workload = new SimulationWorkload();
+        workload.setSeed(seed);
+        workload.setTicks(300);
+        workload.setArrivalRate(0.3);
+        workload.setIoRate(0.1);
+        return workload;
+    }
+
+    @Test
+    public void testSameSeedGivesSameResult() {
+        SimulationReport first = simulator.run(workload(7));
+        SimulationReport second = simulator.run(workload(7));
+
+        assertTrue(first.getCreated() > 0);
+        assertEquals(first.getCreated(), second.getCreated());
+        assertEquals(first.getTerminated(), second.getTerminated());
+        assertEquals(first.getFinalStates(), second.getFinalStates());
+        assertEquals(first.getChecksum(), second.getChecksum());
+        // 300个虚拟秒不需要真实等待
+        assertTrue(first.getWallTimeMillis() < 60_000);
+        assertEquals(first.getStartTick() + 300, first.getEndTick());
+    }
+
+    @Test
+    public void testInvalidWorkloadRejected() {
+        SimulationWorkload workload = workload(1);
+        workload.setTicks(0);
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(workload));
+    }
+}
@@ -0,0 +1,64 @@
+package com.group.myos.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "myos.simulation.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:simdb"
+})
+public class TraceReplayerTest {
+
+    @Autowired
+    private TraceReplayer traceReplayer;
+
+    @Test
+    public void testReplayReportsPerProcessTimes() {
+        String trace = String.join("\n",
+            "arrival,name,priority,memorySize,steps",
+            "0,a,9,4,cpu:3",
+            "{\"arrival\":1,\"name\":\"b\",\"priority\":1,\"memorySize\":4,\"steps\":[\"cpu:2\",\"io:3\",\"cpu:1\"]}",
+            "# 注释行",
+            "2,c,3,4,cpu:2 device:1:2 cpu:1");
+        List<ProcessMetrics> results = new ArrayList<>();
+        ReplaySummary summary = traceReplayer.replay(new StringReader(trace), 1000, results::add);
+
+        assertEquals(3, summary.getProcesses());
+        assertEquals(3, summary.getCompleted());
+        assertEquals(0, summary.getUnfinished());
+        results.sort(Comparator.comparing(ProcessMetrics::getName));
+
+        // 最高优先级的进程到达即运行，不等待
+        ProcessMetrics a = results.get(0);
+        assertEquals(0, a.getResponse());
+        assertEquals(0, a.getWaiting());
+        assertEquals(3, a.getTurnaround());
+
+        // 每个滴答进程只处于运行、就绪、阻塞之一
+        for (ProcessMetrics metrics : results) {
+            assertTrue(metrics.isCompleted());
+            assertEquals(metrics.getTurnaround(), metrics.getCpuTime() + metrics.getWaiting() + metrics.getBlocked(),
+                metrics.getName());
+        }
+        assertEquals(3, results.get(1).getCpuTime());
+        assertEquals(3, results.get(1).getBlocked());
+        assertEquals(3, results.get(2).getCpuTime());
+        assertEquals(2, results.get(2).getBlocked());
+    }
+
+    @Test
+    public void testInvalidTraceRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> traceReplayer.replay(new StringReader("0,a,1,4,io:3 cpu:1"), 100, m -> { }));
+        assertThrows(IllegalArgumentException.class,
+            () -> traceReplayer.replay(new StringReader("5,a,1,4,cpu:1\n2,b,1,4,cpu:1"), 100, m -> { }));
+    }
+}